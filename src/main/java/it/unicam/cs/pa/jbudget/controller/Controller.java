@@ -1,12 +1,19 @@
 package it.unicam.cs.pa.jbudget.controller;
 
 import it.unicam.cs.pa.jbudget.model.*;
+import it.unicam.cs.pa.jbudget.read.ImportListener;
+import it.unicam.cs.pa.jbudget.statistic.CashFlowSeries;
+import it.unicam.cs.pa.jbudget.statistic.Period;
+import it.unicam.cs.pa.jbudget.statistic.StaticException;
+import it.unicam.cs.pa.jbudget.statistic.StatisticCreator;
 
 import java.io.IOException;
 import java.text.ParseException;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 /**
  * Questa interfaccia e' implementata dalle classi che hanno la classe ha la responsabilita' di
@@ -59,6 +66,24 @@ public interface Controller {
      */
     void addCategory(String name, String description, int ID) throws LedgerException;
 
+    /**
+     * Aggiunge la {@link Category} al {@link Movement}.
+     *
+     * @param movement Movimento a cui aggiungere la Categoria
+     * @param category Categoria da aggiungere
+     * @return {@code true} se la Categoria viene aggiunta
+     */
+    boolean addCategory(Movement movement, Category category);
+
+    /**
+     * Aggiunge la {@link Category} alla {@link Transaction} e a tutti i suoi {@link Movement}.
+     *
+     * @param transaction Transazione a cui aggiungere la Categoria
+     * @param category    Categoria da aggiungere
+     * @return {@code true} se la Categoria viene aggiunta
+     */
+    boolean addCategory(Transaction transaction, Category category);
+
     /**
      * Crea un {@link Movement} e lo aggiunge nel {@link Ledger}.
      *
@@ -101,6 +126,26 @@ public interface Controller {
      */
     void addMovement(Movement movement) throws LedgerException;
 
+    /**
+     * Crea un {@link Movement} letto da un File, con il suo ID, e lo collega al suo {@link Account} e alla sua
+     * {@link Transaction}, nello stesso modo in cui vengono creati i nuovi Movimenti (ad esempio all'interno
+     * di un {@link it.unicam.cs.pa.jbudget.model.MovementStore}). Il Movimento creato deve poi essere
+     * aggiunto con {@link #addMovement(Movement)}.
+     *
+     * @param type        Tipologia del movimento
+     * @param ID          ID del movimento
+     * @param cents       Valore del movimento in centesimi
+     * @param epochDay    Giorno del movimento, come numero di giorni dall'epoch
+     * @param description Descrizione del movimento
+     * @param transaction Transazione di cui fa parte questo movimento
+     * @param account     Account collegato al movimento
+     * @return il Movimento creato
+     * @throws MovementException Se si verifica una MovementException durante la creazione
+     *                           del Movimento.
+     */
+    Movement createMovement(MovementType type, int ID, long cents, long epochDay, String description,
+                            Transaction transaction, Account account) throws MovementException;
+
     /**
      * Ritorna la lista degli {@link Account} all'interno del {@link Ledger}.
      *
@@ -123,12 +168,42 @@ public interface Controller {
     Logger getLogger();
 
     /**
-     * Ritorna la lista dei {@link Movement} all'interno del {@link Ledger}.
+     * Ritorna la lista dei {@link Movement} all'interno del {@link Ledger}, in ordine di ID.
+     * La lista non e' modificabile e riflette le modifiche successive del Ledger.
      *
      * @return la lista dei Movimenti
      */
     List<Movement> getMovements();
 
+    /**
+     * Cerca il {@link Movement} con l'ID passato all'interno del {@link Ledger}.
+     *
+     * @param ID ID del Movimento
+     * @return il Movimento, {@code null} se non e' presente
+     */
+    Movement getMovement(int ID);
+
+    /**
+     * Ritorna le statistiche dell'{@link Account} passato. Le statistiche restano aggiornate
+     * alle modifiche successive dei Movimenti dell'Account.
+     *
+     * @param account Account di cui calcolare le statistiche
+     * @return lo {@link StatisticCreator} dell'Account
+     */
+    StatisticCreator getStatistic(Account account);
+
+    /**
+     * Calcola la serie dei flussi di cassa di tutti gli {@link Account} del {@link Ledger}
+     * tra le 2 date passate (comprese).
+     *
+     * @param period Periodo in cui raggruppare i Movimenti
+     * @param from   Data iniziale
+     * @param to     Data finale
+     * @return la serie dei flussi di cassa
+     * @throws StaticException Viene lanciata quando si prova a calcolare delle Statistiche senza Account validi
+     */
+    CashFlowSeries getCashFlow(Period period, LocalDate from, LocalDate to) throws StaticException;
+
     /**
      * Ritorna la lista delle {@link Transaction} all'interno del {@link Ledger}.
      *
@@ -136,6 +211,14 @@ public interface Controller {
      */
     List<Transaction> getTransactions();
 
+    /**
+     * Ritorna i {@link Movement} che soddisfano la {@link MovementQuery}, letti mentre lo stream viene consumato.
+     *
+     * @param query Interrogazione da soddisfare
+     * @return lo {@code Stream} dei Movimenti
+     */
+    Stream<Movement> getMovements(MovementQuery query);
+
     /**
      * Importa i dati dell'Applicazione.
      *
@@ -147,6 +230,58 @@ public interface Controller {
      */
     void importData(String directoryPath) throws IOException, ParseException, MovementException, LedgerException;
 
+    /**
+     * Importa i dati dell'Applicazione leggendo i File contemporaneamente su piu' thread,
+     * e notifica l'avanzamento dell'import al listener passato.
+     *
+     * @param directoryPath Percorso della Cartella da dove importare i dati
+     * @param listener      Listener a cui notificare l'avanzamento dell'import
+     * @throws IOException       Viene lanciata quando avviene un Errore durante la lettura dei {@code Dati} da File
+     * @throws LedgerException   Viene lanciata quando avviene un Errore nella {@code ricreazione} dei Dati
+     * @throws ParseException    Viene lanciata quando avviene un Errore nella {@code ricreazione} dei Dati
+     * @throws MovementException Viene lanciata quando avviene un Errore nella {@code ricreazione} dei Dati
+     */
+    void importData(String directoryPath, ImportListener listener)
+            throws IOException, ParseException, MovementException, LedgerException;
+
+    /**
+     * Importa i dati di un File binario senza creare i Movimenti, che vengono creati solo quando
+     * vengono letti dagli Account.
+     *
+     * @param filePath Percorso del File binario da dove importare i dati
+     * @throws IOException       Viene lanciata quando avviene un Errore durante la lettura dei {@code Dati} da File
+     * @throws LedgerException   Viene lanciata quando avviene un Errore nella {@code ricreazione} dei Dati
+     * @throws ParseException    Viene lanciata quando avviene un Errore nella {@code ricreazione} dei Dati
+     * @throws MovementException Viene lanciata quando avviene un Errore nella {@code ricreazione} dei Dati
+     */
+    void importArchive(String filePath) throws IOException, ParseException, MovementException, LedgerException;
+
+    /**
+     * Apre il Journal dei dati salvati nel percorso passato, in cui vengono registrate le modifiche
+     * fatte attraverso il Controller fino al prossimo salvataggio.
+     *
+     * @param directoryPath Percorso della Cartella, o del File binario, dove sono salvati i dati
+     * @throws IOException Viene lanciata quando il Journal non puo' essere aperto
+     */
+    void openJournal(String directoryPath) throws IOException;
+
+    /**
+     * Apre il Journal dei dati salvati nel percorso passato; quando le modifiche registrate raggiungono
+     * la soglia i dati vengono salvati e il Journal viene svuotato.
+     *
+     * @param directoryPath       Percorso della Cartella, o del File binario, dove sono salvati i dati
+     * @param compactionThreshold Numero di modifiche dopo il quale i dati vengono salvati
+     * @throws IOException Viene lanciata quando il Journal non puo' essere aperto
+     */
+    void openJournal(String directoryPath, int compactionThreshold) throws IOException;
+
+    /**
+     * Chiude il Journal aperto, se presente.
+     *
+     * @throws IOException Viene lanciata quando il Journal non puo' essere chiuso
+     */
+    void closeJournal() throws IOException;
+
     /**
      * Elimina l'{@link Account} dal {@link Ledger}.
      *
@@ -205,6 +340,23 @@ public interface Controller {
      */
     void saveData(String directoryPath) throws IOException;
 
+    /**
+     * Sceglie se i File di testo dei dati devono essere salvati compressi in blocchi.
+     * I File gia' salvati vengono letti in entrambi i formati.
+     *
+     * @param compression {@code true} per comprimere i File salvati
+     */
+    void setCompression(boolean compression);
+
+    /**
+     * Esporta i dati dell'Applicazione in un File colonnare, da leggere con strumenti di analisi.
+     * L'esportazione non cambia la Cartella o il File in cui vengono salvati i dati.
+     *
+     * @param filePath Percorso del File dove esportare i dati
+     * @throws IOException Viene lanciata quando avviene un Errore durante l'esportazione
+     */
+    void exportData(String filePath) throws IOException;
+
 }
 
 
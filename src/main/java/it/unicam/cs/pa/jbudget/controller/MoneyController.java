@@ -1,18 +1,38 @@
 package it.unicam.cs.pa.jbudget.controller;
 
+import it.unicam.cs.pa.jbudget.read.FileBinaryImporter;
 import it.unicam.cs.pa.jbudget.read.FileTxtImporter;
-import it.unicam.cs.pa.jbudget.save.FileTxtSaver;
+import it.unicam.cs.pa.jbudget.read.ImportListener;
+import it.unicam.cs.pa.jbudget.read.JournalReplayer;
+import it.unicam.cs.pa.jbudget.read.LazyFileBinaryImporter;
+import it.unicam.cs.pa.jbudget.read.PipelinedFileTxtImporter;
+import it.unicam.cs.pa.jbudget.save.AtomicFileTxtSaver;
+import it.unicam.cs.pa.jbudget.save.FileBinarySaver;
+import it.unicam.cs.pa.jbudget.save.FileColumnarSaver;
+import it.unicam.cs.pa.jbudget.save.FileJournal;
+import it.unicam.cs.pa.jbudget.save.Journal;
 import it.unicam.cs.pa.jbudget.read.Importer;
 import it.unicam.cs.pa.jbudget.save.Saver;
+import it.unicam.cs.pa.jbudget.statistic.CashFlowSeries;
+import it.unicam.cs.pa.jbudget.statistic.CashFlowStatistic;
+import it.unicam.cs.pa.jbudget.statistic.IncrementalStatistic;
+import it.unicam.cs.pa.jbudget.statistic.Period;
+import it.unicam.cs.pa.jbudget.statistic.StaticException;
+import it.unicam.cs.pa.jbudget.statistic.StatisticCreator;
 import it.unicam.cs.pa.jbudget.model.*;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.text.ParseException;
-import java.util.ArrayList;
+import java.time.LocalDate;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 /**
  * La classe implementa l'interfaccia {@link Controller} ed ha la responsabilita' di controllare
@@ -23,12 +43,40 @@ import java.util.logging.Logger;
  * @see it.unicam.cs.pa.jbudget.model
  */
 public class MoneyController implements Controller {
+    /**
+     * Numero di modifiche registrate nel {@link Journal} dopo il quale i dati vengono salvati
+     * e il Journal viene svuotato.
+     */
+    public static final int COMPACTION_THRESHOLD = 10000;
+    /**
+     * Errore che si verifica quando si prova ad aprire il Journal con una soglia di compattazione
+     * minore di 1; al messaggio viene aggiunta la soglia passata.
+     */
+    public static final String EXCEPTION_COMPACTION_THRESHOLD = "La soglia di compattazione deve essere maggiore di 0: ";
     private final Ledger ledger;
     private final Logger logger;
+    private final MovementStore movementStore;
+    private final Map<Account, IncrementalStatistic> statistics = new HashMap<>();
     private int IDTransaction;
     private int IDMovement;
+    private Journal journal;
+    private String journalDataPath;
+    private int compactionThreshold;
+    private String savedPath;
+    private boolean compression;
 
     public MoneyController() {
+        this(null);
+    }
+
+    /**
+     * Crea un MoneyController che salva i {@link Movement} creati all'interno di un {@link MovementStore}.
+     *
+     * @param movementStore Archivio colonnare dei Movimenti; se {@code null} i Movimenti vengono
+     *                      creati come {@link MoneyMovement}
+     */
+    public MoneyController(MovementStore movementStore) {
+        this.movementStore = movementStore;
         ledger = new MoneyLedger();
         IDTransaction = 0;
         IDMovement = 0;
@@ -46,7 +94,8 @@ public class MoneyController implements Controller {
      */
     @Override
     public void addAccount(AccountType type, String name, String description, double opening) {
-        ledger.addAccount(type, name, description, opening);
+        Account account = ledger.addAccount(type, name, description, opening);
+        journal(log -> log.addAccount(account));
     }
 
     /**
@@ -63,6 +112,7 @@ public class MoneyController implements Controller {
     @Override
     public void addAccount(AccountType type, String name, String description, int ID, double opening) throws LedgerException {
         ledger.addAccount(type, name, description, ID, opening);
+        journal(log -> log.addAccount(ledger.getAccount(ID)));
     }
 
     /**
@@ -70,7 +120,8 @@ public class MoneyController implements Controller {
      */
     @Override
     public void addCategory(String name, String description) {
-        ledger.addCategory(name, description);
+        Category category = ledger.addCategory(name, description);
+        journal(log -> log.addCategory(category));
     }
 
     /**
@@ -85,6 +136,42 @@ public class MoneyController implements Controller {
     @Override
     public void addCategory(String name, String description, int ID) throws LedgerException {
         ledger.addCategory(name, description, ID);
+        journal(log -> log.addCategory(ledger.getCategory(ID)));
+    }
+
+    /**
+     * Aggiunge la {@link Category} al {@link Movement}.
+     *
+     * @param movement Movimento a cui aggiungere la Categoria
+     * @param category Categoria da aggiungere
+     * @return {@code true} se la Categoria viene aggiunta
+     */
+    @Override
+    public boolean addCategory(Movement movement, Category category) {
+        if (Objects.isNull(movement) || !containsCategory(category) || movement.categories().contains(category))
+            return false;
+        movement.addCategory(category);
+        ledger.getChanges().modified(movement);
+        journal(log -> log.addCategory(movement, category));
+        return true;
+    }
+
+    /**
+     * Aggiunge la {@link Category} alla {@link Transaction} e a tutti i suoi {@link Movement}.
+     *
+     * @param transaction Transazione a cui aggiungere la Categoria
+     * @param category    Categoria da aggiungere
+     * @return {@code true} se la Categoria viene aggiunta
+     */
+    @Override
+    public boolean addCategory(Transaction transaction, Category category) {
+        if (!containsTransaction(transaction) || !containsCategory(category)
+                || transaction.categories().contains(category))
+            return false;
+        transaction.addCategory(category);
+        transactionModified(transaction);
+        journal(log -> log.addCategory(transaction, category));
+        return true;
     }
 
     /**
@@ -102,7 +189,8 @@ public class MoneyController implements Controller {
     @Override
     public void addMovement(MovementType type, double value, Date date, String description,
                             Transaction transaction, Account account) throws MovementException {
-        new MoneyMovement(type, IDMovement++, value, date, description, transaction, account);
+        Movement movement = createMovement(type, IDMovement++, value, date, description, transaction, account);
+        journal(log -> log.addMovement(movement));
     }
 
     /**
@@ -124,13 +212,16 @@ public class MoneyController implements Controller {
     public Transaction addMovement(MovementType type, double value, Date date, String description,
                                    Account account) throws MovementException, LedgerException {
         Transaction transaction = new MoneyTransaction(IDTransaction++);
+        Movement movement;
         try {
-            new MoneyMovement(type, IDMovement++, value, date, description, transaction, account);
+            movement = createMovement(type, IDMovement++, value, date, description, transaction, account);
         } catch (MovementException exception) {
             IDTransaction--;
             throw exception;
         }
-        return addTransaction(transaction);
+        addTransaction(transaction);
+        journal(log -> log.addMovement(movement));
+        return transaction;
     }
 
     /**
@@ -163,11 +254,33 @@ public class MoneyController implements Controller {
         return transaction;
     }
 
+    /**
+     * Crea il {@link Movement} all'interno del {@link MovementStore}, se presente, altrimenti
+     * crea un {@link MoneyMovement}.
+     */
+    private Movement createMovement(MovementType type, int ID, double value, Date date, String description,
+                                    Transaction transaction, Account account) throws MovementException {
+        if (Objects.isNull(movementStore))
+            return new MoneyMovement(type, ID, value, date, description, transaction, account);
+        return movementStore.addMovement(type, ID, value, date, description, transaction, account);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Movement createMovement(MovementType type, int ID, long cents, long epochDay, String description,
+                                   Transaction transaction, Account account) throws MovementException {
+        if (Objects.isNull(movementStore))
+            return new MoneyMovement(type, ID, Money.toDouble(cents), epochDay, description, transaction, account);
+        return movementStore.addMovement(type, ID, cents, epochDay, description, transaction, account);
+    }
+
     /**
      * Controlla se il {@link Movement} appena creato dal File sia il primo della sua {@link Transaction}.
      */
     private void controlFirstMovement(Movement movement) throws LedgerException {
-        if (!getTransactions().contains(movement.getTransaction()))
+        if (Objects.isNull(ledger.getTransaction(movement.getTransaction().getID())))
             addTransaction(movement.getTransaction());
     }
 
@@ -202,9 +315,43 @@ public class MoneyController implements Controller {
      */
     @Override
     public List<Movement> getMovements() {
-        List<Movement> movements = new ArrayList<>();
-        ledger.getTransactions().forEach(transaction -> movements.addAll(transaction.movements()));
-        return movements;
+        return ledger.getMovements();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Movement getMovement(int ID) {
+        return ledger.getMovement(ID);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Le statistiche di ogni Account vengono create alla prima richiesta e poi aggiornate
+     * ad ogni modifica (vedi {@link IncrementalStatistic}), finche' l'Account non viene eliminato.
+     */
+    @Override
+    public StatisticCreator getStatistic(Account account) {
+        if (Objects.isNull(account))
+            return new IncrementalStatistic(null);
+        return statistics.computeIfAbsent(account, IncrementalStatistic::new);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CashFlowSeries getCashFlow(Period period, LocalDate from, LocalDate to) throws StaticException {
+        return new CashFlowStatistic(ledger).getCashFlow(period, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Movement> getMovements(MovementQuery query) {
+        return ledger.movements(query);
     }
 
     /**
@@ -216,9 +363,11 @@ public class MoneyController implements Controller {
     }
 
     /**
-     * Importa i dati dell'Applicazione.
+     * Importa i dati dell'Applicazione, dopo aver recuperato un eventuale salvataggio interrotto.
+     * Se il percorso termina con {@value FileBinarySaver#EXTENSION} i dati vengono importati
+     * dal File binario con un {@link FileBinaryImporter}.
      *
-     * @param directoryPath Percorso della Cartella da dove importare i dati
+     * @param directoryPath Percorso della Cartella, o del File binario, da dove importare i dati
      * @throws IOException       Viene lanciata quando avviene un Errore durante la lettura dei {@code Dati} da File
      * @throws LedgerException   Viene lanciata quando avviene un Errore nella {@code ricreazione} dei Dati
      * @throws ParseException    Viene lanciata quando avviene un Errore nella {@code ricreazione} dei Dati
@@ -226,11 +375,193 @@ public class MoneyController implements Controller {
      */
     @Override
     public void importData(String directoryPath) throws IOException, ParseException, MovementException, LedgerException {
-        Importer fileImporter = new FileTxtImporter(this, directoryPath);
-        fileImporter.getAccounts();
-        fileImporter.getCategories();
-        fileImporter.getMovements();
-        fileImporter.getTransaction();
+        if (isBinary(directoryPath))
+            importData(new FileBinaryImporter(this, directoryPath), directoryPath);
+        else {
+            AtomicFileTxtSaver.recover(directoryPath);
+            importData(new FileTxtImporter(this, directoryPath), directoryPath);
+        }
+    }
+
+    /**
+     * Importa i dati dell'Applicazione con un {@link PipelinedFileTxtImporter}, che legge i File
+     * contemporaneamente su piu' thread e li collega al Ledger nel thread chiamante.
+     * Un File binario viene invece importato con un {@link FileBinaryImporter}, senza notificare il listener.
+     *
+     * @param directoryPath Percorso della Cartella, o del File binario, da dove importare i dati
+     * @param listener      Listener a cui notificare l'avanzamento dell'import
+     * @throws IOException       Viene lanciata quando avviene un Errore durante la lettura dei {@code Dati} da File
+     * @throws LedgerException   Viene lanciata quando avviene un Errore nella {@code ricreazione} dei Dati
+     * @throws ParseException    Viene lanciata quando avviene un Errore nella {@code ricreazione} dei Dati
+     * @throws MovementException Viene lanciata quando avviene un Errore nella {@code ricreazione} dei Dati
+     */
+    @Override
+    public void importData(String directoryPath, ImportListener listener)
+            throws IOException, ParseException, MovementException, LedgerException {
+        if (isBinary(directoryPath))
+            importData(new FileBinaryImporter(this, directoryPath), directoryPath);
+        else {
+            AtomicFileTxtSaver.recover(directoryPath);
+            importData(new PipelinedFileTxtImporter(this, directoryPath, listener), directoryPath);
+        }
+    }
+
+    /**
+     * Importa i dati di un File binario con un {@link LazyFileBinaryImporter}: i Movimenti rimangono
+     * nel File mappato in memoria e vengono creati quando vengono letti dagli Account.
+     * Se il percorso non indica un File binario i dati vengono importati con {@link #importData(String)}.
+     *
+     * @param filePath Percorso del File binario da dove importare i dati
+     * @throws IOException       Viene lanciata quando avviene un Errore durante la lettura dei {@code Dati} da File
+     * @throws LedgerException   Viene lanciata quando avviene un Errore nella {@code ricreazione} dei Dati
+     * @throws ParseException    Viene lanciata quando avviene un Errore nella {@code ricreazione} dei Dati
+     * @throws MovementException Viene lanciata quando avviene un Errore nella {@code ricreazione} dei Dati
+     */
+    @Override
+    public void importArchive(String filePath) throws IOException, ParseException, MovementException, LedgerException {
+        if (isBinary(filePath))
+            importData(new LazyFileBinaryImporter(this, filePath), filePath);
+        else
+            importData(filePath);
+    }
+
+    /**
+     * Importa i dati e riapplica le modifiche registrate nel {@link Journal} del percorso, senza registrarle
+     * di nuovo. Se il Journal aperto e' quello del percorso, le modifiche riapplicate vengono salvate.
+     * Se il Ledger era vuoto, i dati importati coincidono con quelli salvati nel percorso: solo le modifiche
+     * riapplicate e quelle successive vengono segnalate al {@link ChangeTracker}.
+     */
+    private void importData(Importer fileImporter, String path)
+            throws IOException, ParseException, MovementException, LedgerException {
+        boolean empty = ledger.getAccount().isEmpty() && ledger.getCategories().isEmpty();
+        ChangeTracker changes = ledger.getChanges();
+        Journal suspended = journal;
+        journal = null;
+        savedPath = null;
+        int replayed;
+        try {
+            changes.suspend();
+            try {
+                fileImporter.getAccounts();
+                fileImporter.getCategories();
+                fileImporter.getMovements();
+                fileImporter.getTransaction();
+            } finally {
+                changes.resume();
+            }
+            if (empty) {
+                changes.clear();
+                savedPath = path;
+            }
+            replayed = new JournalReplayer(this, journalPath(path)).replay();
+        } finally {
+            journal = suspended;
+        }
+        if (replayed > 0 && !Objects.isNull(journal) && path.equals(journalDataPath))
+            saveData(path);
+    }
+
+    /**
+     * Apre il {@link Journal} dei dati salvati nel percorso passato, con la soglia di compattazione
+     * {@value #COMPACTION_THRESHOLD}.
+     *
+     * @param directoryPath Percorso della Cartella, o del File binario, dove sono salvati i dati
+     * @throws IOException Viene lanciata quando il Journal non puo' essere aperto
+     */
+    @Override
+    public void openJournal(String directoryPath) throws IOException {
+        openJournal(directoryPath, COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Apre il {@link Journal} dei dati salvati nel percorso passato: ogni modifica fatta attraverso il Controller
+     * viene registrata in coda al Journal, e quando le modifiche registrate raggiungono la soglia i dati
+     * vengono salvati nel percorso e il Journal viene svuotato.
+     * Il Journal di una Cartella e' il File {@value FileJournal#FILE_NAME} al suo interno, quello di un File binario
+     * ha lo stesso percorso seguito da {@value FileJournal#EXTENSION}; le modifiche vengono riapplicate
+     * quando i dati vengono importati dallo stesso percorso.
+     * Le modifiche vengono registrate dopo essere state applicate al {@link Ledger}, e i record vengono solo
+     * scritti nel File: il Journal viene sincronizzato sul disco alla chiusura e ad ogni compattazione, quindi
+     * le modifiche successive all'ultima sincronizzazione possono andare perse se il sistema si interrompe.
+     *
+     * @param directoryPath       Percorso della Cartella, o del File binario, dove sono salvati i dati
+     * @param compactionThreshold Numero di modifiche dopo il quale i dati vengono salvati
+     * @throws IOException Viene lanciata quando il Journal non puo' essere aperto
+     */
+    @Override
+    public void openJournal(String directoryPath, int compactionThreshold) throws IOException {
+        if (compactionThreshold < 1)
+            throw new IllegalArgumentException(EXCEPTION_COMPACTION_THRESHOLD + compactionThreshold);
+        closeJournal();
+        journal = new FileJournal(journalPath(directoryPath));
+        journalDataPath = directoryPath;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void closeJournal() throws IOException {
+        if (Objects.isNull(journal))
+            return;
+        try {
+            journal.close();
+        } finally {
+            journal = null;
+            journalDataPath = null;
+        }
+    }
+
+    /**
+     * Registra nel {@link Journal}, se aperto, una modifica gia' applicata al {@link Ledger}, e salva i dati
+     * quando viene raggiunta la soglia. La modifica resta applicata anche se non puo' essere registrata:
+     * l'errore viene segnalato al {@link Logger} e i dati vengono salvati subito, cosi' che il Journal
+     * non resti senza la modifica. Se anche il salvataggio fallisce il Journal viene chiuso.
+     */
+    private void journal(JournalRecord record) {
+        if (Objects.isNull(journal))
+            return;
+        try {
+            record.writeTo(journal);
+            if (journal.size() >= compactionThreshold)
+                saveData(journalDataPath);
+        } catch (IOException exception) {
+            logger.logp(Level.WARNING, "MoneyController", "journal()", exception.getMessage());
+            compactJournal();
+        }
+    }
+
+    /**
+     * Salva i dati nel percorso del {@link Journal} dopo un errore di registrazione, svuotando il Journal;
+     * se il salvataggio fallisce il Journal viene chiuso.
+     */
+    private void compactJournal() {
+        try {
+            saveData(journalDataPath);
+        } catch (IOException exception) {
+            logger.logp(Level.WARNING, "MoneyController", "journal()", exception.getMessage());
+            try {
+                closeJournal();
+            } catch (IOException closeException) {
+                logger.logp(Level.WARNING, "MoneyController", "journal()", closeException.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Ritorna il percorso del {@link Journal} dei dati salvati nel percorso passato.
+     */
+    private String journalPath(String path) {
+        return isBinary(path) ? path + FileJournal.EXTENSION : Paths.get(path, FileJournal.FILE_NAME).toString();
+    }
+
+    /**
+     * Modifica da registrare nel {@link Journal}.
+     */
+    @FunctionalInterface
+    private interface JournalRecord {
+        void writeTo(Journal journal) throws IOException;
     }
 
     /**
@@ -241,7 +572,13 @@ public class MoneyController implements Controller {
      */
     @Override
     public boolean removeAccount(Account account) {
-        return ledger.removeAccount(account);
+        if (!ledger.removeAccount(account))
+            return false;
+        IncrementalStatistic statistic = statistics.remove(account);
+        if (!Objects.isNull(statistic))
+            statistic.close();
+        journal(log -> log.removeAccount(account));
+        return true;
     }
 
     /**
@@ -252,7 +589,10 @@ public class MoneyController implements Controller {
      */
     @Override
     public boolean removeCategory(Category category) {
-        return ledger.removeCategory(category);
+        if (!ledger.removeCategory(category))
+            return false;
+        journal(log -> log.removeCategory(category));
+        return true;
     }
 
     /**
@@ -264,9 +604,11 @@ public class MoneyController implements Controller {
      */
     @Override
     public boolean removeCategory(Movement movement, Category category) {
-        if (ledger.getCategories().contains(category))
-            return movement.removeCategory(category);
-        return false;
+        if (!containsCategory(category) || !movement.removeCategory(category))
+            return false;
+        ledger.getChanges().modified(movement);
+        journal(log -> log.removeCategory(movement, category));
+        return true;
     }
 
     /**
@@ -278,9 +620,28 @@ public class MoneyController implements Controller {
      */
     @Override
     public boolean removeCategory(Transaction transaction, Category category) {
-        if (ledger.getTransactions().contains(transaction) && ledger.getCategories().contains(category))
-            return transaction.removeCategory(category);
-        return false;
+        if (!containsTransaction(transaction) || !containsCategory(category) || !transaction.removeCategory(category))
+            return false;
+        transactionModified(transaction);
+        journal(log -> log.removeCategory(transaction, category));
+        return true;
+    }
+
+    /**
+     * Segnala al {@link ChangeTracker} la modifica delle Categorie della Transazione e dei suoi Movimenti.
+     */
+    private void transactionModified(Transaction transaction) {
+        ChangeTracker changes = ledger.getChanges();
+        changes.modified(ChangeTracker.Entity.TRANSACTION);
+        transaction.movements().forEach(changes::modified);
+    }
+
+    private boolean containsCategory(Category category) {
+        return !Objects.isNull(category) && category.equals(ledger.getCategory(category.getID()));
+    }
+
+    private boolean containsTransaction(Transaction transaction) {
+        return !Objects.isNull(transaction) && transaction.equals(ledger.getTransaction(transaction.getID()));
     }
 
     /**
@@ -291,27 +652,18 @@ public class MoneyController implements Controller {
      */
     @Override
     public boolean removeMovement(Movement movement) {
-        if (removeMovementFromAccount(movement) && removeMovementFromTransaction(movement)) {
+        if (Objects.isNull(movement) || !containsTransaction(movement.getTransaction()))
+            return false;
+        Transaction transaction = movement.getTransaction();
+        if (transaction.movements().size() == 1) {
+            if (!ledger.removeTransaction(transaction))
+                return false;
+        } else if (movement.getAccount().removeMovement(movement) && transaction.removeMovement(movement))
             movement.delete();
-            return true;
-        }
-        return false;
-    }
-
-    private boolean removeMovementFromAccount(Movement movement) {
-        for (Account account : ledger.getAccount())
-            return account.getMovements().removeIf(movementAccount -> movementAccount.equals(movement));
-        return false;
-    }
-
-    private boolean removeMovementFromTransaction(Movement movement) {
-        for (Transaction transaction : ledger.getTransactions()) {
-            if (transaction.movements().size() == 1)
-                return ledger.removeTransaction(transaction);
-            else
-                return transaction.movements().removeIf(movementTransaction -> movementTransaction.equals(movement));
-        }
-        return false;
+        else
+            return false;
+        journal(log -> log.removeMovement(movement));
+        return true;
     }
 
     /**
@@ -322,22 +674,106 @@ public class MoneyController implements Controller {
      */
     @Override
     public boolean removeTransaction(Transaction transaction) {
-        return ledger.removeTransaction(transaction);
+        if (!ledger.removeTransaction(transaction))
+            return false;
+        journal(log -> log.removeTransaction(transaction));
+        return true;
     }
 
     /**
-     * Salva i dati dell'Applicazione.
+     * Salva i dati dell'Applicazione con un {@link AtomicFileTxtSaver}: se il salvataggio viene interrotto,
+     * al successivo import viene completato o annullato.
+     * Se il percorso termina con {@value FileBinarySaver#EXTENSION} i dati vengono salvati
+     * in un unico File binario con un {@link FileBinarySaver}.
+     * Se i dati sono gia' stati salvati o importati nella stessa Cartella, vengono riscritti solo i File
+     * dei dati segnalati dal {@link ChangeTracker}, e i Movimenti aggiunti vengono salvati in coda a quelli
+     * gia' presenti nel File.
+     * Se il {@link Journal} aperto e' quello del percorso, dopo il salvataggio viene svuotato.
+     * I File riscritti vengono compressi se e' stato richiesto con {@link #setCompression(boolean)}.
      *
-     * @param directoryPath Percorso della Cartella dove salvare i dati
+     * @param directoryPath Percorso della Cartella, o del File binario, dove salvare i dati
      * @throws IOException Viene lanciata quando avviene un Errore durante il Salvataggio
      */
     @Override
     public void saveData(String directoryPath) throws IOException {
-        Saver fileSaver = new FileTxtSaver(this, directoryPath);
-        fileSaver.saveAccount();
-        fileSaver.saveMovement();
-        fileSaver.saveCategory();
-        fileSaver.saveTransactionCategory();
+        ChangeTracker changes = ledger.getChanges();
+        boolean incremental = !isBinary(directoryPath) && directoryPath.equals(savedPath);
+        savedPath = null;
+        Saver fileSaver = isBinary(directoryPath) ? new FileBinarySaver(this, directoryPath)
+                : new AtomicFileTxtSaver(this, directoryPath, compression);
+        try {
+            if (!incremental || changes.isModified(ChangeTracker.Entity.ACCOUNT))
+                fileSaver.saveAccount();
+            if (!incremental || changes.isModified(ChangeTracker.Entity.MOVEMENT))
+                fileSaver.saveMovement();
+            else
+                appendMovement(fileSaver, changes.addedMovements());
+            if (!incremental || changes.isModified(ChangeTracker.Entity.CATEGORY))
+                fileSaver.saveCategory();
+            if (!incremental || changes.isModified(ChangeTracker.Entity.TRANSACTION))
+                fileSaver.saveTransactionCategory();
+            fileSaver.commit();
+        } catch (IOException | RuntimeException exception) {
+            abort(fileSaver, exception);
+            throw exception;
+        }
+        changes.clear();
+        savedPath = directoryPath;
+        if (!Objects.isNull(journal) && directoryPath.equals(journalDataPath))
+            journal.reset();
+    }
+
+    @Override
+    public void setCompression(boolean compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Esporta i dati dell'Applicazione con un {@link FileColumnarSaver}.
+     *
+     * @param filePath Percorso del File dove esportare i dati
+     * @throws IOException Viene lanciata quando avviene un Errore durante l'esportazione
+     */
+    @Override
+    public void exportData(String filePath) throws IOException {
+        Saver fileSaver = new FileColumnarSaver(this, filePath);
+        try {
+            fileSaver.saveAccount();
+            fileSaver.saveCategory();
+            fileSaver.saveMovement();
+            fileSaver.saveTransactionCategory();
+            fileSaver.commit();
+        } catch (IOException | RuntimeException exception) {
+            abort(fileSaver, exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Annulla il salvataggio fallito; gli errori dell'annullamento vengono aggiunti all'eccezione del salvataggio.
+     */
+    private static void abort(Saver fileSaver, Exception exception) {
+        try {
+            fileSaver.abort();
+        } catch (IOException suppressed) {
+            exception.addSuppressed(suppressed);
+        }
+    }
+
+    /**
+     * Salva in coda i {@link Movement} aggiunti, se le loro Transazioni sono ancora nel {@link Ledger}.
+     */
+    private void appendMovement(Saver fileSaver, List<Movement> movements) throws IOException {
+        movements.removeIf(movement -> !containsTransaction(movement.getTransaction()));
+        if (!movements.isEmpty())
+            fileSaver.appendMovement(movements);
+    }
+
+    /**
+     * Controlla se il percorso indica un File nel formato binario.
+     */
+    private boolean isBinary(String path) {
+        return path.endsWith(FileBinarySaver.EXTENSION);
     }
 
     /**
@@ -5,10 +5,11 @@ import it.unicam.cs.pa.jbudget.controller.MoneyController;
 import it.unicam.cs.pa.jbudget.javaFX.input.*;
 import it.unicam.cs.pa.jbudget.javaFX.input.delete.*;
 import it.unicam.cs.pa.jbudget.model.*;
-import it.unicam.cs.pa.jbudget.statistic.MoneyStatistic;
 import it.unicam.cs.pa.jbudget.statistic.StaticException;
 import it.unicam.cs.pa.jbudget.statistic.StatisticCreator;
+import it.unicam.cs.pa.jbudget.statistic.StatisticSummary;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -21,7 +22,6 @@ import javafx.stage.Stage;
 
 import java.io.File;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -101,6 +101,8 @@ public class JavaFXController implements JavaFXWindowController {
     Button openButton;
     @FXML
     TextField importPath;
+    @FXML
+    ProgressBar importProgress;
 
     /**
      * Statistiche
@@ -346,28 +348,60 @@ public class JavaFXController implements JavaFXWindowController {
     @FXML
     public void getStatistic() {
         if (!Objects.isNull(accountChoiceBox.getValue())) {
-            StatisticCreator statisticCreator = new MoneyStatistic(accountChoiceBox.getValue());
-            setStatisticTextField(statisticCreator);
-            populateCategoryMapTable(statisticCreator);
+            StatisticCreator statisticCreator = controller.getStatistic(accountChoiceBox.getValue());
+            try {
+                StatisticSummary summary = statisticCreator.summarize();
+                setStatisticTextField(summary);
+                populateCategoryMapTable(summary.getCategoryValue());
+            } catch (StaticException exception) {
+                populateCategoryMapTable(exception);
+            }
         }
     }
 
+    /**
+     * Importa i dati della Cartella selezionata in un {@link Task}, cosi' che l'interfaccia non si blocchi
+     * durante la lettura; l'avanzamento viene mostrato nella barra di avanzamento e al termine
+     * dell'import le tabelle vengono aggiornate.
+     */
     @FXML
     public void importData() {
         if (importPath.getText().equals("")) {
             File directory = new DirectoryChooser().showDialog(openButton.getScene().getWindow());
+            if (Objects.isNull(directory))
+                return;
             importPath.setText(directory.getAbsolutePath());
         }
-        try {
-            if (!Objects.isNull(importPath))
-                controller.importData(importPath.getText());
+        String directoryPath = importPath.getText();
+        Task<Void> task = new Task<>() {
+            @Override
+            protected Void call() throws Exception {
+                controller.importData(directoryPath, this::updateProgress);
+                return null;
+            }
+        };
+        importProgress.progressProperty().bind(task.progressProperty());
+        openButton.setDisable(true);
+        task.setOnSucceeded(event -> {
+            openButton.setDisable(false);
             refresh();
-        } catch (IOException exception) {
+        });
+        task.setOnFailed(event -> {
+            openButton.setDisable(false);
+            importFailed(task.getException());
+        });
+        Thread thread = new Thread(task, "jbudget-import");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void importFailed(Throwable exception) {
+        if (exception instanceof IOException) {
             controller.getLogger().logp(Level.WARNING, "JavaFXController", "importData()", exception.getMessage());
             errorWindow("Error - Errore nella lettura dei dati", exception.getMessage());
-        } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+        } else if (exception instanceof IllegalArgumentException || exception instanceof IndexOutOfBoundsException)
             errorWindow("Error - Il Formato dei Dati e' Errato!", exception.getMessage());
-        } catch (Exception exception) {
+        else {
             controller.getLogger().logp(Level.WARNING, "JavaFXController", "importData()", exception.getMessage());
             errorWindow("Error!", exception.getMessage());
         }
@@ -377,8 +411,8 @@ public class JavaFXController implements JavaFXWindowController {
         if (!controller.getMovements().isEmpty()) {
             setMovementCATCellValueFactory();
             movementCAT.getItems().clear();
-            movementCAT.getItems().addAll(controller.getMovements().stream().filter(
-                    movement -> !movement.categories().isEmpty()).collect(Collectors.toList()));
+            movementCAT.getItems().addAll(controller.getMovements(new MovementQuery().categorized())
+                    .collect(Collectors.toList()));
         } else
             movementCAT.getItems().clear();
     }
@@ -412,20 +446,21 @@ public class JavaFXController implements JavaFXWindowController {
         stage.showAndWait();
     }
 
-    private void populateCategoryMapTable(StatisticCreator statisticCreator) {
+    private void populateCategoryMapTable(Map<Category, Double> map) {
         setCategoryMapCellValueFactory();
         categoryMapTable.getItems().clear();
         List<String> info = new ArrayList<>();
-        try {
-            Map<Category, Double> map = statisticCreator.getCategoryValue();
-            map.forEach((category, value) ->
-                    info.add("ID: " + category.getID() + ", Name: " + category.getName() + ", Valore: " + value));
-        } catch (StaticException exception) {
-            info.add("Error! -" + exception.getMessage());
-        }
+        map.forEach((category, value) ->
+                info.add("ID: " + category.getID() + ", Name: " + category.getName() + ", Valore: " + value));
         categoryMapTable.getItems().addAll(info);
     }
 
+    private void populateCategoryMapTable(StaticException exception) {
+        setCategoryMapCellValueFactory();
+        categoryMapTable.getItems().clear();
+        categoryMapTable.getItems().add("Error! -" + exception.getMessage());
+    }
+
     /**
      * Aggiorna il contenuto delle Tabelle.
      */
@@ -470,36 +505,8 @@ public class JavaFXController implements JavaFXWindowController {
         categoryMapInfo.setCellValueFactory(info -> new SimpleObjectProperty<>(info.getValue()));
     }
 
-    private void setMaxMovementsCredits(StatisticCreator statisticCreator) {
-        try {
-            maxMovementCredits.setText(statisticCreator.getMaxCredit().toString());
-        } catch (StaticException exception) {
-            maxMovementCredits.setText(ERROR_NO_CREDITS);
-        }
-    }
-
-    private void setMaxMovementsDebits(StatisticCreator statisticCreator) {
-        try {
-            maxMovementDebits.setText(statisticCreator.getMaxDebit().toString());
-        } catch (StaticException exception) {
-            maxMovementDebits.setText(ERROR_NO_DEBITS);
-        }
-    }
-
-    private void setMinMovementCredits(StatisticCreator statisticCreator) {
-        try {
-            minMovementCredits.setText(statisticCreator.getMinCredit().toString());
-        } catch (StaticException exception) {
-            minMovementCredits.setText(ERROR_NO_CREDITS);
-        }
-    }
-
-    private void setMinMovementDebits(StatisticCreator statisticCreator) {
-        try {
-            minMovementDebits.setText(statisticCreator.getMinDebit().toString());
-        } catch (StaticException exception) {
-            minMovementDebits.setText(ERROR_NO_DEBITS);
-        }
+    private void setStatisticText(TextField field, Movement movement, String error) {
+        field.setText(Objects.isNull(movement) ? error : movement.toString());
     }
 
     private void setMovementCATCellValueFactory() {
@@ -514,17 +521,17 @@ public class JavaFXController implements JavaFXWindowController {
         movementDescription.setCellValueFactory(movement -> new SimpleObjectProperty<>(movement.getValue().getDescription()));
         movementType.setCellValueFactory(movement -> new SimpleObjectProperty<>(movement.getValue().type()));
         movementDate.setCellValueFactory(movement ->
-                new SimpleObjectProperty<>(new SimpleDateFormat("yyyy-MM-dd").format(movement.getValue().getDate())));
+                new SimpleObjectProperty<>(Days.toString(movement.getValue().getEpochDay())));
         movementID.setCellValueFactory(movement -> new SimpleObjectProperty<>(movement.getValue().getID()));
         movementTransaction.setCellValueFactory(movement -> new SimpleObjectProperty<>(movement.getValue().getTransaction().getID()));
         movementAccount.setCellValueFactory(movement -> new SimpleObjectProperty<>(movement.getValue().getAccount().getID()));
     }
 
-    private void setStatisticTextField(StatisticCreator statisticCreator) {
-        setMaxMovementsCredits(statisticCreator);
-        setMaxMovementsDebits(statisticCreator);
-        setMinMovementCredits(statisticCreator);
-        setMinMovementDebits(statisticCreator);
+    private void setStatisticTextField(StatisticSummary summary) {
+        setStatisticText(maxMovementCredits, summary.getMax(MovementType.CREDITS), ERROR_NO_CREDITS);
+        setStatisticText(maxMovementDebits, summary.getMax(MovementType.DEBITS), ERROR_NO_DEBITS);
+        setStatisticText(minMovementCredits, summary.getMin(MovementType.CREDITS), ERROR_NO_CREDITS);
+        setStatisticText(minMovementDebits, summary.getMin(MovementType.DEBITS), ERROR_NO_DEBITS);
     }
 
 }
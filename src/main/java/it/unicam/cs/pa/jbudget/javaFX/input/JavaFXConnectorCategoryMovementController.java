@@ -67,7 +67,7 @@ public class JavaFXConnectorCategoryMovementController implements JavaFXInputCon
                 throw new IllegalArgumentException(ERROR_NO_CATEGORY);
             if (Objects.isNull(getMovementFromID()))
                 throw new IllegalArgumentException(ERROR_NO_MOVEMENT);
-            getMovementFromID().addCategory(getCategoryFromID());
+            controller.addCategory(getMovementFromID(), getCategoryFromID());
             cancel();
         } catch (IllegalArgumentException exception) {
             errorWindow(ERROR_TITLE_ILLEGAL_ARGUMENT, exception.getMessage());
@@ -67,7 +67,7 @@ public class JavaFXConnectorCategoryTransactionController implements JavaFXInput
                 throw new IllegalArgumentException(ERROR_NO_CATEGORY);
             if (Objects.isNull(getTransactionFromID()))
                 throw new IllegalArgumentException(ERROR_NO_TRANSACTION);
-            getTransactionFromID().addCategory(getCategoryFromID());
+            controller.addCategory(getTransactionFromID(), getCategoryFromID());
             cancel();
         } catch (IllegalArgumentException exception) {
             errorWindow(ERROR_TITLE_ILLEGAL_ARGUMENT, exception.getMessage());
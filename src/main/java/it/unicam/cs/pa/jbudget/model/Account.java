@@ -1,7 +1,9 @@
 package it.unicam.cs.pa.jbudget.model;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Questa interfaccia e' implementata dalle classi che hanno la responsabilita' di gestire un conto.
@@ -39,6 +41,20 @@ public interface Account extends Comparable<Account> {
      */
     void addMovements(List<? extends Movement> movements) throws MovementException;
 
+    /**
+     * Crea tutti i {@link Movement} del Conto ancora presenti nel suo {@link MovementArchive}.
+     */
+    void loadArchive();
+
+    /**
+     * Crea i {@link Movement} del Conto ancora presenti nel suo {@link MovementArchive} con giorno compreso
+     * tra i 2 passati (compresi).
+     *
+     * @param fromDay Giorno iniziale (vedi {@link Days})
+     * @param toDay   Giorno finale
+     */
+    void loadArchive(long fromDay, long toDay);
+
     /**
      * Ritorna il bilancio attuale del Conto.
      *
@@ -46,6 +62,64 @@ public interface Account extends Comparable<Account> {
      */
     double getBalance();
 
+    /**
+     * Ritorna il bilancio attuale del Conto in centesimi.
+     *
+     * @return il bilancio del Conto in centesimi
+     * @see Money
+     */
+    long getBalanceInCents();
+
+    /**
+     * Ritorna il bilancio del Conto alla data passata, considerando tutti i {@link Movement}
+     * con data precedente o uguale a quella passata.
+     *
+     * @param asOf Data in cui calcolare il bilancio
+     * @return il bilancio del Conto alla data passata
+     */
+    double getBalance(LocalDate asOf);
+
+    /**
+     * Ritorna il bilancio del Conto in centesimi alla data passata (vedi {@link #getBalance(LocalDate)}).
+     *
+     * @param asOf Data in cui calcolare il bilancio
+     * @return il bilancio del Conto in centesimi alla data passata
+     * @see Money
+     */
+    long getBalanceInCents(LocalDate asOf);
+
+    /**
+     * Ritorna la variazione del bilancio del Conto tra le 2 date passate (comprese); non e' il bilancio
+     * del Conto, che si ottiene con {@link #getBalance(LocalDate)}.
+     *
+     * @param from Data iniziale
+     * @param to   Data finale
+     * @return la variazione del bilancio del Conto nell'intervallo
+     */
+    double getBalanceChange(LocalDate from, LocalDate to);
+
+    /**
+     * Rimuove un {@link Movement} dal Conto.
+     *
+     * @param movement Movimento da rimuovere
+     * @return {@code true} se il Movimento e' stato rimosso
+     */
+    boolean removeMovement(Movement movement);
+
+    /**
+     * Registra un {@link MovementListener}, che viene informato di ogni modifica dei {@link Movement} del Conto.
+     *
+     * @param listener Listener da registrare
+     */
+    void addListener(MovementListener listener);
+
+    /**
+     * Rimuove un {@link MovementListener} registrato con {@link #addListener(MovementListener)}.
+     *
+     * @param listener Listener da rimuovere
+     */
+    void removeListener(MovementListener listener);
+
     /**
      * Ritorna la descrizione del Conto.
      *
@@ -68,7 +142,8 @@ public interface Account extends Comparable<Account> {
     int getID();
 
     /**
-     * Ritorna la lista dei {@link Movement} dell'Account.
+     * Ritorna la lista dei {@link Movement} dell'Account. La lista non e' modificabile:
+     * i Movimenti vengono aggiunti e rimossi attraverso i metodi del Conto.
      *
      * @return la {@code List} dei Movimenti
      */
@@ -82,6 +157,31 @@ public interface Account extends Comparable<Account> {
      */
     List<Movement> getMovements(Predicate<Movement> predicate);
 
+    /**
+     * Ritorna la lista dei {@link Movement} dell'Account con data compresa tra le 2 passate (comprese),
+     * in ordine di giorno e di ID. Dal {@link MovementArchive} vengono creati solo i Movimenti dell'intervallo.
+     *
+     * @param from Data iniziale
+     * @param to   Data finale
+     * @return la {@code List} dei Movimenti
+     */
+    List<Movement> getMovements(LocalDate from, LocalDate to);
+
+    /**
+     * Ritorna i {@link Movement} dell'Account che soddisfano la {@link MovementQuery}, in ordine di ID
+     * (in ordine di giorno e di ID se l'interrogazione e' limitata ad un intervallo di date).
+     * I Movimenti vengono letti mentre lo stream viene consumato, senza copiarli in una nuova lista:
+     * l'Account non deve essere modificato finche' lo stream non e' stato consumato.
+     * Dal {@link MovementArchive} vengono creati solo i Movimenti dell'intervallo di date dell'interrogazione.
+     * Se l'interrogazione richiede una Categoria, o Movimenti con almeno una Categoria, vengono letti solo
+     * i Movimenti che la hanno; altrimenti un intervallo di date viene letto dall'indice per giorno
+     * dell'Account.
+     *
+     * @param query Interrogazione da soddisfare
+     * @return lo {@code Stream} dei Movimenti
+     */
+    Stream<Movement> movements(MovementQuery query);
+
     /**
      * Ritorna il nome del Conto.
      *
@@ -0,0 +1,76 @@
+package it.unicam.cs.pa.jbudget.model;
+
+/**
+ * Operazioni con cui i {@link Movement} del Model tengono aggiornati gli indici e il saldo del loro
+ * {@link Account}. Non fanno parte dell'interfaccia pubblica dell'Account: vengono chiamate solo dai Movimenti
+ * quando cambiano valore, data o Categorie, e dal {@link MovementArchive} per i Movimenti non ancora creati.
+ *
+ * @author Matteo Rondini
+ */
+interface AccountBookkeeping {
+    /**
+     * Aggiorna il Conto in seguito alla modifica del valore o della data di un suo {@link Movement}.
+     *
+     * @param movement  Movimento modificato
+     * @param oldAmount Valore in centesimi del Movimento prima della modifica
+     * @param oldDay    Giorno del Movimento prima della modifica (vedi {@link Days})
+     */
+    void updateMovement(Movement movement, long oldAmount, long oldDay);
+
+    /**
+     * Aggiorna il Conto in seguito all'aggiunta o alla rimozione di una {@link Category} di un suo {@link Movement}.
+     *
+     * @param movement Movimento modificato
+     * @param category Categoria aggiunta o rimossa
+     * @param added    {@code true} se la Categoria e' stata aggiunta, {@code false} se e' stata rimossa
+     */
+    void updateCategory(Movement movement, Category category, boolean added);
+
+    /**
+     * Aggiunge al saldo del Conto il valore di un {@link Movement} archiviato, che non e' ancora stato creato.
+     * Prima di creare il Movimento il {@link MovementArchive} toglie il valore passando l'importo negato,
+     * che viene poi sommato di nuovo quando il Movimento viene aggiunto al Conto.
+     *
+     * @param type          Tipologia del Movimento
+     * @param amountInCents Valore del Movimento in centesimi, negativo per togliere un Movimento archiviato
+     * @param epochDay      Giorno del Movimento, che non deve essere successivo ad oggi (vedi {@link Days})
+     */
+    void addArchived(MovementType type, long amountInCents, long epochDay);
+
+    /**
+     * Collega al Conto l'archivio dei suoi {@link Movement} non ancora creati.
+     * I Movimenti vengono creati quando vengono letti con {@link Account#getMovements()} o con
+     * {@link Account#getMovements(java.time.LocalDate, java.time.LocalDate)}.
+     *
+     * @param archive Archivio dei Movimenti del Conto
+     */
+    void setArchive(MovementArchive archive);
+
+    /**
+     * Segnala all'Account la modifica del valore o della data del Movimento, se l'Account tiene
+     * degli indici dei suoi Movimenti.
+     *
+     * @param account   Account del Movimento, puo' essere {@code null}
+     * @param movement  Movimento modificato
+     * @param oldAmount Valore in centesimi del Movimento prima della modifica
+     * @param oldDay    Giorno del Movimento prima della modifica
+     */
+    static void movementUpdated(Account account, Movement movement, long oldAmount, long oldDay) {
+        if (account instanceof AccountBookkeeping)
+            ((AccountBookkeeping) account).updateMovement(movement, oldAmount, oldDay);
+    }
+
+    /**
+     * Segnala all'Account l'aggiunta o la rimozione di una Categoria del Movimento, se l'Account tiene
+     * degli indici dei suoi Movimenti.
+     *
+     * @param account  Account del Movimento, puo' essere {@code null}
+     * @param movement Movimento modificato
+     * @param category Categoria aggiunta o rimossa
+     * @param added    {@code true} se la Categoria e' stata aggiunta
+     */
+    static void categoryUpdated(Account account, Movement movement, Category category, boolean added) {
+        if (account instanceof AccountBookkeeping)
+            ((AccountBookkeeping) account).updateCategory(movement, category, added);
+    }
+}
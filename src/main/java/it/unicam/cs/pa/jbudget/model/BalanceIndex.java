@@ -0,0 +1,108 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import java.util.Arrays;
+
+/**
+ * Indice delle somme prefisse dei Movimenti di un {@link Account}, ordinato per giorno.
+ * Per ogni giorno in cui sono presenti dei Movimenti mantiene la variazione del saldo in quel giorno (in centesimi),
+ * e un albero di Fenwick costruito su questi valori permette di calcolare la variazione del saldo
+ * fino ad una certa data in tempo logaritmico.
+ * I giorni aggiunti in coda (il caso piu' frequente) aggiornano l'albero in tempo logaritmico;
+ * un giorno inserito in mezzo invalida l'albero, che viene ricostruito alla successiva interrogazione.
+ *
+ * @author Matteo Rondini
+ */
+class BalanceIndex {
+    private long[] days = new long[16];
+    private long[] values = new long[16];
+    private long[] tree = new long[17];
+    private int size;
+    private boolean valid = true;
+
+    /**
+     * Aggiunge una variazione del saldo al giorno passato.
+     *
+     * @param day    Giorno della variazione
+     * @param amount Variazione del saldo
+     */
+    void add(long day, long amount) {
+        int index = Arrays.binarySearch(days, 0, size, day);
+        if (index >= 0) {
+            values[index] += amount;
+            if (valid)
+                update(index + 1, amount);
+        } else
+            insert(-index - 1, day, amount);
+    }
+
+    /**
+     * Ritorna la somma delle variazioni del saldo fino al giorno passato (compreso).
+     *
+     * @param day Ultimo giorno da considerare
+     * @return la variazione del saldo fino al giorno passato
+     */
+    long sumUpTo(long day) {
+        if (!valid)
+            rebuild();
+        int index = Arrays.binarySearch(days, 0, size, day);
+        return prefix(index >= 0 ? index + 1 : -index - 1);
+    }
+
+    /**
+     * Ritorna la somma delle variazioni del saldo tra i 2 giorni passati (compresi).
+     *
+     * @param from Primo giorno da considerare
+     * @param to   Ultimo giorno da considerare
+     * @return la variazione del saldo nell'intervallo
+     */
+    long sum(long from, long to) {
+        if (from > to)
+            return 0;
+        return sumUpTo(to) - sumUpTo(from - 1);
+    }
+
+    private void insert(int position, long day, long amount) {
+        if (size == days.length) {
+            days = Arrays.copyOf(days, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+            tree = Arrays.copyOf(tree, size * 2 + 1);
+        }
+        if (position < size) {
+            System.arraycopy(days, position, days, position + 1, size - position);
+            System.arraycopy(values, position, values, position + 1, size - position);
+            valid = false;
+        }
+        days[position] = day;
+        values[position] = amount;
+        size++;
+        if (valid)
+            tree[size] = amount + prefix(size - 1) - prefix(size - lowBit(size));
+    }
+
+    private static int lowBit(int index) {
+        return index & -index;
+    }
+
+    private long prefix(int count) {
+        long sum = 0;
+        for (int i = count; i > 0; i -= lowBit(i))
+            sum += tree[i];
+        return sum;
+    }
+
+    private void rebuild() {
+        Arrays.fill(tree, 0);
+        for (int i = 1; i <= size; i++) {
+            tree[i] += values[i - 1];
+            int parent = i + lowBit(i);
+            if (parent <= size)
+                tree[parent] += tree[i];
+        }
+        valid = true;
+    }
+
+    private void update(int index, long amount) {
+        for (int i = index; i <= size; i += lowBit(i))
+            tree[i] += amount;
+    }
+}
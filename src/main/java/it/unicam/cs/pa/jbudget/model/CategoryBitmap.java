@@ -0,0 +1,309 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Insieme compresso di ID, usato dal {@link CategoryIndex} per conservare gli ID degli elementi
+ * di una Categoria. Come nelle bitmap "roaring", gli ID vengono divisi in blocchi in base ai 16 bit piu' alti:
+ * un blocco con pochi ID li conserva in un array ordinato dei 16 bit piu' bassi, un blocco con molti ID
+ * in una bitmap di 65536 bit. Le operazioni costano al piu' una ricerca binaria tra i blocchi e una nel blocco,
+ * e la memoria occupata e' proporzionale al numero di ID anche quando gli ID sono sparsi.
+ * Gli ID vengono letti in ordine crescente, considerando i numeri negativi come maggiori di quelli positivi.
+ *
+ * @author Matteo Rondini
+ */
+class CategoryBitmap {
+    /**
+     * Numero di ID oltre il quale un blocco viene convertito da array ordinato a bitmap.
+     */
+    static final int ARRAY_LIMIT = 4096;
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+    private int cardinality;
+
+    /**
+     * Aggiunge l'ID all'insieme.
+     *
+     * @param ID ID da aggiungere
+     * @return {@code true} se l'ID non era gia' presente
+     */
+    boolean add(int ID) {
+        char key = (char) (ID >>> 16);
+        int index = find(key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key);
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add((char) ID);
+        if (containers[index].cardinality() == before)
+            return false;
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * Rimuove l'ID dall'insieme.
+     *
+     * @param ID ID da rimuovere
+     * @return {@code true} se l'ID era presente
+     */
+    boolean remove(int ID) {
+        int index = find((char) (ID >>> 16));
+        if (index < 0)
+            return false;
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.remove((char) ID);
+        if (containers[index].cardinality() == before)
+            return false;
+        cardinality--;
+        if (containers[index].cardinality() == 0)
+            removeContainer(index);
+        return true;
+    }
+
+    /**
+     * Controlla se l'ID e' presente nell'insieme.
+     *
+     * @param ID ID da cercare
+     * @return {@code true} se l'ID e' presente
+     */
+    boolean contains(int ID) {
+        int index = find((char) (ID >>> 16));
+        return index >= 0 && containers[index].contains((char) ID);
+    }
+
+    /**
+     * Ritorna il numero di ID dell'insieme.
+     *
+     * @return il numero di ID
+     */
+    int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Controlla se l'insieme e' vuoto.
+     *
+     * @return {@code true} se l'insieme non contiene ID
+     */
+    boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Ritorna gli ID dell'insieme in ordine crescente. L'insieme non deve essere modificato
+     * finche' lo stream non e' stato consumato.
+     *
+     * @return lo stream degli ID
+     */
+    IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliterator(new IDIterator(), cardinality,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    private int find(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertContainer(int index, char key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = new ArrayContainer();
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    /**
+     * Scorre gli ID blocco per blocco.
+     */
+    private class IDIterator implements PrimitiveIterator.OfInt {
+        private int index;
+        private int next = -1;
+
+        IDIterator() {
+            advance(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            int ID = keys[index] << 16 | next;
+            advance(next + 1);
+            return ID;
+        }
+
+        /**
+         * Cerca il prossimo ID a partire dai 16 bit passati, passando al blocco successivo quando serve.
+         */
+        private void advance(int from) {
+            while (index < size) {
+                next = from <= Character.MAX_VALUE ? containers[index].next(from) : -1;
+                if (next >= 0)
+                    return;
+                index++;
+                from = 0;
+            }
+        }
+    }
+
+    /**
+     * Blocco di ID con gli stessi 16 bit piu' alti. Le operazioni di modifica ritornano il blocco da usare
+     * al posto di questo, che puo' essere stato convertito nell'altra rappresentazione.
+     */
+    private interface Container {
+        Container add(char low);
+
+        Container remove(char low);
+
+        boolean contains(char low);
+
+        int cardinality();
+
+        /**
+         * Ritorna il primo valore del blocco non minore di quello passato, {@code -1} se non esiste.
+         */
+        int next(int from);
+    }
+
+    private static class ArrayContainer implements Container {
+        private char[] values = new char[4];
+        private int cardinality;
+
+        @Override
+        public Container add(char low) {
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0)
+                return this;
+            if (cardinality == ARRAY_LIMIT)
+                return toBitmap().add(low);
+            index = -index - 1;
+            if (cardinality == values.length)
+                values = Arrays.copyOf(values, Math.min(cardinality * 2, ARRAY_LIMIT));
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char low) {
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public int next(int from) {
+            int index = Arrays.binarySearch(values, 0, cardinality, (char) from);
+            if (index < 0)
+                index = -index - 1;
+            return index < cardinality ? values[index] : -1;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++)
+                bitmap.add(values[i]);
+            return bitmap;
+        }
+    }
+
+    /**
+     * Blocco conservato come bitmap. Torna ad essere un array ordinato quando scende alla meta'
+     * di {@link #ARRAY_LIMIT}, cosi' che aggiunte e rimozioni alternate non lo convertano ad ogni operazione.
+     */
+    private static class BitmapContainer implements Container {
+        private final long[] words = new long[(Character.MAX_VALUE + 1) / Long.SIZE];
+        private int cardinality;
+
+        @Override
+        public Container add(char low) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                words[low >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char low) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) != 0) {
+                words[low >>> 6] &= ~bit;
+                cardinality--;
+                if (cardinality <= ARRAY_LIMIT / 2)
+                    return toArray();
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return (words[low >>> 6] & 1L << low) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public int next(int from) {
+            int index = from >>> 6;
+            long word = words[index] & -1L << from;
+            while (word == 0) {
+                if (++index == words.length)
+                    return -1;
+                word = words[index];
+            }
+            return index * Long.SIZE + Long.numberOfTrailingZeros(word);
+        }
+
+        private ArrayContainer toArray() {
+            ArrayContainer array = new ArrayContainer();
+            for (int low = next(0); low >= 0; low = low == Character.MAX_VALUE ? -1 : next(low + 1))
+                array.add((char) low);
+            return array;
+        }
+    }
+}
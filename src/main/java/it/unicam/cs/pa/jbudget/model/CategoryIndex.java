@@ -0,0 +1,145 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Indice invertito che collega ogni {@link Category} agli elementi che la hanno, cosi' che gli elementi
+ * di una Categoria possano essere letti con un costo proporzionale al loro numero.
+ * Per ogni Categoria viene conservata una {@link CategoryBitmap} degli ID degli elementi, e un indice
+ * (ID - elemento) degli elementi con almeno una Categoria.
+ * L'indice deve essere aggiornato ad ogni aggiunta o rimozione di un elemento e delle sue Categorie:
+ * gli Account indicizzano i propri {@link Movement}, il {@link Ledger} le proprie {@link Transaction}.
+ *
+ * @param <E> Tipo degli elementi indicizzati
+ * @author Matteo Rondini
+ */
+class CategoryIndex<E> {
+    private final ToIntFunction<E> id;
+    private final Function<E, List<Category>> categories;
+    private final Map<Category, CategoryBitmap> bitmaps = new TreeMap<>();
+    private final Map<Integer, E> elements = new HashMap<>();
+    private final CategoryBitmap categorized = new CategoryBitmap();
+
+    /**
+     * Crea un indice vuoto.
+     *
+     * @param id         Funzione che ritorna l'ID di un elemento
+     * @param categories Funzione che ritorna le Categorie di un elemento
+     */
+    CategoryIndex(ToIntFunction<E> id, Function<E, List<Category>> categories) {
+        this.id = id;
+        this.categories = categories;
+    }
+
+    /**
+     * Aggiunge all'indice l'elemento con tutte le sue Categorie.
+     *
+     * @param element Elemento da aggiungere
+     */
+    void add(E element) {
+        for (Category category : categories.apply(element))
+            add(element, category);
+    }
+
+    /**
+     * Segnala che la {@link Category} e' stata aggiunta all'elemento.
+     *
+     * @param element  Elemento a cui e' stata aggiunta la Categoria
+     * @param category Categoria aggiunta
+     */
+    void add(E element, Category category) {
+        int ID = id.applyAsInt(element);
+        bitmaps.computeIfAbsent(category, key -> new CategoryBitmap()).add(ID);
+        elements.put(ID, element);
+        categorized.add(ID);
+    }
+
+    /**
+     * Rimuove dall'indice l'elemento e tutte le sue Categorie.
+     *
+     * @param element Elemento da rimuovere
+     */
+    void remove(E element) {
+        int ID = id.applyAsInt(element);
+        if (!categorized.remove(ID))
+            return;
+        elements.remove(ID);
+        for (Category category : categories.apply(element))
+            removeID(category, ID);
+    }
+
+    /**
+     * Segnala che la {@link Category} e' stata rimossa dall'elemento. Se l'elemento non ha piu' Categorie
+     * viene rimosso dall'indice.
+     *
+     * @param element  Elemento da cui e' stata rimossa la Categoria
+     * @param category Categoria rimossa
+     */
+    void remove(E element, Category category) {
+        int ID = id.applyAsInt(element);
+        removeID(category, ID);
+        if (categories.apply(element).isEmpty()) {
+            elements.remove(ID);
+            categorized.remove(ID);
+        }
+    }
+
+    private void removeID(Category category, int ID) {
+        CategoryBitmap bitmap = bitmaps.get(category);
+        if (!Objects.isNull(bitmap) && bitmap.remove(ID) && bitmap.isEmpty())
+            bitmaps.remove(category);
+    }
+
+    /**
+     * Ritorna gli elementi che hanno la {@link Category} passata, in ordine di ID.
+     * L'indice non deve essere modificato finche' lo stream non e' stato consumato.
+     *
+     * @param category Categoria degli elementi
+     * @return lo stream degli elementi
+     */
+    Stream<E> elements(Category category) {
+        CategoryBitmap bitmap = bitmaps.get(category);
+        if (Objects.isNull(bitmap))
+            return Stream.empty();
+        return bitmap.stream().mapToObj(elements::get);
+    }
+
+    /**
+     * Ritorna gli elementi che hanno almeno una {@link Category}, in ordine di ID.
+     * L'indice non deve essere modificato finche' lo stream non e' stato consumato.
+     *
+     * @return lo stream degli elementi
+     */
+    Stream<E> categorized() {
+        return categorized.stream().mapToObj(elements::get);
+    }
+
+    /**
+     * Ritorna il numero di elementi che hanno la {@link Category} passata.
+     *
+     * @param category Categoria degli elementi
+     * @return il numero di elementi
+     */
+    int size(Category category) {
+        CategoryBitmap bitmap = bitmaps.get(category);
+        return Objects.isNull(bitmap) ? 0 : bitmap.cardinality();
+    }
+
+    /**
+     * Ritorna le {@link Category} che hanno almeno un elemento, in ordine di ID.
+     *
+     * @return l'insieme delle Categorie
+     */
+    Set<Category> categories() {
+        return Collections.unmodifiableSet(bitmaps.keySet());
+    }
+}
@@ -0,0 +1,130 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tiene traccia dei tipi di dati del {@link Ledger} modificati dopo l'ultimo salvataggio, cosi' che
+ * vengano riscritti solo i File dei dati modificati.
+ * I {@link Movement} aggiunti agli Account del Ledger vengono conservati a parte finche' nessun Movimento
+ * gia' salvato viene modificato o eliminato: in quel caso possono essere salvati in coda a quelli gia' salvati.
+ * Il Ledger segnala le proprie modifiche e quelle dei suoi Account e delle sue Categorie; le modifiche
+ * alla descrizione e alle Categorie dei Movimenti e delle Transazioni fatte direttamente sugli oggetti
+ * devono essere segnalate con {@link #modified(Entity...)} o {@link #modified(Movement)}.
+ *
+ * @author Matteo Rondini
+ * @see Ledger#getChanges()
+ */
+public class ChangeTracker {
+    /**
+     * Tipi di dati del Ledger, ognuno salvato nel proprio File.
+     */
+    public enum Entity {
+        ACCOUNT, CATEGORY, MOVEMENT, TRANSACTION
+    }
+
+    private final Set<Entity> modified = EnumSet.noneOf(Entity.class);
+    private final Set<Movement> addedMovements = new LinkedHashSet<>();
+    private boolean suspended;
+
+    /**
+     * Segnala che i dati dei tipi passati sono stati modificati.
+     *
+     * @param entities Tipi di dati modificati
+     */
+    public void modified(Entity... entities) {
+        if (suspended)
+            return;
+        for (Entity entity : entities) {
+            modified.add(entity);
+            if (entity == Entity.MOVEMENT)
+                addedMovements.clear();
+        }
+    }
+
+    /**
+     * Segnala che il {@link Movement} passato e' stato modificato. Se il Movimento e' stato aggiunto dopo
+     * l'ultimo salvataggio non e' necessario riscrivere i Movimenti gia' salvati.
+     *
+     * @param movement Movimento modificato
+     */
+    public void modified(Movement movement) {
+        if (!addedMovements.contains(movement))
+            modified(Entity.MOVEMENT);
+    }
+
+    /**
+     * Segnala che il {@link Movement} passato e' stato aggiunto ad un Account.
+     *
+     * @param movement Movimento aggiunto
+     */
+    public void added(Movement movement) {
+        if (!suspended && !modified.contains(Entity.MOVEMENT))
+            addedMovements.add(movement);
+    }
+
+    /**
+     * Segnala che il {@link Movement} passato e' stato eliminato da un Account. Se il Movimento e' stato aggiunto
+     * dopo l'ultimo salvataggio viene solo dimenticato.
+     *
+     * @param movement Movimento eliminato
+     */
+    public void removed(Movement movement) {
+        if (!addedMovements.remove(movement))
+            modified(Entity.MOVEMENT);
+    }
+
+    /**
+     * Controlla se i dati del tipo passato sono stati modificati e devono essere riscritti.
+     *
+     * @param entity Tipo di dati
+     * @return {@code true} se i dati sono stati modificati
+     */
+    public boolean isModified(Entity entity) {
+        return modified.contains(entity);
+    }
+
+    /**
+     * Ritorna i {@link Movement} aggiunti dopo l'ultimo salvataggio, nell'ordine in cui sono stati aggiunti.
+     * La lista e' vuota quando i Movimenti devono essere riscritti (vedi {@link #isModified(Entity)}).
+     *
+     * @return la lista dei Movimenti aggiunti
+     */
+    public List<Movement> addedMovements() {
+        return new ArrayList<>(addedMovements);
+    }
+
+    /**
+     * Controlla se i dati sono cambiati dopo l'ultimo salvataggio.
+     *
+     * @return {@code true} se non ci sono modifiche
+     */
+    public boolean isEmpty() {
+        return modified.isEmpty() && addedMovements.isEmpty();
+    }
+
+    /**
+     * Dimentica tutte le modifiche, dopo che i dati sono stati salvati o importati.
+     */
+    public void clear() {
+        modified.clear();
+        addedMovements.clear();
+    }
+
+    /**
+     * Smette di registrare le modifiche, ad esempio mentre i dati vengono importati da File.
+     */
+    public void suspend() {
+        suspended = true;
+    }
+
+    /**
+     * Riprende a registrare le modifiche.
+     */
+    public void resume() {
+        suspended = false;
+    }
+}
@@ -0,0 +1,106 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Indice dei {@link Movement} di un {@link SimpleWallet} o di tutti gli Account del {@link Ledger},
+ * ordinato per giorno e per ID.
+ * I Movimenti sono conservati in un albero bilanciato con chiave (giorno, ID): aggiunte, rimozioni e
+ * spostamenti di data costano un tempo logaritmico, e i Movimenti di un intervallo di date vengono letti
+ * in un tempo {@code O(log n + k)}, dove {@code k} e' il numero di Movimenti letti.
+ * L'indice viene aggiornato dal Conto o dal {@link MovementIndex} del Ledger.
+ *
+ * @author Matteo Rondini
+ */
+class DateIndex {
+    private final TreeMap<Key, Movement> movements = new TreeMap<>();
+
+    /**
+     * Aggiunge il {@link Movement} all'indice, nel suo giorno attuale.
+     *
+     * @param movement Movimento da aggiungere
+     */
+    void add(Movement movement) {
+        movements.put(new Key(movement.getEpochDay(), movement.getID()), movement);
+    }
+
+    /**
+     * Rimuove il {@link Movement} dall'indice.
+     *
+     * @param movement Movimento da rimuovere
+     * @param day      Giorno con cui il Movimento e' stato aggiunto all'indice
+     */
+    void remove(Movement movement, long day) {
+        movements.remove(new Key(day, movement.getID()), movement);
+    }
+
+    /**
+     * Sposta il {@link Movement} dal giorno passato al suo giorno attuale.
+     *
+     * @param movement Movimento spostato
+     * @param oldDay   Giorno del Movimento prima della modifica
+     */
+    void move(Movement movement, long oldDay) {
+        if (oldDay != movement.getEpochDay() && movements.remove(new Key(oldDay, movement.getID()), movement))
+            add(movement);
+    }
+
+    /**
+     * Ritorna i {@link Movement} con giorno compreso tra i 2 passati (compresi), in ordine di giorno e di ID.
+     * I Movimenti vengono letti mentre lo stream viene consumato: l'indice non deve essere modificato
+     * finche' lo stream non e' stato consumato.
+     *
+     * @param fromDay Giorno iniziale
+     * @param toDay   Giorno finale
+     * @return lo stream dei Movimenti
+     */
+    Stream<Movement> range(long fromDay, long toDay) {
+        if (fromDay > toDay)
+            return Stream.empty();
+        return movements.subMap(new Key(fromDay, Integer.MIN_VALUE), true, new Key(toDay, Integer.MAX_VALUE), true)
+                .values().stream();
+    }
+
+    /**
+     * Ritorna il numero di Movimenti dell'indice.
+     *
+     * @return il numero di Movimenti
+     */
+    int size() {
+        return movements.size();
+    }
+
+    /**
+     * Chiave dell'albero: i Movimenti sono ordinati per giorno e, nello stesso giorno, per ID.
+     */
+    private static final class Key implements Comparable<Key> {
+        private final long day;
+        private final int ID;
+
+        Key(long day, int ID) {
+            this.day = day;
+            this.ID = ID;
+        }
+
+        @Override
+        public int compareTo(Key key) {
+            int compare = Long.compare(day, key.day);
+            return compare != 0 ? compare : Integer.compare(ID, key.ID);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return day == key.day && ID == key.ID;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, ID);
+        }
+    }
+}
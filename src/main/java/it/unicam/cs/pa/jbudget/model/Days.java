@@ -0,0 +1,173 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * Rappresentazione delle date dei Movimenti come numero di giorni dall'epoch ({@code long}).
+ * Il Model salva le date in questo formato, cosi' i confronti tra date sono confronti tra primitivi
+ * e non richiedono la creazione di oggetti; le conversioni da e verso {@link Date} e {@link LocalDate}
+ * avvengono nel fuso orario del sistema.
+ *
+ * @author Matteo Rondini
+ */
+public final class Days {
+    /**
+     * Formato {@code yyyy-MM-dd} delle date salvate nei File. Il formatter e' immutabile
+     * e puo' essere condiviso tra piu' thread.
+     */
+    public static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    /**
+     * Giorni tra il 1 marzo dell'anno 0 e il 1 gennaio 1970, usati per calcolare la data dal numero di giorni.
+     */
+    private static final long DAYS_0000_TO_1970 = 719468;
+    private static final long DAYS_PER_ERA = 146097;
+
+    private Days() {
+    }
+
+    /**
+     * Converte una stringa nel formato {@code yyyy-MM-dd} nel giorno corrispondente.
+     *
+     * @param date Stringa da convertire
+     * @return il numero di giorni dall'epoch
+     * @throws java.time.DateTimeException Viene lanciata quando la stringa non rappresenta una data
+     */
+    public static long parse(CharSequence date) {
+        return parse(date, 0, date.length());
+    }
+
+    /**
+     * Converte nel giorno corrispondente la parte della stringa compresa tra i 2 indici passati.
+     * Le date nel formato {@code yyyy-MM-dd} vengono lette cifra per cifra, senza creare una nuova stringa.
+     *
+     * @param date  Stringa da convertire
+     * @param begin Indice del primo carattere (compreso)
+     * @param end   Indice dell'ultimo carattere (escluso)
+     * @return il numero di giorni dall'epoch
+     * @throws java.time.DateTimeException Viene lanciata quando la stringa non rappresenta una data
+     */
+    public static long parse(CharSequence date, int begin, int end) {
+        if (end - begin == 10 && date.charAt(begin + 4) == '-' && date.charAt(begin + 7) == '-') {
+            int year = digits(date, begin, begin + 4);
+            int month = digits(date, begin + 5, begin + 7);
+            int day = digits(date, begin + 8, begin + 10);
+            if (year >= 0 && month >= 0 && day >= 0)
+                return LocalDate.of(year, month, day).toEpochDay();
+        }
+        return LocalDate.parse(date.subSequence(begin, end), FORMATTER).toEpochDay();
+    }
+
+    /**
+     * Ritorna il numero formato dalle cifre comprese tra i 2 indici, oppure -1 se e' presente un carattere
+     * che non e' una cifra.
+     */
+    private static int digits(CharSequence text, int begin, int end) {
+        int value = 0;
+        for (int i = begin; i < end; i++) {
+            char digit = text.charAt(i);
+            if (digit < '0' || digit > '9')
+                return -1;
+            value = value * 10 + (digit - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Converte una {@link Date} nel giorno corrispondente, nel fuso orario del sistema.
+     *
+     * @param date Data da convertire
+     * @return il numero di giorni dall'epoch
+     */
+    public static long toEpochDay(Date date) {
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    /**
+     * Converte un giorno nella {@link Date} che corrisponde all'inizio di quel giorno, nel fuso orario del sistema.
+     *
+     * @param epochDay Numero di giorni dall'epoch
+     * @return la Data corrispondente
+     */
+    public static Date toDate(long epochDay) {
+        return Date.from(LocalDate.ofEpochDay(epochDay).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Ritorna il giorno corrente.
+     *
+     * @return il numero di giorni dall'epoch di oggi
+     */
+    public static long today() {
+        return LocalDate.now().toEpochDay();
+    }
+
+    /**
+     * Ritorna il giorno nel formato {@code yyyy-MM-dd}.
+     *
+     * @param epochDay Numero di giorni dall'epoch
+     * @return la stringa che rappresenta la data
+     */
+    public static String toString(long epochDay) {
+        return append(new StringBuilder(10), epochDay).toString();
+    }
+
+    /**
+     * Aggiunge il giorno allo {@link StringBuilder} nel formato {@code yyyy-MM-dd}. L'anno, il mese e il giorno
+     * vengono calcolati direttamente dal numero di giorni, senza creare oggetti.
+     *
+     * @param builder  StringBuilder a cui aggiungere la data
+     * @param epochDay Numero di giorni dall'epoch
+     * @return lo StringBuilder passato
+     */
+    public static StringBuilder append(StringBuilder builder, long epochDay) {
+        long date = civil(epochDay);
+        long year = date >> 9;
+        if (year < 0 || year > 9999) {
+            FORMATTER.formatTo(LocalDate.ofEpochDay(epochDay), builder);
+            return builder;
+        }
+        appendDigits(builder, year, 4).append('-');
+        appendDigits(builder, (date >> 5) & 15, 2).append('-');
+        return appendDigits(builder, date & 31, 2);
+    }
+
+    /**
+     * Ritorna il mese del giorno passato come numero di mesi da gennaio 1970, calcolato direttamente
+     * dal numero di giorni, senza creare oggetti.
+     *
+     * @param epochDay Numero di giorni dall'epoch
+     * @return il numero di mesi dall'epoch
+     */
+    public static long toEpochMonth(long epochDay) {
+        long date = civil(epochDay);
+        return ((date >> 9) - 1970) * 12 + ((date >> 5) & 15) - 1;
+    }
+
+    /**
+     * Calcola anno, mese e giorno del giorno passato e li ritorna in un solo numero,
+     * {@code anno * 512 + mese * 32 + giorno}, da cui vengono letti con uno shift e una maschera.
+     */
+    private static long civil(long epochDay) {
+        long shifted = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(shifted, DAYS_PER_ERA);
+        long dayOfEra = shifted - era * DAYS_PER_ERA;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+
+    private static StringBuilder appendDigits(StringBuilder builder, long value, int digits) {
+        for (long limit = 10; digits > 1; digits--, limit *= 10)
+            if (value < limit)
+                builder.append('0');
+        return builder.append(value);
+    }
+}
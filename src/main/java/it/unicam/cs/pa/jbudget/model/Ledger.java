@@ -1,7 +1,10 @@
 package it.unicam.cs.pa.jbudget.model;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Questa interfaccia e' implementata dalle classi che hanno la responsabilita' di gestire tutti i dati
@@ -73,6 +76,14 @@ public interface Ledger {
      */
     List<Account> getAccount();
 
+    /**
+     * Ritorna l'{@link Account} del Ledger con l'ID passato.
+     *
+     * @param ID Codice Identificativo dell'Account
+     * @return l'Account con l'ID passato; se non e' presente ritorna {@code null}
+     */
+    Account getAccount(int ID);
+
     /**
      * Ritorna la lista delle {@link Category} del Ledger.
      *
@@ -80,6 +91,29 @@ public interface Ledger {
      */
     List<Category> getCategories();
 
+    /**
+     * Ritorna la {@link Category} del Ledger con l'ID passato.
+     *
+     * @param ID Codice Identificativo della Categoria
+     * @return la Categoria con l'ID passato; se non e' presente ritorna {@code null}
+     */
+    Category getCategory(int ID);
+
+    /**
+     * Ritorna la {@link Transaction} del Ledger con l'ID passato.
+     *
+     * @param ID Codice Identificativo della Transazione
+     * @return la Transazione con l'ID passato; se non e' presente ritorna {@code null}
+     */
+    Transaction getTransaction(int ID);
+
+    /**
+     * Ritorna il {@link ChangeTracker} con i dati modificati dopo l'ultimo salvataggio.
+     *
+     * @return il ChangeTracker del Ledger
+     */
+    ChangeTracker getChanges();
+
     /**
      * Ritorna la lista delle {@link Transaction} del Ledger.
      *
@@ -95,6 +129,53 @@ public interface Ledger {
      */
     List<Transaction> getTransactions(Predicate<Transaction> predicate);
 
+    /**
+     * Ritorna i {@link Movement} di tutti gli Account del Ledger, in ordine di ID. La lista non e' modificabile
+     * e non viene copiata: riflette le modifiche successive del Ledger.
+     *
+     * @return la {@code List} dei Movimenti
+     */
+    List<Movement> getMovements();
+
+    /**
+     * Cerca il {@link Movement} con l'ID passato tra i Movimenti degli Account del Ledger.
+     *
+     * @param ID ID del Movimento
+     * @return il Movimento, {@code null} se non e' presente
+     */
+    Movement getMovement(int ID);
+
+    /**
+     * Ritorna i {@link Movement} del Ledger che soddisfano la {@link MovementQuery}. Se l'interrogazione
+     * e' limitata ad un intervallo di date, e non ad alcuni Account o ad una Categoria, i Movimenti vengono
+     * letti dall'indice delle date del Ledger in ordine di giorno e di ID; altrimenti vengono letti Account
+     * per Account, solo dagli Account dell'interrogazione (vedi {@link Account#movements(MovementQuery)}).
+     * I Movimenti vengono letti mentre lo stream viene consumato.
+     *
+     * @param query Interrogazione da soddisfare
+     * @return lo {@code Stream} dei Movimenti
+     */
+    Stream<Movement> movements(MovementQuery query);
+
+    /**
+     * Ritorna, per ogni data passata, la somma dei bilanci degli {@link Account} passati a quella data
+     * (vedi {@link Account#getBalanceInCents(LocalDate)}).
+     *
+     * @param accounts Account di cui sommare i bilanci
+     * @param dates    Date in cui calcolare i bilanci
+     * @return i bilanci in centesimi, nello stesso ordine delle date
+     */
+    long[] getBalancesInCents(Collection<? extends Account> accounts, List<LocalDate> dates);
+
+    /**
+     * Ritorna le {@link Transaction} che hanno almeno un {@link Movement} che soddisfa la {@link MovementQuery},
+     * senza ripetizioni.
+     *
+     * @param query Interrogazione da soddisfare
+     * @return lo {@code Stream} delle Transazioni
+     */
+    Stream<Transaction> transactions(MovementQuery query);
+
     /**
      * Elimina l'{@link Account} dal Ledger.
      *
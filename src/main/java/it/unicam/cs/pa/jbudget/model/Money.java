@@ -0,0 +1,146 @@
+package it.unicam.cs.pa.jbudget.model;
+
+/**
+ * Rappresentazione esatta degli importi come numero intero di centesimi ({@code long}).
+ * Il Model salva gli importi in centesimi, cosi' le somme non accumulano errori di arrotondamento
+ * e possono essere calcolate con tipi primitivi; i metodi che lavorano con {@code double}
+ * convertono il valore solo in ingresso e in uscita.
+ *
+ * @author Matteo Rondini
+ */
+public final class Money {
+    /**
+     * Numero di centesimi in un'unita'.
+     */
+    public static final int SCALE = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Aggiunge l'importo in centesimi allo {@link StringBuilder} nel formato {@code 12.34}.
+     *
+     * @param builder StringBuilder a cui aggiungere l'importo
+     * @param cents   Importo in centesimi
+     * @return lo StringBuilder passato
+     */
+    public static StringBuilder append(StringBuilder builder, long cents) {
+        if (cents < 0)
+            builder.append('-');
+        long units = Math.abs(cents / SCALE);
+        long rest = Math.abs(cents % SCALE);
+        builder.append(units).append('.');
+        if (rest < 10)
+            builder.append('0');
+        return builder.append(rest);
+    }
+
+    /**
+     * Converte una stringa nel formato {@code 12.34} in centesimi, senza passare per un {@code double}.
+     * Le cifre decimali oltre la seconda sono ammesse solo se sono zeri; le stringhe in notazione
+     * esponenziale (ad esempio {@code 1.0E7}) vengono convertite con {@link Double#parseDouble(String)}.
+     *
+     * @param value Stringa da convertire
+     * @return l'importo in centesimi
+     * @throws NumberFormatException Viene lanciata quando la stringa non rappresenta un numero
+     *                               intero di centesimi
+     */
+    public static long parse(CharSequence value) {
+        return parse(value, 0, value.length());
+    }
+
+    /**
+     * Converte in centesimi la parte della stringa compresa tra i 2 indici passati,
+     * senza creare una nuova stringa (vedi {@link #parse(CharSequence)}).
+     *
+     * @param value Stringa da convertire
+     * @param begin Indice del primo carattere (compreso)
+     * @param end   Indice dell'ultimo carattere (escluso)
+     * @return l'importo in centesimi
+     * @throws NumberFormatException Viene lanciata quando la stringa non rappresenta un numero
+     *                               intero di centesimi
+     */
+    public static long parse(CharSequence value, int begin, int end) {
+        int index = begin;
+        boolean negative = false;
+        if (end > begin && (value.charAt(begin) == '-' || value.charAt(begin) == '+')) {
+            negative = value.charAt(begin) == '-';
+            index++;
+        }
+        if (index == end)
+            throw new NumberFormatException("Importo non valido: " + value.subSequence(begin, end));
+
+        long units = 0;
+        long cents = 0;
+        int decimals = -1;
+        for (; index < end; index++) {
+            char digit = value.charAt(index);
+            if (digit == '.' && decimals < 0)
+                decimals = 0;
+            else if (digit >= '0' && digit <= '9') {
+                if (decimals < 0)
+                    units = units * 10 + (digit - '0');
+                else if (decimals < 2) {
+                    cents = cents * 10 + (digit - '0');
+                    decimals++;
+                } else if (digit != '0')
+                    throw new NumberFormatException("Importo con piu' di 2 cifre decimali: "
+                            + value.subSequence(begin, end));
+            } else {
+                double parsed = Double.parseDouble(value.subSequence(begin, end).toString());
+                if (!isCents(parsed))
+                    throw new NumberFormatException("Importo con piu' di 2 cifre decimali: "
+                            + value.subSequence(begin, end));
+                return toCents(parsed);
+            }
+        }
+        if (decimals == 1)
+            cents *= 10;
+        long result = units * SCALE + cents;
+        return negative ? -result : result;
+    }
+
+    /**
+     * Controlla che l'importo sia un numero intero di centesimi, cioe' che non abbia piu' di 2 cifre
+     * decimali; l'errore di rappresentazione del {@code double} (ad esempio {@code 0.1 + 0.2}) viene
+     * tollerato.
+     *
+     * @param value Importo da controllare
+     * @return {@code true} se l'importo ha al massimo 2 cifre decimali
+     */
+    public static boolean isCents(double value) {
+        double scaled = value * SCALE;
+        return Math.abs(scaled - Math.rint(scaled)) <= 4 * Math.ulp(scaled);
+    }
+
+    /**
+     * Converte un importo in centesimi, arrotondandolo al centesimo piu' vicino; i Movimenti
+     * controllano prima l'importo con {@link #isCents(double)}, per non perdere le cifre oltre la seconda.
+     *
+     * @param value Importo da convertire
+     * @return l'importo in centesimi
+     */
+    public static long toCents(double value) {
+        return Math.round(value * SCALE);
+    }
+
+    /**
+     * Converte un importo in centesimi nel corrispondente {@code double}.
+     *
+     * @param cents Importo in centesimi
+     * @return l'importo
+     */
+    public static double toDouble(long cents) {
+        return (double) cents / SCALE;
+    }
+
+    /**
+     * Ritorna l'importo in centesimi nel formato {@code 12.34}.
+     *
+     * @param cents Importo in centesimi
+     * @return la stringa che rappresenta l'importo
+     */
+    public static String toString(long cents) {
+        return append(new StringBuilder(24), cents).toString();
+    }
+}
@@ -12,6 +12,7 @@ public class MoneyCategory implements Category {
     private final int ID;
     private String name;
     private String description;
+    private ChangeTracker changes;
 
     /**
      * Crea una MoneyCategory
@@ -73,6 +74,7 @@ public class MoneyCategory implements Category {
     public void setDescription(String description) {
         controlDescription(description);
         this.description = description;
+        modified();
     }
 
     /**
@@ -98,6 +100,21 @@ public class MoneyCategory implements Category {
     public void setName(String name) {
         controlName(name);
         this.name = name;
+        modified();
+    }
+
+    /**
+     * Collega la Categoria al {@link ChangeTracker} del Ledger, a cui vengono segnalate le sue modifiche.
+     *
+     * @param changes ChangeTracker del Ledger
+     */
+    void track(ChangeTracker changes) {
+        this.changes = changes;
+    }
+
+    private void modified() {
+        if (!Objects.isNull(changes))
+            changes.modified(ChangeTracker.Entity.CATEGORY);
     }
 
     @Override
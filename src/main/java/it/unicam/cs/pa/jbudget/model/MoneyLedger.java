@@ -1,23 +1,43 @@
 package it.unicam.cs.pa.jbudget.model;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * La classe implementa l'interfaccia {@link Ledger} ed ha la responsabilita' di gestire tutti i dati dell'applicazione.
  * E' responsabile della creazione e cancellazioni  dei {@link Account}, dell'aggiunta e cancellazione
  * delle {@link Transaction}, della creazione e cancellazione delle {@link Category}.
  * Inoltre mantiene la lista delle transazione schedulate. Si occupa di schedulare le transazioni ad una certa data.
+ * Accanto alle liste ordinate mantiene degli indici (ID - oggetto) che permettono di cercare
+ * Account, Transazioni e Categorie in tempo costante, e un {@link CategoryIndex} delle Categorie delle Transazioni;
+ * ogni Account indicizza le Categorie dei propri Movimenti. Un {@link MovementIndex} conserva i Movimenti
+ * di tutti gli Account per ID e per data, ed e' aggiornato dagli Account ad ogni modifica.
+ * Le Transazioni dei {@link Movement} archiviati negli Account (vedi {@link MovementArchive}) entrano
+ * nel Ledger quando i Movimenti vengono creati: le operazioni su tutte le Transazioni
+ * creano prima tutti i Movimenti archiviati.
  *
  * @author Matteo Rondini
  */
 public class MoneyLedger implements Ledger {
-    private final List<Account> accountList = new ArrayList<>();
-    private final List<Transaction> transactionList = new ArrayList<>();
-    private final List<Category> categoryList = new ArrayList<>();
+    private final SortedList<Account> accountList = new SortedList<>();
+    private final SortedList<Transaction> transactionList = new SortedList<>();
+    private final SortedList<Category> categoryList = new SortedList<>();
+    private final Map<Integer, Account> accountMap = new HashMap<>();
+    private final Map<Integer, Transaction> transactionMap = new HashMap<>();
+    private final Map<Integer, Category> categoryMap = new HashMap<>();
+    private final CategoryIndex<Transaction> transactionCategories =
+            new CategoryIndex<>(Transaction::getID, Transaction::categories);
+    private final MovementIndex movementIndex = new MovementIndex();
+    private final ChangeTracker changes = new ChangeTracker();
     private int IDAccount = 0;
     private int IDCategory = 0;
 
@@ -32,9 +52,10 @@ public class MoneyLedger implements Ledger {
      */
     @Override
     public Account addAccount(AccountType type, String name, String description, double opening) {
-        Account wallet = new SimpleWallet(type, name, description, IDAccount++, opening);
-        accountList.add(wallet);
-        sortAccount();
+        SimpleWallet wallet = new SimpleWallet(type, name, description, IDAccount++, opening);
+        accountMap.put(wallet.getID(), wallet);
+        accountList.insert(wallet);
+        track(wallet);
         return wallet;
     }
 
@@ -51,10 +72,11 @@ public class MoneyLedger implements Ledger {
      */
     @Override
     public void addAccount(AccountType type, String name, String description, int ID, double opening) throws LedgerException {
-        Account wallet = new SimpleWallet(type, name, description, ID, opening);
-        if (!accountList.contains(wallet)) {
-            accountList.add(wallet);
-            sortAccount();
+        SimpleWallet wallet = new SimpleWallet(type, name, description, ID, opening);
+        if (!accountMap.containsKey(ID)) {
+            accountMap.put(ID, wallet);
+            accountList.insert(wallet);
+            track(wallet);
             if (IDAccount <= ID)
                 IDAccount = ID + 1;
         } else throw new LedgerException(LedgerException.E2_THERE_IS_ALREADY_AN_ACCOUNT_IN_LEDGER);
@@ -69,9 +91,10 @@ public class MoneyLedger implements Ledger {
      */
     @Override
     public Category addCategory(String name, String description) {
-        Category category = new MoneyCategory(name, description, IDCategory++);
-        categoryList.add(category);
-        sortCategory();
+        MoneyCategory category = new MoneyCategory(name, description, IDCategory++);
+        categoryMap.put(category.getID(), category);
+        categoryList.insert(category);
+        track(category);
         return category;
     }
 
@@ -86,10 +109,11 @@ public class MoneyLedger implements Ledger {
      */
     @Override
     public void addCategory(String name, String description, int ID) throws LedgerException {
-        Category category = new MoneyCategory(name, description, ID);
-        if (!categoryList.contains(category)) {
-            categoryList.add(category);
-            sortCategory();
+        MoneyCategory category = new MoneyCategory(name, description, ID);
+        if (!categoryMap.containsKey(ID)) {
+            categoryMap.put(ID, category);
+            categoryList.insert(category);
+            track(category);
             if (IDCategory <= ID)
                 IDCategory = ID + 1;
         } else throw new LedgerException(LedgerException.E4_THERE_IS_ALREADY_A_CATEGORY_IN_LEDGER);
@@ -111,40 +135,52 @@ public class MoneyLedger implements Ledger {
     @Override
     public void addTransaction(Transaction transaction) throws LedgerException {
         controlTransactionToAdd(transaction);
-        transactionList.add(transaction);
-        sortTransaction();
-    }
-
-    /**
-     * Controlla se nella lista delle Transazioni sono presenti Transazioni senza Movimenti,
-     * se sono presenti elimina queste Transazioni dalla Lista.
-     */
-    private void controlEmptyMovement() {
-        for (Transaction transaction : transactionList)
-            transaction.movements().removeIf(movement -> Objects.isNull(movement.getTransaction()));
-        transactionList.removeIf(transaction -> transaction.movements().isEmpty());
+        transactionMap.put(transaction.getID(), transaction);
+        transactionList.insert(transaction);
+        track(transaction);
+        if (!transaction.categories().isEmpty())
+            changes.modified(ChangeTracker.Entity.TRANSACTION);
     }
 
     /**
      * Controlla che la {@link Transaction} da aggiungere sia collegata
      * ad un {@link Account} nella lista del Ledger o che non sia gia' stata inserita.
+     * Il controllo scorre solo i {@link Movement} della Transazione, risalendo al loro Account.
      *
      * @param transaction Transazione da controllare
      * @throws LedgerException Viene lanciata quando: la Transazione non e' presente
      *                         in nessun conto all'interno del Ledger o quando risulta gia' inserita.
      */
     private void controlTransactionToAdd(Transaction transaction) throws LedgerException {
-        if (transactionList.contains(transaction))
+        if (containsTransaction(transaction))
             throw new LedgerException(LedgerException.E0_THERE_IS_ALREADY_A_TRANSACTION_IN_LEDGER);
 
-        boolean isContained = false;
-        for (Account account : accountList)
-            for (Movement movement : account.getMovements())
-                if (movement.getTransaction().equals(transaction))
-                    isContained = true;
+        for (Movement movement : transaction.movements())
+            if (containsAccount(movement.getAccount()))
+                return;
+
+        throw new LedgerException(LedgerException.E1_NO_TRANSACTION_IN_LEDGER);
+    }
+
+    /**
+     * Controlla se l'{@link Account} passato e' presente nell'indice degli Account del Ledger.
+     */
+    private boolean containsAccount(Account account) {
+        return !Objects.isNull(account) && account.equals(accountMap.get(account.getID()));
+    }
+
+    /**
+     * Controlla se la {@link Category} passata e' presente nell'indice delle Categorie del Ledger.
+     */
+    private boolean containsCategory(Category category) {
+        return !Objects.isNull(category) && category.equals(categoryMap.get(category.getID()));
+    }
 
-        if (!isContained)
-            throw new LedgerException(LedgerException.E1_NO_TRANSACTION_IN_LEDGER);
+    /**
+     * Controlla se la {@link Transaction} passata e' presente nell'indice delle Transazioni del Ledger.
+     */
+    private boolean containsTransaction(Transaction transaction) {
+        return !Objects.isNull(transaction) && transaction.equals(transactionMap.get(transaction.getID()));
     }
 
     /**
@@ -152,7 +188,15 @@ public class MoneyLedger implements Ledger {
      */
     @Override
     public List<Account> getAccount() {
-        return accountList;
+        return Collections.unmodifiableList(accountList);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Account getAccount(int ID) {
+        return accountMap.get(ID);
     }
 
     /**
@@ -160,7 +204,23 @@ public class MoneyLedger implements Ledger {
      */
     @Override
     public List<Category> getCategories() {
-        return categoryList;
+        return Collections.unmodifiableList(categoryList);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Category getCategory(int ID) {
+        return categoryMap.get(ID);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Transaction getTransaction(int ID) {
+        return transactionMap.get(ID);
     }
 
     /**
@@ -168,7 +228,8 @@ public class MoneyLedger implements Ledger {
      */
     @Override
     public List<Transaction> getTransactions() {
-        return transactionList;
+        loadArchives();
+        return Collections.unmodifiableList(transactionList);
     }
 
     /**
@@ -176,9 +237,70 @@ public class MoneyLedger implements Ledger {
      */
     @Override
     public List<Transaction> getTransactions(Predicate<Transaction> predicate) {
+        loadArchives();
         return transactionList.stream().filter(predicate).collect(Collectors.toList());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Movement> getMovements() {
+        loadArchives();
+        return movementIndex.movements();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Movement getMovement(int ID) {
+        loadArchives();
+        return movementIndex.get(ID);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Se l'interrogazione e' limitata ad alcuni Account, vengono letti solo i Movimenti di quegli Account;
+     * altrimenti un intervallo di date viene letto dall'indice per giorno del Ledger, invece di scorrere
+     * i Movimenti di tutti gli Account.
+     */
+    @Override
+    public Stream<Movement> movements(MovementQuery query) {
+        if (query.getAccounts().isEmpty() && Objects.isNull(query.getCategory()) && !query.isCategorized()
+                && query.hasDateRange()) {
+            accountList.forEach(account -> account.loadArchive(query.getFromDay(), query.getToDay()));
+            return movementIndex.range(query.getFromDay(), query.getToDay()).filter(query);
+        }
+        return accounts(query).flatMap(account -> account.movements(query));
+    }
+
+    /**
+     * {@inheritDoc}
+     * I bilanci vengono letti dall'indice dei saldi di ogni Account, senza caricare gli archivi.
+     */
+    @Override
+    public long[] getBalancesInCents(Collection<? extends Account> accounts, List<LocalDate> dates) {
+        long[] balances = new long[dates.size()];
+        for (Account account : accounts)
+            for (int i = 0; i < balances.length; i++)
+                balances[i] += account.getBalanceInCents(dates.get(i));
+        return balances;
+    }
+
+    private Stream<Account> accounts(MovementQuery query) {
+        return query.getAccounts().isEmpty() ? accountList.stream()
+                : query.getAccounts().stream().filter(this::containsAccount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Transaction> transactions(MovementQuery query) {
+        return movements(query).map(Movement::getTransaction).filter(this::containsTransaction).distinct();
+    }
+
     /**
      * Elimina l'{@link Account} dal Ledger.
      *
@@ -187,30 +309,46 @@ public class MoneyLedger implements Ledger {
      */
     @Override
     public boolean removeAccount(Account account) {
-        if (accountList.contains(account)) {
-            for (Movement movement : account.getMovements())
-                movement.delete();
-            account.getMovements().clear();
-            accountList.remove(account);
-            controlEmptyMovement();
+        if (containsAccount(account)) {
+            loadArchives();
+            List<Movement> movements = account.getMovements();
+            while (!movements.isEmpty()) {
+                Movement movement = movements.get(movements.size() - 1);
+                account.removeMovement(movement);
+                removeMovementFromTransaction(movement);
+            }
+            accountMap.remove(account.getID());
+            accountList.removeElement(account);
+            if (account instanceof SimpleWallet)
+                ((SimpleWallet) account).track(null, null);
+            changes.modified(ChangeTracker.Entity.ACCOUNT, ChangeTracker.Entity.MOVEMENT,
+                    ChangeTracker.Entity.TRANSACTION);
             return true;
         }
         return false;
     }
 
     /**
-     * Elimina la {@link Category} dal Ledger.
+     * Elimina la {@link Category} dal Ledger. La Categoria viene tolta solo alle Transazioni e ai Movimenti
+     * che la hanno, trovati attraverso gli indici delle Categorie.
      *
      * @param category Categoria da eliminare
      * @return {@code true} se la Categoria e' stata eliminata
      */
     @Override
     public boolean removeCategory(Category category) {
-        if (categoryList.contains(category)) {
-            transactionList.forEach(transaction -> transaction.removeCategory(category));
-            transactionList.forEach(transaction ->
-                    transaction.movements().forEach(movement -> movement.removeCategory(category)));
-            categoryList.remove(category);
+        if (containsCategory(category)) {
+            loadArchives();
+            transactionCategories.elements(category).collect(Collectors.toList())
+                    .forEach(transaction -> transaction.removeCategory(category));
+            MovementQuery query = new MovementQuery().category(category);
+            for (Account account : accountList)
+                account.movements(query).collect(Collectors.toList())
+                        .forEach(movement -> movement.removeCategory(category));
+            categoryMap.remove(category.getID());
+            categoryList.removeElement(category);
+            changes.modified(ChangeTracker.Entity.CATEGORY, ChangeTracker.Entity.MOVEMENT,
+                    ChangeTracker.Entity.TRANSACTION);
             return true;
         }
         return false;
@@ -224,27 +362,89 @@ public class MoneyLedger implements Ledger {
      */
     @Override
     public boolean removeTransaction(Transaction transaction) {
-        if (transactionList.contains(transaction)) {
-            for (Account account : accountList)
-                account.getMovements().removeIf(movement -> movement.getTransaction().equals(transaction));
-            transaction.movements().forEach(Movement::delete);
-            transaction.movements().clear();
-            transactionList.remove(transaction);
+        if (containsTransaction(transaction)) {
+            loadArchives();
+            if (!transaction.categories().isEmpty())
+                changes.modified(ChangeTracker.Entity.TRANSACTION);
+            for (Movement movement : new ArrayList<>(transaction.movements())) {
+                if (!Objects.isNull(movement.getAccount()))
+                    movement.getAccount().removeMovement(movement);
+                transaction.removeMovement(movement);
+                movement.delete();
+            }
+            transactionMap.remove(transaction.getID());
+            transactionList.removeElement(transaction);
+            untrack(transaction);
             return true;
         }
         return false;
     }
 
-    private void sortAccount() {
-        accountList.sort(null);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ChangeTracker getChanges() {
+        return changes;
+    }
+
+    /**
+     * Segnala la creazione di un Conto al {@link ChangeTracker} e lo collega ad esso e all'indice dei Movimenti.
+     */
+    private void track(SimpleWallet wallet) {
+        wallet.track(changes, movementIndex);
+        changes.modified(ChangeTracker.Entity.ACCOUNT);
+    }
+
+    /**
+     * Segnala la creazione di una Categoria al {@link ChangeTracker} e la collega ad esso.
+     */
+    private void track(MoneyCategory category) {
+        category.track(changes);
+        changes.modified(ChangeTracker.Entity.CATEGORY);
+    }
+
+    /**
+     * Aggiunge la Transazione all'indice delle Categorie e la collega ad esso, cosi' che l'indice
+     * segua le modifiche alle sue Categorie.
+     */
+    private void track(Transaction transaction) {
+        transactionCategories.add(transaction);
+        if (transaction instanceof MoneyTransaction)
+            ((MoneyTransaction) transaction).track(transactionCategories);
+    }
+
+    /**
+     * Rimuove la Transazione dall'indice delle Categorie e la scollega da esso.
+     */
+    private void untrack(Transaction transaction) {
+        transactionCategories.remove(transaction);
+        if (transaction instanceof MoneyTransaction)
+            ((MoneyTransaction) transaction).track(null);
     }
 
-    private void sortCategory() {
-        categoryList.sort(null);
+    /**
+     * Crea i {@link Movement} archiviati di tutti gli Account, cosi' che tutte le Transazioni siano nel Ledger.
+     */
+    private void loadArchives() {
+        accountList.forEach(Account::loadArchive);
     }
 
-    private void sortTransaction() {
-        transactionList.sort(null);
+    /**
+     * Rimuove il {@link Movement} dalla sua {@link Transaction} ed elimina i suoi riferimenti;
+     * se la Transazione rimane senza Movimenti viene eliminata dal Ledger.
+     */
+    private void removeMovementFromTransaction(Movement movement) {
+        Transaction transaction = movement.getTransaction();
+        movement.delete();
+        if (Objects.isNull(transaction))
+            return;
+        transaction.removeMovement(movement);
+        if (transaction.movements().isEmpty() && containsTransaction(transaction)) {
+            transactionMap.remove(transaction.getID());
+            transactionList.removeElement(transaction);
+            untrack(transaction);
+        }
     }
 
 }
@@ -1,6 +1,6 @@
 package it.unicam.cs.pa.jbudget.model;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
@@ -18,9 +18,9 @@ import java.util.Objects;
 public class MoneyMovement implements Movement {
     private final MovementType type;
     private final int ID;
-    private final List<Category> categoryList = new ArrayList<>();
-    private double value;
-    private Date date;
+    private final SortedList<Category> categoryList = new SortedList<>();
+    private long value;
+    private long epochDay;
     private String description;
     private Transaction transaction;
     private Account account;
@@ -43,7 +43,34 @@ public class MoneyMovement implements Movement {
     public MoneyMovement(MovementType type, int ID, double value, Date date, String description,
                          Transaction transaction, Account account)
             throws MovementException {
-        this(type, ID, value, date, description);
+        this(type, ID, value, toEpochDay(date), description, transaction, account);
+    }
+
+    /**
+     * Per creare un Movimento, questo l'ultimo deve essere collegato ad un {@link Account}
+     * e ad una {@link Transaction}.
+     *
+     * @param type        Tipologia del Movimento
+     * @param ID          Codice Identificativo
+     * @param value       Valore del Movimento
+     * @param epochDay    Giorno del Movimento, come numero di giorni dall'epoch (vedi {@link Days})
+     * @param description Descrizione del Movimento
+     * @param transaction Transazione di cui fa parte questo Movimento
+     * @param account     Account collegato al Movimento
+     * @throws MovementException Viene lanciata una MovementException se si prova a creare un Movimento
+     *                           con valore negativo, oppure con il campo transaction, account,
+     *                           description, type {@code null}.
+     */
+    public MoneyMovement(MovementType type, int ID, double value, long epochDay, String description,
+                         Transaction transaction, Account account) throws MovementException {
+        controlValue(value);
+        controlType(type);
+        controlDescription(description);
+        this.type = type;
+        this.ID = ID;
+        this.value = Money.toCents(value);
+        this.epochDay = epochDay;
+        this.description = description;
 
         controlTransaction(transaction);
         controlAccount(account);
@@ -53,16 +80,24 @@ public class MoneyMovement implements Movement {
         this.account.addMovement(this);
     }
 
-    private MoneyMovement(MovementType type, int ID, double value, Date date, String description) throws MovementException {
-        controlValue(value);
-        controlType(type);
-        controlDate(date);
-        controlDescription(description);
+    /**
+     * Crea la copia di un Movimento eliminato, senza Account e Transazione (vedi {@link MovementStore}).
+     *
+     * @param type        Tipologia del Movimento
+     * @param ID          Codice Identificativo
+     * @param cents       Valore del Movimento in centesimi
+     * @param epochDay    Giorno del Movimento
+     * @param description Descrizione del Movimento
+     * @param categories  Categorie del Movimento
+     */
+    MoneyMovement(MovementType type, int ID, long cents, long epochDay, String description,
+                  List<Category> categories) {
         this.type = type;
         this.ID = ID;
-        this.value = value;
-        this.date = date;
+        this.value = cents;
+        this.epochDay = epochDay;
         this.description = description;
+        categories.forEach(categoryList::insert);
     }
 
     /**
@@ -72,9 +107,8 @@ public class MoneyMovement implements Movement {
      */
     @Override
     public void addCategory(Category category) {
-        if (!categoryList.contains(category) && !Objects.isNull(category))
-            categoryList.add(category);
-        sortCategory();
+        if (!Objects.isNull(category) && categoryList.insert(category))
+            AccountBookkeeping.categoryUpdated(account, this, category, true);
     }
 
     /**
@@ -82,17 +116,26 @@ public class MoneyMovement implements Movement {
      */
     @Override
     public double amount() {
+        return Money.toDouble(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long amountInCents() {
         return value;
     }
 
     /**
-     * Ritorna la lista delle {@link Category} del Movimento.
+     * Ritorna la lista delle {@link Category} del Movimento; la lista non e' modificabile,
+     * le Categorie si aggiungono e si rimuovono con {@link #addCategory} e {@link #removeCategory}.
      *
      * @return la {@code List} delle Categorie
      */
     @Override
     public List<Category> categories() {
-        return categoryList;
+        return Collections.unmodifiableList(categoryList);
     }
 
     @Override
@@ -111,7 +154,7 @@ public class MoneyMovement implements Movement {
             throw new MovementException(MovementException.E4_NULL_ACCOUNT);
     }
 
-    private void controlDate(Date date) {
+    private static void controlDate(Date date) {
         if (date == null)
             throw new NullPointerException(EXCEPTION_DATE_NULL);
     }
@@ -134,6 +177,8 @@ public class MoneyMovement implements Movement {
     private void controlValue(double value) throws MovementException {
         if (value < 0)
             throw new MovementException(MovementException.E0_NEGATIVE_VALUE);
+        if (!Money.isCents(value))
+            throw new MovementException(MovementException.E7_TOO_MANY_DECIMALS);
     }
 
     /**
@@ -165,8 +210,8 @@ public class MoneyMovement implements Movement {
      * {@inheritDoc}
      */
     @Override
-    public Date getDate() {
-        return date;
+    public long getEpochDay() {
+        return epochDay;
     }
 
     /**
@@ -175,7 +220,18 @@ public class MoneyMovement implements Movement {
      * @param date Data da impostare
      */
     public void setDate(Date date) {
-        this.date = date;
+        setEpochDay(toEpochDay(date));
+    }
+
+    /**
+     * Cambia il giorno del Movimento.
+     *
+     * @param epochDay Giorno da impostare, come numero di giorni dall'epoch
+     */
+    public void setEpochDay(long epochDay) {
+        long oldDay = this.epochDay;
+        this.epochDay = epochDay;
+        AccountBookkeeping.movementUpdated(account, this, value, oldDay);
     }
 
     /**
@@ -187,12 +243,13 @@ public class MoneyMovement implements Movement {
     }
 
     /**
-     * Cambia il valore della descrizione del Movimento.
+     * Cambia il valore della descrizione del Movimento e lo segnala al suo {@link Account}.
      *
      * @param description Descrizione da impostare
      */
     public void setDescription(String description) {
         this.description = description;
+        AccountBookkeeping.movementUpdated(account, this, value, epochDay);
     }
 
     /**
@@ -224,7 +281,10 @@ public class MoneyMovement implements Movement {
      */
     @Override
     public boolean removeCategory(Category category) {
-        return categoryList.remove(category);
+        if (!categoryList.removeElement(category))
+            return false;
+        AccountBookkeeping.categoryUpdated(account, this, category, false);
+        return true;
     }
 
     /**
@@ -232,21 +292,25 @@ public class MoneyMovement implements Movement {
      *
      * @param value Valore da impostare
      * @throws MovementException Viene lanciata una MovementException se si prova ad aggiornare il
-     *                           valore di un Movimento passando un numero negativo.
+     *                           valore di un Movimento passando un numero negativo o con piu' di 2
+     *                           cifre decimali.
      */
     public void setValue(double value) throws MovementException {
         controlValue(value);
-        this.value = value;
+        long oldValue = this.value;
+        this.value = Money.toCents(value);
+        AccountBookkeeping.movementUpdated(account, this, oldValue, epochDay);
     }
 
-    private void sortCategory() {
-        categoryList.sort(null);
+    private static long toEpochDay(Date date) {
+        controlDate(date);
+        return Days.toEpochDay(date);
     }
 
     @Override
     public String toString() {
         return "ID = " + ID +
-                ", Value = " + value;
+                ", Value = " + amount();
     }
 
     /**
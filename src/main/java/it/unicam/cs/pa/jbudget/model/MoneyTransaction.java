@@ -1,6 +1,6 @@
 package it.unicam.cs.pa.jbudget.model;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
@@ -16,8 +16,9 @@ import java.util.Objects;
  */
 public class MoneyTransaction implements Transaction {
     private final int ID;
-    private final List<Movement> movementsList = new ArrayList<>();
-    private final List<Category> categoryList = new ArrayList<>();
+    private final SortedList<Movement> movementsList = new SortedList<>();
+    private final SortedList<Category> categoryList = new SortedList<>();
+    private CategoryIndex<Transaction> categoryIndex;
 
     /**
      * Una transazione viene creata senza dei movimenti, che vengono aggiunti successivamente.
@@ -35,13 +36,23 @@ public class MoneyTransaction implements Transaction {
      */
     @Override
     public void addCategory(Category category) {
-        if (!categoryList.contains(category)) {
-            categoryList.add(category);
-            sortCategory();
+        if (!Objects.isNull(category) && categoryList.insert(category)) {
             movementsList.forEach(movement -> movement.addCategory(category));
+            if (!Objects.isNull(categoryIndex))
+                categoryIndex.add(this, category);
         }
     }
 
+    /**
+     * Collega la Transazione all'indice delle Categorie del Ledger, che viene aggiornato quando le sue
+     * Categorie cambiano; con {@code null} la Transazione viene scollegata.
+     *
+     * @param categoryIndex Indice delle Categorie delle Transazioni del Ledger
+     */
+    void track(CategoryIndex<Transaction> categoryIndex) {
+        this.categoryIndex = categoryIndex;
+    }
+
     /**
      * Aggiunge un {@link Movement} alla Transazione.
      *
@@ -52,8 +63,7 @@ public class MoneyTransaction implements Transaction {
     @Override
     public void addMovement(Movement movement) throws MovementException {
         controlMovement(movement);
-        movementsList.add(movement);
-        sortMovement();
+        movementsList.insert(movement);
     }
 
     /**
@@ -74,7 +84,7 @@ public class MoneyTransaction implements Transaction {
      */
     @Override
     public List<Category> categories() {
-        return categoryList;
+        return Collections.unmodifiableList(categoryList);
     }
 
     @Override
@@ -98,7 +108,7 @@ public class MoneyTransaction implements Transaction {
         if (movement.getTransaction() == null || !movement.getTransaction().equals(this))
             throw new MovementException(MovementException.E2_DIFFERENT_TRANSACTION);
 
-        if (movementsList.contains(movement))
+        if (movementsList.containsElement(movement))
             throw new MovementException(MovementException.E3_THERE_IS_ALREADY_A_MOVEMENT_IN_TRANSACTION);
     }
 
@@ -144,12 +154,20 @@ public class MoneyTransaction implements Transaction {
      */
     @Override
     public double getTotalAmount() {
-        double amount = 0;
+        return Money.toDouble(getTotalAmountInCents());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getTotalAmountInCents() {
+        long amount = 0;
         for (Movement movement : movementsList) {
             if (movement.type() == MovementType.CREDITS)
-                amount += movement.amount();
+                amount += movement.amountInCents();
             else
-                amount -= movement.amount();
+                amount -= movement.amountInCents();
         }
         return amount;
     }
@@ -160,13 +178,22 @@ public class MoneyTransaction implements Transaction {
     }
 
     /**
-     * Ritorna la lista dei {@link Movement} della Transazione.
+     * Ritorna la lista dei {@link Movement} della Transazione; la lista non e' modificabile,
+     * i Movimenti si aggiungono e si rimuovono con {@link #addMovement} e {@link #removeMovement}.
      *
      * @return la {@code List} dei Movimenti
      */
     @Override
     public List<Movement> movements() {
-        return movementsList;
+        return Collections.unmodifiableList(movementsList);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeMovement(Movement movement) {
+        return movementsList.removeElement(movement);
     }
 
     /**
@@ -178,17 +205,13 @@ public class MoneyTransaction implements Transaction {
      */
     @Override
     public boolean removeCategory(Category category) {
-        if (categoryList.contains(category))
+        if (categoryList.containsElement(category))
             movementsList.forEach(movement -> movement.removeCategory(category));
-        return categoryList.remove(category);
-    }
-
-    private void sortCategory() {
-        categoryList.sort(null);
-    }
-
-    private void sortMovement() {
-        movementsList.sort(null);
+        if (!categoryList.removeElement(category))
+            return false;
+        if (!Objects.isNull(categoryIndex))
+            categoryIndex.remove(this, category);
+        return true;
     }
 
     @Override
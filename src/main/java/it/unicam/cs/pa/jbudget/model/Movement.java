@@ -1,5 +1,6 @@
 package it.unicam.cs.pa.jbudget.model;
 
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 
@@ -9,6 +10,10 @@ import java.util.List;
  * importo, lista delle {@link Category} associate al movimento. Le operazioni di lettura e modifica
  * vengono effettuate per mezzo degli opportuni getter e setter. Il Movimento e' associato ad una {@link Transaction}
  * e ad un {@link Account}.
+ * <p>
+ * L'importo di un Movimento e' sempre un numero intero di centesimi (vedi {@link Money}): gli importi
+ * passati come {@code double} non vengono arrotondati, ma se hanno piu' di 2 cifre decimali
+ * vengono rifiutati con {@link MovementException#E7_TOO_MANY_DECIMALS}.
  */
 public interface Movement extends Comparable<Movement> {
     /**
@@ -40,6 +45,14 @@ public interface Movement extends Comparable<Movement> {
      */
     double amount();
 
+    /**
+     * Ritorna il valore del Movimento in centesimi.
+     *
+     * @return il {@code valore} del Movimento in centesimi
+     * @see Money
+     */
+    long amountInCents();
+
     /**
      * Ritorna la lista delle {@link Category} del Movimento.
      *
@@ -60,11 +73,31 @@ public interface Movement extends Comparable<Movement> {
     Account getAccount();
 
     /**
-     * Ritorna la Data del Movimento.
+     * Ritorna la Data del Movimento, come {@link Date} che corrisponde all'inizio del giorno del Movimento.
+     * La Data viene creata ad ogni chiamata, percio' nei confronti tra date e' preferibile {@link #getEpochDay()}.
+     *
+     * @return la {@code date} del Movimento
+     */
+    default Date getDate() {
+        return Days.toDate(getEpochDay());
+    }
+
+    /**
+     * Ritorna il giorno del Movimento, come numero di giorni dall'epoch.
+     *
+     * @return il giorno del Movimento
+     * @see Days
+     */
+    long getEpochDay();
+
+    /**
+     * Ritorna la Data del Movimento come {@link LocalDate}.
      *
      * @return la {@code date} del Movimento
      */
-    Date getDate();
+    default LocalDate getLocalDate() {
+        return LocalDate.ofEpochDay(getEpochDay());
+    }
 
     /**
      * Ritorna la Descrizione del Movimento.
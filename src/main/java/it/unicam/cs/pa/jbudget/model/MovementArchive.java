@@ -0,0 +1,68 @@
+package it.unicam.cs.pa.jbudget.model;
+
+/**
+ * Questa classe e' estesa dalle classi che mantengono i {@link Movement} di uno o piu' {@link Account}
+ * senza averli ancora creati, ad esempio perche' sono ancora nel File da cui sono stati importati.
+ * Il valore dei Movimenti archiviati e' gia' compreso nel saldo dell'Account (vedi
+ * {@link #archive(Account, MovementType, long, long)}): l'Account chiede all'archivio di creare
+ * i Movimenti solo quando vengono letti, e l'archivio toglie dal saldo il valore di ogni Movimento
+ * prima di aggiungerlo all'Account (vedi {@link #unarchive(Account, MovementType, long, long)}).
+ *
+ * @author Matteo Rondini
+ */
+public abstract class MovementArchive {
+    /**
+     * Crea ed aggiunge all'Account i Movimenti archiviati con giorno compreso tra i 2 passati (compresi),
+     * se non sono gia' stati creati.
+     *
+     * @param account Account di cui creare i Movimenti
+     * @param fromDay Giorno iniziale (vedi {@link Days})
+     * @param toDay   Giorno finale (vedi {@link Days})
+     * @throws IllegalStateException Viene lanciata quando i Movimenti archiviati non possono essere creati
+     */
+    public abstract void load(Account account, long fromDay, long toDay);
+
+    /**
+     * Ritorna il numero dei Movimenti dell'Account che non sono ancora stati creati.
+     *
+     * @param account Account di cui contare i Movimenti
+     * @return il numero dei Movimenti archiviati
+     */
+    public abstract int pending(Account account);
+
+    /**
+     * Collega l'archivio all'Account e somma al suo saldo il valore di un Movimento archiviato,
+     * che non e' ancora stato creato.
+     *
+     * @param account       Account del Movimento
+     * @param type          Tipologia del Movimento
+     * @param amountInCents Valore del Movimento in centesimi
+     * @param epochDay      Giorno del Movimento, che non deve essere successivo ad oggi (vedi {@link Days})
+     * @throws IllegalArgumentException Viene lanciata quando l'Account non puo' avere Movimenti archiviati
+     */
+    protected final void archive(Account account, MovementType type, long amountInCents, long epochDay) {
+        AccountBookkeeping bookkeeping = bookkeeping(account);
+        bookkeeping.addArchived(type, amountInCents, epochDay);
+        bookkeeping.setArchive(this);
+    }
+
+    /**
+     * Toglie dal saldo dell'Account il valore di un Movimento archiviato, prima di crearlo:
+     * il valore viene sommato di nuovo quando il Movimento viene aggiunto all'Account.
+     *
+     * @param account       Account del Movimento
+     * @param type          Tipologia del Movimento
+     * @param amountInCents Valore del Movimento in centesimi
+     * @param epochDay      Giorno del Movimento
+     * @throws IllegalArgumentException Viene lanciata quando l'Account non puo' avere Movimenti archiviati
+     */
+    protected final void unarchive(Account account, MovementType type, long amountInCents, long epochDay) {
+        bookkeeping(account).addArchived(type, -amountInCents, epochDay);
+    }
+
+    private static AccountBookkeeping bookkeeping(Account account) {
+        if (!(account instanceof AccountBookkeeping))
+            throw new IllegalArgumentException("L'Account non puo' avere Movimenti archiviati!");
+        return (AccountBookkeeping) account;
+    }
+}
@@ -48,6 +48,12 @@ public class MovementException extends Exception {
      */
     public static final String E6_THERE_IS_ALREADY_A_MOVEMENT_IN_ACCOUNT = "Non si puo' inserire 2 volte un movimento in un Conto!";
 
+    /**
+     * Errore che si verifica quando si prova a creare/modificare un {@link Movement} con un valore
+     * che ha piu' di 2 cifre decimali, cioe' che non e' un numero intero di centesimi.
+     */
+    public static final String E7_TOO_MANY_DECIMALS = "Il movimento non puo' avere piu' di 2 cifre decimali!";
+
     public MovementException(String message) {
         super(message);
     }
@@ -0,0 +1,89 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Indice di tutti i {@link Movement} degli Account del {@link Ledger}. Mantiene i Movimenti in una lista
+ * ordinata per ID, di cui espone una vista non modificabile sempre aggiornata, un indice (ID - Movimento)
+ * per cercarli in tempo costante e un {@link DateIndex} per leggerli per intervallo di date.
+ * Gli Account collegati al Ledger aggiornano l'indice ad ogni modifica dei propri Movimenti
+ * (vedi {@link SimpleWallet}); i Movimenti archiviati entrano nell'indice quando vengono creati.
+ *
+ * @author Matteo Rondini
+ */
+class MovementIndex {
+    private final SortedList<Movement> movementList = new SortedList<>();
+    private final List<Movement> movementView = Collections.unmodifiableList(movementList);
+    private final Map<Integer, Movement> movementMap = new HashMap<>();
+    private final DateIndex dates = new DateIndex();
+
+    /**
+     * Aggiunge il {@link Movement} all'indice.
+     *
+     * @param movement Movimento da aggiungere
+     */
+    void add(Movement movement) {
+        if (movementList.insert(movement)) {
+            movementMap.put(movement.getID(), movement);
+            dates.add(movement);
+        }
+    }
+
+    /**
+     * Rimuove il {@link Movement} dall'indice.
+     *
+     * @param movement Movimento da rimuovere
+     */
+    void remove(Movement movement) {
+        if (movementList.removeElement(movement)) {
+            movementMap.remove(movement.getID());
+            dates.remove(movement, movement.getEpochDay());
+        }
+    }
+
+    /**
+     * Aggiorna l'indice in seguito alla modifica della data del {@link Movement}.
+     *
+     * @param movement Movimento modificato
+     * @param oldDay   Giorno del Movimento prima della modifica
+     */
+    void move(Movement movement, long oldDay) {
+        dates.move(movement, oldDay);
+    }
+
+    /**
+     * Ritorna la vista dei {@link Movement} in ordine di ID. La vista non e' modificabile
+     * e riflette le modifiche successive dell'indice.
+     *
+     * @return la lista dei Movimenti
+     */
+    List<Movement> movements() {
+        return movementView;
+    }
+
+    /**
+     * Cerca il {@link Movement} con l'ID passato.
+     *
+     * @param ID ID del Movimento
+     * @return il Movimento, {@code null} se non e' presente
+     */
+    Movement get(int ID) {
+        return movementMap.get(ID);
+    }
+
+    /**
+     * Ritorna i {@link Movement} con giorno compreso tra i 2 passati (compresi), in ordine di giorno e di ID
+     * (vedi {@link DateIndex#range(long, long)}).
+     *
+     * @param fromDay Giorno iniziale
+     * @param toDay   Giorno finale
+     * @return lo stream dei Movimenti
+     */
+    Stream<Movement> range(long fromDay, long toDay) {
+        return dates.range(fromDay, toDay);
+    }
+}
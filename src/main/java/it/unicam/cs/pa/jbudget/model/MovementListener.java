@@ -0,0 +1,43 @@
+package it.unicam.cs.pa.jbudget.model;
+
+/**
+ * Questa interfaccia e' implementata dalle classi che vogliono essere informate sulle modifiche dei
+ * {@link Movement} di un {@link Account}. I metodi vengono chiamati dall'Account dopo aver aggiornato
+ * il proprio stato, quindi il Movimento ha gia' i valori nuovi.
+ *
+ * @author Matteo Rondini
+ * @see Account#addListener(MovementListener)
+ */
+public interface MovementListener {
+    /**
+     * Viene chiamato quando un {@link Movement} viene aggiunto all'Account.
+     *
+     * @param movement Movimento aggiunto
+     */
+    void movementAdded(Movement movement);
+
+    /**
+     * Viene chiamato quando un {@link Movement} viene rimosso dall'Account.
+     *
+     * @param movement Movimento rimosso
+     */
+    void movementRemoved(Movement movement);
+
+    /**
+     * Viene chiamato quando il valore o la data di un {@link Movement} dell'Account vengono modificati.
+     *
+     * @param movement  Movimento modificato
+     * @param oldAmount Valore in centesimi del Movimento prima della modifica
+     * @param oldDay    Giorno del Movimento prima della modifica (vedi {@link Days})
+     */
+    void movementUpdated(Movement movement, long oldAmount, long oldDay);
+
+    /**
+     * Viene chiamato quando una {@link Category} viene aggiunta o rimossa da un {@link Movement} dell'Account.
+     *
+     * @param movement Movimento modificato
+     * @param category Categoria aggiunta o rimossa
+     * @param added    {@code true} se la Categoria e' stata aggiunta, {@code false} se e' stata rimossa
+     */
+    void categoryUpdated(Movement movement, Category category, boolean added);
+}
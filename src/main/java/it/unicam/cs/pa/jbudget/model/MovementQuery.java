@@ -0,0 +1,214 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Interrogazione sui {@link Movement} del {@link Ledger}, costruita aggiungendo i criteri che i Movimenti
+ * devono soddisfare: Account, intervallo di date, tipologia, intervallo di importi, Categoria (o almeno
+ * una Categoria) e inizio della descrizione. I criteri non impostati sono soddisfatti da tutti i Movimenti.
+ * A differenza di un {@link Predicate} qualsiasi i criteri sono noti al Model, che li usa per scegliere
+ * da dove leggere i Movimenti (vedi {@link Ledger#movements(MovementQuery)} e
+ * {@link Account#movements(MovementQuery)}); i criteri rimanenti vengono controllati su ogni Movimento,
+ * a partire da quelli meno costosi.
+ *
+ * @author Matteo Rondini
+ */
+public class MovementQuery implements Predicate<Movement> {
+    private final Set<Account> accounts = new LinkedHashSet<>();
+    private long fromDay = Long.MIN_VALUE;
+    private long toDay = Long.MAX_VALUE;
+    private MovementType type;
+    private long minAmount = Long.MIN_VALUE;
+    private long maxAmount = Long.MAX_VALUE;
+    private Category category;
+    private boolean categorized;
+    private String descriptionPrefix;
+
+    /**
+     * Limita l'interrogazione ai Movimenti dell'{@link Account} passato. Chiamato piu' volte,
+     * l'interrogazione comprende i Movimenti di tutti gli Account passati.
+     *
+     * @param account Account dei Movimenti
+     * @return questa interrogazione
+     */
+    public MovementQuery account(Account account) {
+        accounts.add(Objects.requireNonNull(account));
+        return this;
+    }
+
+    /**
+     * Limita l'interrogazione ai Movimenti con data compresa tra le 2 passate (comprese).
+     *
+     * @param from Data iniziale
+     * @param to   Data finale
+     * @return questa interrogazione
+     */
+    public MovementQuery between(LocalDate from, LocalDate to) {
+        return betweenDays(from.toEpochDay(), to.toEpochDay());
+    }
+
+    /**
+     * Limita l'interrogazione ai Movimenti con giorno compreso tra i 2 passati (compresi),
+     * espressi come giorni dall'epoch (vedi {@link Days}).
+     *
+     * @param fromDay Giorno iniziale
+     * @param toDay   Giorno finale
+     * @return questa interrogazione
+     */
+    public MovementQuery betweenDays(long fromDay, long toDay) {
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+        return this;
+    }
+
+    /**
+     * Limita l'interrogazione ai Movimenti della tipologia passata.
+     *
+     * @param type Tipologia dei Movimenti
+     * @return questa interrogazione
+     */
+    public MovementQuery type(MovementType type) {
+        this.type = Objects.requireNonNull(type);
+        return this;
+    }
+
+    /**
+     * Limita l'interrogazione ai Movimenti con importo compreso tra i 2 passati (compresi).
+     *
+     * @param min Importo minimo
+     * @param max Importo massimo
+     * @return questa interrogazione
+     */
+    public MovementQuery amount(double min, double max) {
+        this.minAmount = Money.toCents(min);
+        this.maxAmount = Money.toCents(max);
+        return this;
+    }
+
+    /**
+     * Limita l'interrogazione ai Movimenti che hanno la {@link Category} passata.
+     *
+     * @param category Categoria dei Movimenti
+     * @return questa interrogazione
+     */
+    public MovementQuery category(Category category) {
+        this.category = Objects.requireNonNull(category);
+        return this;
+    }
+
+    /**
+     * Limita l'interrogazione ai Movimenti che hanno almeno una {@link Category}.
+     *
+     * @return questa interrogazione
+     */
+    public MovementQuery categorized() {
+        this.categorized = true;
+        return this;
+    }
+
+    /**
+     * Limita l'interrogazione ai Movimenti la cui descrizione inizia con il testo passato.
+     *
+     * @param prefix Inizio della descrizione
+     * @return questa interrogazione
+     */
+    public MovementQuery description(String prefix) {
+        this.descriptionPrefix = Objects.requireNonNull(prefix);
+        return this;
+    }
+
+    /**
+     * Ritorna gli {@link Account} a cui e' limitata l'interrogazione.
+     *
+     * @return gli Account dell'interrogazione, vuoto se comprende tutti gli Account
+     */
+    public Set<Account> getAccounts() {
+        return Collections.unmodifiableSet(accounts);
+    }
+
+    /**
+     * Controlla se l'interrogazione comprende i Movimenti dell'{@link Account} passato.
+     *
+     * @param account Account da controllare
+     * @return {@code true} se i Movimenti dell'Account possono soddisfare l'interrogazione
+     */
+    public boolean includes(Account account) {
+        return accounts.isEmpty() || accounts.contains(account);
+    }
+
+    /**
+     * Ritorna il primo giorno dell'intervallo di date, {@link Long#MIN_VALUE} se non e' stato impostato.
+     *
+     * @return il giorno iniziale
+     */
+    public long getFromDay() {
+        return fromDay;
+    }
+
+    /**
+     * Ritorna l'ultimo giorno dell'intervallo di date, {@link Long#MAX_VALUE} se non e' stato impostato.
+     *
+     * @return il giorno finale
+     */
+    public long getToDay() {
+        return toDay;
+    }
+
+    /**
+     * Controlla se l'interrogazione e' limitata ad un intervallo di date.
+     *
+     * @return {@code true} se almeno uno dei 2 estremi dell'intervallo e' stato impostato
+     */
+    public boolean hasDateRange() {
+        return fromDay != Long.MIN_VALUE || toDay != Long.MAX_VALUE;
+    }
+
+    /**
+     * Ritorna la {@link Category} dell'interrogazione.
+     *
+     * @return la Categoria, {@code null} se non e' stata impostata
+     */
+    public Category getCategory() {
+        return category;
+    }
+
+    /**
+     * Controlla se l'interrogazione e' limitata ai Movimenti che hanno almeno una {@link Category}.
+     *
+     * @return {@code true} se i Movimenti devono avere almeno una Categoria
+     */
+    public boolean isCategorized() {
+        return categorized;
+    }
+
+    /**
+     * Controlla se il {@link Movement} soddisfa tutti i criteri dell'interrogazione. I criteri sui valori
+     * del Movimento vengono controllati prima di quelli su Account, Categorie e descrizione.
+     *
+     * @param movement Movimento da controllare
+     * @return {@code true} se il Movimento soddisfa l'interrogazione
+     */
+    @Override
+    public boolean test(Movement movement) {
+        long day = movement.getEpochDay();
+        if (day < fromDay || day > toDay)
+            return false;
+        if (!Objects.isNull(type) && movement.type() != type)
+            return false;
+        long amount = movement.amountInCents();
+        if (amount < minAmount || amount > maxAmount)
+            return false;
+        if (!includes(movement.getAccount()))
+            return false;
+        if (!Objects.isNull(category) && !movement.categories().contains(category))
+            return false;
+        if (categorized && movement.categories().isEmpty())
+            return false;
+        return Objects.isNull(descriptionPrefix) || movement.getDescription().startsWith(descriptionPrefix);
+    }
+}
@@ -0,0 +1,408 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Archivio colonnare dei {@link Movement}. Invece di creare un oggetto completo per ogni Movimento,
+ * le informazioni vengono salvate in array paralleli di tipi primitivi (ID, tipologia, giorno, valore in centesimi,
+ * ID dell'Account e della Transazione, insieme delle Categorie) e i Movimenti restituiti sono delle
+ * viste leggere su una riga dell'archivio. Gli insiemi di Categorie sono salvati come {@link BitSet}
+ * condivisi tra tutte le righe che hanno le stesse Categorie; ogni Categoria occupa nei BitSet una posizione
+ * assegnata dall'archivio, cosi' che anche le Categorie con ID negativo possano essere salvate.
+ * Account, Transazioni e Ledger utilizzano i Movimenti dell'archivio come qualsiasi altro Movimento.
+ * Le righe dei Movimenti eliminati vengono riutilizzate dai nuovi Movimenti, e un Account, una Transazione,
+ * un insieme di Categorie o una Categoria vengono dimenticati dall'archivio quando non ci sono piu' righe
+ * che li riferiscono.
+ *
+ * @author Matteo Rondini
+ */
+public class MovementStore {
+    private static final int NO_REFERENCE = -1;
+    private static final int EMPTY_SET = 0;
+    private final Map<Integer, Reference<Account>> accountMap = new HashMap<>();
+    private final Map<Integer, Reference<Transaction>> transactionMap = new HashMap<>();
+    private final Map<Integer, Integer> categorySlots = new HashMap<>();
+    private final List<Reference<Category>> slotCategories = new ArrayList<>();
+    private final BitSet freeSlots = new BitSet();
+    private final List<Reference<BitSet>> categorySets = new ArrayList<>();
+    private final Map<BitSet, Integer> categorySetIndex = new HashMap<>();
+    private final BitSet freeSets = new BitSet();
+    private int rows;
+    private int[] freeRows = new int[16];
+    private int freeCount;
+    private int[] IDs = new int[16];
+    private byte[] types = new byte[16];
+    private long[] days = new long[16];
+    private long[] values = new long[16];
+    private int[] accountIDs = new int[16];
+    private int[] transactionIDs = new int[16];
+    private int[] categories = new int[16];
+    private String[] descriptions = new String[16];
+
+    /**
+     * Crea un archivio dei Movimenti vuoto.
+     */
+    public MovementStore() {
+        internCategorySet(new BitSet());
+    }
+
+    /**
+     * Crea un {@link Movement} all'interno dell'archivio e lo collega al suo {@link Account}
+     * e alla sua {@link Transaction}.
+     *
+     * @param type        Tipologia del Movimento
+     * @param ID          Codice Identificativo
+     * @param value       Valore del Movimento
+     * @param date        Data del Movimento
+     * @param description Descrizione del Movimento
+     * @param transaction Transazione di cui fa parte questo Movimento
+     * @param account     Account collegato al Movimento
+     * @return il Movimento appena creato
+     * @throws MovementException Viene lanciata una MovementException se si prova a creare un Movimento
+     *                           con valore negativo, oppure con il campo transaction, account
+     *                           {@code null}, o se il Movimento non puo' essere aggiunto alla
+     *                           Transazione o all'Account.
+     */
+    public Movement addMovement(MovementType type, int ID, double value, Date date, String description,
+                                Transaction transaction, Account account) throws MovementException {
+        controlValue(value);
+        if (date == null)
+            throw new NullPointerException(Movement.EXCEPTION_DATE_NULL);
+        return addMovement(type, ID, Money.toCents(value), Days.toEpochDay(date), description, transaction, account);
+    }
+
+    /**
+     * Crea un {@link Movement} all'interno dell'archivio, con il valore in centesimi e il giorno gia' convertiti,
+     * e lo collega al suo {@link Account} e alla sua {@link Transaction}.
+     *
+     * @param type        Tipologia del Movimento
+     * @param ID          Codice Identificativo
+     * @param cents       Valore del Movimento in centesimi
+     * @param epochDay    Giorno del Movimento, come numero di giorni dall'epoch (vedi {@link Days})
+     * @param description Descrizione del Movimento
+     * @param transaction Transazione di cui fa parte questo Movimento
+     * @param account     Account collegato al Movimento
+     * @return il Movimento appena creato
+     * @throws MovementException Viene lanciata una MovementException se si prova a creare un Movimento
+     *                           con valore negativo, oppure con il campo transaction, account
+     *                           {@code null}, o se il Movimento non puo' essere aggiunto alla
+     *                           Transazione o all'Account.
+     */
+    public Movement addMovement(MovementType type, int ID, long cents, long epochDay, String description,
+                                Transaction transaction, Account account) throws MovementException {
+        if (cents < 0)
+            throw new MovementException(MovementException.E0_NEGATIVE_VALUE);
+        if (type == null)
+            throw new NullPointerException(Movement.EXCEPTION_TYPE_NULL);
+        if (description == null)
+            throw new NullPointerException(Movement.EXCEPTION_DESCRIPTION_NULL);
+        if (transaction == null)
+            throw new MovementException(MovementException.E1_NULL_TRANSACTION);
+        if (account == null)
+            throw new MovementException(MovementException.E4_NULL_ACCOUNT);
+
+        int row = addRow(type, ID, cents, epochDay, description);
+        accountIDs[row] = retain(accountMap, account.getID(), account);
+        transactionIDs[row] = retain(transactionMap, transaction.getID(), transaction);
+
+        Movement movement = new StoredMovement(this, row);
+        try {
+            transaction.addMovement(movement);
+        } catch (MovementException exception) {
+            delete(row);
+            throw exception;
+        }
+        try {
+            account.addMovement(movement);
+        } catch (MovementException exception) {
+            transaction.removeMovement(movement);
+            delete(row);
+            throw exception;
+        }
+        return movement;
+    }
+
+    /**
+     * Ritorna il numero di righe occupate dell'archivio.
+     *
+     * @return il numero di Movimenti salvati nell'archivio
+     */
+    public int size() {
+        return rows - freeCount;
+    }
+
+    /**
+     * Ritorna il numero di insiemi di Categorie conservati dall'archivio, compreso l'insieme vuoto.
+     *
+     * @return il numero di insiemi di Categorie usati dalle righe
+     */
+    int categorySetCount() {
+        return categorySetIndex.size();
+    }
+
+    /**
+     * Occupa una riga dell'archivio, riutilizzando quella di un Movimento eliminato se presente.
+     */
+    private int addRow(MovementType type, int ID, long value, long day, String description) {
+        int row;
+        if (freeCount > 0)
+            row = freeRows[--freeCount];
+        else {
+            if (rows == IDs.length)
+                grow();
+            row = rows++;
+        }
+        IDs[row] = ID;
+        types[row] = (byte) type.ordinal();
+        days[row] = day;
+        values[row] = value;
+        categories[row] = EMPTY_SET;
+        descriptions[row] = description;
+        return row;
+    }
+
+    private void controlValue(double value) throws MovementException {
+        if (value < 0)
+            throw new MovementException(MovementException.E0_NEGATIVE_VALUE);
+        if (!Money.isCents(value))
+            throw new MovementException(MovementException.E7_TOO_MANY_DECIMALS);
+    }
+
+    private void grow() {
+        int capacity = IDs.length * 2;
+        IDs = Arrays.copyOf(IDs, capacity);
+        types = Arrays.copyOf(types, capacity);
+        days = Arrays.copyOf(days, capacity);
+        values = Arrays.copyOf(values, capacity);
+        accountIDs = Arrays.copyOf(accountIDs, capacity);
+        transactionIDs = Arrays.copyOf(transactionIDs, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+    }
+
+    /**
+     * Ritorna l'indice dell'insieme di Categorie passato, aggiungendolo all'archivio se non e' ancora presente.
+     * Un insieme nuovo conta come riferimento per ognuna delle sue Categorie.
+     */
+    private int internCategorySet(BitSet categorySet) {
+        Integer index = categorySetIndex.get(categorySet);
+        if (!Objects.isNull(index))
+            return index;
+        Reference<BitSet> reference = new Reference<>();
+        reference.value = categorySet;
+        index = freeSets.nextSetBit(0);
+        if (index < 0) {
+            index = categorySets.size();
+            categorySets.add(reference);
+        } else {
+            freeSets.clear(index);
+            categorySets.set(index, reference);
+        }
+        categorySetIndex.put(categorySet, index);
+        for (int slot = categorySet.nextSetBit(0); slot >= 0; slot = categorySet.nextSetBit(slot + 1))
+            slotCategories.get(slot).rows++;
+        return index;
+    }
+
+    /**
+     * Assegna alla riga l'insieme di Categorie con l'indice passato, rilasciando quello precedente.
+     */
+    private void setCategorySet(int row, int index) {
+        if (index != EMPTY_SET)
+            categorySets.get(index).rows++;
+        int old = categories[row];
+        categories[row] = index;
+        releaseCategorySet(old);
+    }
+
+    /**
+     * Rilascia un riferimento all'insieme di Categorie; quando l'insieme non e' piu' usato da nessuna riga
+     * viene eliminato e rilascia le sue Categorie. L'insieme vuoto non viene mai eliminato.
+     */
+    private void releaseCategorySet(int index) {
+        if (index == EMPTY_SET)
+            return;
+        Reference<BitSet> reference = categorySets.get(index);
+        if (--reference.rows > 0)
+            return;
+        BitSet categorySet = reference.value;
+        categorySetIndex.remove(categorySet);
+        categorySets.set(index, null);
+        freeSets.set(index);
+        for (int slot = categorySet.nextSetBit(0); slot >= 0; slot = categorySet.nextSetBit(slot + 1)) {
+            Reference<Category> category = slotCategories.get(slot);
+            if (--category.rows == 0) {
+                categorySlots.remove(category.value.getID());
+                slotCategories.set(slot, null);
+                freeSlots.set(slot);
+            }
+        }
+    }
+
+    /**
+     * Ritorna la posizione della Categoria nei BitSet, assegnandone una nuova se non e' ancora presente.
+     */
+    private int slot(Category category) {
+        Integer slot = categorySlots.get(category.getID());
+        if (!Objects.isNull(slot)) {
+            slotCategories.get(slot).value = category;
+            return slot;
+        }
+        Reference<Category> reference = new Reference<>();
+        reference.value = category;
+        slot = freeSlots.nextSetBit(0);
+        if (slot < 0) {
+            slot = slotCategories.size();
+            slotCategories.add(reference);
+        } else {
+            freeSlots.clear(slot);
+            slotCategories.set(slot, reference);
+        }
+        categorySlots.put(category.getID(), slot);
+        return slot;
+    }
+
+    boolean addCategory(int row, Category category) {
+        BitSet categorySet = categorySets.get(categories[row]).value;
+        int slot = slot(category);
+        if (categorySet.get(slot))
+            return false;
+        BitSet newCategorySet = (BitSet) categorySet.clone();
+        newCategorySet.set(slot);
+        setCategorySet(row, internCategorySet(newCategorySet));
+        return true;
+    }
+
+    /**
+     * Ritorna le Categorie della riga, ordinate come nelle liste dei Movimenti.
+     */
+    List<Category> categories(int row) {
+        BitSet categorySet = categorySets.get(categories[row]).value;
+        List<Category> categoryList = new ArrayList<>(categorySet.cardinality());
+        for (int slot = categorySet.nextSetBit(0); slot >= 0; slot = categorySet.nextSetBit(slot + 1))
+            categoryList.add(slotCategories.get(slot).value);
+        Collections.sort(categoryList);
+        return categoryList;
+    }
+
+    boolean removeCategory(int row, Category category) {
+        Integer slot = categorySlots.get(category.getID());
+        BitSet categorySet = categorySets.get(categories[row]).value;
+        if (Objects.isNull(slot) || !categorySet.get(slot)
+                || !category.equals(slotCategories.get(slot).value))
+            return false;
+        BitSet newCategorySet = (BitSet) categorySet.clone();
+        newCategorySet.clear(slot);
+        setCategorySet(row, internCategorySet(newCategorySet));
+        return true;
+    }
+
+    /**
+     * Elimina la riga passata, rendendola disponibile per un nuovo Movimento, e rilascia i riferimenti
+     * all'Account, alla Transazione, alle Categorie e alla descrizione.
+     */
+    void delete(int row) {
+        if (accountIDs[row] == NO_REFERENCE)
+            return;
+        release(accountMap, accountIDs[row]);
+        release(transactionMap, transactionIDs[row]);
+        accountIDs[row] = NO_REFERENCE;
+        transactionIDs[row] = NO_REFERENCE;
+        setCategorySet(row, EMPTY_SET);
+        descriptions[row] = null;
+        if (freeCount == freeRows.length)
+            freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+        freeRows[freeCount++] = row;
+    }
+
+    /**
+     * Copia i valori della riga passata in un {@link MoneyMovement} senza Account e Transazione, ed elimina
+     * la riga. Il Movimento eliminato continua cosi' a restituire i suoi valori anche quando
+     * la sua riga viene riutilizzata da un nuovo Movimento.
+     *
+     * @param row Riga da eliminare
+     * @return la copia dei valori della riga
+     */
+    MoneyMovement detach(int row) {
+        MoneyMovement copy = new MoneyMovement(getType(row), IDs[row], values[row], days[row], descriptions[row],
+                categories(row));
+        delete(row);
+        return copy;
+    }
+
+    private static <T> int retain(Map<Integer, Reference<T>> map, int ID, T value) {
+        Reference<T> reference = map.computeIfAbsent(ID, key -> new Reference<>());
+        reference.value = value;
+        reference.rows++;
+        return ID;
+    }
+
+    private static <T> void release(Map<Integer, Reference<T>> map, int ID) {
+        Reference<T> reference = map.get(ID);
+        if (!Objects.isNull(reference) && --reference.rows == 0)
+            map.remove(ID);
+    }
+
+    private static <T> T get(Map<Integer, Reference<T>> map, int ID) {
+        Reference<T> reference = ID == NO_REFERENCE ? null : map.get(ID);
+        return Objects.isNull(reference) ? null : reference.value;
+    }
+
+    Account getAccount(int row) {
+        return get(accountMap, accountIDs[row]);
+    }
+
+    long getEpochDay(int row) {
+        return days[row];
+    }
+
+    void setEpochDay(int row, long day) {
+        days[row] = day;
+    }
+
+    String getDescription(int row) {
+        return descriptions[row];
+    }
+
+    void setDescription(int row, String description) {
+        descriptions[row] = description;
+    }
+
+    int getID(int row) {
+        return IDs[row];
+    }
+
+    Transaction getTransaction(int row) {
+        return get(transactionMap, transactionIDs[row]);
+    }
+
+    MovementType getType(int row) {
+        return MovementType.values()[types[row]];
+    }
+
+    long getValue(int row) {
+        return values[row];
+    }
+
+    void setValue(int row, double value) throws MovementException {
+        controlValue(value);
+        values[row] = Money.toCents(value);
+    }
+
+    /**
+     * Oggetto riferito dalle righe dell'archivio, con il numero di righe (o di insiemi di Categorie)
+     * che lo riferiscono.
+     */
+    private static final class Reference<T> {
+        private T value;
+        private int rows;
+    }
+}
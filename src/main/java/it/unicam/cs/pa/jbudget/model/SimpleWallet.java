@@ -1,25 +1,47 @@
 package it.unicam.cs.pa.jbudget.model;
 
-import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * La classe implementa l'interfaccia {@link Account} ed ha la responsabilita' di gestire un conto.
  * Permette di accedere e modificare le informazioni del conto: nome, descrizione.
  * Consente inoltre di ottenere il saldo attuale e il saldo iniziale del conto.
  * Inoltre, e' possibile accedere alla lista dei {@link Movement} e quelli che soddisfano un determinato predicato.
+ * Il saldo attuale viene mantenuto aggiornato ad ogni modifica dei Movimenti: i Movimenti con data futura
+ * vengono tenuti in una coda ordinata per data e sommati al saldo solo quando la loro data e' passata.
+ * Il saldo ad una qualsiasi data viene calcolato attraverso un {@link BalanceIndex}, e i Movimenti di una
+ * Categoria vengono trovati attraverso un {@link CategoryIndex}, e quelli di un intervallo di date
+ * attraverso un {@link DateIndex}.
+ * Tutti i saldi sono mantenuti in centesimi (vedi {@link Money}).
+ * I Movimenti di un {@link MovementArchive} collegato al Conto sono compresi nel saldo fin dall'import,
+ * e vengono creati solo quando vengono letti.
+ * Le modifiche dei Movimenti vengono segnalate ai {@link MovementListener} registrati.
  *
  * @author Matteo Rondini
  */
-public class SimpleWallet implements Account {
+public class SimpleWallet implements Account, AccountBookkeeping {
     private final int ID;
-    private final double openingBalance;
-    private final List<Movement> movementsList = new ArrayList<>();
+    private final long openingBalance;
+    private final SortedList<Movement> movementsList = new SortedList<>();
+    private final List<Movement> movementsView = Collections.unmodifiableList(movementsList);
+    private final PriorityQueue<Movement> futureMovements = new PriorityQueue<>(Comparator.comparingLong(Movement::getEpochDay));
+    private final BalanceIndex balanceIndex = new BalanceIndex();
+    private final CategoryIndex<Movement> categoryIndex = new CategoryIndex<>(Movement::getID, Movement::categories);
+    private final DateIndex dateIndex = new DateIndex();
+    private final List<MovementListener> listeners = new ArrayList<>();
+    private long balance;
+    private MovementArchive archive;
+    private ChangeTracker changes;
+    private MovementIndex ledgerMovements;
     private final AccountType type;
     private String name;
     private String description;
@@ -40,7 +62,8 @@ public class SimpleWallet implements Account {
         this.name = name;
         this.description = description;
         this.ID = ID;
-        this.openingBalance = openingBalance;
+        this.openingBalance = Money.toCents(openingBalance);
+        this.balance = this.openingBalance;
     }
 
     /**
@@ -54,8 +77,15 @@ public class SimpleWallet implements Account {
     @Override
     public void addMovement(Movement movement) throws MovementException {
         controlMovement(movement);
-        movementsList.add(movement);
-        sortMovement();
+        movementsList.insert(movement);
+        addToBalance(movement);
+        categoryIndex.add(movement);
+        dateIndex.add(movement);
+        if (!Objects.isNull(ledgerMovements))
+            ledgerMovements.add(movement);
+        if (!Objects.isNull(changes))
+            changes.added(movement);
+        listeners.forEach(listener -> listener.movementAdded(movement));
     }
 
     /**
@@ -72,14 +102,98 @@ public class SimpleWallet implements Account {
             addMovement(movement);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addArchived(MovementType type, long amountInCents, long epochDay) {
+        long amount = calculateBalance(amountInCents, type);
+        balanceIndex.add(epochDay, amount);
+        balance += amount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setArchive(MovementArchive archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void loadArchive() {
+        loadArchive(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Crea i Movimenti archiviati tra i 2 giorni passati, senza segnalarli come aggiunti:
+     * sono gia' presenti nel File da cui sono stati importati.
+     * Quando non rimangono Movimenti da creare l'archivio viene scollegato.
+     */
+    @Override
+    public void loadArchive(long fromDay, long toDay) {
+        if (Objects.isNull(archive))
+            return;
+        ChangeTracker tracked = changes;
+        changes = null;
+        try {
+            archive.load(this, fromDay, toDay);
+        } finally {
+            changes = tracked;
+        }
+        if (archive.pending(this) == 0)
+            archive = null;
+    }
+
+    /**
+     * Collega il Conto al {@link ChangeTracker} del Ledger, a cui vengono segnalate le sue modifiche,
+     * e al {@link MovementIndex} del Ledger, che viene aggiornato ad ogni modifica dei suoi Movimenti.
+     * Con {@code null} il Conto viene scollegato.
+     *
+     * @param changes         ChangeTracker del Ledger
+     * @param ledgerMovements Indice dei Movimenti del Ledger
+     */
+    void track(ChangeTracker changes, MovementIndex ledgerMovements) {
+        this.changes = changes;
+        this.ledgerMovements = ledgerMovements;
+        if (!Objects.isNull(ledgerMovements))
+            movementsList.forEach(ledgerMovements::add);
+    }
+
+    /**
+     * Aggiunge il valore del Movimento al saldo se il suo giorno non e' successivo ad oggi,
+     * altrimenti lo inserisce nella coda dei Movimenti futuri.
+     */
+    private void addToBalance(Movement movement) {
+        long amount = calculateBalance(movement.amountInCents(), movement.type());
+        balanceIndex.add(movement.getEpochDay(), amount);
+        if (movement.getEpochDay() <= Days.today())
+            balance += amount;
+        else
+            futureMovements.add(movement);
+    }
+
+    /**
+     * Toglie il contributo del Movimento dal saldo, o dalla coda dei Movimenti futuri.
+     */
+    private void removeFromBalance(Movement movement, long amount, long day) {
+        long balanceAmount = calculateBalance(amount, movement.type());
+        balanceIndex.add(day, -balanceAmount);
+        if (!futureMovements.remove(movement))
+            balance -= balanceAmount;
+    }
+
     /**
      * Calcola il valore del Movimento rispetto alla sua tipologia.
      *
-     * @param movementAmount Il valore del movimento
+     * @param movementAmount Il valore del movimento in centesimi
      * @param movementType   La tipologia del movimento
-     * @return il valore da aggiungere al Bilancio dell'Account
+     * @return il valore in centesimi da aggiungere al Bilancio dell'Account
      */
-    private double calculateBalance(double movementAmount, MovementType movementType) {
+    private long calculateBalance(long movementAmount, MovementType movementType) {
         switch (type) {
             case ASSETS:
                 if (movementType == MovementType.CREDITS)
@@ -116,7 +230,7 @@ public class SimpleWallet implements Account {
         if (!movement.getAccount().equals(this))
             throw new MovementException(MovementException.E5_DIFFERENT_ACCOUNT);
 
-        if (movementsList.contains(movement))
+        if (movementsList.containsElement(movement))
             throw new MovementException(MovementException.E6_THERE_IS_ALREADY_A_MOVEMENT_IN_ACCOUNT);
     }
 
@@ -138,14 +252,46 @@ public class SimpleWallet implements Account {
      */
     @Override
     public double getBalance() {
-        double balance = getOpeningBalance();
-        for (Movement movement : movementsList) {
-            if (movement.getDate().compareTo(Date.from(Instant.now())) < 0)
-                balance = balance + calculateBalance(movement.amount(), movement.type());
+        return Money.toDouble(getBalanceInCents());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getBalanceInCents() {
+        long today = Days.today();
+        while (!futureMovements.isEmpty() && futureMovements.peek().getEpochDay() <= today) {
+            Movement movement = futureMovements.poll();
+            balance += calculateBalance(movement.amountInCents(), movement.type());
         }
         return balance;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getBalance(LocalDate asOf) {
+        return Money.toDouble(getBalanceInCents(asOf));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getBalanceInCents(LocalDate asOf) {
+        return openingBalance + balanceIndex.sumUpTo(asOf.toEpochDay());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getBalanceChange(LocalDate from, LocalDate to) {
+        return Money.toDouble(balanceIndex.sum(from.toEpochDay(), to.toEpochDay()));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -160,6 +306,7 @@ public class SimpleWallet implements Account {
     @Override
     public void setDescription(String description) {
         this.description = description;
+        modified(ChangeTracker.Entity.ACCOUNT);
     }
 
     /**
@@ -175,7 +322,8 @@ public class SimpleWallet implements Account {
      */
     @Override
     public List<Movement> getMovements() {
-        return movementsList;
+        loadArchive();
+        return movementsView;
     }
 
     /**
@@ -186,9 +334,103 @@ public class SimpleWallet implements Account {
      */
     @Override
     public List<Movement> getMovements(Predicate<Movement> predicate) {
+        loadArchive();
         return movementsList.stream().filter(predicate).collect(Collectors.toList());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Movement> getMovements(LocalDate from, LocalDate to) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        loadArchive(fromDay, toDay);
+        return dateIndex.range(fromDay, toDay).collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Movement> movements(MovementQuery query) {
+        if (!query.includes(this))
+            return Stream.empty();
+        loadArchive(query.getFromDay(), query.getToDay());
+        if (!Objects.isNull(query.getCategory()))
+            return categoryIndex.elements(query.getCategory()).filter(query);
+        if (query.isCategorized())
+            return categoryIndex.categorized().filter(query);
+        if (query.hasDateRange())
+            return dateIndex.range(query.getFromDay(), query.getToDay()).filter(query);
+        return movementsList.stream().filter(query);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeMovement(Movement movement) {
+        if (!movementsList.removeElement(movement))
+            return false;
+        removeFromBalance(movement, movement.amountInCents(), movement.getEpochDay());
+        categoryIndex.remove(movement);
+        dateIndex.remove(movement, movement.getEpochDay());
+        if (!Objects.isNull(ledgerMovements))
+            ledgerMovements.remove(movement);
+        if (!Objects.isNull(changes))
+            changes.removed(movement);
+        listeners.forEach(listener -> listener.movementRemoved(movement));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateMovement(Movement movement, long oldAmount, long oldDay) {
+        if (movementsList.containsElement(movement)) {
+            removeFromBalance(movement, oldAmount, oldDay);
+            addToBalance(movement);
+            dateIndex.move(movement, oldDay);
+            if (!Objects.isNull(ledgerMovements))
+                ledgerMovements.move(movement, oldDay);
+            if (!Objects.isNull(changes))
+                changes.modified(movement);
+            listeners.forEach(listener -> listener.movementUpdated(movement, oldAmount, oldDay));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateCategory(Movement movement, Category category, boolean added) {
+        if (!movementsList.containsElement(movement))
+            return;
+        if (added)
+            categoryIndex.add(movement, category);
+        else
+            categoryIndex.remove(movement, category);
+        listeners.forEach(listener -> listener.categoryUpdated(movement, category, added));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addListener(MovementListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeListener(MovementListener listener) {
+        listeners.remove(listener);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -203,6 +445,12 @@ public class SimpleWallet implements Account {
     @Override
     public void setName(String name) {
         this.name = name;
+        modified(ChangeTracker.Entity.ACCOUNT);
+    }
+
+    private void modified(ChangeTracker.Entity entity) {
+        if (!Objects.isNull(changes))
+            changes.modified(entity);
     }
 
     /**
@@ -210,7 +458,7 @@ public class SimpleWallet implements Account {
      */
     @Override
     public double getOpeningBalance() {
-        return openingBalance;
+        return Money.toDouble(openingBalance);
     }
 
     /**
@@ -226,10 +474,6 @@ public class SimpleWallet implements Account {
         return Objects.hash(getID());
     }
 
-    private void sortMovement() {
-        movementsList.sort(null);
-    }
-
     @Override
     public String toString() {
         return "ID = " + ID +
@@ -0,0 +1,66 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Objects;
+
+/**
+ * Lista mantenuta in ordine crescente, utilizzata dalle classi del Model per conservare
+ * Account, Transazioni, Movimenti e Categorie ordinati per ID senza riordinare la lista ad ogni inserimento.
+ * Poiche' gli ID crescono nel tempo, l'inserimento in coda avviene in tempo costante; negli altri casi
+ * la posizione dell'elemento viene trovata con una ricerca binaria.
+ *
+ * @param <E> Tipo degli elementi della lista
+ * @author Matteo Rondini
+ */
+class SortedList<E extends Comparable<? super E>> extends ArrayList<E> {
+
+    /**
+     * Inserisce l'elemento rispettando l'ordinamento della lista.
+     *
+     * @param element Elemento da inserire
+     * @return {@code true} se l'elemento e' stato inserito, {@code false} se era gia' presente
+     */
+    boolean insert(E element) {
+        Objects.requireNonNull(element);
+        if (isEmpty() || get(size() - 1).compareTo(element) < 0) {
+            add(element);
+            return true;
+        }
+        int index = search(element);
+        if (index >= 0)
+            return false;
+        add(-index - 1, element);
+        return true;
+    }
+
+    /**
+     * Controlla se l'elemento e' presente nella lista con una ricerca binaria.
+     *
+     * @param element Elemento da cercare
+     * @return {@code true} se l'elemento e' presente
+     */
+    boolean containsElement(E element) {
+        return !Objects.isNull(element) && search(element) >= 0;
+    }
+
+    /**
+     * Rimuove l'elemento dalla lista cercandolo con una ricerca binaria.
+     *
+     * @param element Elemento da rimuovere
+     * @return {@code true} se l'elemento e' stato rimosso
+     */
+    boolean removeElement(E element) {
+        if (Objects.isNull(element))
+            return false;
+        int index = search(element);
+        if (index < 0)
+            return false;
+        remove(index);
+        return true;
+    }
+
+    private int search(E element) {
+        return Collections.binarySearch(this, element);
+    }
+}
@@ -0,0 +1,247 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * La classe implementa l'interfaccia {@link Movement} come vista su una riga di un {@link MovementStore}.
+ * Non contiene le informazioni del movimento, ma le legge e le modifica direttamente nell'archivio.
+ * Quando il movimento viene eliminato i valori della sua riga vengono copiati in un {@link MoneyMovement}
+ * senza Account e Transazione, a cui la vista delega, cosi' che la riga possa essere riutilizzata.
+ *
+ * @author Matteo Rondini
+ * @see MovementStore
+ */
+class StoredMovement implements Movement {
+    private final MovementStore store;
+    private final int row;
+    private MoneyMovement deleted;
+
+    /**
+     * Crea la vista sulla riga dell'archivio passata.
+     *
+     * @param store Archivio dei Movimenti
+     * @param row   Riga dell'archivio
+     */
+    StoredMovement(MovementStore store, int row) {
+        this.store = store;
+        this.row = row;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addCategory(Category category) {
+        if (!Objects.isNull(deleted)) {
+            deleted.addCategory(category);
+            return;
+        }
+        if (!Objects.isNull(category) && store.addCategory(row, category))
+            AccountBookkeeping.categoryUpdated(getAccount(), this, category, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double amount() {
+        if (!Objects.isNull(deleted))
+            return deleted.amount();
+        return Money.toDouble(store.getValue(row));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long amountInCents() {
+        if (!Objects.isNull(deleted))
+            return deleted.amountInCents();
+        return store.getValue(row);
+    }
+
+    /**
+     * Ritorna la lista delle {@link Category} del Movimento. La lista viene creata ad ogni chiamata
+     * a partire dall'insieme di Categorie salvato nell'archivio.
+     *
+     * @return la {@code List} delle Categorie
+     */
+    @Override
+    public List<Category> categories() {
+        if (!Objects.isNull(deleted))
+            return deleted.categories();
+        return store.categories(row);
+    }
+
+    @Override
+    public int compareTo(Movement movement) {
+        if (Objects.isNull(movement))
+            throw new NullPointerException();
+        if (this.equals(movement))
+            return 0;
+        if (this.getID() > movement.getID())
+            return 1;
+        else return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void delete() {
+        if (Objects.isNull(deleted))
+            deleted = store.detach(row);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StoredMovement that = (StoredMovement) o;
+        return getID() == that.getID();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Account getAccount() {
+        if (!Objects.isNull(deleted))
+            return null;
+        return store.getAccount(row);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getEpochDay() {
+        if (!Objects.isNull(deleted))
+            return deleted.getEpochDay();
+        return store.getEpochDay(row);
+    }
+
+    /**
+     * Cambia la data del Movimento.
+     *
+     * @param date Data da impostare
+     */
+    public void setDate(Date date) {
+        if (date == null)
+            throw new NullPointerException(EXCEPTION_DATE_NULL);
+        setEpochDay(Days.toEpochDay(date));
+    }
+
+    /**
+     * Cambia il giorno del Movimento.
+     *
+     * @param day Giorno da impostare, come numero di giorni dall'epoch
+     */
+    public void setEpochDay(long day) {
+        if (!Objects.isNull(deleted)) {
+            deleted.setEpochDay(day);
+            return;
+        }
+        long oldDay = getEpochDay();
+        store.setEpochDay(row, day);
+        AccountBookkeeping.movementUpdated(getAccount(), this, amountInCents(), oldDay);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDescription() {
+        if (!Objects.isNull(deleted))
+            return deleted.getDescription();
+        return store.getDescription(row);
+    }
+
+    /**
+     * Cambia il valore della descrizione del Movimento e lo segnala al suo {@link Account}.
+     *
+     * @param description Descrizione da impostare
+     */
+    public void setDescription(String description) {
+        if (!Objects.isNull(deleted)) {
+            deleted.setDescription(description);
+            return;
+        }
+        store.setDescription(row, description);
+        AccountBookkeeping.movementUpdated(getAccount(), this, amountInCents(), getEpochDay());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getID() {
+        if (!Objects.isNull(deleted))
+            return deleted.getID();
+        return store.getID(row);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Transaction getTransaction() {
+        if (!Objects.isNull(deleted))
+            return null;
+        return store.getTransaction(row);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getID());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeCategory(Category category) {
+        if (!Objects.isNull(deleted))
+            return deleted.removeCategory(category);
+        if (Objects.isNull(category) || !store.removeCategory(row, category))
+            return false;
+        AccountBookkeeping.categoryUpdated(getAccount(), this, category, false);
+        return true;
+    }
+
+    /**
+     * Cambia il valore del Movimento.
+     *
+     * @param value Valore da impostare
+     * @throws MovementException Viene lanciata una MovementException se si prova ad aggiornare il
+     *                           valore di un Movimento passando un numero negativo o con piu' di 2
+     *                           cifre decimali.
+     */
+    public void setValue(double value) throws MovementException {
+        if (!Objects.isNull(deleted)) {
+            deleted.setValue(value);
+            return;
+        }
+        long oldValue = amountInCents();
+        store.setValue(row, value);
+        AccountBookkeeping.movementUpdated(getAccount(), this, oldValue, getEpochDay());
+    }
+
+    @Override
+    public String toString() {
+        return "ID = " + getID() +
+                ", Value = " + amount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MovementType type() {
+        if (!Objects.isNull(deleted))
+            return deleted.type();
+        return store.getType(row);
+    }
+}
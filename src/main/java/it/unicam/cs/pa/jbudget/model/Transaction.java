@@ -65,6 +65,14 @@ public interface Transaction extends Comparable<Transaction>{
      */
     double getTotalAmount();
 
+    /**
+     * Calcola il saldo della Transazione in centesimi.
+     *
+     * @return il saldo della transazione in centesimi.
+     * @see Money
+     */
+    long getTotalAmountInCents();
+
     /**
      * Ritorna la lista dei {@link Movement} della Transazione.
      *
@@ -72,6 +80,14 @@ public interface Transaction extends Comparable<Transaction>{
      */
     List<Movement> movements();
 
+    /**
+     * Rimuove un {@link Movement} dalla Transazione.
+     *
+     * @param movement Movimento da rimuovere
+     * @return {@code true} se il Movimento e' stato rimosso
+     */
+    boolean removeMovement(Movement movement);
+
     /**
      * Rimuove la {@link Category} da tutti i {@link Movement} della {@link Transaction}.
      * La rimozione viene fatta solo la Categoria da eliminare apparteneva alla Transazione.
@@ -0,0 +1,167 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Legge i valori di una sezione del formato binario, scritti da
+ * {@code it.unicam.cs.pa.jbudget.save.BinaryWriter}, da un {@link ByteBuffer}.
+ * Gli interi sono letti come varint, i {@code long} come varint con codifica zig-zag
+ * e le stringhe in UTF-8 precedute dalla loro lunghezza.
+ *
+ * @author Matteo Rondini
+ * @see FileBinaryImporter
+ */
+class BinaryReader {
+    private final ByteBuffer buffer;
+    private String[] strings = new String[0];
+    private byte[] bytes = new byte[64];
+
+    /**
+     * Crea un BinaryReader che legge dal buffer passato, a partire dalla sua posizione.
+     *
+     * @param buffer Buffer della sezione
+     */
+    BinaryReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = nextByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new FileFormatException(FileFormatException.E0_MALFORMED_NUMBER);
+    }
+
+    long readVarLong() throws IOException {
+        long zigZag = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = nextByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+        }
+        throw new FileFormatException(FileFormatException.E0_MALFORMED_NUMBER);
+    }
+
+    String readString() throws IOException {
+        int length = readVarInt();
+        if (length < 0 || length > buffer.remaining())
+            throw new FileFormatException(FileFormatException.E1_MALFORMED_STRING);
+        if (bytes.length < length)
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+        buffer.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Legge la tabella delle stringhe all'inizio della sezione.
+     *
+     * @throws IOException Viene lanciata quando la tabella non e' valida
+     */
+    void readStringTable() throws IOException {
+        strings = new String[readVarInt()];
+        for (int i = 0; i < strings.length; i++)
+            strings[i] = readString();
+    }
+
+    /**
+     * Legge l'indice di una stringa e ritorna la stringa corrispondente della tabella.
+     *
+     * @return la stringa della tabella
+     * @throws IOException Viene lanciata quando l'indice non e' presente nella tabella
+     */
+    String readTableString() throws IOException {
+        int index = readVarInt();
+        if (index < 0 || index >= strings.length)
+            throw new FileFormatException(FileFormatException.E1_MALFORMED_STRING);
+        return strings[index];
+    }
+
+    /**
+     * Legge il numero di Categorie seguito dai loro ID.
+     *
+     * @return gli ID delle Categorie
+     * @throws IOException Viene lanciata quando i dati non sono validi
+     */
+    int[] readIntegers() throws IOException {
+        int size = readVarInt();
+        if (size == 0)
+            return Records.NO_CATEGORIES;
+        if (size < 0 || size > buffer.remaining())
+            throw new FileFormatException(FileFormatException.E2_MALFORMED_LIST);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++)
+            values[i] = readVarInt();
+        return values;
+    }
+
+    /**
+     * Salta l'indice di una stringa della tabella, controllando solo che sia presente nella tabella.
+     *
+     * @throws IOException Viene lanciata quando l'indice non e' presente nella tabella
+     */
+    void skipTableString() throws IOException {
+        int index = readVarInt();
+        if (index < 0 || index >= strings.length)
+            throw new FileFormatException(FileFormatException.E1_MALFORMED_STRING);
+    }
+
+    /**
+     * Salta il numero di Categorie e i loro ID, senza creare l'array.
+     *
+     * @throws IOException Viene lanciata quando i dati non sono validi
+     */
+    void skipIntegers() throws IOException {
+        int size = readVarInt();
+        if (size < 0 || size > buffer.remaining())
+            throw new FileFormatException(FileFormatException.E2_MALFORMED_LIST);
+        for (int i = 0; i < size; i++)
+            readVarInt();
+    }
+
+    /**
+     * Legge l'ordinale di un'enumerazione e ritorna la costante corrispondente.
+     *
+     * @param values Costanti dell'enumerazione
+     * @param <E>    Tipo dell'enumerazione
+     * @return la costante letta
+     * @throws IOException Viene lanciata quando l'ordinale non e' valido
+     */
+    <E> E readConstant(E[] values) throws IOException {
+        int ordinal = readVarInt();
+        if (ordinal < 0 || ordinal >= values.length)
+            throw new FileFormatException(FileFormatException.E3_MALFORMED_CONSTANT);
+        return values[ordinal];
+    }
+
+    /**
+     * Ritorna la posizione del prossimo valore da leggere nella sezione.
+     *
+     * @return la posizione nella sezione
+     */
+    int position() {
+        return buffer.position();
+    }
+
+    /**
+     * Sposta la lettura alla posizione passata della sezione.
+     *
+     * @param position Posizione nella sezione
+     */
+    void seek(int position) {
+        buffer.position(position);
+    }
+
+    private byte nextByte() throws IOException {
+        if (!buffer.hasRemaining())
+            throw new EOFException(FileFormatException.E11_UNEXPECTED_END + "sezione");
+        return buffer.get();
+    }
+}
@@ -0,0 +1,187 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import it.unicam.cs.pa.jbudget.save.BlockDeflaterOutputStream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Legge un File compresso in blocchi da un {@link BlockDeflaterOutputStream}, decomprimendo un blocco alla volta.
+ * Permette inoltre di elencare i blocchi di un File e di decomprimerli singolarmente, cosi' che possano
+ * essere letti contemporaneamente da piu' thread (vedi {@link PipelinedFileTxtImporter}).
+ *
+ * @author Matteo Rondini
+ * @see BlockDeflaterOutputStream
+ */
+class BlockInflaterInputStream extends InputStream {
+    private final InputStream in;
+    private final Inflater inflater = new Inflater();
+    private byte[] block = new byte[0];
+    private int position;
+    private int length;
+
+    /**
+     * Crea un BlockInflaterInputStream che legge i blocchi dallo stream passato, dopo averne controllato
+     * l'intestazione.
+     *
+     * @param in Stream del File compresso
+     * @throws IOException Viene lanciata quando lo stream non inizia con l'intestazione di un File compresso
+     */
+    BlockInflaterInputStream(InputStream in) throws IOException {
+        this.in = in;
+        checkHeader(ByteBuffer.wrap(in.readNBytes(BlockDeflaterOutputStream.HEADER_SIZE)));
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == length && !nextBlock())
+            return -1;
+        return block[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int size) throws IOException {
+        if (size == 0)
+            return 0;
+        if (position == length && !nextBlock())
+            return -1;
+        int read = Math.min(size, length - position);
+        System.arraycopy(block, position, bytes, offset, read);
+        position += read;
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+
+    /**
+     * Legge e decomprime il prossimo blocco. Ritorna {@code false} alla fine del File.
+     */
+    private boolean nextBlock() throws IOException {
+        do {
+            byte[] header = in.readNBytes(BlockDeflaterOutputStream.BLOCK_HEADER_SIZE);
+            if (header.length == 0)
+                return false;
+            if (header.length < BlockDeflaterOutputStream.BLOCK_HEADER_SIZE)
+                throw new EOFException(FileFormatException.E11_UNEXPECTED_END + "intestazione del blocco");
+            ByteBuffer sizes = ByteBuffer.wrap(header);
+            int rawLength = sizes.getInt();
+            int compressedLength = sizes.getInt();
+            checkSizes(rawLength, compressedLength);
+            byte[] compressed = in.readNBytes(compressedLength);
+            if (compressed.length < compressedLength)
+                throw new EOFException(FileFormatException.E11_UNEXPECTED_END + "blocco");
+            if (block.length < rawLength)
+                block = new byte[rawLength];
+            inflate(inflater, ByteBuffer.wrap(compressed), block, rawLength);
+            position = 0;
+            length = rawLength;
+        } while (length == 0);
+        return true;
+    }
+
+    /**
+     * Controlla l'intestazione di un File compresso.
+     *
+     * @param header Intestazione del File
+     * @throws IOException Viene lanciata quando l'intestazione non e' valida
+     */
+    static void checkHeader(ByteBuffer header) throws IOException {
+        if (header.remaining() < BlockDeflaterOutputStream.HEADER_SIZE
+                || header.getInt() != BlockDeflaterOutputStream.MAGIC)
+            throw new FileFormatException(FileFormatException.E8_NOT_COMPRESSED);
+        int version = header.get();
+        if (version != BlockDeflaterOutputStream.VERSION)
+            throw new FileFormatException(FileFormatException.E6_UNSUPPORTED_VERSION + version);
+    }
+
+    private static void checkSizes(int rawLength, int compressedLength) throws IOException {
+        if (rawLength < 0 || compressedLength < 0)
+            throw new FileFormatException(FileFormatException.E9_MALFORMED_BLOCK);
+    }
+
+    /**
+     * Elenca i blocchi del File compresso: per ogni blocco ritorna la posizione dei dati compressi,
+     * la loro dimensione e la dimensione dei dati originali.
+     *
+     * @param channel Canale del File compresso
+     * @return la lista dei blocchi
+     * @throws IOException Viene lanciata quando il File non e' valido o e' troncato
+     */
+    static List<long[]> blocks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        checkHeader(read(channel, BlockDeflaterOutputStream.HEADER_SIZE, 0));
+        List<long[]> blocks = new ArrayList<>();
+        long position = BlockDeflaterOutputStream.HEADER_SIZE;
+        while (position < size) {
+            if (size - position < BlockDeflaterOutputStream.BLOCK_HEADER_SIZE)
+                throw new EOFException(FileFormatException.E11_UNEXPECTED_END + "intestazione del blocco");
+            ByteBuffer header = read(channel, BlockDeflaterOutputStream.BLOCK_HEADER_SIZE, position);
+            int rawLength = header.getInt();
+            int compressedLength = header.getInt();
+            checkSizes(rawLength, compressedLength);
+            position += BlockDeflaterOutputStream.BLOCK_HEADER_SIZE;
+            if (size - position < compressedLength)
+                throw new EOFException(FileFormatException.E11_UNEXPECTED_END + "blocco");
+            blocks.add(new long[]{position, compressedLength, rawLength});
+            position += compressedLength;
+        }
+        return blocks;
+    }
+
+    /**
+     * Decomprime un blocco.
+     *
+     * @param compressed Dati compressi del blocco
+     * @param rawLength  Dimensione dei dati originali
+     * @return i dati originali del blocco
+     * @throws IOException Viene lanciata quando i dati compressi non sono validi
+     */
+    static byte[] inflate(ByteBuffer compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            byte[] raw = new byte[rawLength];
+            inflate(inflater, compressed, raw, rawLength);
+            return raw;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void inflate(Inflater inflater, ByteBuffer compressed, byte[] raw, int rawLength)
+            throws IOException {
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int size = 0;
+            while (size < rawLength && !inflater.finished()) {
+                int read = inflater.inflate(raw, size, rawLength - size);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    break;
+                size += read;
+            }
+            if (size != rawLength)
+                throw new FileFormatException(FileFormatException.E9_MALFORMED_BLOCK);
+        } catch (DataFormatException exception) {
+            throw new FileFormatException(FileFormatException.E9_MALFORMED_BLOCK, exception);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, int length, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining())
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new EOFException(FileFormatException.E11_UNEXPECTED_END + "blocco");
+        return buffer.flip();
+    }
+}
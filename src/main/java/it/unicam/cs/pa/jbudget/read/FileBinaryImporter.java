@@ -0,0 +1,176 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.model.*;
+import it.unicam.cs.pa.jbudget.read.Records.AccountRecord;
+import it.unicam.cs.pa.jbudget.read.Records.CategoryRecord;
+import it.unicam.cs.pa.jbudget.read.Records.MovementRecord;
+import it.unicam.cs.pa.jbudget.read.Records.TransactionRecord;
+import it.unicam.cs.pa.jbudget.save.FileBinarySaver;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * La classe implementa l'interfaccia {@link Importer} ed ha la responsabilita' di gestire
+ * l'import dei dati salvati nel formato binario da un {@link FileBinarySaver},
+ * e la loro trasformazione in oggetti del Model attraverso un {@link Controller}.
+ * Alla prima lettura vengono controllati il numero e la versione del formato e viene costruito
+ * l'indice delle sezioni; ogni sezione viene poi mappata in memoria e letta in una sola passata.
+ *
+ * @author Matteo Rondini
+ * @see FileBinarySaver
+ */
+public class FileBinaryImporter implements Importer {
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    static final MovementType[] MOVEMENT_TYPES = MovementType.values();
+    private static final int SECTION_HEADER = 1 + Long.BYTES;
+    private final Path path;
+    final RecordLinker linker;
+    private Map<Byte, long[]> sections;
+
+    /**
+     * Crea un FileBinaryImporter con il riferimento ad il {@link Controller} e il percorso
+     * del File da importare.
+     *
+     * @param controller Controller dell'Applicazione
+     * @param filePath   Percorso del File da importare
+     */
+    public FileBinaryImporter(Controller controller, String filePath) {
+        this.path = Paths.get(filePath);
+        this.linker = new RecordLinker(controller);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void getAccounts() throws IOException, LedgerException {
+        BinaryReader in = openSection(FileBinarySaver.ACCOUNT_SECTION);
+        for (int i = in.readVarInt(); i > 0; i--)
+            linker.addAccount(new AccountRecord(in.readVarInt(), in.readConstant(ACCOUNT_TYPES),
+                    in.readTableString(), in.readTableString(), in.readVarLong()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void getCategories() throws IOException, LedgerException {
+        BinaryReader in = openSection(FileBinarySaver.CATEGORY_SECTION);
+        for (int i = in.readVarInt(); i > 0; i--) {
+            int ID = in.readVarInt();
+            String name = in.readTableString();
+            linker.addCategory(new CategoryRecord(ID, in.readTableString(), name));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void getMovements() throws IOException, ParseException, MovementException, LedgerException {
+        linker.indexLedger();
+        BinaryReader in = openSection(FileBinarySaver.MOVEMENT_SECTION);
+        for (int i = in.readVarInt(); i > 0; i--)
+            linker.addMovement(readMovement(in));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void getTransaction() throws IOException {
+        linker.indexLedger();
+        BinaryReader in = openSection(FileBinarySaver.TRANSACTION_SECTION);
+        for (int i = in.readVarInt(); i > 0; i--)
+            linker.addTransactionCategories(new TransactionRecord(in.readVarInt(), in.readIntegers()));
+    }
+
+    /**
+     * Legge il record di un Movimento dalla sezione dei Movimenti.
+     *
+     * @param in Reader della sezione dei Movimenti
+     * @return il record letto
+     * @throws IOException Viene lanciata quando il record non e' valido
+     */
+    static MovementRecord readMovement(BinaryReader in) throws IOException {
+        return new MovementRecord(in.readVarInt(), in.readConstant(MOVEMENT_TYPES), in.readVarLong(),
+                in.readVarLong(), in.readTableString(), in.readVarInt(), in.readVarInt(), in.readIntegers());
+    }
+
+    /**
+     * Mappa in memoria la sezione con il tag passato e ne legge la tabella delle stringhe.
+     *
+     * @param tag Tag della sezione
+     * @return il Reader della sezione, posizionato dopo la tabella delle stringhe
+     * @throws IOException Viene lanciata quando il File o la sezione non sono validi
+     */
+    BinaryReader openSection(byte tag) throws IOException {
+        if (Objects.isNull(sections))
+            sections = readSections();
+        long[] section = sections.get(tag);
+        if (Objects.isNull(section))
+            throw new FileFormatException(FileFormatException.E4_MISSING_SECTION + (char) tag + " (" + path + ")");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            BinaryReader in = new BinaryReader(channel.map(FileChannel.MapMode.READ_ONLY, section[0], section[1]));
+            in.readStringTable();
+            return in;
+        }
+    }
+
+    /**
+     * Controlla l'intestazione del File e ritorna, per ogni tag, la posizione e la lunghezza della sezione.
+     */
+    private Map<Byte, long[]> readSections() throws IOException {
+        Map<Byte, long[]> directory = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + 5);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.remaining() < Integer.BYTES || header.getInt() != FileBinarySaver.MAGIC)
+                throw new FileFormatException(FileFormatException.E12_NOT_A_JBUDGET_FILE + path);
+            int version = new BinaryReader(header).readVarInt();
+            if (version != FileBinarySaver.VERSION)
+                throw new FileFormatException(FileFormatException.E6_UNSUPPORTED_VERSION + version);
+
+            long position = header.position();
+            ByteBuffer sectionHeader = ByteBuffer.allocate(SECTION_HEADER);
+            while (position < channel.size()) {
+                sectionHeader.clear();
+                readFully(channel, sectionHeader, position);
+                if (sectionHeader.hasRemaining())
+                    throw new EOFException(FileFormatException.E11_UNEXPECTED_END + "sezione (" + path + ")");
+                byte tag = sectionHeader.get(0);
+                long length = sectionHeader.getLong(1);
+                position += SECTION_HEADER;
+                if (length < 0 || length > Integer.MAX_VALUE || position + length > channel.size())
+                    throw new FileFormatException(FileFormatException.E5_MALFORMED_SECTION + (char) tag + " (" + path + ")");
+                directory.put(tag, new long[]{position, length});
+                position += length;
+            }
+        }
+        return directory;
+    }
+
+    /**
+     * Legge dal canale a partire dalla posizione passata finche' il buffer non e' pieno o il File non finisce.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0)
+                return;
+            position += read;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import java.io.IOException;
+
+/**
+ * Eccezione che rappresenta gli errori che possono verificarsi leggendo un File binario, compresso
+ * o del Journal che non rispetta il suo formato.
+ *
+ * @author Matteo Rondini
+ */
+public class FileFormatException extends IOException {
+    /**
+     * Errore che si verifica quando un numero intero scritto in formato variabile e' troppo lungo.
+     */
+    public static final String E0_MALFORMED_NUMBER = "Il File contiene un numero non valido!";
+
+    /**
+     * Errore che si verifica quando una stringa ha una lunghezza non valida, o quando
+     * il suo indice non e' presente nella tabella delle stringhe.
+     */
+    public static final String E1_MALFORMED_STRING = "Il File contiene una stringa non valida!";
+
+    /**
+     * Errore che si verifica quando una lista ha una lunghezza non valida.
+     */
+    public static final String E2_MALFORMED_LIST = "Il File contiene una lista non valida!";
+
+    /**
+     * Errore che si verifica quando il valore di una costante (tipologia, ...) non e' tra quelli possibili.
+     */
+    public static final String E3_MALFORMED_CONSTANT = "Il File contiene una costante non valida!";
+
+    /**
+     * Errore che si verifica quando una sezione del File non e' presente; al messaggio viene aggiunta la sezione.
+     */
+    public static final String E4_MISSING_SECTION = "Nel File non e' presente la sezione ";
+
+    /**
+     * Errore che si verifica quando una sezione del File non e' valida; al messaggio viene aggiunta la sezione.
+     */
+    public static final String E5_MALFORMED_SECTION = "Nel File non e' valida la sezione ";
+
+    /**
+     * Errore che si verifica quando la versione del formato non e' supportata;
+     * al messaggio viene aggiunta la versione letta.
+     */
+    public static final String E6_UNSUPPORTED_VERSION = "Versione del File non supportata: ";
+
+    /**
+     * Errore che si verifica quando un giorno non puo' essere indicizzato; al messaggio viene aggiunto il giorno.
+     */
+    public static final String E7_MALFORMED_DATE = "Il File contiene una data non valida: ";
+
+    /**
+     * Errore che si verifica quando si prova a decomprimere un File che non e' compresso a blocchi.
+     */
+    public static final String E8_NOT_COMPRESSED = "Il File non e' compresso a blocchi!";
+
+    /**
+     * Errore che si verifica quando un blocco compresso non puo' essere decompresso.
+     */
+    public static final String E9_MALFORMED_BLOCK = "Il File contiene un blocco compresso non valido!";
+
+    /**
+     * Errore che si verifica quando un record del Journal ha un tipo sconosciuto;
+     * al messaggio viene aggiunto il tipo letto.
+     */
+    public static final String E10_UNKNOWN_RECORD = "Il Journal contiene un record sconosciuto: ";
+
+    /**
+     * Errore che si verifica quando il File finisce prima della fine di quello che si sta leggendo;
+     * viene usato come messaggio di una {@link java.io.EOFException} e al messaggio viene aggiunto
+     * quello che si stava leggendo.
+     */
+    public static final String E11_UNEXPECTED_END = "Il File finisce prima della fine di: ";
+
+    /**
+     * Errore che si verifica quando un File non inizia con il numero del formato di jbudget;
+     * al messaggio viene aggiunto il percorso del File.
+     */
+    public static final String E12_NOT_A_JBUDGET_FILE = "Il File non e' nel formato di jbudget: ";
+
+    /**
+     * Crea l'eccezione con il messaggio passato.
+     *
+     * @param message Messaggio dell'errore
+     */
+    public FileFormatException(String message) {
+        super(message);
+    }
+
+    /**
+     * Crea l'eccezione con il messaggio e la causa passati.
+     *
+     * @param message Messaggio dell'errore
+     * @param cause   Causa dell'errore
+     */
+    public FileFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
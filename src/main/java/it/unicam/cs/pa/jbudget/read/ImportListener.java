@@ -0,0 +1,20 @@
+package it.unicam.cs.pa.jbudget.read;
+
+/**
+ * Questa interfaccia e' implementata dalle classi che vogliono essere informate sull'avanzamento
+ * di un import. L'avanzamento viene misurato in byte dei File gia' trasformati in oggetti del Model,
+ * e viene notificato dal thread che esegue l'import.
+ *
+ * @author Matteo Rondini
+ * @see PipelinedFileTxtImporter
+ */
+@FunctionalInterface
+public interface ImportListener {
+    /**
+     * Viene chiamato ogni volta che una parte dei dati e' stata importata.
+     *
+     * @param done  Byte gia' importati
+     * @param total Byte totali da importare
+     */
+    void progress(long done, long total);
+}
@@ -0,0 +1,242 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.model.*;
+import it.unicam.cs.pa.jbudget.save.FileJournal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Riapplica al {@link Controller} le modifiche registrate da un {@link FileJournal}, nell'ordine in cui
+ * sono state scritte. Un record scritto solo in parte alla fine del File viene scartato e il File
+ * viene troncato prima di esso.
+ * Ogni modifica puo' essere riapplicata piu' volte: le creazioni di oggetti gia' presenti nel Ledger
+ * e le eliminazioni di oggetti non presenti vengono ignorate, cosi' che il Journal possa essere riletto
+ * anche se l'Applicazione si e' interrotta dopo aver salvato i dati ma prima di averlo svuotato.
+ *
+ * @author Matteo Rondini
+ * @see FileJournal
+ */
+public class JournalReplayer {
+    private final Controller controller;
+    private final Path path;
+    private final Map<Integer, Account> accountMap = new HashMap<>();
+    private final Map<Integer, Category> categoryMap = new HashMap<>();
+    private Map<Integer, Transaction> transactionMap;
+    private Map<Integer, Movement> movementMap;
+
+    /**
+     * Crea un JournalReplayer che riapplica al {@link Controller} passato le modifiche del File.
+     *
+     * @param controller Controller dell'Applicazione
+     * @param filePath   Percorso del File del Journal
+     */
+    public JournalReplayer(Controller controller, String filePath) {
+        this.controller = controller;
+        this.path = Paths.get(filePath);
+    }
+
+    /**
+     * Riapplica le modifiche del Journal, se il File esiste.
+     *
+     * @return il numero di modifiche lette dal Journal
+     * @throws IOException       Viene lanciata quando il File non e' un Journal o un record completo non e' valido
+     * @throws MovementException Viene lanciata quando un Movimento non puo' essere ricreato
+     * @throws LedgerException   Viene lanciata quando un oggetto non puo' essere aggiunto al Ledger
+     */
+    public int replay() throws IOException, MovementException, LedgerException {
+        if (!Files.exists(path))
+            return 0;
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < FileJournal.HEADER_SIZE)
+            return 0;
+        if (buffer.getInt() != FileJournal.MAGIC)
+            throw new FileFormatException(FileFormatException.E12_NOT_A_JBUDGET_FILE + path);
+        int version = new BinaryReader(buffer).readVarInt();
+        if (version != FileJournal.VERSION)
+            throw new FileFormatException(FileFormatException.E6_UNSUPPORTED_VERSION + version);
+
+        if (buffer.hasRemaining())
+            indexLedger();
+        int count = 0;
+        while (buffer.remaining() >= Integer.BYTES) {
+            int length = buffer.getInt(buffer.position());
+            if (length < 1 || length > buffer.remaining() - Integer.BYTES)
+                break;
+            int start = buffer.position() + Integer.BYTES;
+            ByteBuffer record = buffer.duplicate();
+            record.limit(start + length).position(start);
+            apply(record.get(), new BinaryReader(record));
+            buffer.position(start + length);
+            count++;
+        }
+        if (buffer.hasRemaining())
+            truncate(buffer.position());
+        return count;
+    }
+
+    /**
+     * Riapplica una modifica in base al tipo del record.
+     */
+    private void apply(byte type, BinaryReader in) throws IOException, MovementException, LedgerException {
+        switch (type) {
+            case FileJournal.ADD_ACCOUNT:
+                addAccount(in);
+                break;
+            case FileJournal.ADD_CATEGORY:
+                addCategory(in);
+                break;
+            case FileJournal.ADD_MOVEMENT:
+                addMovement(in);
+                break;
+            case FileJournal.ADD_MOVEMENT_CATEGORY: {
+                Movement movement = movements().get(in.readVarInt());
+                Category category = categoryMap.get(in.readVarInt());
+                if (!Objects.isNull(movement) && !Objects.isNull(category))
+                    controller.addCategory(movement, category);
+                break;
+            }
+            case FileJournal.ADD_TRANSACTION_CATEGORY: {
+                Transaction transaction = transactions().get(in.readVarInt());
+                Category category = categoryMap.get(in.readVarInt());
+                if (!Objects.isNull(transaction) && !Objects.isNull(category))
+                    controller.addCategory(transaction, category);
+                break;
+            }
+            case FileJournal.REMOVE_ACCOUNT: {
+                Account account = accountMap.remove(in.readVarInt());
+                if (!Objects.isNull(account))
+                    controller.removeAccount(account);
+                break;
+            }
+            case FileJournal.REMOVE_CATEGORY: {
+                Category category = categoryMap.remove(in.readVarInt());
+                if (!Objects.isNull(category))
+                    controller.removeCategory(category);
+                break;
+            }
+            case FileJournal.REMOVE_MOVEMENT: {
+                Movement movement = movements().remove(in.readVarInt());
+                if (!Objects.isNull(movement))
+                    controller.removeMovement(movement);
+                break;
+            }
+            case FileJournal.REMOVE_MOVEMENT_CATEGORY: {
+                Movement movement = movements().get(in.readVarInt());
+                Category category = categoryMap.get(in.readVarInt());
+                if (!Objects.isNull(movement) && !Objects.isNull(category))
+                    controller.removeCategory(movement, category);
+                break;
+            }
+            case FileJournal.REMOVE_TRANSACTION_CATEGORY: {
+                Transaction transaction = transactions().get(in.readVarInt());
+                Category category = categoryMap.get(in.readVarInt());
+                if (!Objects.isNull(transaction) && !Objects.isNull(category))
+                    controller.removeCategory(transaction, category);
+                break;
+            }
+            case FileJournal.REMOVE_TRANSACTION: {
+                Transaction transaction = transactions().remove(in.readVarInt());
+                if (!Objects.isNull(transaction))
+                    controller.removeTransaction(transaction);
+                break;
+            }
+            default:
+                throw new FileFormatException(FileFormatException.E10_UNKNOWN_RECORD + (char) type + " (" + path + ")");
+        }
+    }
+
+    private void addAccount(BinaryReader in) throws IOException, LedgerException {
+        int ID = in.readVarInt();
+        AccountType type = in.readConstant(AccountType.values());
+        String name = in.readString();
+        String description = in.readString();
+        long opening = in.readVarLong();
+        if (accountMap.containsKey(ID))
+            return;
+        controller.addAccount(type, name, description, ID, Money.toDouble(opening));
+        controller.getAccounts().stream().filter(account -> account.getID() == ID)
+                .findFirst().ifPresent(account -> accountMap.put(ID, account));
+    }
+
+    private void addCategory(BinaryReader in) throws IOException, LedgerException {
+        int ID = in.readVarInt();
+        String name = in.readString();
+        String description = in.readString();
+        if (categoryMap.containsKey(ID))
+            return;
+        controller.addCategory(name, description, ID);
+        controller.getCategory().stream().filter(category -> category.getID() == ID)
+                .findFirst().ifPresent(category -> categoryMap.put(ID, category));
+    }
+
+    private void addMovement(BinaryReader in) throws IOException, MovementException, LedgerException {
+        int ID = in.readVarInt();
+        MovementType type = in.readConstant(MovementType.values());
+        long value = in.readVarLong();
+        long epochDay = in.readVarLong();
+        String description = in.readString();
+        int transactionID = in.readVarInt();
+        Account account = accountMap.get(in.readVarInt());
+        int[] categories = in.readIntegers();
+        if (movements().containsKey(ID))
+            return;
+        Transaction transaction = transactions().get(transactionID);
+        if (Objects.isNull(transaction))
+            transaction = new MoneyTransaction(transactionID);
+        Movement movement = controller.createMovement(type, ID, value, epochDay, description, transaction, account);
+        controller.addMovement(movement);
+        transactionMap.put(transactionID, transaction);
+        movementMap.put(ID, movement);
+        for (int category : categories)
+            movement.addCategory(categoryMap.get(category));
+    }
+
+    /**
+     * Costruisce le mappe per ID degli Account e delle Categorie presenti nel Controller.
+     */
+    private void indexLedger() {
+        controller.getAccounts().forEach(account -> accountMap.put(account.getID(), account));
+        controller.getCategory().forEach(category -> categoryMap.put(category.getID(), category));
+    }
+
+    /**
+     * Ritorna la mappa per ID delle Transazioni, costruendola alla prima modifica che la richiede:
+     * leggere le Transazioni crea tutti i Movimenti ancora archiviati negli Account.
+     */
+    private Map<Integer, Transaction> transactions() {
+        if (Objects.isNull(transactionMap)) {
+            transactionMap = new HashMap<>();
+            movementMap = new HashMap<>();
+            for (Transaction transaction : controller.getTransactions()) {
+                transactionMap.put(transaction.getID(), transaction);
+                transaction.movements().forEach(movement -> movementMap.put(movement.getID(), movement));
+            }
+        }
+        return transactionMap;
+    }
+
+    private Map<Integer, Movement> movements() {
+        transactions();
+        return movementMap;
+    }
+
+    /**
+     * Elimina dal File il record scritto solo in parte.
+     */
+    private void truncate(long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+            channel.force(true);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.model.*;
+import it.unicam.cs.pa.jbudget.read.Records.MovementRecord;
+import it.unicam.cs.pa.jbudget.read.Records.TransactionRecord;
+import it.unicam.cs.pa.jbudget.save.FileBinarySaver;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * La classe estende {@link FileBinaryImporter} ed importa i Movimenti di un File binario senza crearli:
+ * la sezione dei Movimenti viene mappata in memoria e letta una sola volta per costruire, per ogni Account,
+ * l'indice per giorno dei suoi record ({@link MappedMovementArchive}) e per sommarne il valore al saldo.
+ * Di ogni record vengono letti solo i campi numerici; la descrizione e le Categorie vengono saltate
+ * senza crearle, e vengono lette solo quando il Movimento viene creato.
+ * I Movimenti vengono creati quando vengono letti dall'Account, ad esempio con
+ * {@link Account#getMovements(java.time.LocalDate, java.time.LocalDate)}, o quando un'operazione riguarda tutto il Ledger.
+ * Vengono creati subito solo i Movimenti con data futura e quelli con l'ID di Movimento
+ * e di Transazione piu' alto, cosi' che il saldo attuale e i contatori degli ID del Controller siano aggiornati.
+ *
+ * @author Matteo Rondini
+ * @see MovementArchive
+ */
+public class LazyFileBinaryImporter extends FileBinaryImporter {
+
+    /**
+     * Crea un LazyFileBinaryImporter con il riferimento ad il {@link Controller} e il percorso
+     * del File da importare.
+     *
+     * @param controller Controller dell'Applicazione
+     * @param filePath   Percorso del File da importare
+     */
+    public LazyFileBinaryImporter(Controller controller, String filePath) {
+        super(controller, filePath);
+    }
+
+    /**
+     * Costruisce l'indice dei Movimenti di ogni Account e lo collega all'Account come {@link MovementArchive}.
+     *
+     * @throws IOException       Viene lanciata quando la sezione dei Movimenti non e' valida
+     * @throws LedgerException   Viene lanciata quando l'ID di un Movimento e' ripetuto o gia' presente nel Ledger
+     * @throws MovementException Viene lanciata quando un Movimento fa riferimento ad un Account non presente
+     */
+    @Override
+    public void getMovements() throws IOException, ParseException, MovementException, LedgerException {
+        linker.indexLedger();
+        BinaryReader in = openSection(FileBinarySaver.MOVEMENT_SECTION);
+        MappedMovementArchive archive = new MappedMovementArchive(in, linker);
+        long today = Days.today();
+        int[] IDs = new int[in.readVarInt()];
+        int lastMovementID = 0;
+        int lastTransactionID = 0;
+        int lastMovementPosition = 0;
+        int lastTransactionPosition = 0;
+
+        for (int i = 0; i < IDs.length; i++) {
+            int position = in.position();
+            int ID = in.readVarInt();
+            MovementType type = in.readConstant(MOVEMENT_TYPES);
+            long value = in.readVarLong();
+            long epochDay = in.readVarLong();
+            in.skipTableString();
+            int transactionID = in.readVarInt();
+            Account account = controlMovement(ID, in.readVarInt());
+            in.skipIntegers();
+            IDs[i] = ID;
+            if (epochDay > today) {
+                in.seek(position);
+                linker.createMovement(readMovement(in));
+            } else
+                archive.add(account, type, value, epochDay, position);
+            if (i == 0 || ID > lastMovementID) {
+                lastMovementID = ID;
+                lastMovementPosition = position;
+            }
+            if (i == 0 || transactionID > lastTransactionID) {
+                lastTransactionID = transactionID;
+                lastTransactionPosition = position;
+            }
+        }
+        controlIDs(IDs);
+        archive.sort();
+        if (IDs.length > 0) {
+            load(archive, in, lastMovementPosition);
+            load(archive, in, lastTransactionPosition);
+        }
+    }
+
+    /**
+     * Collega le Categorie alle Transazioni gia' create, e le conserva per quelle
+     * che verranno create dall'archivio.
+     *
+     * @throws IOException Viene lanciata quando la sezione delle Transazioni non e' valida
+     */
+    @Override
+    public void getTransaction() throws IOException {
+        BinaryReader in = openSection(FileBinarySaver.TRANSACTION_SECTION);
+        for (int i = in.readVarInt(); i > 0; i--)
+            linker.addTransactionCategories(new TransactionRecord(in.readVarInt(), in.readIntegers()));
+    }
+
+    private Account controlMovement(int ID, int accountID) throws MovementException, LedgerException {
+        Account account = linker.getAccount(accountID);
+        if (Objects.isNull(account))
+            throw new MovementException(MovementException.E4_NULL_ACCOUNT);
+        if (linker.containsMovementID(ID))
+            throw new LedgerException(LedgerException.E3_THERE_IS_ALREADY_A_MOVEMENT_IN_LEDGER);
+        return account;
+    }
+
+    /**
+     * Controlla che nel File non ci siano 2 Movimenti con lo stesso ID.
+     */
+    private void controlIDs(int[] IDs) throws LedgerException {
+        Arrays.sort(IDs);
+        for (int i = 1; i < IDs.length; i++)
+            if (IDs[i] == IDs[i - 1])
+                throw new LedgerException(LedgerException.E3_THERE_IS_ALREADY_A_MOVEMENT_IN_LEDGER);
+    }
+
+    /**
+     * Crea il Movimento del record che inizia alla posizione passata, se e' ancora nell'archivio.
+     */
+    private void load(MappedMovementArchive archive, BinaryReader in, int position) throws IOException {
+        in.seek(position);
+        MovementRecord record = readMovement(in);
+        archive.load(linker.getAccount(record.accountID), record.epochDay, position);
+    }
+}
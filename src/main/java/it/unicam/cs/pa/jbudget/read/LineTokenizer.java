@@ -0,0 +1,178 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import it.unicam.cs.pa.jbudget.model.Days;
+import it.unicam.cs.pa.jbudget.model.Money;
+
+import java.util.Arrays;
+
+/**
+ * Divide una riga letta dal File nei suoi campi, separati da un carattere, senza usare espressioni regolari.
+ * I campi non vengono copiati: il tokenizer mantiene solo gli indici di inizio e fine di ogni campo
+ * e li converte direttamente nel tipo richiesto. Lo stesso tokenizer viene riutilizzato per tutte le righe.
+ *
+ * @author Matteo Rondini
+ */
+class LineTokenizer {
+    private final char separator;
+    private CharSequence line = "";
+    private int[] bounds = new int[16];
+    private int count;
+
+    /**
+     * Crea un tokenizer che divide le righe con il separatore passato.
+     *
+     * @param separator Carattere che separa i campi
+     */
+    LineTokenizer(char separator) {
+        this.separator = separator;
+    }
+
+    /**
+     * Divide la riga passata nei suoi campi. A differenza di {@link String#split(String)},
+     * anche i campi vuoti in fondo alla riga vengono contati.
+     *
+     * @param line Riga da dividere
+     * @return il tokenizer stesso
+     */
+    LineTokenizer reset(String line) {
+        return reset(line, 0, line.length());
+    }
+
+    /**
+     * Divide nei suoi campi la riga compresa tra i 2 indici del testo passato, senza copiarla.
+     *
+     * @param text  Testo che contiene la riga
+     * @param begin Indice del primo carattere della riga (compreso)
+     * @param end   Indice dell'ultimo carattere della riga (escluso)
+     * @return il tokenizer stesso
+     */
+    LineTokenizer reset(CharSequence text, int begin, int end) {
+        this.line = text;
+        count = 0;
+        int next;
+        while ((next = indexOf(separator, begin, end)) < end) {
+            add(begin, next);
+            begin = next + 1;
+        }
+        add(begin, end);
+        return this;
+    }
+
+    /**
+     * Ritorna il numero di campi della riga.
+     *
+     * @return il numero di campi
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Ritorna {@code true} se il campo e' vuoto.
+     *
+     * @param field Indice del campo
+     * @return {@code true} se il campo non contiene caratteri
+     */
+    boolean isEmpty(int field) {
+        return begin(field) == end(field);
+    }
+
+    /**
+     * Ritorna il campo come stringa.
+     *
+     * @param field Indice del campo
+     * @return il valore del campo
+     */
+    String string(int field) {
+        return line.subSequence(begin(field), end(field)).toString();
+    }
+
+    /**
+     * Ritorna il campo come intero.
+     *
+     * @param field Indice del campo
+     * @return il valore del campo
+     * @throws NumberFormatException Viene lanciata quando il campo non e' un numero intero
+     */
+    int integer(int field) {
+        return Integer.parseInt(line, begin(field), end(field), 10);
+    }
+
+    /**
+     * Ritorna il campo come importo in centesimi.
+     *
+     * @param field Indice del campo
+     * @return l'importo in centesimi
+     * @see Money#parse(CharSequence, int, int)
+     */
+    long cents(int field) {
+        return Money.parse(line, begin(field), end(field));
+    }
+
+    /**
+     * Ritorna il campo come giorno dall'epoch.
+     *
+     * @param field Indice del campo
+     * @return il giorno letto
+     * @see Days#parse(CharSequence, int, int)
+     */
+    long epochDay(int field) {
+        return Days.parse(line, begin(field), end(field));
+    }
+
+    /**
+     * Ritorna i numeri interi contenuti nel campo, separati dal carattere passato.
+     * I numeri vuoti vengono ignorati.
+     *
+     * @param field     Indice del campo
+     * @param separator Carattere che separa i numeri
+     * @return l'array dei numeri letti
+     * @throws NumberFormatException Viene lanciata quando uno dei valori non e' un numero intero
+     */
+    int[] integers(int field, char separator) {
+        int end = end(field);
+        int begin = begin(field);
+        int[] values = new int[8];
+        int size = 0;
+        while (begin < end) {
+            int next = indexOf(separator, begin, end);
+            if (next > begin) {
+                if (size == values.length)
+                    values = Arrays.copyOf(values, size * 2);
+                values[size++] = Integer.parseInt(line, begin, next, 10);
+            }
+            begin = next + 1;
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    private int indexOf(char character, int begin, int end) {
+        for (int i = begin; i < end; i++)
+            if (line.charAt(i) == character)
+                return i;
+        return end;
+    }
+
+    private void add(int begin, int end) {
+        if (2 * count + 1 >= bounds.length)
+            bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        bounds[2 * count] = begin;
+        bounds[2 * count + 1] = end;
+        count++;
+    }
+
+    private int begin(int field) {
+        checkField(field);
+        return bounds[2 * field];
+    }
+
+    private int end(int field) {
+        checkField(field);
+        return bounds[2 * field + 1];
+    }
+
+    private void checkField(int field) {
+        if (field < 0 || field >= count)
+            throw new IndexOutOfBoundsException("Campo " + field + " non presente nella riga: " + line);
+    }
+}
@@ -0,0 +1,175 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import it.unicam.cs.pa.jbudget.model.Account;
+import it.unicam.cs.pa.jbudget.model.LedgerException;
+import it.unicam.cs.pa.jbudget.model.MovementArchive;
+import it.unicam.cs.pa.jbudget.model.MovementException;
+import it.unicam.cs.pa.jbudget.model.MovementType;
+import it.unicam.cs.pa.jbudget.read.Records.MovementRecord;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Archivio dei Movimenti ancora nella sezione mappata in memoria di un File binario.
+ * Per ogni Account mantiene le posizioni dei record dei suoi Movimenti, ordinate per giorno:
+ * ogni posizione e' salvata insieme al giorno in un unico {@code long} (giorno nei 32 bit alti),
+ * cosi' che i Movimenti di un intervallo di date si trovino con una ricerca binaria.
+ * I record vengono letti e trasformati in Movimenti dal {@link RecordLinker} solo quando vengono richiesti;
+ * prima di creare un Movimento il suo valore viene tolto dal saldo archiviato dell'Account,
+ * perche' viene sommato di nuovo quando il Movimento viene aggiunto.
+ * I Movimenti di un intervallo vengono creati nell'ordine del File, che segue gli ID delle Transazioni,
+ * cosi' che vengano inseriti nelle liste ordinate quasi sempre in coda.
+ *
+ * @author Matteo Rondini
+ * @see LazyFileBinaryImporter
+ */
+class MappedMovementArchive extends MovementArchive {
+    private final BinaryReader in;
+    private final RecordLinker linker;
+    private final Map<Integer, Segment> segments = new HashMap<>();
+
+    /**
+     * Crea un archivio che legge i record dal Reader della sezione dei Movimenti.
+     *
+     * @param in     Reader della sezione dei Movimenti
+     * @param linker RecordLinker con cui creare i Movimenti
+     */
+    MappedMovementArchive(BinaryReader in, RecordLinker linker) {
+        this.in = in;
+        this.linker = linker;
+    }
+
+    /**
+     * Aggiunge all'archivio dell'Account il record che inizia alla posizione passata, e ne somma
+     * il valore al saldo dell'Account.
+     *
+     * @param account  Account del Movimento
+     * @param type     Tipologia del Movimento
+     * @param value    Valore del Movimento in centesimi
+     * @param epochDay Giorno del Movimento
+     * @param position Posizione del record nella sezione
+     * @throws IOException Viene lanciata quando il giorno non puo' essere indicizzato
+     */
+    void add(Account account, MovementType type, long value, long epochDay, int position) throws IOException {
+        if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE)
+            throw new FileFormatException(FileFormatException.E7_MALFORMED_DATE + epochDay);
+        archive(account, type, value, epochDay);
+        segments.computeIfAbsent(account.getID(), ID -> new Segment()).add(key(epochDay, position));
+    }
+
+    /**
+     * Ordina per giorno le posizioni dei record di ogni Account; va chiamato dopo l'ultimo {@link #add}.
+     */
+    void sort() {
+        segments.values().forEach(Segment::sort);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void load(Account account, long fromDay, long toDay) {
+        Segment segment = segments.get(account.getID());
+        if (Objects.isNull(segment))
+            return;
+        long first = key(Math.max(fromDay, Integer.MIN_VALUE), 0);
+        long last = Math.min(toDay, Integer.MAX_VALUE);
+        long[] order = new long[16];
+        int size = 0;
+        for (int i = segment.lowerBound(first); i < segment.size && day(segment.keys[i]) <= last; i++)
+            if (!segment.loaded.get(i)) {
+                if (size == order.length)
+                    order = Arrays.copyOf(order, size * 2);
+                order[size++] = key((int) segment.keys[i], i);
+            }
+        Arrays.sort(order, 0, size);
+        for (int i = 0; i < size; i++)
+            create(account, segment, (int) order[i]);
+    }
+
+    /**
+     * Crea il Movimento archiviato che inizia alla posizione passata, se non e' gia' stato creato.
+     *
+     * @param account  Account del Movimento
+     * @param epochDay Giorno del Movimento
+     * @param position Posizione del record nella sezione
+     */
+    void load(Account account, long epochDay, int position) {
+        Segment segment = segments.get(account.getID());
+        if (Objects.isNull(segment))
+            return;
+        int index = Arrays.binarySearch(segment.keys, 0, segment.size, key(epochDay, position));
+        if (index >= 0)
+            create(account, segment, index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int pending(Account account) {
+        Segment segment = segments.get(account.getID());
+        return Objects.isNull(segment) ? 0 : segment.pending;
+    }
+
+    /**
+     * Crea il Movimento della posizione passata del segmento, se non e' gia' stato creato.
+     */
+    private void create(Account account, Segment segment, int index) {
+        if (segment.loaded.get(index))
+            return;
+        try {
+            in.seek((int) segment.keys[index]);
+            MovementRecord record = FileBinaryImporter.readMovement(in);
+            unarchive(account, record.type, record.value, record.epochDay);
+            linker.createMovement(record);
+        } catch (IOException | MovementException | LedgerException exception) {
+            throw new IllegalStateException(exception);
+        }
+        segment.loaded.set(index);
+        if (--segment.pending == 0)
+            segments.remove(account.getID());
+    }
+
+    private static long key(long epochDay, int position) {
+        return epochDay << 32 | position;
+    }
+
+    private static long day(long key) {
+        return key >> 32;
+    }
+
+    /**
+     * Posizioni dei record di un Account, ordinate per giorno.
+     */
+    private static final class Segment {
+        private long[] keys = new long[16];
+        private final BitSet loaded = new BitSet();
+        private int size;
+        private int pending;
+
+        private void add(long key) {
+            if (size == keys.length)
+                keys = Arrays.copyOf(keys, size * 2);
+            keys[size++] = key;
+            pending++;
+        }
+
+        private void sort() {
+            Arrays.sort(keys, 0, size);
+        }
+
+        /**
+         * Ritorna la posizione della prima chiave maggiore o uguale a quella passata.
+         */
+        private int lowerBound(long key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
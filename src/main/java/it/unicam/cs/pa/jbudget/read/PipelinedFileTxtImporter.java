@@ -0,0 +1,359 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.model.LedgerException;
+import it.unicam.cs.pa.jbudget.model.MovementException;
+import it.unicam.cs.pa.jbudget.read.Records.AccountRecord;
+import it.unicam.cs.pa.jbudget.read.Records.CategoryRecord;
+import it.unicam.cs.pa.jbudget.read.Records.MovementRecord;
+import it.unicam.cs.pa.jbudget.read.Records.TransactionRecord;
+import it.unicam.cs.pa.jbudget.save.BlockDeflaterOutputStream;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * La classe implementa l'interfaccia {@link Importer} ed importa i dati salvati nei File {@code txt}
+ * dividendo il lavoro in 2 fasi. Nella prima fase i 4 File vengono divisi in blocchi di righe
+ * e i blocchi vengono letti e convertiti in record contemporaneamente da un insieme di thread;
+ * nella seconda fase i record vengono collegati al {@link Controller}, nell'ordine dei File,
+ * dal thread che esegue l'import. Le 2 fasi si sovrappongono: un blocco viene collegato appena
+ * e' stato letto, mentre i blocchi successivi vengono ancora letti.
+ * L'avanzamento dell'import viene notificato ad un {@link ImportListener}.
+ * I File devono essere salvati con una codifica in cui il carattere di fine riga occupa un solo byte,
+ * come quella usata da {@link it.unicam.cs.pa.jbudget.save.FileTxtSaver}.
+ * I File compressi da {@link BlockDeflaterOutputStream} sono gia' divisi in blocchi di righe intere:
+ * ogni blocco viene decompresso e letto da un thread diverso.
+ *
+ * @author Matteo Rondini
+ * @see FileTxtImporter
+ */
+public class PipelinedFileTxtImporter implements Importer {
+    /**
+     * Dimensione in byte predefinita dei blocchi in cui vengono divisi i File.
+     */
+    static final int CHUNK_SIZE = 4 << 20;
+    final Controller controller;
+    final String accountPath;
+    final String movementPath;
+    final String categoryPath;
+    final String transactionPath;
+    private final ImportListener listener;
+    private final ExecutorService executor;
+    private final boolean ownExecutor;
+    private final int chunkSize;
+    private final RecordLinker linker;
+    private List<Chunk<AccountRecord>> accounts;
+    private List<Chunk<CategoryRecord>> categories;
+    private List<Chunk<MovementRecord>> movements;
+    private List<Chunk<TransactionRecord>> transactions;
+    private long total;
+    private long done;
+
+    /**
+     * Crea un PipelinedFileTxtImporter che legge i File con un insieme di thread dedicato,
+     * con un thread per ogni processore disponibile.
+     *
+     * @param controller MoneyController dell'Applicazione
+     * @param directory  Percorso da dove importare i dati
+     * @param listener   Listener a cui notificare l'avanzamento dell'import
+     */
+    public PipelinedFileTxtImporter(Controller controller, String directory, ImportListener listener) {
+        this(controller, directory, listener, Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(), runnable -> {
+                    Thread thread = new Thread(runnable, "jbudget-import");
+                    thread.setDaemon(true);
+                    return thread;
+                }), true, CHUNK_SIZE);
+    }
+
+    /**
+     * Crea un PipelinedFileTxtImporter che legge i File con l'{@link ExecutorService} passato.
+     * L'ExecutorService non viene chiuso al termine dell'import.
+     *
+     * @param controller MoneyController dell'Applicazione
+     * @param directory  Percorso da dove importare i dati
+     * @param listener   Listener a cui notificare l'avanzamento dell'import
+     * @param executor   ExecutorService con cui leggere i File
+     */
+    public PipelinedFileTxtImporter(Controller controller, String directory, ImportListener listener,
+                                    ExecutorService executor) {
+        this(controller, directory, listener, executor, false, CHUNK_SIZE);
+    }
+
+    /**
+     * Crea un PipelinedFileTxtImporter che divide i File in blocchi della dimensione passata e li legge
+     * con l'{@link ExecutorService} passato, che viene chiuso al termine dell'import o al primo errore.
+     *
+     * @param controller MoneyController dell'Applicazione
+     * @param directory  Percorso da dove importare i dati
+     * @param listener   Listener a cui notificare l'avanzamento dell'import
+     * @param executor   ExecutorService con cui leggere i File
+     * @param chunkSize  Dimensione in byte dei blocchi
+     */
+    PipelinedFileTxtImporter(Controller controller, String directory, ImportListener listener,
+                             ExecutorService executor, int chunkSize) {
+        this(controller, directory, listener, executor, true, chunkSize);
+    }
+
+    private PipelinedFileTxtImporter(Controller controller, String directory, ImportListener listener,
+                                     ExecutorService executor, boolean ownExecutor, int chunkSize) {
+        this.controller = controller;
+        this.listener = listener;
+        this.executor = executor;
+        this.ownExecutor = ownExecutor;
+        this.chunkSize = chunkSize;
+        this.linker = new RecordLinker(controller);
+        accountPath = directory + "/Account.txt";
+        movementPath = directory + "/Movement.txt";
+        categoryPath = directory + "/Category.txt";
+        transactionPath = directory + "/Transaction.txt";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void getAccounts() throws IOException, LedgerException {
+        try {
+            start();
+            for (Chunk<AccountRecord> chunk : accounts) {
+                for (AccountRecord record : chunk.await())
+                    linker.addAccount(record);
+                advance(chunk);
+            }
+        } catch (Throwable throwable) {
+            shutdown();
+            throw throwable;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void getCategories() throws IOException, LedgerException {
+        try {
+            start();
+            for (Chunk<CategoryRecord> chunk : categories) {
+                for (CategoryRecord record : chunk.await())
+                    linker.addCategory(record);
+                advance(chunk);
+            }
+        } catch (Throwable throwable) {
+            shutdown();
+            throw throwable;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void getMovements() throws IOException, ParseException, MovementException, LedgerException {
+        try {
+            start();
+            linker.indexLedger();
+            for (Chunk<MovementRecord> chunk : movements) {
+                for (MovementRecord record : chunk.await())
+                    linker.addMovement(record);
+                advance(chunk);
+            }
+        } catch (Throwable throwable) {
+            shutdown();
+            throw throwable;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Al termine libera i thread usati per leggere i File.
+     */
+    @Override
+    public void getTransaction() throws IOException {
+        try {
+            start();
+            linker.indexLedger();
+            for (Chunk<TransactionRecord> chunk : transactions) {
+                for (TransactionRecord record : chunk.await())
+                    linker.addTransactionCategories(record);
+                advance(chunk);
+            }
+        } finally {
+            shutdown();
+        }
+    }
+
+    private void advance(Chunk<?> chunk) {
+        done += chunk.length;
+        if (listener != null)
+            listener.progress(done, total);
+    }
+
+    /**
+     * Divide i File in blocchi e avvia la lettura di tutti i blocchi, se non e' gia' stata avviata.
+     */
+    private void start() throws IOException {
+        if (accounts != null)
+            return;
+        accounts = submit(accountPath, AccountRecord::new);
+        categories = submit(categoryPath, CategoryRecord::new);
+        movements = submit(movementPath, MovementRecord::new);
+        transactions = submit(transactionPath, TransactionRecord::new);
+    }
+
+    private void shutdown() {
+        if (ownExecutor)
+            executor.shutdownNow();
+    }
+
+    /**
+     * Divide il File in blocchi che terminano alla fine di una riga, e avvia la lettura di ogni blocco.
+     */
+    private <T> List<Chunk<T>> submit(String filePath, Function<LineTokenizer, T> factory) throws IOException {
+        Path path = Paths.get(filePath);
+        if (BlockDeflaterOutputStream.isCompressed(path))
+            return submitCompressed(path, factory);
+        List<Chunk<T>> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path)) {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            long begin = 0;
+            while (begin < size) {
+                long end = begin + chunkSize >= size ? size : lineEnd(channel, begin + chunkSize, buffer);
+                long chunkBegin = begin;
+                chunks.add(new Chunk<>(end - begin, executor.submit(() -> parse(path, chunkBegin, end, factory))));
+                total += end - begin;
+                begin = end;
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Avvia la decompressione e la lettura di ogni blocco di un File compresso.
+     */
+    private <T> List<Chunk<T>> submitCompressed(Path path, Function<LineTokenizer, T> factory) throws IOException {
+        List<Chunk<T>> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path)) {
+            for (long[] block : BlockInflaterInputStream.blocks(channel)) {
+                long length = BlockDeflaterOutputStream.BLOCK_HEADER_SIZE + block[1];
+                chunks.add(new Chunk<>(length, executor.submit(() -> parseCompressed(path, block, factory))));
+                total += length;
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Ritorna la posizione successiva al primo carattere di fine riga che si trova dalla posizione passata in poi,
+     * oppure la dimensione del File se non ci sono altre righe.
+     */
+    private static long lineEnd(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        long size = channel.size();
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0)
+                break;
+            for (int i = 0; i < read; i++)
+                if (buffer.get(i) == '\n')
+                    return position + i + 1;
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Legge le righe del blocco compreso tra le 2 posizioni del File e le converte in record,
+     * ignorando le righe vuote.
+     */
+    private static <T> List<T> parse(Path path, long begin, long end, Function<LineTokenizer, T> factory)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path)) {
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, begin, end - begin), factory);
+        }
+    }
+
+    /**
+     * Decomprime il blocco di un File compresso e converte le sue righe in record.
+     */
+    private static <T> List<T> parseCompressed(Path path, long[] block, Function<LineTokenizer, T> factory)
+            throws IOException {
+        byte[] raw;
+        try (FileChannel channel = FileChannel.open(path)) {
+            raw = BlockInflaterInputStream.inflate(
+                    channel.map(FileChannel.MapMode.READ_ONLY, block[0], block[1]), (int) block[2]);
+        }
+        return parse(ByteBuffer.wrap(raw), factory);
+    }
+
+    /**
+     * Decodifica le righe del buffer e le converte in record, ignorando le righe vuote.
+     */
+    private static <T> List<T> parse(ByteBuffer bytes, Function<LineTokenizer, T> factory) throws IOException {
+        String text = Charset.defaultCharset().newDecoder().decode(bytes).toString();
+        LineTokenizer tokenizer = new LineTokenizer(';');
+        List<T> records = new ArrayList<>();
+        int length = text.length();
+        int lineBegin = 0;
+        while (lineBegin < length) {
+            int lineEnd = text.indexOf('\n', lineBegin);
+            if (lineEnd < 0)
+                lineEnd = length;
+            int contentEnd = lineEnd > lineBegin && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            if (contentEnd > lineBegin)
+                records.add(factory.apply(tokenizer.reset(text, lineBegin, contentEnd)));
+            lineBegin = lineEnd + 1;
+        }
+        return records;
+    }
+
+    /**
+     * Blocco di righe di un File, letto in modo asincrono.
+     */
+    private static final class Chunk<T> {
+        private final long length;
+        private final Future<List<T>> records;
+
+        private Chunk(long length, Future<List<T>> records) {
+            this.length = length;
+            this.records = records;
+        }
+
+        /**
+         * Attende la fine della lettura del blocco e ne ritorna i record. Le eccezioni lanciate durante
+         * la lettura vengono rilanciate cosi' come sono.
+         */
+        private List<T> await() throws IOException {
+            try {
+                return records.get();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(exception.getMessage());
+            } catch (ExecutionException exception) {
+                Throwable cause = exception.getCause();
+                if (cause instanceof IOException)
+                    throw (IOException) cause;
+                if (cause instanceof RuntimeException)
+                    throw (RuntimeException) cause;
+                if (cause instanceof Error)
+                    throw (Error) cause;
+                throw new IOException(cause);
+            }
+        }
+    }
+}
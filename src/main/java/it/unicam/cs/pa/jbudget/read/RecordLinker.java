@@ -0,0 +1,178 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.model.*;
+import it.unicam.cs.pa.jbudget.read.Records.AccountRecord;
+import it.unicam.cs.pa.jbudget.read.Records.CategoryRecord;
+import it.unicam.cs.pa.jbudget.read.Records.MovementRecord;
+import it.unicam.cs.pa.jbudget.read.Records.TransactionRecord;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Trasforma i record letti dai File in oggetti del Model e li aggiunge al {@link Controller}.
+ * I riferimenti agli Account, alle Categorie e alle Transazioni vengono risolti attraverso delle mappe per ID,
+ * costruite a partire dal Controller con {@link #indexLedger()} e aggiornate ad ogni Movimento aggiunto.
+ * Le Categorie delle Transazioni non ancora create vengono conservate e collegate quando la Transazione
+ * viene creata, cosi' che i Movimenti possano essere creati anche dopo l'import (vedi {@link LazyFileBinaryImporter}).
+ * Non e' thread-safe: i record devono essere collegati da un solo thread, nell'ordine dei File.
+ *
+ * @author Matteo Rondini
+ * @see Records
+ */
+class RecordLinker {
+    private final Controller controller;
+    private final Map<Integer, Account> accountMap = new HashMap<>();
+    private final Map<Integer, Category> categoryMap = new HashMap<>();
+    private final Map<Integer, Transaction> transactionMap = new HashMap<>();
+    private final Map<Integer, int[]> pendingCategories = new HashMap<>();
+    private final Set<Integer> movementIDs = new HashSet<>();
+
+    /**
+     * Crea un RecordLinker che aggiunge i dati al {@link Controller} passato.
+     *
+     * @param controller Controller dell'Applicazione
+     */
+    RecordLinker(Controller controller) {
+        this.controller = controller;
+    }
+
+    /**
+     * Crea l'{@link Account} del record.
+     *
+     * @param record Record dell'Account
+     * @throws LedgerException Viene lanciata quando l'Account non puo' essere aggiunto al Ledger
+     */
+    void addAccount(AccountRecord record) throws LedgerException {
+        controller.addAccount(record.type, record.name, record.description, record.ID,
+                Money.toDouble(record.openingBalance));
+    }
+
+    /**
+     * Crea la {@link Category} del record.
+     *
+     * @param record Record della Categoria
+     * @throws LedgerException Viene lanciata quando la Categoria non puo' essere aggiunta al Ledger
+     */
+    void addCategory(CategoryRecord record) throws LedgerException {
+        controller.addCategory(record.name, record.description, record.ID);
+    }
+
+    /**
+     * Crea il {@link Movement} del record e lo collega al suo Account, alla sua Transazione e alle sue Categorie.
+     *
+     * @param record Record del Movimento
+     * @throws MovementException Viene lanciata quando il Movimento non puo' essere creato
+     * @throws LedgerException   Viene lanciata quando l'ID del Movimento e' gia' presente nel Ledger,
+     *                           o quando il Movimento non puo' essere aggiunto al Ledger
+     */
+    void addMovement(MovementRecord record) throws MovementException, LedgerException {
+        reserveMovementID(record.ID);
+        createMovement(record);
+    }
+
+    /**
+     * Registra l'ID di un Movimento che verra' creato con {@link #createMovement(MovementRecord)}.
+     *
+     * @param ID ID del Movimento
+     * @throws LedgerException Viene lanciata quando l'ID del Movimento e' gia' presente nel Ledger
+     */
+    void reserveMovementID(int ID) throws LedgerException {
+        if (!movementIDs.add(ID))
+            throw new LedgerException(LedgerException.E3_THERE_IS_ALREADY_A_MOVEMENT_IN_LEDGER);
+    }
+
+    /**
+     * Controlla se l'ID del Movimento e' gia' stato registrato.
+     *
+     * @param ID ID del Movimento
+     * @return {@code true} se l'ID e' gia' presente
+     */
+    boolean containsMovementID(int ID) {
+        return movementIDs.contains(ID);
+    }
+
+    /**
+     * Crea il {@link Movement} del record, il cui ID e' gia' stato registrato, e lo collega
+     * al suo Account, alla sua Transazione e alle sue Categorie.
+     *
+     * @param record Record del Movimento
+     * @throws MovementException Viene lanciata quando il Movimento non puo' essere creato
+     * @throws LedgerException   Viene lanciata quando il Movimento non puo' essere aggiunto al Ledger
+     */
+    void createMovement(MovementRecord record) throws MovementException, LedgerException {
+        Transaction transaction = getTransaction(record.transactionID);
+        Movement movement = controller.createMovement(record.type, record.ID, record.value,
+                record.epochDay, record.description, transaction, accountMap.get(record.accountID));
+
+        controller.addMovement(movement);
+        transactionMap.put(transaction.getID(), transaction);
+
+        for (int category : record.categories)
+            movement.addCategory(categoryMap.get(category));
+    }
+
+    /**
+     * Ritorna l'{@link Account} con l'ID passato, o {@code null} se non e' presente nel Ledger.
+     *
+     * @param ID ID dell'Account
+     * @return l'Account con l'ID passato
+     */
+    Account getAccount(int ID) {
+        return accountMap.get(ID);
+    }
+
+    /**
+     * Collega le Categorie del record alla sua {@link Transaction}, se presente nel Ledger,
+     * altrimenti le conserva fino alla creazione della Transazione.
+     *
+     * @param record Record delle Categorie della Transazione
+     */
+    void addTransactionCategories(TransactionRecord record) {
+        Transaction transaction = transactionMap.get(record.ID);
+        if (Objects.isNull(transaction))
+            pendingCategories.put(record.ID, record.categories);
+        else
+            addCategories(transaction, record.categories);
+    }
+
+    private void addCategories(Transaction transaction, int[] categories) {
+        for (int category : categories)
+            transaction.addCategory(categoryMap.get(category));
+    }
+
+    /**
+     * Ritorna la Transazione con l'ID passato, creandone una nuova se non e' presente nel Ledger.
+     */
+    private Transaction getTransaction(int transactionID) {
+        Transaction transaction = transactionMap.get(transactionID);
+        if (Objects.isNull(transaction)) {
+            transaction = new MoneyTransaction(transactionID);
+            int[] categories = pendingCategories.remove(transactionID);
+            if (!Objects.isNull(categories))
+                addCategories(transaction, categories);
+        }
+        return transaction;
+    }
+
+    /**
+     * Costruisce le mappe per ID degli Account, delle Categorie e delle Transazioni presenti nel Controller,
+     * e l'insieme degli ID dei Movimenti gia' presenti.
+     */
+    void indexLedger() {
+        accountMap.clear();
+        categoryMap.clear();
+        transactionMap.clear();
+        movementIDs.clear();
+        controller.getAccounts().forEach(account -> accountMap.put(account.getID(), account));
+        controller.getCategory().forEach(category -> categoryMap.put(category.getID(), category));
+        for (Transaction transaction : controller.getTransactions()) {
+            transactionMap.put(transaction.getID(), transaction);
+            transaction.movements().forEach(movement -> movementIDs.add(movement.getID()));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import it.unicam.cs.pa.jbudget.model.AccountType;
+import it.unicam.cs.pa.jbudget.model.MovementType;
+
+/**
+ * Contiene le informazioni lette dai File, gia' convertite nei tipi del Model
+ * ma non ancora collegate al {@link it.unicam.cs.pa.jbudget.controller.Controller}.
+ * I record possono essere creati da una riga dei File {@code txt}, attraverso un {@link LineTokenizer},
+ * o direttamente a partire dai valori letti da un altro formato.
+ * I record non dipendono dal Ledger, percio' possono essere creati anche da piu' thread contemporaneamente.
+ *
+ * @author Matteo Rondini
+ * @see RecordLinker
+ */
+final class Records {
+    static final int[] NO_CATEGORIES = new int[0];
+
+    private Records() {
+    }
+
+    /**
+     * Riga del File degli Account: {@code ID;type;name;description;openingBalance}.
+     */
+    static final class AccountRecord {
+        final int ID;
+        final AccountType type;
+        final String name;
+        final String description;
+        final long openingBalance;
+
+        AccountRecord(LineTokenizer info) {
+            this(info.integer(0), AccountType.valueOf(info.string(1)), info.string(2), info.string(3),
+                    info.cents(4));
+        }
+
+        AccountRecord(int ID, AccountType type, String name, String description, long openingBalance) {
+            this.ID = ID;
+            this.type = type;
+            this.name = name;
+            this.description = description;
+            this.openingBalance = openingBalance;
+        }
+    }
+
+    /**
+     * Riga del File delle Categorie: {@code ID;description;name}.
+     */
+    static final class CategoryRecord {
+        final int ID;
+        final String description;
+        final String name;
+
+        CategoryRecord(LineTokenizer info) {
+            this(info.integer(0), info.string(1), info.string(2));
+        }
+
+        CategoryRecord(int ID, String description, String name) {
+            this.ID = ID;
+            this.description = description;
+            this.name = name;
+        }
+    }
+
+    /**
+     * Riga del File dei Movimenti: {@code ID;type;value;date;description;transactionID;accountID;categories}.
+     */
+    static final class MovementRecord {
+        final int ID;
+        final MovementType type;
+        final long value;
+        final long epochDay;
+        final String description;
+        final int transactionID;
+        final int accountID;
+        final int[] categories;
+
+        MovementRecord(LineTokenizer info) {
+            this(info.integer(0), MovementType.valueOf(info.string(1)), info.cents(2), info.epochDay(3),
+                    info.string(4), info.integer(5), info.integer(6),
+                    info.size() == 8 ? info.integers(7, '-') : NO_CATEGORIES);
+        }
+
+        MovementRecord(int ID, MovementType type, long value, long epochDay, String description,
+                       int transactionID, int accountID, int[] categories) {
+            this.ID = ID;
+            this.type = type;
+            this.value = value;
+            this.epochDay = epochDay;
+            this.description = description;
+            this.transactionID = transactionID;
+            this.accountID = accountID;
+            this.categories = categories;
+        }
+    }
+
+    /**
+     * Riga del File delle Categorie delle Transazioni: {@code transactionID;categories}.
+     */
+    static final class TransactionRecord {
+        final int ID;
+        final int[] categories;
+
+        TransactionRecord(LineTokenizer info) {
+            this(checkSize(info).integer(0), info.integers(1, '-'));
+        }
+
+        TransactionRecord(int ID, int[] categories) {
+            this.ID = ID;
+            this.categories = categories;
+        }
+
+        private static LineTokenizer checkSize(LineTokenizer info) {
+            if (info.size() != 2)
+                throw new IndexOutOfBoundsException("Errore nel Formato dei Dati della Transazione!");
+            return info;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package it.unicam.cs.pa.jbudget.save;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.model.Movement;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * La classe implementa l'interfaccia {@link Saver} e salva i dati nei File {@code txt} in modo atomico:
+ * se il salvataggio viene interrotto, nella Cartella rimangono o tutti i File del salvataggio precedente
+ * o tutti i File del nuovo salvataggio.
+ * I dati vengono scritti da un {@link FileTxtSaver} in File temporanei, che vengono sincronizzati sul disco.
+ * Con {@link #commit()} viene scritto un manifest con i nomi dei File salvati, che viene spostato in modo
+ * atomico nella Cartella: da quel momento il nuovo salvataggio e' valido, e i File temporanei vengono
+ * rinominati con il loro nome definitivo. Un salvataggio interrotto viene completato, o annullato se
+ * il manifest non e' presente, da {@link #recover(String)}.
+ * I Movimenti aggiunti con {@link #appendMovement(List)} vengono invece scritti in coda al File definitivo:
+ * prima viene salvata la sua dimensione in un File {@value #UNDO_SUFFIX}, eliminato dopo il manifest,
+ * cosi' che un salvataggio annullato possa riportare il File alla dimensione precedente.
+ *
+ * @author Matteo Rondini
+ * @see FileTxtSaver
+ */
+public class AtomicFileTxtSaver implements Saver {
+    /**
+     * Suffisso dei File temporanei.
+     */
+    static final String TEMP_SUFFIX = ".tmp";
+    /**
+     * Nome del manifest che contiene i nomi dei File del salvataggio.
+     */
+    static final String MANIFEST = "Save.manifest";
+    /**
+     * Suffisso del File che contiene la dimensione di un File prima che vengano aggiunti dei dati in coda.
+     */
+    static final String UNDO_SUFFIX = ".undo";
+    private static final String[] FILES = {FileTxtSaver.ACCOUNT_FILE, FileTxtSaver.MOVEMENT_FILE,
+            FileTxtSaver.CATEGORY_FILE, FileTxtSaver.TRANSACTION_FILE};
+    private final Path directory;
+    private final FileTxtSaver saver;
+    private final FileTxtSaver appender;
+    private final List<String> savedFiles = new ArrayList<>();
+    private boolean appended;
+
+    /**
+     * Crea un AtomicFileTxtSaver con il riferimento ad il {@link Controller} e il percorso
+     * della Cartella dove salvare i dati con estensione {@code txt}.
+     *
+     * @param controller Controller dell'Applicazione
+     * @param directory  Percorso dove salvare i dati
+     */
+    public AtomicFileTxtSaver(Controller controller, String directory) {
+        this(controller, directory, false);
+    }
+
+    /**
+     * Crea un AtomicFileTxtSaver che salva i dati nella Cartella passata, comprimendo i File se richiesto
+     * (vedi {@link BlockDeflaterOutputStream}).
+     *
+     * @param controller Controller dell'Applicazione
+     * @param directory  Percorso dove salvare i dati
+     * @param compressed Se {@code true} i File vengono compressi in blocchi
+     */
+    public AtomicFileTxtSaver(Controller controller, String directory, boolean compressed) {
+        this.directory = Paths.get(directory);
+        this.saver = new FileTxtSaver(controller, directory, TEMP_SUFFIX, compressed);
+        this.appender = new FileTxtSaver(controller, directory, compressed);
+    }
+
+    /**
+     * Completa o annulla un salvataggio interrotto nella Cartella passata. Se il manifest e' presente,
+     * i File temporanei che contiene vengono rinominati con il loro nome definitivo; altrimenti
+     * i File temporanei vengono eliminati e rimangono i File del salvataggio precedente.
+     *
+     * @param directory Percorso della Cartella dei dati
+     * @throws IOException Viene lanciata quando avviene un Errore nel recupero del salvataggio
+     */
+    public static void recover(String directory) throws IOException {
+        Path path = Paths.get(directory);
+        Path manifest = path.resolve(MANIFEST);
+        if (Files.exists(manifest))
+            install(path, Files.readAllLines(manifest, Charset.defaultCharset()));
+        else {
+            for (String file : FILES)
+                Files.deleteIfExists(path.resolve(file + TEMP_SUFFIX));
+            rollback(path);
+        }
+        Files.deleteIfExists(path.resolve(MANIFEST + TEMP_SUFFIX));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveAccount() throws IOException {
+        saver.saveAccount();
+        saved(FileTxtSaver.ACCOUNT_FILE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveCategory() throws IOException {
+        saver.saveCategory();
+        saved(FileTxtSaver.CATEGORY_FILE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveMovement() throws IOException {
+        saver.saveMovement();
+        saved(FileTxtSaver.MOVEMENT_FILE);
+    }
+
+    /**
+     * Salva i {@link Movement} passati in coda al File dei Movimenti, dopo averne salvato la dimensione.
+     * Se il File non esiste vengono salvati tutti i Movimenti.
+     *
+     * @param movements Movimenti aggiunti dopo l'ultimo salvataggio
+     * @throws IOException Viene lanciata quando avviene un Errore nel salvataggio
+     */
+    @Override
+    public void appendMovement(List<Movement> movements) throws IOException {
+        Path file = directory.resolve(FileTxtSaver.MOVEMENT_FILE);
+        if (!Files.exists(file)) {
+            saveMovement();
+            return;
+        }
+        rollback(directory);
+        Path undo = directory.resolve(FileTxtSaver.MOVEMENT_FILE + UNDO_SUFFIX);
+        Files.write(undo, List.of(String.valueOf(Files.size(file))), Charset.defaultCharset());
+        force(undo);
+        forceDirectory(directory);
+        appender.appendMovement(movements);
+        force(file);
+        appended = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveTransactionCategory() throws IOException {
+        saver.saveTransactionCategory();
+        saved(FileTxtSaver.TRANSACTION_FILE);
+    }
+
+    /**
+     * Scrive il manifest con i File salvati, lo sposta in modo atomico nella Cartella
+     * e sostituisce i File precedenti con quelli temporanei.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nel salvataggio
+     */
+    @Override
+    public void commit() throws IOException {
+        if (savedFiles.isEmpty() && !appended)
+            return;
+        Path temporaryManifest = directory.resolve(MANIFEST + TEMP_SUFFIX);
+        Files.write(temporaryManifest, savedFiles, Charset.defaultCharset());
+        force(temporaryManifest);
+        Files.move(temporaryManifest, directory.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(directory);
+        install(directory, savedFiles);
+        savedFiles.clear();
+        appended = false;
+    }
+
+    /**
+     * Rinomina i File temporanei elencati con il loro nome definitivo ed elimina il manifest.
+     * I File temporanei gia' rinominati vengono ignorati, percio' l'operazione puo' essere ripetuta.
+     * Le dimensioni dei File a cui sono stati aggiunti dei dati vengono eliminate prima del manifest:
+     * senza il manifest, il File {@value #UNDO_SUFFIX} indica un salvataggio non concluso.
+     */
+    private static void install(Path directory, List<String> files) throws IOException {
+        for (String file : files) {
+            Path temporaryFile = directory.resolve(file + TEMP_SUFFIX);
+            if (Files.exists(temporaryFile))
+                Files.move(temporaryFile, directory.resolve(file),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        for (String file : FILES)
+            Files.deleteIfExists(directory.resolve(file + UNDO_SUFFIX));
+        forceDirectory(directory);
+        Files.deleteIfExists(directory.resolve(MANIFEST));
+    }
+
+    /**
+     * Riporta i File a cui sono stati aggiunti dei dati in un salvataggio non concluso
+     * alla dimensione che avevano prima del salvataggio.
+     */
+    private static void rollback(Path directory) throws IOException {
+        for (String file : FILES) {
+            Path undo = directory.resolve(file + UNDO_SUFFIX);
+            if (!Files.exists(undo))
+                continue;
+            List<String> size = Files.readAllLines(undo, Charset.defaultCharset());
+            Path target = directory.resolve(file);
+            if (!size.isEmpty() && Files.exists(target))
+                try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                    channel.truncate(Long.parseLong(size.get(0).trim()));
+                    channel.force(true);
+                }
+            Files.delete(undo);
+        }
+    }
+
+    private void saved(String file) throws IOException {
+        force(directory.resolve(file + TEMP_SUFFIX));
+        if (!savedFiles.contains(file))
+            savedFiles.add(file);
+    }
+
+    /**
+     * Sincronizza sul disco il contenuto del File.
+     */
+    private static void force(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Sincronizza sul disco la Cartella, cosi' che le rinomine dei File siano permanenti.
+     * Non tutti i sistemi operativi permettono di aprire una Cartella: in quel caso la sincronizzazione
+     * viene lasciata al sistema operativo.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException exception) {
+            // la Cartella non puo' essere sincronizzata su questo sistema operativo
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package it.unicam.cs.pa.jbudget.save;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Scrive i valori del formato binario in un File, attraverso un buffer riutilizzato.
+ * Gli interi vengono scritti come varint (7 bit per byte, il bit piu' alto indica che il numero continua),
+ * i {@code long} con codifica zig-zag, cosi' che anche i numeri negativi piccoli occupino pochi byte,
+ * e le stringhe in UTF-8 precedute dalla loro lunghezza.
+ * Ogni sezione del File e' preceduta da un byte che la identifica e dalla sua lunghezza in byte,
+ * che viene scritta alla fine della sezione. Allo stesso modo ogni record del Journal e' preceduto
+ * dalla sua lunghezza in byte (vedi {@link #beginRecord()}).
+ *
+ * @author Matteo Rondini
+ * @see FileBinarySaver
+ */
+class BinaryWriter implements Closeable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+    private long sectionStart;
+    private long recordStart;
+
+    /**
+     * Crea un BinaryWriter che scrive nel File passato, sostituendone il contenuto.
+     *
+     * @param path Percorso del File
+     * @throws IOException Viene lanciata quando il File non puo' essere aperto
+     */
+    BinaryWriter(Path path) throws IOException {
+        this(path, false);
+    }
+
+    /**
+     * Crea un BinaryWriter che scrive alla fine del File passato, creandolo se non esiste.
+     *
+     * @param path   Percorso del File
+     * @param append Se {@code false} il contenuto del File viene sostituito
+     * @throws IOException Viene lanciata quando il File non puo' essere aperto
+     */
+    BinaryWriter(Path path, boolean append) throws IOException {
+        if (append) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        } else
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    void writeInt(int value) throws IOException {
+        ensure(4);
+        buffer.putInt(value);
+    }
+
+    void writeVarInt(int value) throws IOException {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    void writeVarLong(long value) throws IOException {
+        ensure(10);
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            buffer.put((byte) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        buffer.put((byte) zigZag);
+    }
+
+    void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensure(1);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Inizia una sezione con il tag passato, riservando lo spazio per la sua lunghezza.
+     *
+     * @param tag Byte che identifica la sezione
+     * @return la posizione della lunghezza della sezione, da passare a {@link #endSection(long)}
+     * quando la sezione ne contiene altre
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    long beginSection(byte tag) throws IOException {
+        writeByte(tag);
+        flush();
+        sectionStart = channel.position();
+        writeLongPlaceholder();
+        return sectionStart;
+    }
+
+    /**
+     * Conclude l'ultima sezione iniziata con {@link #beginSection(byte)}, scrivendone la lunghezza.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void endSection() throws IOException {
+        endSection(sectionStart);
+    }
+
+    /**
+     * Conclude la sezione la cui lunghezza si trova nella posizione passata, scrivendone la lunghezza.
+     * Permette di concludere una sezione dopo le sezioni che contiene.
+     *
+     * @param start Posizione ritornata da {@link #beginSection(byte)}
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void endSection(long start) throws IOException {
+        flush();
+        long length = channel.position() - start - Long.BYTES;
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(Long.BYTES).putLong(0, length);
+        while (lengthBuffer.hasRemaining())
+            channel.write(lengthBuffer, start + lengthBuffer.position());
+    }
+
+    /**
+     * Inizia un record, riservando 4 byte per la sua lunghezza.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void beginRecord() throws IOException {
+        recordStart = size();
+        writeInt(0);
+    }
+
+    /**
+     * Conclude il record iniziato con {@link #beginRecord()}, scrivendone la lunghezza.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void endRecord() throws IOException {
+        int length = (int) (size() - recordStart - Integer.BYTES);
+        long buffered = recordStart - channel.position();
+        if (buffered >= 0)
+            buffer.putInt((int) buffered, length);
+        else {
+            flush();
+            ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES).putInt(0, length);
+            while (lengthBuffer.hasRemaining())
+                channel.write(lengthBuffer, recordStart + lengthBuffer.position());
+        }
+    }
+
+    /**
+     * Ritorna la dimensione in byte del File, compresi i dati ancora nel buffer.
+     *
+     * @return la dimensione del File
+     * @throws IOException Viene lanciata quando avviene un Errore nella lettura della posizione
+     */
+    long size() throws IOException {
+        return channel.position() + buffer.position();
+    }
+
+    /**
+     * Tronca il File alla dimensione passata e lo sincronizza sul disco.
+     *
+     * @param size Nuova dimensione del File
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void truncate(long size) throws IOException {
+        flush();
+        channel.truncate(size);
+        channel.position(size);
+        channel.force(true);
+    }
+
+    /**
+     * Scrive i dati rimasti nel buffer e li sincronizza sul disco.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void force() throws IOException {
+        flush();
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes)
+            flush();
+    }
+
+    /**
+     * Scrive i dati rimasti nel buffer nel File.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    private void writeLongPlaceholder() throws IOException {
+        ensure(Long.BYTES);
+        buffer.putLong(0);
+    }
+}
@@ -0,0 +1,159 @@
+package it.unicam.cs.pa.jbudget.save;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Comprime le righe di un File {@code txt} in blocchi indipendenti, ognuno compresso con un {@link Deflater}.
+ * Il File inizia con il numero {@link #MAGIC}, che non puo' comparire all'inizio di un File di testo, e con
+ * la versione del formato; ogni blocco e' preceduto dalla dimensione dei dati originali e da quella dei dati
+ * compressi. Ogni blocco contiene solo righe intere, per circa {@link #BLOCK_SIZE} byte, cosi' che
+ * i blocchi possano essere decompressi e letti contemporaneamente da piu' thread,
+ * e che nuove righe possano essere aggiunte in coda al File scrivendo nuovi blocchi.
+ *
+ * @author Matteo Rondini
+ * @see FileTxtSaver
+ * @see it.unicam.cs.pa.jbudget.read.PipelinedFileTxtImporter
+ */
+public class BlockDeflaterOutputStream extends OutputStream {
+    /**
+     * Numero con cui inizia un File compresso ({@code \0JBZ}).
+     */
+    public static final int MAGIC = 0x004A425A;
+    /**
+     * Versione del formato scritta da questa classe.
+     */
+    public static final int VERSION = 1;
+    /**
+     * Dimensione in byte dell'intestazione del File.
+     */
+    public static final int HEADER_SIZE = Integer.BYTES + 1;
+    /**
+     * Dimensione in byte dell'intestazione di un blocco.
+     */
+    public static final int BLOCK_HEADER_SIZE = 2 * Integer.BYTES;
+    /**
+     * Dimensione in byte dei dati originali oltre la quale il blocco corrente viene compresso e scritto.
+     */
+    public static final int BLOCK_SIZE = 1 << 20;
+    private final OutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+    private byte[] buffer = new byte[BLOCK_SIZE];
+    private byte[] compressed = new byte[BLOCK_SIZE / 2];
+    private int count;
+
+    /**
+     * Crea un BlockDeflaterOutputStream che scrive i blocchi compressi nello stream passato.
+     *
+     * @param out    Stream del File
+     * @param header Se {@code false} l'intestazione non viene scritta, perche' i blocchi vengono aggiunti
+     *               in coda ad un File compresso
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    public BlockDeflaterOutputStream(OutputStream out, boolean header) throws IOException {
+        this.out = out;
+        if (header)
+            out.write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put((byte) VERSION).array());
+    }
+
+    /**
+     * Controlla se il File passato e' stato compresso in blocchi.
+     *
+     * @param file Percorso del File
+     * @return {@code true} se il File inizia con {@link #MAGIC}
+     * @throws IOException Viene lanciata quando avviene un Errore nella lettura
+     */
+    public static boolean isCompressed(Path file) throws IOException {
+        if (!Files.exists(file) || Files.size(file) < HEADER_SIZE)
+            return false;
+        try (InputStream in = Files.newInputStream(file)) {
+            return ByteBuffer.wrap(in.readNBytes(Integer.BYTES)).getInt() == MAGIC;
+        }
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        write(new byte[]{(byte) value}, 0, 1);
+    }
+
+    /**
+     * Aggiunge i byte al blocco corrente; quando il blocco supera {@link #BLOCK_SIZE} le righe complete
+     * vengono compresse e scritte, e la parte dell'ultima riga rimane nel blocco successivo.
+     */
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            int size = Math.min(length, count < BLOCK_SIZE ? BLOCK_SIZE - count : BLOCK_SIZE);
+            if (count + size > buffer.length)
+                buffer = Arrays.copyOf(buffer, Math.max(count + size, buffer.length * 2));
+            System.arraycopy(bytes, offset, buffer, count, size);
+            count += size;
+            offset += size;
+            length -= size;
+            if (count >= BLOCK_SIZE)
+                writeLines();
+        }
+    }
+
+    /**
+     * Comprime e scrive le righe complete del blocco corrente, se ce ne sono.
+     */
+    private void writeLines() throws IOException {
+        int lineEnd = count;
+        while (lineEnd > 0 && buffer[lineEnd - 1] != '\n')
+            lineEnd--;
+        if (lineEnd > 0) {
+            writeBlock(lineEnd);
+            System.arraycopy(buffer, lineEnd, buffer, 0, count - lineEnd);
+            count -= lineEnd;
+        }
+    }
+
+    /**
+     * Svuota lo stream del File; il blocco corrente viene compresso solo quando e' pieno o alla chiusura.
+     */
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Comprime e scrive l'ultimo blocco e chiude lo stream del File.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (count > 0)
+                writeBlock(count);
+            count = 0;
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    /**
+     * Comprime i primi byte del buffer e scrive il blocco, preceduto dalla sua intestazione.
+     */
+    private void writeBlock(int length) throws IOException {
+        deflater.reset();
+        deflater.setInput(buffer, 0, length);
+        deflater.finish();
+        int size = 0;
+        while (!deflater.finished()) {
+            if (size == compressed.length)
+                compressed = Arrays.copyOf(compressed, size * 2);
+            size += deflater.deflate(compressed, size, compressed.length - size);
+        }
+        blockHeader.clear();
+        out.write(blockHeader.putInt(length).putInt(size).array());
+        out.write(compressed, 0, size);
+    }
+}
@@ -0,0 +1,239 @@
+package it.unicam.cs.pa.jbudget.save;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.model.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * La classe implementa l'interfaccia {@link Saver} e salva i dati del Model in un unico File binario
+ * con estensione {@value #EXTENSION}.
+ * Il File inizia con il numero {@link #MAGIC} e la versione del formato, seguiti da una sezione
+ * per ogni chiamata a {@code save}: ogni sezione contiene un byte che la identifica, la sua lunghezza in byte,
+ * la tabella delle stringhe (nomi e descrizioni) e i record. ID e riferimenti sono scritti come varint,
+ * gli importi in centesimi e le date come giorni dall'epoch (vedi {@link BinaryWriter}).
+ * Il File viene scritto in un File temporaneo e sostituisce quello precedente in modo atomico con {@link #commit()}.
+ *
+ * @author Matteo Rondini
+ * @see it.unicam.cs.pa.jbudget.read.FileBinaryImporter
+ */
+public class FileBinarySaver implements Saver {
+    /**
+     * Estensione dei File salvati nel formato binario.
+     */
+    public static final String EXTENSION = ".jbudget";
+    /**
+     * Numero con cui inizia il File ({@code JBDG}).
+     */
+    public static final int MAGIC = 0x4A424447;
+    /**
+     * Versione del formato scritta da questa classe.
+     */
+    public static final int VERSION = 1;
+    /**
+     * Tag della sezione degli Account.
+     */
+    public static final byte ACCOUNT_SECTION = 'A';
+    /**
+     * Tag della sezione delle Categorie.
+     */
+    public static final byte CATEGORY_SECTION = 'C';
+    /**
+     * Tag della sezione dei Movimenti.
+     */
+    public static final byte MOVEMENT_SECTION = 'M';
+    /**
+     * Tag della sezione delle Categorie delle Transazioni.
+     */
+    public static final byte TRANSACTION_SECTION = 'T';
+    private final Controller controller;
+    private final Path path;
+    private final Path temporaryPath;
+    private BinaryWriter writer;
+
+    /**
+     * Crea un FileBinarySaver con il riferimento ad il {@link Controller} e il percorso del File da salvare.
+     *
+     * @param controller Controller dell'Applicazione
+     * @param filePath   Percorso del File dove salvare i dati
+     */
+    public FileBinarySaver(Controller controller, String filePath) {
+        this.controller = controller;
+        this.path = Paths.get(filePath);
+        this.temporaryPath = Paths.get(filePath + AtomicFileTxtSaver.TEMP_SUFFIX);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveAccount() throws IOException {
+        writeAccounts(writer(), controller.getAccounts());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveCategory() throws IOException {
+        writeCategories(writer(), controller.getCategory());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveMovement() throws IOException {
+        StringTable strings = new StringTable();
+        int count = 0;
+        for (Transaction transaction : controller.getTransactions())
+            for (Movement movement : transaction.movements()) {
+                strings.add(movement.getDescription());
+                count++;
+            }
+        BinaryWriter out = beginSection(MOVEMENT_SECTION, strings);
+        out.writeVarInt(count);
+        for (Transaction transaction : controller.getTransactions())
+            for (Movement movement : transaction.movements()) {
+                out.writeVarInt(movement.getID());
+                out.writeVarInt(movement.type().ordinal());
+                out.writeVarLong(movement.amountInCents());
+                out.writeVarLong(movement.getEpochDay());
+                out.writeVarInt(strings.indexOf(movement.getDescription()));
+                out.writeVarInt(transaction.getID());
+                out.writeVarInt(movement.getAccount().getID());
+                writeCategoryIDs(out, movement.categories());
+            }
+        out.endSection();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveTransactionCategory() throws IOException {
+        int count = 0;
+        for (Transaction transaction : controller.getTransactions())
+            if (!transaction.categories().isEmpty())
+                count++;
+        BinaryWriter out = beginSection(TRANSACTION_SECTION, new StringTable());
+        out.writeVarInt(count);
+        for (Transaction transaction : controller.getTransactions())
+            if (!transaction.categories().isEmpty()) {
+                out.writeVarInt(transaction.getID());
+                writeCategoryIDs(out, transaction.categories());
+            }
+        out.endSection();
+    }
+
+    /**
+     * Sincronizza sul disco il File temporaneo e lo sposta in modo atomico al posto del File precedente.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nel salvataggio
+     */
+    @Override
+    public void commit() throws IOException {
+        try (BinaryWriter out = writer()) {
+            out.force();
+        } finally {
+            writer = null;
+        }
+        Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Chiude il File temporaneo, se e' stato aperto, e lo elimina.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nella chiusura o nell'eliminazione del File
+     */
+    @Override
+    public void abort() throws IOException {
+        try {
+            if (writer != null)
+                writer.close();
+        } finally {
+            writer = null;
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    private BinaryWriter beginSection(byte tag, StringTable strings) throws IOException {
+        BinaryWriter out = writer();
+        out.beginSection(tag);
+        strings.write(out);
+        return out;
+    }
+
+    /**
+     * Ritorna il BinaryWriter del File temporaneo, creandolo e scrivendo l'intestazione alla prima chiamata.
+     */
+    private BinaryWriter writer() throws IOException {
+        if (writer == null) {
+            writer = new BinaryWriter(temporaryPath);
+            writer.writeInt(MAGIC);
+            writer.writeVarInt(VERSION);
+        }
+        return writer;
+    }
+
+    /**
+     * Scrive la sezione degli {@link Account}, con la tabella dei nomi e delle descrizioni.
+     *
+     * @param out      BinaryWriter del File
+     * @param accounts Account da scrivere
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    static void writeAccounts(BinaryWriter out, List<Account> accounts) throws IOException {
+        StringTable strings = new StringTable();
+        for (Account account : accounts) {
+            strings.add(account.getName());
+            strings.add(account.getDescription());
+        }
+        out.beginSection(ACCOUNT_SECTION);
+        strings.write(out);
+        out.writeVarInt(accounts.size());
+        for (Account account : accounts) {
+            out.writeVarInt(account.getID());
+            out.writeVarInt(account.getType().ordinal());
+            out.writeVarInt(strings.indexOf(account.getName()));
+            out.writeVarInt(strings.indexOf(account.getDescription()));
+            out.writeVarLong(Money.toCents(account.getOpeningBalance()));
+        }
+        out.endSection();
+    }
+
+    /**
+     * Scrive la sezione delle {@link Category}, con la tabella dei nomi e delle descrizioni.
+     *
+     * @param out        BinaryWriter del File
+     * @param categories Categorie da scrivere
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    static void writeCategories(BinaryWriter out, List<Category> categories) throws IOException {
+        StringTable strings = new StringTable();
+        for (Category category : categories) {
+            strings.add(category.getName());
+            strings.add(category.getDescription());
+        }
+        out.beginSection(CATEGORY_SECTION);
+        strings.write(out);
+        out.writeVarInt(categories.size());
+        for (Category category : categories) {
+            out.writeVarInt(category.getID());
+            out.writeVarInt(strings.indexOf(category.getName()));
+            out.writeVarInt(strings.indexOf(category.getDescription()));
+        }
+        out.endSection();
+    }
+
+    private void writeCategoryIDs(BinaryWriter out, List<Category> categories) throws IOException {
+        out.writeVarInt(categories.size());
+        for (Category category : categories)
+            out.writeVarInt(category.getID());
+    }
+}
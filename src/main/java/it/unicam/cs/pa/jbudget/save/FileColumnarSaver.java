@@ -0,0 +1,302 @@
+package it.unicam.cs.pa.jbudget.save;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.model.Category;
+import it.unicam.cs.pa.jbudget.model.Movement;
+import it.unicam.cs.pa.jbudget.model.Transaction;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * La classe implementa l'interfaccia {@link Saver} ed esporta i dati del Model in un File colonnare
+ * con estensione {@value #EXTENSION}, pensato per essere letto da strumenti di analisi.
+ * Il File inizia con il numero {@link #MAGIC} e la versione del formato. Account e Categorie vengono scritti
+ * come nel formato binario (vedi {@link FileBinarySaver}); i Movimenti e le Categorie delle Transazioni
+ * vengono scritti in gruppi di al piu' {@link #GROUP_ROWS} righe. Ogni gruppo e' una sezione che contiene
+ * il numero di righe, il numero di colonne e una sezione per ogni colonna: la sezione contiene
+ * il valore minimo e il valore massimo della colonna nel gruppo e poi i valori, come varint.
+ * Chi legge il File puo' quindi saltare un intero gruppo, o le colonne che non gli servono e i gruppi
+ * i cui valori non rientrano nell'intervallo cercato, usando solo la lunghezza delle sezioni.
+ * La colonna delle Categorie contiene per ogni riga il numero di Categorie seguito dai loro ID; il minimo
+ * e il massimo si riferiscono agli ID, e sono {@code 0} e {@code -1} se nel gruppo non ci sono Categorie.
+ * I Movimenti vengono letti direttamente dal Model, conservando in memoria un solo gruppo alla volta.
+ * Il File viene scritto in un File temporaneo e sostituisce quello precedente in modo atomico con {@link #commit()}.
+ *
+ * @author Matteo Rondini
+ * @see FileBinarySaver
+ */
+public class FileColumnarSaver implements Saver {
+    /**
+     * Estensione dei File esportati nel formato colonnare.
+     */
+    public static final String EXTENSION = ".jbcol";
+    /**
+     * Numero con cui inizia il File ({@code JBCL}).
+     */
+    public static final int MAGIC = 0x4A42434C;
+    /**
+     * Versione del formato scritta da questa classe.
+     */
+    public static final int VERSION = 1;
+    /**
+     * Numero massimo di righe di un gruppo.
+     */
+    public static final int GROUP_ROWS = 1 << 16;
+    /**
+     * Tag della sezione di un gruppo di Movimenti.
+     */
+    public static final byte MOVEMENT_GROUP = 'M';
+    /**
+     * Tag della sezione di un gruppo di Transazioni con le loro Categorie.
+     */
+    public static final byte TRANSACTION_GROUP = 'T';
+    /**
+     * Tag della colonna degli ID dei Movimenti o delle Transazioni.
+     */
+    public static final byte ID_COLUMN = 'i';
+    /**
+     * Tag della colonna dei tipi dei Movimenti.
+     */
+    public static final byte TYPE_COLUMN = 'y';
+    /**
+     * Tag della colonna degli importi dei Movimenti, in centesimi.
+     */
+    public static final byte AMOUNT_COLUMN = 'a';
+    /**
+     * Tag della colonna delle date dei Movimenti, in giorni dall'epoch.
+     */
+    public static final byte DAY_COLUMN = 'd';
+    /**
+     * Tag della colonna degli ID degli Account dei Movimenti.
+     */
+    public static final byte ACCOUNT_COLUMN = 'c';
+    /**
+     * Tag della colonna degli ID delle Transazioni dei Movimenti.
+     */
+    public static final byte TRANSACTION_COLUMN = 't';
+    /**
+     * Tag della colonna delle Categorie.
+     */
+    public static final byte CATEGORY_COLUMN = 'g';
+    private final Controller controller;
+    private final Path path;
+    private final Path temporaryPath;
+    private BinaryWriter writer;
+
+    /**
+     * Crea un FileColumnarSaver con il riferimento ad il {@link Controller} e il percorso del File da salvare.
+     *
+     * @param controller Controller dell'Applicazione
+     * @param filePath   Percorso del File dove esportare i dati
+     */
+    public FileColumnarSaver(Controller controller, String filePath) {
+        this.controller = controller;
+        this.path = Paths.get(filePath);
+        this.temporaryPath = Paths.get(filePath + AtomicFileTxtSaver.TEMP_SUFFIX);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveAccount() throws IOException {
+        FileBinarySaver.writeAccounts(writer(), controller.getAccounts());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveCategory() throws IOException {
+        FileBinarySaver.writeCategories(writer(), controller.getCategory());
+    }
+
+    /**
+     * Esporta i {@link Movement} in gruppi di colonne, nell'ordine delle loro Transazioni.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nel salvataggio
+     */
+    @Override
+    public void saveMovement() throws IOException {
+        BinaryWriter out = writer();
+        Group group = new Group(6);
+        for (Transaction transaction : controller.getTransactions())
+            for (Movement movement : transaction.movements()) {
+                group.add(movement.getID(), movement.type().ordinal(), movement.amountInCents(),
+                        movement.getEpochDay(), movement.getAccount().getID(), transaction.getID());
+                group.addCategories(movement.categories());
+                if (group.rows == GROUP_ROWS)
+                    group.write(out, MOVEMENT_GROUP, ID_COLUMN, TYPE_COLUMN, AMOUNT_COLUMN, DAY_COLUMN,
+                            ACCOUNT_COLUMN, TRANSACTION_COLUMN);
+            }
+        if (group.rows > 0)
+            group.write(out, MOVEMENT_GROUP, ID_COLUMN, TYPE_COLUMN, AMOUNT_COLUMN, DAY_COLUMN,
+                    ACCOUNT_COLUMN, TRANSACTION_COLUMN);
+    }
+
+    /**
+     * Esporta le Categorie delle {@link Transaction} che ne hanno almeno una, in gruppi di colonne.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nel salvataggio
+     */
+    @Override
+    public void saveTransactionCategory() throws IOException {
+        BinaryWriter out = writer();
+        Group group = new Group(1);
+        for (Transaction transaction : controller.getTransactions())
+            if (!transaction.categories().isEmpty()) {
+                group.add(transaction.getID());
+                group.addCategories(transaction.categories());
+                if (group.rows == GROUP_ROWS)
+                    group.write(out, TRANSACTION_GROUP, ID_COLUMN);
+            }
+        if (group.rows > 0)
+            group.write(out, TRANSACTION_GROUP, ID_COLUMN);
+    }
+
+    /**
+     * Sincronizza sul disco il File temporaneo e lo sposta in modo atomico al posto del File precedente.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nel salvataggio
+     */
+    @Override
+    public void commit() throws IOException {
+        try (BinaryWriter out = writer()) {
+            out.force();
+        } finally {
+            writer = null;
+        }
+        Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Chiude il File temporaneo, se e' stato aperto, e lo elimina.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nella chiusura o nell'eliminazione del File
+     */
+    @Override
+    public void abort() throws IOException {
+        try {
+            if (writer != null)
+                writer.close();
+        } finally {
+            writer = null;
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    /**
+     * Ritorna il BinaryWriter del File temporaneo, creandolo e scrivendo l'intestazione alla prima chiamata.
+     */
+    private BinaryWriter writer() throws IOException {
+        if (writer == null) {
+            writer = new BinaryWriter(temporaryPath);
+            writer.writeInt(MAGIC);
+            writer.writeVarInt(VERSION);
+        }
+        return writer;
+    }
+
+    /**
+     * Righe del gruppo in scrittura, conservate per colonna in array di primitivi riutilizzati
+     * da un gruppo all'altro.
+     */
+    private static class Group {
+        private final long[][] columns;
+        private int[] categoryCounts = new int[GROUP_ROWS];
+        private int[] categoryIDs = new int[GROUP_ROWS];
+        private int categories;
+        private int rows;
+
+        Group(int columns) {
+            this.columns = new long[columns][GROUP_ROWS];
+        }
+
+        /**
+         * Aggiunge l'ID della riga, per i gruppi con una sola colonna.
+         */
+        void add(long ID) {
+            columns[0][rows] = ID;
+        }
+
+        /**
+         * Aggiunge i valori della riga di un Movimento, senza creare un array per ogni riga.
+         */
+        void add(long ID, long type, long amount, long day, long account, long transaction) {
+            columns[0][rows] = ID;
+            columns[1][rows] = type;
+            columns[2][rows] = amount;
+            columns[3][rows] = day;
+            columns[4][rows] = account;
+            columns[5][rows] = transaction;
+        }
+
+        /**
+         * Aggiunge le Categorie della riga e conclude la riga.
+         */
+        void addCategories(List<Category> rowCategories) {
+            if (categories + rowCategories.size() > categoryIDs.length)
+                categoryIDs = Arrays.copyOf(categoryIDs,
+                        Math.max(categories + rowCategories.size(), categoryIDs.length * 2));
+            for (Category category : rowCategories)
+                categoryIDs[categories++] = category.getID();
+            categoryCounts[rows++] = rowCategories.size();
+        }
+
+        /**
+         * Scrive il gruppo, con una sezione per ogni colonna e per le Categorie, e lo svuota.
+         * La lunghezza del gruppo comprende le sezioni delle colonne.
+         */
+        void write(BinaryWriter out, byte tag, byte... columnTags) throws IOException {
+            long start = out.beginSection(tag);
+            out.writeVarInt(rows);
+            out.writeVarInt(columns.length + 1);
+            for (int i = 0; i < columns.length; i++)
+                writeColumn(out, columnTags[i], columns[i]);
+            writeCategories(out);
+            out.endSection(start);
+            rows = 0;
+            categories = 0;
+        }
+
+        private void writeColumn(BinaryWriter out, byte tag, long[] values) throws IOException {
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < rows; i++) {
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+            out.beginSection(tag);
+            out.writeVarLong(min);
+            out.writeVarLong(max);
+            for (int i = 0; i < rows; i++)
+                out.writeVarLong(values[i]);
+            out.endSection();
+        }
+
+        private void writeCategories(BinaryWriter out) throws IOException {
+            long min = 0;
+            long max = -1;
+            for (int i = 0; i < categories; i++) {
+                min = i == 0 ? categoryIDs[i] : Math.min(min, categoryIDs[i]);
+                max = Math.max(max, categoryIDs[i]);
+            }
+            out.beginSection(CATEGORY_COLUMN);
+            out.writeVarLong(min);
+            out.writeVarLong(max);
+            int category = 0;
+            for (int i = 0; i < rows; i++) {
+                out.writeVarInt(categoryCounts[i]);
+                for (int j = 0; j < categoryCounts[i]; j++)
+                    out.writeVarInt(categoryIDs[category++]);
+            }
+            out.endSection();
+        }
+    }
+}
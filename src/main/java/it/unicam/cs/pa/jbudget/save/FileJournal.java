@@ -0,0 +1,315 @@
+package it.unicam.cs.pa.jbudget.save;
+
+import it.unicam.cs.pa.jbudget.model.*;
+import it.unicam.cs.pa.jbudget.read.FileFormatException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * La classe implementa l'interfaccia {@link Journal} e registra le modifiche in un File binario.
+ * Il File inizia con il numero {@link #MAGIC} e la versione del formato; ogni modifica e' un record
+ * preceduto dalla sua lunghezza in byte, che inizia con un byte che ne indica il tipo seguito dagli ID
+ * (varint), dagli importi in centesimi e dai giorni dall'epoch, come nel formato di {@link FileBinarySaver}.
+ * Ogni record viene scritto nel File appena registrato; il File viene sincronizzato sul disco
+ * alla chiusura e ad ogni compattazione. Un record scritto solo in parte, ad esempio per un'interruzione
+ * dell'Applicazione, viene riconosciuto dalla sua lunghezza e scartato quando il Journal viene riaperto o riletto.
+ *
+ * @author Matteo Rondini
+ * @see it.unicam.cs.pa.jbudget.read.JournalReplayer
+ */
+public class FileJournal implements Journal {
+    /**
+     * Nome del File del Journal dei dati salvati in una Cartella.
+     */
+    public static final String FILE_NAME = "Journal.log";
+    /**
+     * Estensione aggiunta al percorso di un File binario per ottenere il suo Journal.
+     */
+    public static final String EXTENSION = ".journal";
+    /**
+     * Numero con cui inizia il File ({@code JBJL}).
+     */
+    public static final int MAGIC = 0x4A424A4C;
+    /**
+     * Versione del formato scritta da questa classe.
+     */
+    public static final int VERSION = 1;
+    /**
+     * Dimensione in byte dell'intestazione del File.
+     */
+    public static final int HEADER_SIZE = Integer.BYTES + 1;
+    /**
+     * Tipo del record della creazione di un Account.
+     */
+    public static final byte ADD_ACCOUNT = 'A';
+    /**
+     * Tipo del record dell'eliminazione di un Account.
+     */
+    public static final byte REMOVE_ACCOUNT = 'a';
+    /**
+     * Tipo del record della creazione di una Categoria.
+     */
+    public static final byte ADD_CATEGORY = 'C';
+    /**
+     * Tipo del record dell'eliminazione di una Categoria.
+     */
+    public static final byte REMOVE_CATEGORY = 'c';
+    /**
+     * Tipo del record della creazione di un Movimento.
+     */
+    public static final byte ADD_MOVEMENT = 'M';
+    /**
+     * Tipo del record dell'eliminazione di un Movimento.
+     */
+    public static final byte REMOVE_MOVEMENT = 'm';
+    /**
+     * Tipo del record dell'aggiunta di una Categoria ad un Movimento.
+     */
+    public static final byte ADD_MOVEMENT_CATEGORY = 'G';
+    /**
+     * Tipo del record dell'eliminazione di una Categoria da un Movimento.
+     */
+    public static final byte REMOVE_MOVEMENT_CATEGORY = 'g';
+    /**
+     * Tipo del record dell'aggiunta di una Categoria ad una Transazione.
+     */
+    public static final byte ADD_TRANSACTION_CATEGORY = 'T';
+    /**
+     * Tipo del record dell'eliminazione di una Categoria da una Transazione.
+     */
+    public static final byte REMOVE_TRANSACTION_CATEGORY = 't';
+    /**
+     * Tipo del record dell'eliminazione di una Transazione.
+     */
+    public static final byte REMOVE_TRANSACTION = 'x';
+    private final BinaryWriter writer;
+    private int size;
+
+    /**
+     * Crea un FileJournal che registra le modifiche in coda al File passato, creandolo se non esiste.
+     * Se il File esiste vengono contati i suoi record e viene eliminato un eventuale record scritto solo in parte.
+     *
+     * @param filePath Percorso del File del Journal
+     * @throws IOException Viene lanciata quando il File non puo' essere aperto o non e' un Journal
+     */
+    public FileJournal(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        if (Files.exists(path))
+            recover(path);
+        writer = new BinaryWriter(path, true);
+        if (writer.size() == 0) {
+            writer.writeInt(MAGIC);
+            writer.writeVarInt(VERSION);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Controlla l'intestazione del File, conta i record completi e tronca il File dopo l'ultimo di essi.
+     */
+    private void recover(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long fileSize = channel.size();
+            long position = 0;
+            if (fileSize >= HEADER_SIZE) {
+                ByteBuffer header = read(channel, HEADER_SIZE, 0);
+                if (header.getInt(0) != MAGIC || header.get(Integer.BYTES) != VERSION)
+                    throw new FileFormatException(FileFormatException.E12_NOT_A_JBUDGET_FILE + path);
+                position = HEADER_SIZE;
+                while (fileSize - position >= Integer.BYTES) {
+                    int length = read(channel, Integer.BYTES, position).getInt(0);
+                    if (length < 1 || length > fileSize - position - Integer.BYTES)
+                        break;
+                    position += Integer.BYTES + length;
+                    size++;
+                }
+            }
+            if (position < fileSize) {
+                channel.truncate(position);
+                channel.force(true);
+            }
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, int length, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining())
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new EOFException(FileFormatException.E11_UNEXPECTED_END + "record del Journal");
+        return buffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAccount(Account account) throws IOException {
+        writer.beginRecord();
+        writer.writeByte(ADD_ACCOUNT);
+        writer.writeVarInt(account.getID());
+        writer.writeVarInt(account.getType().ordinal());
+        writer.writeString(account.getName());
+        writer.writeString(account.getDescription());
+        writer.writeVarLong(Money.toCents(account.getOpeningBalance()));
+        endRecord();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addCategory(Category category) throws IOException {
+        writer.beginRecord();
+        writer.writeByte(ADD_CATEGORY);
+        writer.writeVarInt(category.getID());
+        writer.writeString(category.getName());
+        writer.writeString(category.getDescription());
+        endRecord();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addCategory(Movement movement, Category category) throws IOException {
+        writeIDs(ADD_MOVEMENT_CATEGORY, movement.getID(), category.getID());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addCategory(Transaction transaction, Category category) throws IOException {
+        writeIDs(ADD_TRANSACTION_CATEGORY, transaction.getID(), category.getID());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addMovement(Movement movement) throws IOException {
+        writer.beginRecord();
+        writer.writeByte(ADD_MOVEMENT);
+        writer.writeVarInt(movement.getID());
+        writer.writeVarInt(movement.type().ordinal());
+        writer.writeVarLong(movement.amountInCents());
+        writer.writeVarLong(movement.getEpochDay());
+        writer.writeString(movement.getDescription());
+        writer.writeVarInt(movement.getTransaction().getID());
+        writer.writeVarInt(movement.getAccount().getID());
+        List<Category> categories = movement.categories();
+        writer.writeVarInt(categories.size());
+        for (Category category : categories)
+            writer.writeVarInt(category.getID());
+        endRecord();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAccount(Account account) throws IOException {
+        writeIDs(REMOVE_ACCOUNT, account.getID());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeCategory(Category category) throws IOException {
+        writeIDs(REMOVE_CATEGORY, category.getID());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeCategory(Movement movement, Category category) throws IOException {
+        writeIDs(REMOVE_MOVEMENT_CATEGORY, movement.getID(), category.getID());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeCategory(Transaction transaction, Category category) throws IOException {
+        writeIDs(REMOVE_TRANSACTION_CATEGORY, transaction.getID(), category.getID());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeMovement(Movement movement) throws IOException {
+        writeIDs(REMOVE_MOVEMENT, movement.getID());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeTransaction(Transaction transaction) throws IOException {
+        writeIDs(REMOVE_TRANSACTION, transaction.getID());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tronca il File dopo l'intestazione e lo sincronizza sul disco.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    @Override
+    public void reset() throws IOException {
+        writer.truncate(HEADER_SIZE);
+        size = 0;
+    }
+
+    /**
+     * Sincronizza il File sul disco e lo chiude.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.force();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Scrive un record formato dal tipo passato e da una lista di ID.
+     */
+    private void writeIDs(byte type, int... IDs) throws IOException {
+        writer.beginRecord();
+        writer.writeByte(type);
+        for (int ID : IDs)
+            writer.writeVarInt(ID);
+        endRecord();
+    }
+
+    /**
+     * Conclude il record e lo scrive nel File, senza sincronizzarlo sul disco.
+     */
+    private void endRecord() throws IOException {
+        writer.endRecord();
+        writer.flush();
+        size++;
+    }
+}
@@ -3,24 +3,47 @@ package it.unicam.cs.pa.jbudget.save;
 import it.unicam.cs.pa.jbudget.controller.Controller;
 import it.unicam.cs.pa.jbudget.model.*;
 
-import java.io.*;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 /**
  * La classe implementa l'interfaccia {@link Saver} ed ha la responsabilita' di gestire
  * il salvataggio dei dati del Model in vari file con estensione {@code txt}.
+ * Ogni riga viene composta in uno {@link StringBuilder} riutilizzato per tutte le righe, con importi e date
+ * scritti direttamente in cifre, e copiata nel buffer del File senza creare stringhe intermedie;
+ * la memoria usata durante il salvataggio non dipende quindi dalla dimensione del Ledger.
+ * I File possono essere compressi in blocchi indipendenti con un {@link BlockDeflaterOutputStream}.
  *
  * @author Matteo Rondini
  * @see it.unicam.cs.pa.jbudget.model
  */
 public class FileTxtSaver implements Saver {
+    /**
+     * Dimensione in caratteri del buffer di scrittura dei File.
+     */
+    static final int BUFFER_SIZE = 1 << 16;
+    static final String ACCOUNT_FILE = "Account.txt";
+    static final String MOVEMENT_FILE = "Movement.txt";
+    static final String CATEGORY_FILE = "Category.txt";
+    static final String TRANSACTION_FILE = "Transaction.txt";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
     final Controller controller;
     final String accountPath;
     final String movementPath;
     final String categoryPath;
     final String transactionPath;
+    private final boolean compressed;
+    private final StringBuilder line = new StringBuilder(256);
+    private char[] lineChars = new char[256];
 
     /**
      * Crea un FileTxtSaver con il riferimento ad il {@link Controller} e il percorso
@@ -30,116 +53,167 @@ public class FileTxtSaver implements Saver {
      * @param directory  Percorso dove salvare i dati
      */
     public FileTxtSaver(Controller controller, String directory) {
-        this.controller = controller;
-        accountPath = directory + "/Account.txt";
-        movementPath = directory + "/Movement.txt";
-        categoryPath = directory + "/Category.txt";
-        transactionPath = directory + "/Transaction.txt";
+        this(controller, directory, false);
     }
 
-    private String accountInformation(Account account) {
-        return account.getID() + ";" + account.getType() + ";" + account.getName() + ";"
-                + account.getDescription() + ";" + account.getOpeningBalance();
+    /**
+     * Crea un FileTxtSaver che salva i dati nella Cartella passata, comprimendo i File se richiesto.
+     *
+     * @param controller Controller dell'Applicazione
+     * @param directory  Percorso dove salvare i dati
+     * @param compressed Se {@code true} i File vengono compressi in blocchi
+     */
+    public FileTxtSaver(Controller controller, String directory, boolean compressed) {
+        this(controller, directory, "", compressed);
     }
 
     /**
-     * Genera una stringa che contiene le Categorie del Movimento passato.
+     * Crea un FileTxtSaver che aggiunge il suffisso passato al nome di ogni File.
+     *
+     * @param controller Controller dell'Applicazione
+     * @param directory  Percorso dove salvare i dati
+     * @param suffix     Suffisso da aggiungere al nome dei File
+     * @param compressed Se {@code true} i File vengono compressi in blocchi
      */
-    private String categoryInformation(Movement movement) {
-        String toReturn = "";
-        for (Category category : movement.categories())
-            toReturn = toReturn.concat(category.getID() + "-");
-        return toReturn;
+    FileTxtSaver(Controller controller, String directory, String suffix, boolean compressed) {
+        this.controller = controller;
+        this.compressed = compressed;
+        accountPath = directory + "/" + ACCOUNT_FILE + suffix;
+        movementPath = directory + "/" + MOVEMENT_FILE + suffix;
+        categoryPath = directory + "/" + CATEGORY_FILE + suffix;
+        transactionPath = directory + "/" + TRANSACTION_FILE + suffix;
+    }
+
+    private StringBuilder accountInformation(Account account) {
+        line.setLength(0);
+        line.append(account.getID()).append(';').append(account.getType()).append(';')
+                .append(account.getName()).append(';').append(account.getDescription()).append(';');
+        return Money.append(line, Money.toCents(account.getOpeningBalance()));
     }
 
     /**
-     * Genera una stringa che contiene le informazioni di una Categoria.
+     * Aggiunge alla riga gli ID delle Categorie passate, ognuno seguito da {@code -}.
      */
-    private String categoryInformation(Category category) {
-        return category.getID() + ";" + category.getDescription() + ";" + category.getName();
+    private StringBuilder categoryInformation(List<Category> categories) {
+        for (Category category : categories)
+            line.append(category.getID()).append('-');
+        return line;
     }
 
     /**
-     * Genera una stringa che contiene le Categorie della Transazione passata.
+     * Genera la riga che contiene le informazioni di una Categoria.
      */
-    private String categoryInformation(Transaction transaction) {
-        String toReturn = "";
-        for (Category category : transaction.categories())
-            toReturn = toReturn.concat(category.getID() + "-");
-        return toReturn;
+    private StringBuilder categoryInformation(Category category) {
+        line.setLength(0);
+        return line.append(category.getID()).append(';').append(category.getDescription()).append(';')
+                .append(category.getName());
     }
 
-    private List<String> getAccountsToSave() {
-        List<String> accountToSave = new ArrayList<>();
-        controller.getAccounts().forEach(account -> accountToSave.add(accountInformation(account)));
-        return accountToSave;
+    private StringBuilder movementInformation(Movement movement) {
+        line.setLength(0);
+        line.append(movement.getID()).append(';').append(movement.type()).append(';');
+        Money.append(line, movement.amountInCents()).append(';');
+        Days.append(line, movement.getEpochDay()).append(';');
+        line.append(movement.getDescription()).append(';').append(movement.getTransaction().getID()).append(';')
+                .append(movement.getAccount().getID()).append(';');
+        return categoryInformation(movement.categories());
     }
 
-    private List<String> getCategoriesToSave() {
-        List<String> categoryToSave = new ArrayList<>();
-        controller.getCategory().forEach(category -> categoryToSave.add(categoryInformation(category)));
-        return categoryToSave;
+    /**
+     * Genera la riga che contiene le Categorie della Transazione passata.
+     */
+    private StringBuilder transactionInformation(Transaction transaction) {
+        line.setLength(0);
+        line.append(transaction.getID()).append(';');
+        return categoryInformation(transaction.categories());
     }
 
-    private List<String> getMovementsToSave() {
-        List<String> movementToSave = new ArrayList<>();
-        controller.getMovements().forEach(movement -> movementToSave.add(movementInformation(movement)));
-        return movementToSave;
+    private Writer openFile(String path) throws IOException {
+        OutputStream file = Files.newOutputStream(Paths.get(path));
+        return openWriter(compressed ? new BlockDeflaterOutputStream(file, true) : file);
     }
 
-    private List<String> getTransactionToSave() {
-        List<String> transactionToSave = new ArrayList<>();
-        controller.getTransactions().forEach(transaction -> {
-            if (!transaction.categories().isEmpty())
-                transactionToSave.add(transaction.getID() + ";" + categoryInformation(transaction));
-        });
-        return transactionToSave;
+    /**
+     * Apre il File per aggiungere righe in coda, nello stesso formato delle righe gia' presenti:
+     * un File compresso resta compresso anche se il FileTxtSaver non comprime.
+     */
+    private Writer appendFile(String path) throws IOException {
+        Path file = Paths.get(path);
+        boolean empty = !Files.exists(file) || Files.size(file) == 0;
+        boolean deflate = empty ? compressed : BlockDeflaterOutputStream.isCompressed(file);
+        OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return openWriter(deflate ? new BlockDeflaterOutputStream(out, empty) : out);
     }
 
-    private String movementInformation(Movement movement) {
-        return movement.getID() + ";" + movement.type() + ";" + movement.amount() + ";" +
-                new SimpleDateFormat("yyyy-MM-dd").format(movement.getDate()) + ";"
-                + movement.getDescription() + ";" + movement.getTransaction().getID() + ";"
-                + movement.getAccount().getID() + ";" + categoryInformation(movement);
+    private Writer openWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()), BUFFER_SIZE);
     }
 
-    private void save(List<String> stringToSave, String path) throws IOException {
-        BufferedWriter fileWriter = new BufferedWriter(new FileWriter(path));
-        fileWriter.write("");
-        for (String info : stringToSave) {
-            fileWriter.append(info);
-            fileWriter.newLine();
-        }
-        fileWriter.flush();
-        fileWriter.close();
+    /**
+     * Scrive la riga nel File, seguita dal separatore di riga del sistema.
+     */
+    private void writeLine(Writer fileWriter, StringBuilder info) throws IOException {
+        info.append(LINE_SEPARATOR);
+        int length = info.length();
+        if (lineChars.length < length)
+            lineChars = new char[Math.max(length, lineChars.length * 2)];
+        info.getChars(0, length, lineChars, 0);
+        fileWriter.write(lineChars, 0, length);
     }
 
     /**
      * {@inheritDoc}
      */
     public void saveAccount() throws IOException {
-        save(getAccountsToSave(), accountPath);
+        try (Writer fileWriter = openFile(accountPath)) {
+            for (Account account : controller.getAccounts())
+                writeLine(fileWriter, accountInformation(account));
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     public void saveCategory() throws IOException {
-        save(getCategoriesToSave(), categoryPath);
+        try (Writer fileWriter = openFile(categoryPath)) {
+            for (Category category : controller.getCategory())
+                writeLine(fileWriter, categoryInformation(category));
+        }
     }
 
     /**
      * {@inheritDoc}
+     * I Movimenti vengono letti direttamente dalle Transazioni, senza costruire la lista di tutti i Movimenti.
      */
     public void saveMovement() throws IOException {
-        save(getMovementsToSave(), movementPath);
+        try (Writer fileWriter = openFile(movementPath)) {
+            for (Transaction transaction : controller.getTransactions())
+                for (Movement movement : transaction.movements())
+                    writeLine(fileWriter, movementInformation(movement));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Le righe dei Movimenti vengono aggiunte alla fine del File, che viene creato se non esiste.
+     */
+    @Override
+    public void appendMovement(List<Movement> movements) throws IOException {
+        try (Writer fileWriter = appendFile(movementPath)) {
+            for (Movement movement : movements)
+                writeLine(fileWriter, movementInformation(movement));
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     public void saveTransactionCategory() throws IOException {
-        save(getTransactionToSave(), transactionPath);
+        try (Writer fileWriter = openFile(transactionPath)) {
+            for (Transaction transaction : controller.getTransactions())
+                if (!transaction.categories().isEmpty())
+                    writeLine(fileWriter, transactionInformation(transaction));
+        }
     }
 
 }
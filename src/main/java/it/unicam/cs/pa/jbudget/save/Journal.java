@@ -0,0 +1,128 @@
+package it.unicam.cs.pa.jbudget.save;
+
+import it.unicam.cs.pa.jbudget.model.Account;
+import it.unicam.cs.pa.jbudget.model.Category;
+import it.unicam.cs.pa.jbudget.model.Movement;
+import it.unicam.cs.pa.jbudget.model.Transaction;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Questa interfaccia e' implementata dalle classi che hanno la responsabilita' di registrare
+ * le modifiche fatte ai dati dopo l'ultimo salvataggio, una alla volta e in coda a quelle precedenti.
+ * Il costo di ogni registrazione dipende solo dalla modifica e non dalla dimensione del Ledger:
+ * i dati completi vengono riscritti solo quando il Journal viene compattato in un nuovo salvataggio
+ * (vedi {@link #reset()}).
+ * Le implementazioni possono sincronizzare i record sul disco solo alla chiusura e ad ogni compattazione.
+ *
+ * @author Matteo Rondini
+ * @see it.unicam.cs.pa.jbudget.read.JournalReplayer
+ */
+public interface Journal extends Closeable {
+    /**
+     * Registra la creazione di un {@link Account}.
+     *
+     * @param account Account creato
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void addAccount(Account account) throws IOException;
+
+    /**
+     * Registra la creazione di una {@link Category}.
+     *
+     * @param category Categoria creata
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void addCategory(Category category) throws IOException;
+
+    /**
+     * Registra l'aggiunta di una {@link Category} ad un {@link Movement}.
+     *
+     * @param movement Movimento a cui e' stata aggiunta la Categoria
+     * @param category Categoria aggiunta
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void addCategory(Movement movement, Category category) throws IOException;
+
+    /**
+     * Registra l'aggiunta di una {@link Category} ad una {@link Transaction}.
+     *
+     * @param transaction Transazione a cui e' stata aggiunta la Categoria
+     * @param category    Categoria aggiunta
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void addCategory(Transaction transaction, Category category) throws IOException;
+
+    /**
+     * Registra la creazione di un {@link Movement}.
+     *
+     * @param movement Movimento creato
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void addMovement(Movement movement) throws IOException;
+
+    /**
+     * Registra l'eliminazione di un {@link Account}.
+     *
+     * @param account Account eliminato
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void removeAccount(Account account) throws IOException;
+
+    /**
+     * Registra l'eliminazione di una {@link Category}.
+     *
+     * @param category Categoria eliminata
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void removeCategory(Category category) throws IOException;
+
+    /**
+     * Registra l'eliminazione di una {@link Category} da un {@link Movement}.
+     *
+     * @param movement Movimento da cui e' stata eliminata la Categoria
+     * @param category Categoria eliminata
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void removeCategory(Movement movement, Category category) throws IOException;
+
+    /**
+     * Registra l'eliminazione di una {@link Category} da una {@link Transaction}.
+     *
+     * @param transaction Transazione da cui e' stata eliminata la Categoria
+     * @param category    Categoria eliminata
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void removeCategory(Transaction transaction, Category category) throws IOException;
+
+    /**
+     * Registra l'eliminazione di un {@link Movement}.
+     *
+     * @param movement Movimento eliminato
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void removeMovement(Movement movement) throws IOException;
+
+    /**
+     * Registra l'eliminazione di una {@link Transaction}.
+     *
+     * @param transaction Transazione eliminata
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void removeTransaction(Transaction transaction) throws IOException;
+
+    /**
+     * Ritorna il numero di modifiche registrate nel Journal dall'ultima compattazione.
+     *
+     * @return il numero di modifiche registrate
+     */
+    int size();
+
+    /**
+     * Elimina tutte le modifiche registrate, dopo che i dati sono stati salvati.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void reset() throws IOException;
+}
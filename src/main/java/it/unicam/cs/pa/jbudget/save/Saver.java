@@ -6,6 +6,7 @@ import it.unicam.cs.pa.jbudget.model.Movement;
 import it.unicam.cs.pa.jbudget.model.Transaction;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Questa interfaccia e' implementata dalle classi che hanno la responsabilita' di gestire
@@ -36,10 +37,40 @@ public interface Saver {
      */
     void saveMovement() throws IOException;
 
+    /**
+     * Salva i {@link Movement} passati in coda a quelli gia' salvati. Le implementazioni che non possono
+     * aggiungere dati ad un salvataggio esistente salvano tutti i Movimenti.
+     *
+     * @param movements Movimenti aggiunti dopo l'ultimo salvataggio
+     * @throws IOException Viene lanciata quando avviene un Errore nel salvataggio
+     */
+    default void appendMovement(List<Movement> movements) throws IOException {
+        saveMovement();
+    }
+
     /**
      * Salva i dati delle {@link Transaction}.
      *
      * @throws IOException Viene lanciata quando avviene un Errore nel salvataggio
      */
     void saveTransactionCategory() throws IOException;
+
+    /**
+     * Conclude il salvataggio, rendendo definitivi i dati salvati. Le implementazioni che scrivono
+     * direttamente i dati definitivi non devono fare nulla.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nel salvataggio
+     */
+    default void commit() throws IOException {
+    }
+
+    /**
+     * Annulla un salvataggio non concluso, chiudendo i File aperti ed eliminando quelli temporanei.
+     * Viene chiamato al posto di {@link #commit()} quando il salvataggio fallisce. Le implementazioni
+     * che recuperano i salvataggi non conclusi al successivo import non devono fare nulla.
+     *
+     * @throws IOException Viene lanciata quando avviene un Errore nella chiusura o nell'eliminazione dei File
+     */
+    default void abort() throws IOException {
+    }
 }
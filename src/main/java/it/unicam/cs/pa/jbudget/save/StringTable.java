@@ -0,0 +1,54 @@
+package it.unicam.cs.pa.jbudget.save;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tabella delle stringhe di una sezione del formato binario. Ogni stringa viene salvata una sola volta,
+ * e i record fanno riferimento alla sua posizione nella tabella.
+ *
+ * @author Matteo Rondini
+ * @see FileBinarySaver
+ */
+class StringTable {
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private String[] strings = new String[16];
+
+    /**
+     * Aggiunge la stringa alla tabella, se non e' gia' presente.
+     *
+     * @param string Stringa da aggiungere
+     */
+    void add(String string) {
+        if (!indexes.containsKey(string)) {
+            if (indexes.size() == strings.length)
+                strings = Arrays.copyOf(strings, strings.length * 2);
+            strings[indexes.size()] = string;
+            indexes.put(string, indexes.size());
+        }
+    }
+
+    /**
+     * Ritorna la posizione della stringa nella tabella.
+     *
+     * @param string Stringa da cercare
+     * @return la posizione della stringa
+     */
+    int indexOf(String string) {
+        return indexes.get(string);
+    }
+
+    /**
+     * Scrive il numero di stringhe e le stringhe della tabella, nell'ordine in cui sono state aggiunte.
+     *
+     * @param writer BinaryWriter in cui scrivere la tabella
+     * @throws IOException Viene lanciata quando avviene un Errore nella scrittura
+     */
+    void write(BinaryWriter writer) throws IOException {
+        writer.writeVarInt(indexes.size());
+        for (int i = 0; i < indexes.size(); i++)
+            writer.writeString(strings[i]);
+    }
+}
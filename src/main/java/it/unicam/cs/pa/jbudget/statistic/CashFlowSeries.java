@@ -0,0 +1,106 @@
+package it.unicam.cs.pa.jbudget.statistic;
+
+import it.unicam.cs.pa.jbudget.model.Money;
+import it.unicam.cs.pa.jbudget.model.MovementType;
+
+import java.time.LocalDate;
+
+/**
+ * Serie temporale dei flussi di cassa: per ogni {@link Period} di un intervallo di date la somma dei valori
+ * in centesimi dei {@link it.unicam.cs.pa.jbudget.model.Movement} di tipo {@link MovementType} CREDITS,
+ * quella dei Movimenti DEBITS e la loro differenza. I periodi sono indicizzati a partire da 0,
+ * dal periodo che contiene la data iniziale a quello che contiene la data finale.
+ *
+ * @author Matteo Rondini
+ * @see CashFlowStatistic
+ */
+public final class CashFlowSeries {
+    private final Period period;
+    private final long first;
+    private final long[] credits;
+    private final long[] debits;
+
+    /**
+     * Crea una serie.
+     *
+     * @param period  Periodo della serie
+     * @param first   Numero del primo periodo della serie
+     * @param credits Somma in centesimi dei Movimenti CREDITS di ogni periodo
+     * @param debits  Somma in centesimi dei Movimenti DEBITS di ogni periodo
+     */
+    CashFlowSeries(Period period, long first, long[] credits, long[] debits) {
+        this.period = period;
+        this.first = first;
+        this.credits = credits;
+        this.debits = debits;
+    }
+
+    /**
+     * Ritorna il {@link Period} della serie.
+     *
+     * @return il periodo della serie
+     */
+    public Period getPeriod() {
+        return period;
+    }
+
+    /**
+     * Ritorna il numero di periodi della serie.
+     *
+     * @return il numero di periodi
+     */
+    public int size() {
+        return credits.length;
+    }
+
+    /**
+     * Ritorna il primo giorno del periodo con l'indice passato.
+     *
+     * @param index Indice del periodo
+     * @return la data del primo giorno del periodo
+     */
+    public LocalDate getStart(int index) {
+        return period.start(first + index);
+    }
+
+    /**
+     * Ritorna la somma in centesimi dei Movimenti CREDITS del periodo con l'indice passato.
+     *
+     * @param index Indice del periodo
+     * @return la somma in centesimi
+     * @see Money
+     */
+    public long getCreditsInCents(int index) {
+        return credits[index];
+    }
+
+    /**
+     * Ritorna la somma in centesimi dei Movimenti DEBITS del periodo con l'indice passato.
+     *
+     * @param index Indice del periodo
+     * @return la somma in centesimi
+     */
+    public long getDebitsInCents(int index) {
+        return debits[index];
+    }
+
+    /**
+     * Ritorna la differenza in centesimi tra i Movimenti CREDITS e DEBITS del periodo con l'indice passato.
+     *
+     * @param index Indice del periodo
+     * @return il flusso netto in centesimi
+     */
+    public long getNetInCents(int index) {
+        return credits[index] - debits[index];
+    }
+
+    /**
+     * Ritorna la differenza tra i Movimenti CREDITS e DEBITS del periodo con l'indice passato.
+     *
+     * @param index Indice del periodo
+     * @return il flusso netto
+     */
+    public double getNet(int index) {
+        return Money.toDouble(getNetInCents(index));
+    }
+}
@@ -0,0 +1,109 @@
+package it.unicam.cs.pa.jbudget.statistic;
+
+import it.unicam.cs.pa.jbudget.model.Account;
+import it.unicam.cs.pa.jbudget.model.Ledger;
+import it.unicam.cs.pa.jbudget.model.Movement;
+import it.unicam.cs.pa.jbudget.model.MovementType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Crea le serie temporali dei flussi di cassa ({@link CashFlowSeries}) di un {@link Account},
+ * di un insieme di Account o di tutti gli Account di un {@link Ledger}.
+ * I {@link Movement} di ogni Account vengono letti una sola volta e sommati in 2 array di {@code long}
+ * indicizzati con il numero del {@link Period}; gli Account vengono letti in parallelo e gli array sommati
+ * tra loro. I Movimenti archiviati vengono creati prima di iniziare la lettura parallela, che quindi
+ * non modifica il Model.
+ *
+ * @author Matteo Rondini
+ */
+public class CashFlowStatistic {
+    private final Collection<? extends Account> accounts;
+
+    /**
+     * Crea un CashFlowStatistic con l'{@link Account} di cui calcolare le serie.
+     *
+     * @param account Account di cui calcolare le serie
+     */
+    public CashFlowStatistic(Account account) {
+        this(Objects.isNull(account) ? null : Collections.singletonList(account));
+    }
+
+    /**
+     * Crea un CashFlowStatistic con gli {@link Account} di cui calcolare le serie.
+     *
+     * @param accounts Account di cui calcolare le serie
+     */
+    public CashFlowStatistic(Collection<? extends Account> accounts) {
+        this.accounts = accounts;
+    }
+
+    /**
+     * Crea un CashFlowStatistic con tutti gli {@link Account} del {@link Ledger}.
+     *
+     * @param ledger Ledger di cui calcolare le serie
+     */
+    public CashFlowStatistic(Ledger ledger) {
+        this(ledger.getAccount());
+    }
+
+    /**
+     * Calcola la serie dei flussi di cassa degli Account tra le 2 date passate (comprese).
+     *
+     * @param period Periodo in cui raggruppare i Movimenti
+     * @param from   Data iniziale
+     * @param to     Data finale
+     * @return la serie dei flussi di cassa, vuota se la data iniziale e' successiva a quella finale
+     * @throws StaticException Viene lanciata quando si prova a calcolare delle Statistiche
+     *                         senza Account validi
+     */
+    public CashFlowSeries getCashFlow(Period period, LocalDate from, LocalDate to) throws StaticException {
+        if (Objects.isNull(accounts) || accounts.stream().anyMatch(Objects::isNull))
+            throw new StaticException(StaticException.E0_NO_ACCOUNT);
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        long first = period.of(fromDay);
+        int size = fromDay > toDay ? 0 : Math.toIntExact(period.of(toDay) - first + 1);
+        List<List<Movement>> movements = new ArrayList<>(accounts.size());
+        for (Account account : accounts)
+            movements.add(account.getMovements());
+        long[][] series = movements.parallelStream()
+                .map(list -> series(list, period, fromDay, toDay, first, size))
+                .reduce(CashFlowStatistic::merge)
+                .orElseGet(() -> new long[2][size]);
+        return new CashFlowSeries(period, first, series[0], series[1]);
+    }
+
+    /**
+     * Somma i Movimenti della lista nei periodi, nella prima riga gli CREDITS e nella seconda i DEBITS.
+     */
+    private static long[][] series(List<Movement> movements, Period period, long fromDay, long toDay,
+                                   long first, int size) {
+        long[] credits = new long[size];
+        long[] debits = new long[size];
+        for (int i = 0, count = movements.size(); i < count; i++) {
+            Movement movement = movements.get(i);
+            long day = movement.getEpochDay();
+            if (day < fromDay || day > toDay)
+                continue;
+            int index = (int) (period.of(day) - first);
+            if (movement.type() == MovementType.CREDITS)
+                credits[index] += movement.amountInCents();
+            else
+                debits[index] += movement.amountInCents();
+        }
+        return new long[][]{credits, debits};
+    }
+
+    private static long[][] merge(long[][] series, long[][] other) {
+        for (int row = 0; row < series.length; row++)
+            for (int index = 0; index < series[row].length; index++)
+                series[row][index] += other[row][index];
+        return series;
+    }
+}
@@ -0,0 +1,223 @@
+package it.unicam.cs.pa.jbudget.statistic;
+
+import it.unicam.cs.pa.jbudget.model.*;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * La classe implementa l'interfaccia {@link StatisticCreator} mantenendo le statistiche di un {@link Account}
+ * sempre aggiornate: alla creazione legge una sola volta tutti i {@link Movement} dell'Account, e poi si registra
+ * come {@link MovementListener} per aggiornare, ad ogni modifica, un {@link MovementAggregate} per ogni
+ * {@link MovementType} e uno per ogni {@link Category}.
+ * Le statistiche vengono quindi lette senza scorrere i Movimenti, qualunque sia il loro numero; solo il Minore
+ * e il Maggiore di un aggregato vengono ricalcolati quando uno dei due viene rimosso o modificato.
+ * Quando le statistiche non servono piu' il listener deve essere rimosso con {@link #close()}.
+ *
+ * @author Matteo Rondini
+ */
+public class IncrementalStatistic implements TimeStatisticCreator, MovementListener, AutoCloseable {
+    private final Account account;
+    private final Map<MovementType, MovementAggregate> typeAggregates = new EnumMap<>(MovementType.class);
+    private final Map<Category, MovementAggregate> categoryAggregates = new TreeMap<>();
+
+    /**
+     * Crea un IncrementalStatistic con l'{@link Account} di cui mantenere le statistiche.
+     *
+     * @param account Account di cui mantenere le statistiche
+     */
+    public IncrementalStatistic(Account account) {
+        this.account = account;
+        if (Objects.isNull(account))
+            return;
+        for (MovementType type : MovementType.values())
+            typeAggregates.put(type, new MovementAggregate(() -> account.movements(new MovementQuery().type(type))));
+        account.getMovements().forEach(this::movementAdded);
+        account.addListener(this);
+    }
+
+    private void controlAccount() throws StaticException {
+        if (Objects.isNull(account))
+            throw new StaticException(StaticException.E0_NO_ACCOUNT);
+    }
+
+    /**
+     * Ritorna l'aggregato dei {@link Movement} dell'Account della tipologia passata.
+     *
+     * @param type Tipologia dei Movimenti
+     * @return l'aggregato dei Movimenti
+     * @throws StaticException Viene lanciata quando si prova a calcolare delle Statistiche
+     *                         di un {@link Account} non valido
+     */
+    public MovementAggregate getAggregate(MovementType type) throws StaticException {
+        controlAccount();
+        return typeAggregates.get(type);
+    }
+
+    /**
+     * Ritorna gli aggregati dei {@link Movement} dell'Account per ogni {@link Category} che ha almeno un Movimento.
+     *
+     * @return una Mappa delle Categorie (Key) e dei loro aggregati (Value)
+     * @throws StaticException Viene lanciata quando si prova a calcolare delle Statistiche
+     *                         di un {@link Account} non valido
+     */
+    public Map<Category, MovementAggregate> getCategoryAggregates() throws StaticException {
+        controlAccount();
+        return Collections.unmodifiableMap(categoryAggregates);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Category, Double> getCategoryValue() throws StaticException {
+        controlAccount();
+        Map<Category, Double> categoryMap = new TreeMap<>();
+        categoryAggregates.forEach((category, aggregate) -> categoryMap.put(category, aggregate.getSum()));
+        return categoryMap;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Category, Long> getCategoryValueInCents() throws StaticException {
+        controlAccount();
+        Map<Category, Long> categoryMap = new TreeMap<>();
+        categoryAggregates.forEach((category, aggregate) -> categoryMap.put(category, aggregate.getSumInCents()));
+        return categoryMap;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Movement getMaxCredit() throws StaticException {
+        return present(getAggregate(MovementType.CREDITS).getMax());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Movement getMaxDebit() throws StaticException {
+        return present(getAggregate(MovementType.DEBITS).getMax());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Movement getMinCredit() throws StaticException {
+        return present(getAggregate(MovementType.CREDITS).getMin());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Movement getMinDebit() throws StaticException {
+        return present(getAggregate(MovementType.DEBITS).getMin());
+    }
+
+    /**
+     * {@inheritDoc}
+     * Il riepilogo viene creato dagli aggregati, senza leggere i Movimenti.
+     */
+    @Override
+    public StatisticSummary summarize() throws StaticException {
+        controlAccount();
+        int types = MovementType.values().length;
+        int[] count = new int[types];
+        long[] sum = new long[types];
+        Movement[] min = new Movement[types];
+        Movement[] max = new Movement[types];
+        typeAggregates.forEach((type, aggregate) -> {
+            count[type.ordinal()] = aggregate.getCount();
+            sum[type.ordinal()] = aggregate.getSumInCents();
+            min[type.ordinal()] = aggregate.getMin();
+            max[type.ordinal()] = aggregate.getMax();
+        });
+        return new StatisticSummary(count, sum, min, max, getCategoryValueInCents());
+    }
+
+    /**
+     * {@inheritDoc}
+     * Le serie non vengono mantenute aggiornate: vengono calcolate leggendo i Movimenti dell'Account.
+     */
+    @Override
+    public CashFlowSeries getCashFlow(Period period, LocalDate from, LocalDate to) throws StaticException {
+        return new CashFlowStatistic(account).getCashFlow(period, from, to);
+    }
+
+    private Movement present(Movement movement) throws StaticException {
+        if (Objects.isNull(movement))
+            throw new StaticException(StaticException.E1_NO_MOVEMENT_IN_ACCOUNT);
+        return movement;
+    }
+
+    private MovementAggregate categoryAggregate(Category category) {
+        return categoryAggregates.computeIfAbsent(category, key ->
+                new MovementAggregate(() -> account.movements(new MovementQuery().category(key))));
+    }
+
+    private void removeFromCategory(Movement movement, Category category, long amount) {
+        MovementAggregate aggregate = categoryAggregates.get(category);
+        if (Objects.isNull(aggregate))
+            return;
+        aggregate.remove(movement, amount);
+        if (aggregate.getCount() == 0)
+            categoryAggregates.remove(category);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void movementAdded(Movement movement) {
+        typeAggregates.get(movement.type()).add(movement);
+        movement.categories().forEach(category -> categoryAggregate(category).add(movement));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void movementRemoved(Movement movement) {
+        typeAggregates.get(movement.type()).remove(movement, movement.amountInCents());
+        movement.categories().forEach(category -> removeFromCategory(movement, category, movement.amountInCents()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void movementUpdated(Movement movement, long oldAmount, long oldDay) {
+        typeAggregates.get(movement.type()).update(movement, oldAmount);
+        movement.categories().forEach(category -> categoryAggregate(category).update(movement, oldAmount));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void categoryUpdated(Movement movement, Category category, boolean added) {
+        if (added)
+            categoryAggregate(category).add(movement);
+        else
+            removeFromCategory(movement, category, movement.amountInCents());
+    }
+
+    /**
+     * Smette di aggiornare le statistiche, rimuovendo il listener dall'{@link Account}.
+     */
+    @Override
+    public void close() {
+        if (!Objects.isNull(account))
+            account.removeListener(this);
+    }
+}
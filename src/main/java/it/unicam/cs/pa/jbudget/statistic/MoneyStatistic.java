@@ -2,8 +2,8 @@ package it.unicam.cs.pa.jbudget.statistic;
 
 import it.unicam.cs.pa.jbudget.model.*;
 
+import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * La classe implementa l'interfaccia {@link StatisticCreator} ed ha la responsabilita' di
@@ -14,7 +14,7 @@ import java.util.stream.Collectors;
  *
  * @author Matteo Rondini
  */
-public class MoneyStatistic implements StatisticCreator {
+public class MoneyStatistic implements TimeStatisticCreator {
     private final Account account;
 
     /**
@@ -31,19 +31,6 @@ public class MoneyStatistic implements StatisticCreator {
             throw new StaticException(StaticException.E0_NO_ACCOUNT);
     }
 
-    private Map<Category, Double> createCategoryMap(List<Category> categories) {
-        Map<Category, Double> categoryMap = new TreeMap<>();
-        for (Category category : categories)
-            categoryMap.put(category, 0.0);
-        return categoryMap;
-    }
-
-    private List<Category> getCategoryFromMovement(List<Movement> movements) {
-        List<Category> categories = new ArrayList<>();
-        movements.forEach(movement -> categories.addAll(movement.categories()));
-        return categories.stream().distinct().collect(Collectors.toList());
-    }
-
     /**
      * Crea e ritorna una {@link Map} che collega le {@link Category} con la somma dei valori
      * di tutti i Movimenti dell'Account che hanno quella Categoria.
@@ -54,13 +41,22 @@ public class MoneyStatistic implements StatisticCreator {
      */
     @Override
     public Map<Category, Double> getCategoryValue() throws StaticException {
+        Map<Category, Double> categoryMap = new TreeMap<>();
+        getCategoryValueInCents().forEach((category, value) -> categoryMap.put(category, Money.toDouble(value)));
+        return categoryMap;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Vengono letti solo i Movimenti con almeno una Categoria, attraverso l'indice delle Categorie dell'Account.
+     */
+    @Override
+    public Map<Category, Long> getCategoryValueInCents() throws StaticException {
         controlAccount();
-        List<Movement> movements = getMovementWithCategory();
-        List<Category> categories = getCategoryFromMovement(movements);
-        Map<Category, Double> categoryMap = createCategoryMap(categories);
-        movements.forEach(movement ->
+        Map<Category, Long> categoryMap = new TreeMap<>();
+        account.movements(new MovementQuery().categorized()).forEach(movement ->
                 movement.categories().forEach(category ->
-                        categoryMap.put(category, categoryMap.get(category) + movement.amount())));
+                        categoryMap.merge(category, movement.amountInCents(), Long::sum)));
         return categoryMap;
     }
 
@@ -73,7 +69,7 @@ public class MoneyStatistic implements StatisticCreator {
 
         return account.getMovements().parallelStream()
                 .filter(movement -> movement.type() == MovementType.CREDITS)
-                .max(Comparator.comparing(Movement::amount))
+                .max(Comparator.comparingLong(Movement::amountInCents))
                 .orElseThrow(() -> new StaticException(StaticException.E1_NO_MOVEMENT_IN_ACCOUNT));
     }
 
@@ -86,7 +82,7 @@ public class MoneyStatistic implements StatisticCreator {
 
         return account.getMovements().parallelStream()
                 .filter(movement -> movement.type() == MovementType.DEBITS)
-                .max(Comparator.comparing(Movement::amount))
+                .max(Comparator.comparingLong(Movement::amountInCents))
                 .orElseThrow(() -> new StaticException(StaticException.E1_NO_MOVEMENT_IN_ACCOUNT));
     }
 
@@ -99,7 +95,7 @@ public class MoneyStatistic implements StatisticCreator {
 
         return account.getMovements().parallelStream()
                 .filter(movement -> movement.type() == MovementType.CREDITS)
-                .min(Comparator.comparing(Movement::amount))
+                .min(Comparator.comparingLong(Movement::amountInCents))
                 .orElseThrow(() -> new StaticException(StaticException.E1_NO_MOVEMENT_IN_ACCOUNT));
     }
 
@@ -112,13 +108,25 @@ public class MoneyStatistic implements StatisticCreator {
 
         return account.getMovements().parallelStream()
                 .filter(movement -> movement.type() == MovementType.DEBITS)
-                .min(Comparator.comparing(Movement::amount))
+                .min(Comparator.comparingLong(Movement::amountInCents))
                 .orElseThrow(() -> new StaticException(StaticException.E1_NO_MOVEMENT_IN_ACCOUNT));
     }
 
-    private List<Movement> getMovementWithCategory() {
-        return account.getMovements()
-                .parallelStream().filter(movement -> !movement.categories().isEmpty())
-                .collect(Collectors.toList());
+    /**
+     * {@inheritDoc}
+     * I Movimenti vengono letti da un {@link SummaryAccumulator}, in parallelo se sono molti.
+     */
+    @Override
+    public StatisticSummary summarize() throws StaticException {
+        controlAccount();
+        return SummaryAccumulator.summarize(account.getMovements());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CashFlowSeries getCashFlow(Period period, LocalDate from, LocalDate to) throws StaticException {
+        return new CashFlowStatistic(account).getCashFlow(period, from, to);
     }
 }
@@ -0,0 +1,144 @@
+package it.unicam.cs.pa.jbudget.statistic;
+
+import it.unicam.cs.pa.jbudget.model.Money;
+import it.unicam.cs.pa.jbudget.model.Movement;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Aggregato di un gruppo di {@link Movement} di un Account: numero, somma dei valori, Movimento Minore e Maggiore.
+ * L'aggregato viene aggiornato ad ogni modifica dei Movimenti del gruppo (vedi {@link IncrementalStatistic}):
+ * numero e somma sono sempre esatti, mentre il Minore e il Maggiore vengono ricalcolati dai Movimenti del gruppo
+ * solo quando viene rimosso o modificato uno dei due, alla prima lettura successiva.
+ * A parita' di valore viene scelto il Movimento con ID minore.
+ *
+ * @author Matteo Rondini
+ */
+public class MovementAggregate {
+    private final Supplier<Stream<Movement>> movements;
+    private int count;
+    private long sum;
+    private Movement min;
+    private Movement max;
+    private boolean stale;
+
+    /**
+     * Crea un aggregato vuoto.
+     *
+     * @param movements Funzione che ritorna i Movimenti del gruppo, usata per ricalcolare Minore e Maggiore
+     */
+    MovementAggregate(Supplier<Stream<Movement>> movements) {
+        this.movements = movements;
+    }
+
+    /**
+     * Aggiunge il {@link Movement} all'aggregato.
+     *
+     * @param movement Movimento aggiunto al gruppo
+     */
+    void add(Movement movement) {
+        count++;
+        sum += movement.amountInCents();
+        offer(movement);
+    }
+
+    /**
+     * Rimuove il {@link Movement} dall'aggregato.
+     *
+     * @param movement Movimento rimosso dal gruppo
+     * @param amount   Valore in centesimi con cui il Movimento e' stato aggiunto
+     */
+    void remove(Movement movement, long amount) {
+        count--;
+        sum -= amount;
+        if (movement == min || movement == max)
+            stale = true;
+    }
+
+    /**
+     * Aggiorna l'aggregato in seguito alla modifica del valore del {@link Movement}.
+     *
+     * @param movement  Movimento del gruppo modificato
+     * @param oldAmount Valore in centesimi del Movimento prima della modifica
+     */
+    void update(Movement movement, long oldAmount) {
+        if (movement.amountInCents() == oldAmount)
+            return;
+        sum += movement.amountInCents() - oldAmount;
+        if (movement == min || movement == max)
+            stale = true;
+        else
+            offer(movement);
+    }
+
+    private void offer(Movement movement) {
+        if (stale)
+            return;
+        long amount = movement.amountInCents();
+        if (Objects.isNull(min) || amount < min.amountInCents()
+                || amount == min.amountInCents() && movement.getID() < min.getID())
+            min = movement;
+        if (Objects.isNull(max) || amount > max.amountInCents()
+                || amount == max.amountInCents() && movement.getID() < max.getID())
+            max = movement;
+    }
+
+    private void refresh() {
+        if (!stale)
+            return;
+        min = null;
+        max = null;
+        stale = false;
+        movements.get().forEach(this::offer);
+    }
+
+    /**
+     * Ritorna il numero di Movimenti del gruppo.
+     *
+     * @return il numero di Movimenti
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Ritorna la somma dei valori in centesimi dei Movimenti del gruppo.
+     *
+     * @return la somma in centesimi
+     * @see Money
+     */
+    public long getSumInCents() {
+        return sum;
+    }
+
+    /**
+     * Ritorna la somma dei valori dei Movimenti del gruppo.
+     *
+     * @return la somma
+     */
+    public double getSum() {
+        return Money.toDouble(sum);
+    }
+
+    /**
+     * Ritorna il {@link Movement} del gruppo con il valore Minore.
+     *
+     * @return il Movimento Minore, {@code null} se il gruppo e' vuoto
+     */
+    public Movement getMin() {
+        refresh();
+        return min;
+    }
+
+    /**
+     * Ritorna il {@link Movement} del gruppo con il valore Maggiore.
+     *
+     * @return il Movimento Maggiore, {@code null} se il gruppo e' vuoto
+     */
+    public Movement getMax() {
+        refresh();
+        return max;
+    }
+}
@@ -0,0 +1,56 @@
+package it.unicam.cs.pa.jbudget.statistic;
+
+import it.unicam.cs.pa.jbudget.model.Days;
+
+import java.time.LocalDate;
+
+/**
+ * Periodi in cui vengono raggruppati i {@link it.unicam.cs.pa.jbudget.model.Movement} delle serie temporali
+ * (vedi {@link CashFlowSeries}). Ogni periodo e' identificato da un numero progressivo calcolato dal giorno
+ * dei Movimenti senza creare oggetti: i giorni e le settimane (da lunedi') sono contati dal 1 gennaio 1970,
+ * i mesi da gennaio 1970.
+ *
+ * @author Matteo Rondini
+ */
+public enum Period {
+    DAY, WEEK, MONTH;
+
+    /**
+     * Giorni tra il lunedi' precedente il 1 gennaio 1970 (un giovedi') e il 1 gennaio 1970.
+     */
+    private static final long WEEK_OFFSET = 3;
+
+    /**
+     * Ritorna il numero del periodo che contiene il giorno passato.
+     *
+     * @param epochDay Numero di giorni dall'epoch
+     * @return il numero del periodo
+     */
+    public long of(long epochDay) {
+        switch (this) {
+            case WEEK:
+                return Math.floorDiv(epochDay + WEEK_OFFSET, 7);
+            case MONTH:
+                return Days.toEpochMonth(epochDay);
+            default:
+                return epochDay;
+        }
+    }
+
+    /**
+     * Ritorna il primo giorno del periodo passato.
+     *
+     * @param period Numero del periodo
+     * @return la data del primo giorno del periodo
+     */
+    public LocalDate start(long period) {
+        switch (this) {
+            case WEEK:
+                return LocalDate.ofEpochDay(period * 7 - WEEK_OFFSET);
+            case MONTH:
+                return LocalDate.of(Math.toIntExact(1970 + Math.floorDiv(period, 12)), Math.floorMod(period, 12) + 1, 1);
+            default:
+                return LocalDate.ofEpochDay(period);
+        }
+    }
+}
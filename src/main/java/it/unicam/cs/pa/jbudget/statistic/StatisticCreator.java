@@ -27,6 +27,17 @@ public interface StatisticCreator {
      */
     Map<Category, Double> getCategoryValue() throws StaticException;
 
+    /**
+     * Crea e ritorna una {@link Map} che collega le {@link Category} con la somma dei valori in centesimi
+     * di tutti i Movimenti dell'Account che hanno quella Categoria.
+     *
+     * @return una Mappa delle Categorie (Key) e il loro valore totale in centesimi (Value)
+     * @throws StaticException Viene lanciata quando si prova a calcolare delle Statistiche
+     *                         di un {@link Account} non valido
+     * @see it.unicam.cs.pa.jbudget.model.Money
+     */
+    Map<Category, Long> getCategoryValueInCents() throws StaticException;
+
     /**
      * Ritorna il {@link Movement} di tipo {@link MovementType} CREDITS con il valore Maggiore.
      *
@@ -70,4 +81,13 @@ public interface StatisticCreator {
      *                         per un Account che non ha {@link Movement} al suo interno.
      */
     Movement getMinDebit() throws StaticException;
+
+    /**
+     * Calcola tutte le statistiche dell'Account insieme, leggendo i {@link Movement} una sola volta.
+     *
+     * @return il riepilogo delle statistiche
+     * @throws StaticException Viene lanciata quando si prova a calcolare delle Statistiche
+     *                         di un {@link Account} non valido
+     */
+    StatisticSummary summarize() throws StaticException;
 }
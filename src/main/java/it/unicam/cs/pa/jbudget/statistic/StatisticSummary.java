@@ -0,0 +1,106 @@
+package it.unicam.cs.pa.jbudget.statistic;
+
+import it.unicam.cs.pa.jbudget.model.Category;
+import it.unicam.cs.pa.jbudget.model.Money;
+import it.unicam.cs.pa.jbudget.model.Movement;
+import it.unicam.cs.pa.jbudget.model.MovementType;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Riepilogo delle statistiche di un {@link it.unicam.cs.pa.jbudget.model.Account}, calcolato tutto insieme
+ * da {@link StatisticCreator#summarize()}: per ogni {@link MovementType} il numero e la somma dei {@link Movement},
+ * il Movimento Minore e quello Maggiore, e per ogni {@link Category} la somma dei valori dei suoi Movimenti.
+ * Il riepilogo non cambia con le modifiche successive dell'Account.
+ *
+ * @author Matteo Rondini
+ */
+public final class StatisticSummary {
+    private final int[] count;
+    private final long[] sum;
+    private final Movement[] min;
+    private final Movement[] max;
+    private final Map<Category, Long> categoryValues;
+
+    /**
+     * Crea un riepilogo. Gli array sono indicizzati con l'ordinale del {@link MovementType}.
+     *
+     * @param count          Numero dei Movimenti di ogni tipologia
+     * @param sum            Somma in centesimi dei Movimenti di ogni tipologia
+     * @param min            Movimento Minore di ogni tipologia, {@code null} se non ci sono Movimenti
+     * @param max            Movimento Maggiore di ogni tipologia, {@code null} se non ci sono Movimenti
+     * @param categoryValues Somma in centesimi dei Movimenti di ogni Categoria
+     */
+    StatisticSummary(int[] count, long[] sum, Movement[] min, Movement[] max, Map<Category, Long> categoryValues) {
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+        this.categoryValues = Collections.unmodifiableMap(new TreeMap<>(categoryValues));
+    }
+
+    /**
+     * Ritorna il numero dei {@link Movement} della tipologia passata.
+     *
+     * @param type Tipologia dei Movimenti
+     * @return il numero di Movimenti
+     */
+    public int getCount(MovementType type) {
+        return count[type.ordinal()];
+    }
+
+    /**
+     * Ritorna la somma dei valori in centesimi dei {@link Movement} della tipologia passata.
+     *
+     * @param type Tipologia dei Movimenti
+     * @return la somma in centesimi
+     * @see Money
+     */
+    public long getSumInCents(MovementType type) {
+        return sum[type.ordinal()];
+    }
+
+    /**
+     * Ritorna il {@link Movement} della tipologia passata con il valore Minore.
+     *
+     * @param type Tipologia dei Movimenti
+     * @return il Movimento Minore, {@code null} se non ci sono Movimenti della tipologia
+     */
+    public Movement getMin(MovementType type) {
+        return min[type.ordinal()];
+    }
+
+    /**
+     * Ritorna il {@link Movement} della tipologia passata con il valore Maggiore.
+     *
+     * @param type Tipologia dei Movimenti
+     * @return il Movimento Maggiore, {@code null} se non ci sono Movimenti della tipologia
+     */
+    public Movement getMax(MovementType type) {
+        return max[type.ordinal()];
+    }
+
+    /**
+     * Ritorna la {@link Map} che collega le {@link Category} con la somma dei valori in centesimi
+     * dei Movimenti che hanno quella Categoria.
+     *
+     * @return una Mappa delle Categorie (Key) e il loro valore totale in centesimi (Value)
+     */
+    public Map<Category, Long> getCategoryValueInCents() {
+        return categoryValues;
+    }
+
+    /**
+     * Ritorna la {@link Map} che collega le {@link Category} con la somma dei valori
+     * dei Movimenti che hanno quella Categoria.
+     *
+     * @return una Mappa delle Categorie (Key) e il loro valore totale (Value)
+     */
+    public Map<Category, Double> getCategoryValue() {
+        Map<Category, Double> categoryMap = new TreeMap<>();
+        categoryValues.forEach((category, value) -> categoryMap.put(category, Money.toDouble(value)));
+        return categoryMap;
+    }
+}
@@ -0,0 +1,132 @@
+package it.unicam.cs.pa.jbudget.statistic;
+
+import it.unicam.cs.pa.jbudget.model.Category;
+import it.unicam.cs.pa.jbudget.model.Movement;
+import it.unicam.cs.pa.jbudget.model.MovementType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Calcola uno {@link StatisticSummary} leggendo una sola volta una lista di {@link Movement}.
+ * Numero, somma, valore Minore e Maggiore di ogni {@link MovementType} sono accumulati in array di primitivi
+ * indicizzati con l'ordinale della tipologia, le somme delle Categorie in celle {@code long[]}.
+ * Le liste con almeno {@link #PARALLEL_THRESHOLD} Movimenti vengono divise ricorsivamente e lette
+ * da un {@link ForkJoinPool}; gli accumulatori delle 2 meta' vengono poi uniti.
+ * A parita' di valore viene scelto il primo Movimento della lista.
+ *
+ * @author Matteo Rondini
+ */
+class SummaryAccumulator {
+    /**
+     * Numero di Movimenti oltre il quale la lista viene letta in parallelo.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 15;
+    /**
+     * Numero di Movimenti sotto il quale una parte della lista non viene piu' divisa.
+     */
+    static final int SPLIT_SIZE = 1 << 12;
+    private static final int TYPES = MovementType.values().length;
+    private final int[] count = new int[TYPES];
+    private final long[] sum = new long[TYPES];
+    private final long[] minAmount = new long[TYPES];
+    private final long[] maxAmount = new long[TYPES];
+    private final Movement[] min = new Movement[TYPES];
+    private final Movement[] max = new Movement[TYPES];
+    private final Map<Category, long[]> categoryValues = new HashMap<>();
+
+    /**
+     * Calcola il riepilogo dei {@link Movement} della lista.
+     *
+     * @param movements Movimenti da riepilogare, in ordine di ID
+     * @return il riepilogo dei Movimenti
+     */
+    static StatisticSummary summarize(List<Movement> movements) {
+        SummaryAccumulator accumulator;
+        if (movements.size() < PARALLEL_THRESHOLD)
+            accumulator = new SummaryAccumulator().accept(movements, 0, movements.size());
+        else
+            accumulator = ForkJoinPool.commonPool().invoke(new Task(movements, 0, movements.size()));
+        return accumulator.toSummary();
+    }
+
+    private SummaryAccumulator accept(List<Movement> movements, int from, int to) {
+        for (int i = from; i < to; i++)
+            accept(movements.get(i));
+        return this;
+    }
+
+    private void accept(Movement movement) {
+        int type = movement.type().ordinal();
+        long amount = movement.amountInCents();
+        count[type]++;
+        sum[type] += amount;
+        if (Objects.isNull(min[type]) || amount < minAmount[type]) {
+            minAmount[type] = amount;
+            min[type] = movement;
+        }
+        if (Objects.isNull(max[type]) || amount > maxAmount[type]) {
+            maxAmount[type] = amount;
+            max[type] = movement;
+        }
+        for (Category category : movement.categories())
+            categoryValues.computeIfAbsent(category, key -> new long[1])[0] += amount;
+    }
+
+    /**
+     * Unisce a questo accumulatore quello dei Movimenti che seguono nella lista.
+     */
+    private SummaryAccumulator combine(SummaryAccumulator next) {
+        for (int type = 0; type < TYPES; type++) {
+            count[type] += next.count[type];
+            sum[type] += next.sum[type];
+            if (!Objects.isNull(next.min[type]) && (Objects.isNull(min[type]) || next.minAmount[type] < minAmount[type])) {
+                minAmount[type] = next.minAmount[type];
+                min[type] = next.min[type];
+            }
+            if (!Objects.isNull(next.max[type]) && (Objects.isNull(max[type]) || next.maxAmount[type] > maxAmount[type])) {
+                maxAmount[type] = next.maxAmount[type];
+                max[type] = next.max[type];
+            }
+        }
+        next.categoryValues.forEach((category, value) ->
+                categoryValues.computeIfAbsent(category, key -> new long[1])[0] += value[0]);
+        return this;
+    }
+
+    private StatisticSummary toSummary() {
+        Map<Category, Long> values = new HashMap<>();
+        categoryValues.forEach((category, value) -> values.put(category, value[0]));
+        return new StatisticSummary(count, sum, min, max, values);
+    }
+
+    /**
+     * Riepiloga una parte della lista, dividendola a meta' finche' non e' piu' piccola di {@link #SPLIT_SIZE}.
+     */
+    private static class Task extends RecursiveTask<SummaryAccumulator> {
+        private final List<Movement> movements;
+        private final int from;
+        private final int to;
+
+        Task(List<Movement> movements, int from, int to) {
+            this.movements = movements;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SummaryAccumulator compute() {
+            if (to - from <= SPLIT_SIZE)
+                return new SummaryAccumulator().accept(movements, from, to);
+            int middle = (from + to) >>> 1;
+            Task first = new Task(movements, from, middle);
+            first.fork();
+            SummaryAccumulator second = new Task(movements, middle, to).compute();
+            return first.join().combine(second);
+        }
+    }
+}
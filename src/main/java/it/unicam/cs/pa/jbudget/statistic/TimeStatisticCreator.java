@@ -0,0 +1,27 @@
+package it.unicam.cs.pa.jbudget.statistic;
+
+import it.unicam.cs.pa.jbudget.model.Account;
+import it.unicam.cs.pa.jbudget.model.Movement;
+
+import java.time.LocalDate;
+
+/**
+ * Questa interfaccia estende {@link StatisticCreator} con le statistiche nel tempo di un {@link Account}:
+ * le serie dei flussi di cassa dei {@link Movement} raggruppati per giorno, settimana o mese.
+ *
+ * @author Matteo Rondini
+ * @see CashFlowStatistic
+ */
+public interface TimeStatisticCreator extends StatisticCreator {
+    /**
+     * Calcola la serie dei flussi di cassa dell'Account tra le 2 date passate (comprese).
+     *
+     * @param period Periodo in cui raggruppare i Movimenti
+     * @param from   Data iniziale
+     * @param to     Data finale
+     * @return la serie dei flussi di cassa
+     * @throws StaticException Viene lanciata quando si prova a calcolare delle Statistiche
+     *                         di un {@link Account} non valido
+     */
+    CashFlowSeries getCashFlow(Period period, LocalDate from, LocalDate to) throws StaticException;
+}
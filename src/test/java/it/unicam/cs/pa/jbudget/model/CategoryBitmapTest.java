@@ -0,0 +1,72 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) Gli ID vengano aggiunti, cercati e rimossi correttamente; </li>
+ * <li> 2) Gli ID vengano letti in ordine crescente anche quando sono divisi in piu' blocchi; </li>
+ * <li> 3) Un blocco convertito in bitmap e di nuovo in array ordinato non perda ID; </li>
+ * </ul>
+ */
+class CategoryBitmapTest {
+    CategoryBitmap bitmap;
+
+    @BeforeEach
+    void initialize() {
+        bitmap = new CategoryBitmap();
+    }
+
+    @Test
+    void addAndRemove() {
+        assertTrue(bitmap.add(5));
+        assertFalse(bitmap.add(5));
+        assertTrue(bitmap.add(70000));
+        assertTrue(bitmap.contains(5));
+        assertFalse(bitmap.contains(6));
+        assertEquals(2, bitmap.cardinality());
+
+        assertTrue(bitmap.remove(70000));
+        assertFalse(bitmap.remove(70000));
+        assertFalse(bitmap.contains(70000));
+        assertEquals(1, bitmap.cardinality());
+        assertTrue(bitmap.remove(5));
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    void ordered() {
+        int[] IDs = {1 << 20, 3, 65536, 65535, 0, 200000};
+        for (int ID : IDs)
+            bitmap.add(ID);
+        assertArrayEquals(new int[]{0, 3, 65535, 65536, 200000, 1 << 20}, bitmap.stream().toArray());
+    }
+
+    @Test
+    void conversions() {
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 3 * CategoryBitmap.ARRAY_LIMIT; i++) {
+            int ID = random.nextInt(1 << 17);
+            bitmap.add(ID);
+            expected.add(ID);
+        }
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), bitmap.stream().toArray());
+
+        for (Integer ID : new TreeSet<>(expected))
+            if (ID % 8 != 0) {
+                assertTrue(bitmap.remove(ID));
+                expected.remove(ID);
+            }
+        assertEquals(expected.size(), bitmap.cardinality());
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), bitmap.stream().toArray());
+        expected.forEach(ID -> assertTrue(bitmap.contains(ID)));
+    }
+}
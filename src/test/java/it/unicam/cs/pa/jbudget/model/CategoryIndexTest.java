@@ -0,0 +1,79 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) L'indice segua l'aggiunta e la rimozione delle Categorie dei Movimenti e delle Transazioni; </li>
+ * <li> 2) I Movimenti eliminati vengano tolti dall'indice; </li>
+ * <li> 3) L'eliminazione di una Categoria la tolga da tutti i Movimenti e le Transazioni che la hanno; </li>
+ * </ul>
+ */
+class CategoryIndexTest {
+    MoneyLedger ledger;
+    Account wallet;
+    Category food;
+    Category home;
+    Transaction transaction;
+    MoneyMovement bread;
+    MoneyMovement rent;
+
+    @BeforeEach
+    void initialize() throws Exception {
+        ledger = new MoneyLedger();
+        wallet = ledger.addAccount(AccountType.ASSETS, "wallet test", "", 0);
+        food = ledger.addCategory("spesa", "");
+        home = ledger.addCategory("casa", "");
+        transaction = new MoneyTransaction(0);
+        bread = new MoneyMovement(MovementType.DEBITS, 0, 2, 0, "pane", transaction, wallet);
+        rent = new MoneyMovement(MovementType.DEBITS, 1, 500, 0, "affitto", transaction, wallet);
+        ledger.addTransaction(transaction);
+    }
+
+    @Test
+    void updates() {
+        bread.addCategory(food);
+        rent.addCategory(home);
+        assertEquals(List.of(0), ids(new MovementQuery().category(food)));
+        assertEquals(List.of(0, 1), ids(new MovementQuery().categorized()));
+
+        transaction.addCategory(food);
+        assertEquals(List.of(0, 1), ids(new MovementQuery().category(food)));
+        assertEquals(1, ledger.transactions(new MovementQuery().category(food)).count());
+
+        rent.removeCategory(food);
+        rent.removeCategory(home);
+        assertEquals(List.of(0), ids(new MovementQuery().categorized()));
+    }
+
+    @Test
+    void removedMovement() {
+        bread.addCategory(food);
+        wallet.removeMovement(bread);
+        assertTrue(ids(new MovementQuery().category(food)).isEmpty());
+        bread.removeCategory(food);
+        assertTrue(ids(new MovementQuery().categorized()).isEmpty());
+    }
+
+    @Test
+    void removeCategory() {
+        transaction.addCategory(food);
+        bread.addCategory(home);
+        assertTrue(ledger.removeCategory(food));
+        assertTrue(transaction.categories().isEmpty());
+        assertTrue(rent.categories().isEmpty());
+        assertEquals(List.of(home), bread.categories());
+        assertEquals(List.of(0), ids(new MovementQuery().categorized()));
+    }
+
+    private List<Integer> ids(MovementQuery query) {
+        return ledger.movements(query).map(Movement::getID).collect(Collectors.toList());
+    }
+}
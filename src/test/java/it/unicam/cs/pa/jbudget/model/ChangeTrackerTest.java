@@ -0,0 +1,84 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) La modifica di una Categoria segnali solo le Categorie come modificate; </li>
+ * <li> 2) I Movimenti aggiunti possano essere salvati in coda anche se vengono modificati; </li>
+ * <li> 3) La modifica o l'eliminazione di un Movimento gia' salvato richieda di riscrivere tutti i Movimenti; </li>
+ * <li> 4) La modifica della descrizione di un Movimento gia' salvato venga segnalata, anche se il Movimento
+ * e' nell'archivio colonnare; </li>
+ * </ul>
+ */
+class ChangeTrackerTest {
+    MoneyLedger ledger;
+    ChangeTracker changes;
+    Account wallet;
+    MoneyMovement saved;
+
+    @BeforeEach
+    void initialize() throws Exception {
+        ledger = new MoneyLedger();
+        wallet = ledger.addAccount(AccountType.ASSETS, "wallet test", "", 0);
+        ledger.addCategory("spesa", "");
+        Transaction transaction = new MoneyTransaction(0);
+        saved = new MoneyMovement(MovementType.CREDITS, 0, 10, 0, "", transaction, wallet);
+        ledger.addTransaction(transaction);
+        changes = ledger.getChanges();
+        changes.clear();
+    }
+
+    @Test
+    void modifiedCategory() {
+        ledger.getCategory(0).setName("casa");
+        assertTrue(changes.isModified(ChangeTracker.Entity.CATEGORY));
+        assertFalse(changes.isModified(ChangeTracker.Entity.ACCOUNT));
+        assertFalse(changes.isModified(ChangeTracker.Entity.MOVEMENT));
+        assertFalse(changes.isModified(ChangeTracker.Entity.TRANSACTION));
+    }
+
+    @Test
+    void addedMovement() throws Exception {
+        MoneyMovement movement = new MoneyMovement(MovementType.DEBITS, 1, 2, 0, "", ledger.getTransaction(0), wallet);
+        movement.setValue(3);
+        assertFalse(changes.isModified(ChangeTracker.Entity.MOVEMENT));
+        assertEquals(1, changes.addedMovements().size());
+
+        wallet.removeMovement(movement);
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    void modifiedMovement() throws Exception {
+        new MoneyMovement(MovementType.DEBITS, 1, 2, 0, "", ledger.getTransaction(0), wallet);
+        saved.setValue(5);
+        assertTrue(changes.isModified(ChangeTracker.Entity.MOVEMENT));
+        assertTrue(changes.addedMovements().isEmpty());
+
+        changes.clear();
+        wallet.removeMovement(saved);
+        assertTrue(changes.isModified(ChangeTracker.Entity.MOVEMENT));
+    }
+
+    @Test
+    void modifiedDescription() throws Exception {
+        saved.setDescription("spesa");
+        assertTrue(changes.isModified(ChangeTracker.Entity.MOVEMENT));
+        assertEquals(1000, wallet.getBalanceInCents());
+
+        MovementStore store = new MovementStore();
+        StoredMovement stored = (StoredMovement) store.addMovement(MovementType.DEBITS, 1, 2, new Date(0),
+                "", ledger.getTransaction(0), wallet);
+        changes.clear();
+        stored.setDescription("casa");
+        assertTrue(changes.isModified(ChangeTracker.Entity.MOVEMENT));
+        assertEquals("casa", stored.getDescription());
+    }
+}
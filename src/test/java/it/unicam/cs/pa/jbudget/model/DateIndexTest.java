@@ -0,0 +1,64 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) I Movimenti di tutti gli Account vengano letti in ordine di giorno e di ID; </li>
+ * <li> 2) Un Movimento a cui viene cambiata la data venga spostato nell'indice; </li>
+ * <li> 3) I Movimenti eliminati, anche insieme al loro Account, vengano tolti dall'indice; </li>
+ * </ul>
+ */
+class DateIndexTest {
+    MoneyLedger ledger;
+    Account wallet;
+    Account card;
+    MoneyMovement first;
+
+    @BeforeEach
+    void initialize() throws Exception {
+        ledger = new MoneyLedger();
+        wallet = ledger.addAccount(AccountType.ASSETS, "wallet test", "", 0);
+        card = ledger.addAccount(AccountType.ASSETS, "card test", "", 0);
+        Transaction transaction = new MoneyTransaction(0);
+        first = new MoneyMovement(MovementType.DEBITS, 0, 1, 40, "", transaction, wallet);
+        new MoneyMovement(MovementType.CREDITS, 1, 1, 10, "", transaction, card);
+        new MoneyMovement(MovementType.DEBITS, 2, 1, 10, "", transaction, wallet);
+        new MoneyMovement(MovementType.DEBITS, 3, 1, 25, "", transaction, card);
+        ledger.addTransaction(transaction);
+    }
+
+    @Test
+    void range() {
+        assertEquals(List.of(1, 2, 3), ids(new MovementQuery().betweenDays(0, 30)));
+        assertEquals(List.of(3, 0), ids(new MovementQuery().betweenDays(20, 50)));
+        assertEquals(List.of(2), ids(new MovementQuery().betweenDays(0, 30).account(wallet)));
+        assertTrue(ids(new MovementQuery().betweenDays(30, 20)).isEmpty());
+    }
+
+    @Test
+    void move() {
+        first.setEpochDay(5);
+        assertEquals(List.of(0, 1, 2), ids(new MovementQuery().betweenDays(0, 10)));
+        assertTrue(ids(new MovementQuery().betweenDays(30, 50)).isEmpty());
+    }
+
+    @Test
+    void remove() {
+        wallet.removeMovement(first);
+        assertTrue(ids(new MovementQuery().betweenDays(30, 50)).isEmpty());
+        assertTrue(ledger.removeAccount(card));
+        assertEquals(List.of(2), ids(new MovementQuery().betweenDays(0, 50)));
+    }
+
+    private List<Integer> ids(MovementQuery query) {
+        return ledger.movements(query).map(Movement::getID).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,67 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) Le date vengano lette e scritte nel formato {@code yyyy-MM-dd}; </li>
+ * <li> 2) Le conversioni da e verso {@link java.util.Date} mantengano il giorno; </li>
+ * <li> 3) I Movimenti espongano il giorno salvato; </li>
+ * <li> 4) Le date scritte cifra per cifra coincidano con quelle del formatter; </li>
+ * <li> 5) Il mese calcolato dal giorno coincida con quello di {@link LocalDate}; </li>
+ * </ul>
+ */
+class DaysTest {
+
+    @Test
+    void format() {
+        long day = LocalDate.of(2020, 5, 3).toEpochDay();
+        assertEquals(day, Days.parse("2020-05-03"));
+        assertEquals("2020-05-03", Days.toString(day));
+        assertThrows(RuntimeException.class, () -> Days.parse("03/05/2020"));
+    }
+
+    @Test
+    void convert() {
+        long day = LocalDate.of(2020, 5, 3).toEpochDay();
+        assertEquals(new GregorianCalendar(2020, Calendar.MAY, 3).getTime(), Days.toDate(day));
+        assertEquals(day, Days.toEpochDay(new GregorianCalendar(2020, Calendar.MAY, 3, 23, 59).getTime()));
+    }
+
+    @Test
+    void movementDay() throws MovementException {
+        SimpleWallet wallet = new SimpleWallet(AccountType.ASSETS, "wallet test", "", 1, 0);
+        MoneyMovement m1 = new MoneyMovement(MovementType.CREDITS, 1, 10,
+                new GregorianCalendar(2020, Calendar.MAY, 3, 12, 0).getTime(), "", new MoneyTransaction(1), wallet);
+
+        assertEquals(LocalDate.of(2020, 5, 3), m1.getLocalDate());
+        assertEquals(new GregorianCalendar(2020, Calendar.MAY, 3).getTime(), m1.getDate());
+        m1.setEpochDay(LocalDate.of(3000, 1, 1).toEpochDay());
+        assertEquals(0, wallet.getBalance());
+        assertEquals(10, wallet.getBalance(LocalDate.of(3000, 1, 1)));
+    }
+
+    @Test
+    void append() {
+        for (long day = LocalDate.of(1899, 12, 25).toEpochDay(); day < LocalDate.of(2101, 1, 5).toEpochDay(); day++)
+            assertEquals(Days.FORMATTER.format(LocalDate.ofEpochDay(day)), Days.toString(day));
+        long day = LocalDate.of(12000, 1, 1).toEpochDay();
+        assertEquals(Days.FORMATTER.format(LocalDate.ofEpochDay(day)), Days.toString(day));
+        assertEquals("0005-03-01", Days.toString(LocalDate.of(5, 3, 1).toEpochDay()));
+    }
+
+    @Test
+    void epochMonth() {
+        for (LocalDate date = LocalDate.of(1899, 12, 1); date.getYear() < 2101; date = date.plusDays(13))
+            assertEquals((date.getYear() - 1970) * 12L + date.getMonthValue() - 1, Days.toEpochMonth(date.toEpochDay()));
+        LocalDate date = LocalDate.of(-5, 2, 28);
+        assertEquals((date.getYear() - 1970) * 12L + 1, Days.toEpochMonth(date.toEpochDay()));
+    }
+}
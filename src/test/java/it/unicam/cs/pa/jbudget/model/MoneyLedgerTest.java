@@ -4,7 +4,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,6 +23,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * <li> 4) Una Categoria sia aggiunta all'interno del Ledger; </li>
  * <li> 5) Una Categoria all'interno del Ledger sia rimossa correttamente; </li>
  * <li> 6) Un Account all'interno del Ledger sia rimosso correttamente;</li>
+ * <li> 7) Account, Transazioni e Categorie vengano cercati correttamente tramite il loro ID; </li>
+ * <li> 8) I bilanci di piu' Account vengano sommati correttamente alle date passate; </li>
  * </ul>
  */
 class MoneyLedgerTest {
@@ -135,5 +141,47 @@ class MoneyLedgerTest {
         assertNull(m2.getTransaction());
         assertNotNull(m1.getAccount());
         assertNotNull(m1.getTransaction());
+
+        ledger.removeAccount(ledger.getAccount().get(0));
+        assertTrue(ledger.getTransactions().isEmpty());
+        assertTrue(t1.movements().isEmpty());
+        assertNull(ledger.getTransaction(t1.getID()));
+    }
+
+    @Test
+    void getByID() throws MovementException {
+        Account wallet = ledger.addAccount(AccountType.ASSETS, "wallet test", "", 0);
+        Category c1 = ledger.addCategory("Sport", "");
+        new MoneyMovement(MovementType.CREDITS, 1, 10, Date.from(Instant.now()), "", t1, wallet);
+        assertDoesNotThrow(() -> ledger.addTransaction(t1));
+
+        assertEquals(wallet, ledger.getAccount(wallet.getID()));
+        assertEquals(c1, ledger.getCategory(c1.getID()));
+        assertEquals(t1, ledger.getTransaction(t1.getID()));
+        assertNull(ledger.getAccount(100));
+
+        ledger.removeCategory(c1);
+        ledger.removeTransaction(t1);
+        ledger.removeAccount(wallet);
+        assertNull(ledger.getCategory(c1.getID()));
+        assertNull(ledger.getTransaction(t1.getID()));
+        assertNull(ledger.getAccount(wallet.getID()));
+    }
+
+    @Test
+    void getBalancesInCents() throws MovementException {
+        Account wallet1 = ledger.addAccount(AccountType.ASSETS, "wallet 1", "", 100);
+        Account wallet2 = ledger.addAccount(AccountType.ASSETS, "wallet 2", "", 10);
+        new MoneyMovement(MovementType.CREDITS, 1, 5, new GregorianCalendar(2000, Calendar.JANUARY, 10).getTime(), "", t1, wallet1);
+        new MoneyMovement(MovementType.DEBITS, 2, 20, new GregorianCalendar(2000, Calendar.FEBRUARY, 1).getTime(), "", t1, wallet1);
+        new MoneyMovement(MovementType.CREDITS, 3, 1.5, new GregorianCalendar(2000, Calendar.JANUARY, 20).getTime(), "", t1, wallet2);
+
+        List<LocalDate> dates = List.of(LocalDate.of(2000, 1, 1), LocalDate.of(2000, 1, 15),
+                LocalDate.of(2000, 1, 20), LocalDate.of(2000, 2, 1));
+        assertArrayEquals(new long[]{11000, 11500, 11650, 9650},
+                ledger.getBalancesInCents(List.of(wallet1, wallet2), dates));
+        assertArrayEquals(new long[]{1000, 1000, 1150, 1150},
+                ledger.getBalancesInCents(List.of(wallet2), dates));
+        assertArrayEquals(new long[0], ledger.getBalancesInCents(List.of(wallet1), List.of()));
     }
-}
\ No newline at end of file
+}
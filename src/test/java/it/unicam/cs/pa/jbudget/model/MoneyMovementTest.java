@@ -15,6 +15,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * <li> 2) Il valore del Movimento venga modificato correttamente; </li>
  * <li> 3) Al Movimento venga aggiunta correttamente una Categoria; </li>
  * <li> 4) Al Movimento venga rimossa correttamente una Categoria; </li>
+ * <li> 5) Le liste delle Categorie e dei Movimenti non si possano modificare senza passare dal Movimento
+ * o dalla Transazione; </li>
  * </ul>
  */
 class MoneyMovementTest {
@@ -90,4 +92,16 @@ class MoneyMovementTest {
         m1.removeCategory(c1);
         assertTrue(m1.categories().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void readOnlyLists() throws MovementException {
+        MoneyMovement m1 = new MoneyMovement(MovementType.CREDITS, 1, 10, Date.from(Instant.now()), "", t1, wallet);
+        Category c1 = new MoneyCategory("c1", "", 1);
+        assertThrows(UnsupportedOperationException.class, () -> m1.categories().add(c1));
+        assertThrows(UnsupportedOperationException.class, () -> t1.categories().add(c1));
+        assertThrows(UnsupportedOperationException.class, () -> t1.movements().clear());
+
+        m1.addCategory(c1);
+        assertEquals(1, wallet.movements(new MovementQuery().category(c1)).count());
+    }
+}
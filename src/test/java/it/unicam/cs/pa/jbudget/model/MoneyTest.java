@@ -0,0 +1,82 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) Gli importi vengano letti correttamente in centesimi; </li>
+ * <li> 2) Gli importi in centesimi vengano scritti nel formato corretto; </li>
+ * <li> 3) Le somme dei Movimenti non accumulino errori di arrotondamento; </li>
+ * <li> 4) Gli importi con piu' di 2 cifre decimali vengano rifiutati invece di essere arrotondati; </li>
+ * </ul>
+ */
+class MoneyTest {
+
+    @Test
+    void parse() {
+        assertEquals(1000, Money.parse("10"));
+        assertEquals(1000, Money.parse("10.0"));
+        assertEquals(1234, Money.parse("12.34"));
+        assertEquals(-5, Money.parse("-0.05"));
+        assertEquals(1234, Money.parse("12.3400"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("12.345"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("1.2345E1"));
+        assertEquals(1000000000, Money.parse("1.0E7"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("abc"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("-"));
+    }
+
+    @Test
+    void format() {
+        assertEquals("10.00", Money.toString(1000));
+        assertEquals("12.34", Money.toString(1234));
+        assertEquals("-0.05", Money.toString(-5));
+        assertEquals("0.00", Money.toString(0));
+    }
+
+    @Test
+    void exactSum() throws MovementException {
+        SimpleWallet wallet = new SimpleWallet(AccountType.ASSETS, "wallet test", "", 1, 0);
+        MoneyTransaction t1 = new MoneyTransaction(1);
+        for (int i = 0; i < 10; i++)
+            new MoneyMovement(MovementType.CREDITS, i, 0.1, new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime(), "", t1, wallet);
+
+        assertEquals(100, t1.getTotalAmountInCents());
+        assertEquals(1.0, t1.getTotalAmount());
+        assertEquals(100, wallet.getBalanceInCents());
+        assertEquals(1.0, wallet.getBalance());
+    }
+
+    @Test
+    void tooManyDecimals() throws MovementException {
+        assertTrue(Money.isCents(0.1 + 0.2));
+        assertTrue(Money.isCents(0.29));
+        assertTrue(Money.isCents(123456789.99));
+        assertFalse(Money.isCents(0.004));
+        assertFalse(Money.isCents(1.115));
+
+        SimpleWallet wallet = new SimpleWallet(AccountType.ASSETS, "wallet test", "", 1, 0);
+        MoneyTransaction t1 = new MoneyTransaction(1);
+        Date date = new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime();
+        Exception e0 = assertThrows(MovementException.class,
+                () -> new MoneyMovement(MovementType.CREDITS, 1, 0.004, date, "", t1, wallet));
+        assertEquals(MovementException.E7_TOO_MANY_DECIMALS, e0.getMessage());
+
+        MoneyMovement m1 = new MoneyMovement(MovementType.CREDITS, 2, 0.01, date, "", t1, wallet);
+        e0 = assertThrows(MovementException.class, () -> m1.setValue(2.555));
+        assertEquals(MovementException.E7_TOO_MANY_DECIMALS, e0.getMessage());
+        assertEquals(1, m1.amountInCents());
+
+        MovementStore store = new MovementStore();
+        e0 = assertThrows(MovementException.class,
+                () -> store.addMovement(MovementType.DEBITS, 3, 0.004, date, "", t1, wallet));
+        assertEquals(MovementException.E7_TOO_MANY_DECIMALS, e0.getMessage());
+    }
+}
@@ -0,0 +1,71 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) La lista dei Movimenti del Ledger sia in ordine di ID e non sia modificabile; </li>
+ * <li> 2) La lista sia sempre la stessa e rifletta aggiunte e rimozioni di Movimenti e Account; </li>
+ * <li> 3) I Movimenti vengano cercati per ID, anche dopo essere stati rimossi; </li>
+ * </ul>
+ */
+class MovementIndexTest {
+    MoneyLedger ledger;
+    Account wallet;
+    Account card;
+    MoneyMovement first;
+
+    @BeforeEach
+    void initialize() throws Exception {
+        ledger = new MoneyLedger();
+        wallet = ledger.addAccount(AccountType.ASSETS, "wallet test", "", 0);
+        card = ledger.addAccount(AccountType.ASSETS, "card test", "", 0);
+        Transaction transaction = new MoneyTransaction(0);
+        new MoneyMovement(MovementType.CREDITS, 2, 1, 10, "", transaction, card);
+        first = new MoneyMovement(MovementType.DEBITS, 0, 1, 40, "", transaction, wallet);
+        new MoneyMovement(MovementType.DEBITS, 1, 1, 10, "", transaction, wallet);
+        ledger.addTransaction(transaction);
+    }
+
+    @Test
+    void movements() {
+        List<Movement> movements = ledger.getMovements();
+        assertEquals(List.of(0, 1, 2), ids(movements));
+        assertThrows(UnsupportedOperationException.class, () -> movements.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> movements.add(first));
+    }
+
+    @Test
+    void live() throws Exception {
+        List<Movement> movements = ledger.getMovements();
+        Transaction transaction = new MoneyTransaction(1);
+        new MoneyMovement(MovementType.CREDITS, 3, 1, 5, "", transaction, wallet);
+        ledger.addTransaction(transaction);
+        assertSame(movements, ledger.getMovements());
+        assertEquals(List.of(0, 1, 2, 3), ids(movements));
+        wallet.removeMovement(first);
+        assertEquals(List.of(1, 2, 3), ids(movements));
+        assertTrue(ledger.removeAccount(card));
+        assertEquals(List.of(1, 3), ids(movements));
+    }
+
+    @Test
+    void getMovement() {
+        assertSame(first, ledger.getMovement(0));
+        assertNull(ledger.getMovement(10));
+        wallet.removeMovement(first);
+        assertNull(ledger.getMovement(0));
+        assertNotNull(ledger.getMovement(1));
+    }
+
+    private List<Integer> ids(List<Movement> movements) {
+        return movements.stream().map(Movement::getID).collect(Collectors.toList());
+    }
+}
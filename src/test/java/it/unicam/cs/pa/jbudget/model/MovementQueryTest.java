@@ -0,0 +1,74 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) Un'interrogazione senza criteri ritorni tutti i Movimenti del Ledger; </li>
+ * <li> 2) I criteri su Account, date, tipologia e importo vengano combinati; </li>
+ * <li> 3) I criteri su Categoria e descrizione vengano rispettati; </li>
+ * <li> 4) Le Transazioni dei Movimenti trovati vengano ritornate senza ripetizioni; </li>
+ * </ul>
+ */
+class MovementQueryTest {
+    MoneyLedger ledger;
+    Account wallet;
+    Account card;
+    Category food;
+
+    @BeforeEach
+    void initialize() throws Exception {
+        ledger = new MoneyLedger();
+        wallet = ledger.addAccount(AccountType.ASSETS, "wallet test", "", 0);
+        card = ledger.addAccount(AccountType.LIABILITIES, "card test", "", 0);
+        food = ledger.addCategory("spesa", "");
+        Transaction first = new MoneyTransaction(0);
+        new MoneyMovement(MovementType.DEBITS, 0, 12.5, 10, "pane", first, wallet).addCategory(food);
+        new MoneyMovement(MovementType.CREDITS, 1, 12.5, 10, "pane", first, card);
+        ledger.addTransaction(first);
+        Transaction second = new MoneyTransaction(1);
+        new MoneyMovement(MovementType.CREDITS, 2, 1000, 20, "stipendio", second, wallet);
+        new MoneyMovement(MovementType.DEBITS, 3, 40, 30, "pasta", second, wallet).addCategory(food);
+        ledger.addTransaction(second);
+    }
+
+    @Test
+    void all() {
+        assertEquals(4, ledger.movements(new MovementQuery()).count());
+    }
+
+    @Test
+    void combined() {
+        assertEquals(List.of(0, 3), ids(new MovementQuery().account(wallet).type(MovementType.DEBITS)));
+        assertEquals(List.of(0, 1), ids(new MovementQuery().between(LocalDate.ofEpochDay(5), LocalDate.ofEpochDay(15))));
+        assertEquals(List.of(3), ids(new MovementQuery().account(wallet).betweenDays(15, 40).amount(10, 100)));
+        assertEquals(List.of(0, 2, 3, 1), ids(new MovementQuery().account(wallet).account(card)));
+        assertTrue(wallet.movements(new MovementQuery().account(card)).findAny().isEmpty());
+    }
+
+    @Test
+    void categoryAndDescription() {
+        assertEquals(List.of(0, 3), ids(new MovementQuery().category(food)));
+        assertEquals(List.of(0, 3, 1), ids(new MovementQuery().description("pa")));
+        assertEquals(List.of(1), ids(new MovementQuery().description("pane").type(MovementType.CREDITS)));
+    }
+
+    @Test
+    void transactions() {
+        List<Integer> transactions = ledger.transactions(new MovementQuery().description("pa"))
+                .map(Transaction::getID).collect(Collectors.toList());
+        assertEquals(List.of(0, 1), transactions);
+    }
+
+    private List<Integer> ids(MovementQuery query) {
+        return ledger.movements(query).map(Movement::getID).collect(Collectors.toList());
+    }
+}
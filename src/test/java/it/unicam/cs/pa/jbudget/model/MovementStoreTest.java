@@ -0,0 +1,182 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.controller.MoneyController;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) Un Movimento venga creato nell'archivio e collegato al suo Conto e alla sua Transazione; </li>
+ * <li> 2) Le Categorie di un Movimento dell'archivio vengano aggiunte e rimosse correttamente; </li>
+ * <li> 3) Un Movimento dell'archivio possa essere rimosso dal Ledger; </li>
+ * <li> 4) Le righe dei Movimenti eliminati o non aggiunti vengano riutilizzate, senza modificare i Movimenti eliminati; </li>
+ * <li> 5) Le Categorie con ID negativo vengano salvate, e gli insiemi di Categorie non usati vengano eliminati; </li>
+ * <li> 6) Un Controller con un archivio crei nell'archivio anche i Movimenti importati; </li>
+ * </ul>
+ */
+class MovementStoreTest {
+    MovementStore store;
+    MoneyLedger ledger;
+    Account wallet;
+    MoneyTransaction t1;
+
+    @BeforeEach
+    void initialize() {
+        store = new MovementStore();
+        ledger = new MoneyLedger();
+        wallet = ledger.addAccount(AccountType.ASSETS, "wallet test", "", 0);
+        t1 = new MoneyTransaction(1);
+    }
+
+    @Test
+    void addMovement() throws MovementException {
+        Movement m1 = store.addMovement(MovementType.CREDITS, 1, 10,
+                new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime(), "m1", t1, wallet);
+        store.addMovement(MovementType.DEBITS, 2, 4,
+                new GregorianCalendar(2000, Calendar.JANUARY, 2).getTime(), "m2", t1, wallet);
+
+        assertEquals(2, store.size());
+        assertEquals(10, m1.amount());
+        assertEquals("m1", m1.getDescription());
+        assertEquals(new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime(), m1.getDate());
+        assertEquals(wallet, m1.getAccount());
+        assertEquals(t1, m1.getTransaction());
+        assertEquals(6, wallet.getBalance());
+        assertEquals(6, t1.getTotalAmount());
+
+        Exception e1 = assertThrows(MovementException.class, () -> store.addMovement(MovementType.CREDITS, 1, 10,
+                new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime(), "", t1, wallet));
+        assertEquals(MovementException.E3_THERE_IS_ALREADY_A_MOVEMENT_IN_TRANSACTION, e1.getMessage());
+
+        e1 = assertThrows(MovementException.class, () -> store.addMovement(MovementType.CREDITS, 3, -10,
+                new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime(), "", t1, wallet));
+        assertEquals(MovementException.E0_NEGATIVE_VALUE, e1.getMessage());
+    }
+
+    @Test
+    void categories() throws MovementException {
+        Category c1 = ledger.addCategory("c1", "");
+        Category c2 = ledger.addCategory("c2", "");
+        Movement m1 = store.addMovement(MovementType.CREDITS, 1, 10,
+                new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime(), "", t1, wallet);
+        Movement m2 = store.addMovement(MovementType.CREDITS, 2, 10,
+                new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime(), "", t1, wallet);
+
+        t1.addCategory(c2);
+        m1.addCategory(c1);
+        assertEquals(c1, m1.categories().get(0));
+        assertEquals(c2, m1.categories().get(1));
+        assertEquals(1, m2.categories().size());
+
+        assertDoesNotThrow(() -> ledger.addTransaction(t1));
+        assertTrue(ledger.removeCategory(c2));
+        assertEquals(1, m1.categories().size());
+        assertTrue(m2.categories().isEmpty());
+    }
+
+    @Test
+    void removeTransaction() throws MovementException {
+        Movement m1 = store.addMovement(MovementType.CREDITS, 1, 10,
+                new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime(), "", t1, wallet);
+        assertDoesNotThrow(() -> ledger.addTransaction(t1));
+
+        assertTrue(ledger.removeTransaction(t1));
+        assertNull(m1.getAccount());
+        assertNull(m1.getTransaction());
+        assertTrue(wallet.getMovements().isEmpty());
+        assertEquals(0, wallet.getBalance());
+    }
+
+    @Test
+    void reuseRows() throws MovementException {
+        Category c1 = ledger.addCategory("c1", "");
+        Movement m1 = store.addMovement(MovementType.CREDITS, 1, 10,
+                new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime(), "m1", t1, wallet);
+        store.addMovement(MovementType.DEBITS, 2, 4,
+                new GregorianCalendar(2000, Calendar.JANUARY, 2).getTime(), "m2", t1, wallet);
+        m1.addCategory(c1);
+        assertThrows(MovementException.class, () -> store.addMovement(MovementType.CREDITS, 1, 10,
+                new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime(), "", t1, wallet));
+        assertEquals(2, store.size());
+
+        assertTrue(wallet.removeMovement(m1));
+        assertTrue(t1.removeMovement(m1));
+        m1.delete();
+        assertEquals(1, store.size());
+        Movement m3 = store.addMovement(MovementType.DEBITS, 3, 7,
+                new GregorianCalendar(2000, Calendar.JANUARY, 3).getTime(), "m3", t1, wallet);
+        assertEquals(2, store.size());
+
+        assertEquals(1, m1.getID());
+        assertEquals("m1", m1.getDescription());
+        assertEquals(10, m1.amount());
+        assertEquals(c1, m1.categories().get(0));
+        assertNull(m1.getAccount());
+        assertNull(m1.getTransaction());
+        m1.delete();
+        assertEquals(2, store.size());
+        assertEquals("m3", m3.getDescription());
+        assertEquals(wallet, m3.getAccount());
+        assertEquals(-11, wallet.getBalance());
+    }
+
+    @Test
+    void categorySets() throws Exception {
+        Category negative = new MoneyCategory("negativa", "", -7);
+        Category c1 = ledger.addCategory("c1", "");
+        Movement m1 = store.addMovement(MovementType.CREDITS, 1, 10,
+                new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime(), "", t1, wallet);
+        Movement m2 = store.addMovement(MovementType.CREDITS, 2, 10,
+                new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime(), "", t1, wallet);
+
+        m1.addCategory(c1);
+        m1.addCategory(negative);
+        m2.addCategory(negative);
+        assertEquals(List.of(negative, c1), m1.categories());
+        assertEquals(1, wallet.movements(new MovementQuery().category(negative)).filter(m1::equals).count());
+        assertEquals(3, store.categorySetCount());
+
+        assertTrue(m1.removeCategory(negative));
+        assertFalse(m1.removeCategory(negative));
+        assertEquals(List.of(c1), m1.categories());
+        assertEquals(3, store.categorySetCount());
+        assertTrue(m1.removeCategory(c1));
+        assertTrue(m2.removeCategory(negative));
+        assertEquals(1, store.categorySetCount());
+
+        m2.addCategory(c1);
+        wallet.removeMovement(m2);
+        t1.removeMovement(m2);
+        m2.delete();
+        assertEquals(List.of(c1), m2.categories());
+        assertEquals(1, store.categorySetCount());
+    }
+
+    @Test
+    void importIntoStore() throws Exception {
+        Controller controller = new MoneyController();
+        controller.addAccount(AccountType.ASSETS, "wallet test", "", 0);
+        for (int i = 0; i < 5; i++)
+            controller.addMovement(MovementType.CREDITS, i, new Date(0), "m" + i, controller.getAccounts().get(0));
+        Path directory = Files.createTempDirectory("jbudget");
+        controller.saveData(directory.toString());
+
+        MovementStore imported = new MovementStore();
+        Controller storeController = new MoneyController(imported);
+        storeController.importData(directory.toString());
+        assertEquals(5, imported.size());
+        assertEquals(5, storeController.getMovements().size());
+        assertEquals("m3", storeController.getMovement(3).getDescription());
+    }
+}
@@ -5,11 +5,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Controlla che:
@@ -17,6 +19,9 @@ import java.util.List;
  * 2) Una lista di Movimenti venga aggiunta al Conto;
  * 3) Il bilancio del Conto sia calcolato correttamente;
  * 4) Il Conto ritorni correttamente la lista dei movimenti filtrati da un predicate;
+ * 5) Il bilancio del Conto venga aggiornato quando un movimento viene modificato o rimosso;
+ * 6) Il bilancio del Conto ad una certa data, o in un intervallo di date, sia calcolato correttamente;
+ * 7) I Movimenti di un intervallo di date vengano letti in ordine di giorno, anche dopo un cambio di data;
  */
 class SimpleWalletTest {
 
@@ -97,4 +102,67 @@ class SimpleWalletTest {
         assertTrue(wallet.getMovements(movement -> movement.type().equals(MovementType.DEBITS)).contains(m2));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateBalance() throws MovementException {
+        SimpleWallet wallet = new SimpleWallet(AccountType.ASSETS, "wallet test", "", 1, 0);
+        MoneyTransaction t1 = new MoneyTransaction(1);
+
+        MoneyMovement m1 = new MoneyMovement(MovementType.CREDITS, 1, 10, new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime(), "", t1, wallet);
+        MoneyMovement m2 = new MoneyMovement(MovementType.DEBITS, 2, 100, new GregorianCalendar(3000, Calendar.JANUARY, 1).getTime(), "", t1, wallet);
+        assertEquals(10, wallet.getBalance());
+
+        m1.setValue(50);
+        assertEquals(50, wallet.getBalance());
+
+        m2.setDate(new GregorianCalendar(2000, Calendar.FEBRUARY, 1).getTime());
+        assertEquals(-50, wallet.getBalance());
+
+        m1.setDate(new GregorianCalendar(3000, Calendar.FEBRUARY, 1).getTime());
+        assertEquals(-100, wallet.getBalance());
+
+        assertTrue(wallet.removeMovement(m2));
+        assertEquals(0, wallet.getBalance());
+        assertFalse(wallet.removeMovement(m2));
+    }
+
+    @Test
+    void getBalanceAsOf() throws MovementException {
+        SimpleWallet wallet = new SimpleWallet(AccountType.ASSETS, "wallet test", "", 1, 100);
+        MoneyTransaction t1 = new MoneyTransaction(1);
+
+        new MoneyMovement(MovementType.CREDITS, 1, 10, new GregorianCalendar(2000, Calendar.MARCH, 1).getTime(), "", t1, wallet);
+        new MoneyMovement(MovementType.DEBITS, 2, 30, new GregorianCalendar(2000, Calendar.JANUARY, 15).getTime(), "", t1, wallet);
+        MoneyMovement m3 = new MoneyMovement(MovementType.CREDITS, 3, 5, new GregorianCalendar(2000, Calendar.FEBRUARY, 10).getTime(), "", t1, wallet);
+        new MoneyMovement(MovementType.CREDITS, 4, 1, new GregorianCalendar(2000, Calendar.FEBRUARY, 10).getTime(), "", t1, wallet);
+
+        assertEquals(100, wallet.getBalance(LocalDate.of(2000, 1, 14)));
+        assertEquals(70, wallet.getBalance(LocalDate.of(2000, 1, 15)));
+        assertEquals(76, wallet.getBalance(LocalDate.of(2000, 2, 29)));
+        assertEquals(86, wallet.getBalance(LocalDate.of(2020, 1, 1)));
+        assertEquals(6, wallet.getBalanceChange(LocalDate.of(2000, 2, 1), LocalDate.of(2000, 2, 29)));
+
+        m3.setValue(15);
+        assertEquals(86, wallet.getBalance(LocalDate.of(2000, 2, 29)));
+        m3.setDate(new GregorianCalendar(2000, Calendar.APRIL, 1).getTime());
+        assertEquals(71, wallet.getBalance(LocalDate.of(2000, 2, 29)));
+        assertEquals(25, wallet.getBalanceChange(LocalDate.of(2000, 3, 1), LocalDate.of(2000, 4, 30)));
+    }
+
+    @Test
+    void movementsInRange() throws MovementException {
+        SimpleWallet wallet = new SimpleWallet(AccountType.ASSETS, "wallet test", "", 1, 0);
+        MoneyTransaction t1 = new MoneyTransaction(1);
+        MoneyMovement m1 = new MoneyMovement(MovementType.CREDITS, 1, 10, new GregorianCalendar(2000, Calendar.MARCH, 1).getTime(), "", t1, wallet);
+        MoneyMovement m2 = new MoneyMovement(MovementType.CREDITS, 2, 10, new GregorianCalendar(2000, Calendar.JANUARY, 15).getTime(), "", t1, wallet);
+        MoneyMovement m3 = new MoneyMovement(MovementType.CREDITS, 3, 10, new GregorianCalendar(2000, Calendar.FEBRUARY, 10).getTime(), "", t1, wallet);
+
+        MovementQuery query = new MovementQuery().between(LocalDate.of(2000, 1, 1), LocalDate.of(2000, 2, 29));
+        assertEquals(List.of(m2, m3), wallet.movements(query).collect(Collectors.toList()));
+        assertEquals(List.of(m2, m3, m1), wallet.getMovements(LocalDate.of(2000, 1, 1), LocalDate.of(2000, 12, 31)));
+
+        m1.setDate(new GregorianCalendar(2000, Calendar.JANUARY, 1).getTime());
+        wallet.removeMovement(m3);
+        assertEquals(List.of(m1, m2), wallet.movements(query).collect(Collectors.toList()));
+    }
+}
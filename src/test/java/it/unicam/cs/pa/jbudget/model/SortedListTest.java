@@ -0,0 +1,46 @@
+package it.unicam.cs.pa.jbudget.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) Gli elementi inseriti, anche non in ordine, vengano mantenuti ordinati; </li>
+ * <li> 2) Un elemento gia' presente non venga inserito 2 volte; </li>
+ * <li> 3) Un elemento venga cercato e rimosso correttamente; </li>
+ * </ul>
+ */
+class SortedListTest {
+
+    @Test
+    void insert() {
+        SortedList<Category> list = new SortedList<>();
+        list.insert(new MoneyCategory("c0", "", 0));
+        list.insert(new MoneyCategory("c3", "", 3));
+        list.insert(new MoneyCategory("c1", "", 1));
+        list.insert(new MoneyCategory("c2", "", 2));
+
+        for (int i = 0; i < list.size(); i++)
+            assertEquals(i, list.get(i).getID());
+
+        assertFalse(list.insert(new MoneyCategory("c1", "", 1)));
+        assertEquals(4, list.size());
+    }
+
+    @Test
+    void removeElement() {
+        SortedList<Category> list = new SortedList<>();
+        Category c1 = new MoneyCategory("c1", "", 1);
+        list.insert(c1);
+        list.insert(new MoneyCategory("c2", "", 2));
+
+        assertTrue(list.containsElement(c1));
+        assertFalse(list.containsElement(null));
+        assertTrue(list.removeElement(c1));
+        assertFalse(list.containsElement(c1));
+        assertFalse(list.removeElement(c1));
+        assertEquals(1, list.size());
+    }
+}
@@ -0,0 +1,108 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.controller.MoneyController;
+import it.unicam.cs.pa.jbudget.model.AccountType;
+import it.unicam.cs.pa.jbudget.model.MovementType;
+import it.unicam.cs.pa.jbudget.save.BlockDeflaterOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) I File salvati compressi vengano importati sia in sequenza che su piu' thread; </li>
+ * <li> 2) Un File di piu' blocchi venga diviso in blocchi di righe intere e decompresso senza perdite; </li>
+ * <li> 3) I Movimenti aggiunti ad un File compresso vengano salvati in nuovi blocchi; </li>
+ * </ul>
+ */
+class BlockInflaterInputStreamTest {
+    Controller controller;
+    Path directory;
+
+    @BeforeEach
+    void initialize() throws Exception {
+        controller = new MoneyController();
+        controller.setCompression(true);
+        controller.addAccount(AccountType.ASSETS, "wallet test", "", 10);
+        controller.addMovement(MovementType.CREDITS, 5, new Date(), "primo", controller.getAccounts().get(0));
+        directory = Files.createTempDirectory("jbudget");
+    }
+
+    @Test
+    void importCompressed() throws Exception {
+        controller.saveData(directory.toString());
+        assertTrue(BlockDeflaterOutputStream.isCompressed(directory.resolve("Movement.txt")));
+
+        Controller sequential = new MoneyController();
+        sequential.importData(directory.toString());
+        assertEquals(1, sequential.getMovements().size());
+        assertEquals("wallet test", sequential.getAccounts().get(0).getName());
+
+        long[] progress = new long[2];
+        Controller pipelined = new MoneyController();
+        pipelined.importData(directory.toString(), (done, total) -> {
+            progress[0] = done;
+            progress[1] = total;
+        });
+        assertEquals(1, pipelined.getMovements().size());
+        assertEquals(progress[1], progress[0]);
+    }
+
+    @Test
+    void multipleBlocks() throws Exception {
+        Path file = directory.resolve("Movement.txt");
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        for (int i = 0; text.size() < 3 * BlockDeflaterOutputStream.BLOCK_SIZE; i++)
+            text.write(("riga numero " + i + "\n").getBytes(StandardCharsets.UTF_8));
+        try (OutputStream out = new BlockDeflaterOutputStream(Files.newOutputStream(file), true)) {
+            out.write(text.toByteArray());
+        }
+        assertTrue(Files.size(file) < text.size());
+
+        try (InputStream in = new BlockInflaterInputStream(Files.newInputStream(file))) {
+            assertArrayEquals(text.toByteArray(), in.readAllBytes());
+        }
+        try (FileChannel channel = FileChannel.open(file)) {
+            List<long[]> blocks = BlockInflaterInputStream.blocks(channel);
+            assertTrue(blocks.size() > 1);
+            ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+            for (long[] block : blocks) {
+                byte[] raw = BlockInflaterInputStream.inflate(
+                        channel.map(FileChannel.MapMode.READ_ONLY, block[0], block[1]), (int) block[2]);
+                assertEquals('\n', raw[raw.length - 1]);
+                inflated.write(raw);
+            }
+            assertArrayEquals(text.toByteArray(), inflated.toByteArray());
+        }
+    }
+
+    @Test
+    void appendCompressed() throws Exception {
+        controller.saveData(directory.toString());
+        controller.addMovement(MovementType.DEBITS, 2, new Date(), "secondo", controller.getAccounts().get(0));
+        controller.saveData(directory.toString());
+        try (FileChannel channel = FileChannel.open(directory.resolve("Movement.txt"))) {
+            assertEquals(2, BlockInflaterInputStream.blocks(channel).size());
+        }
+
+        Controller imported = new MoneyController();
+        imported.importData(directory.toString(), (done, total) -> {
+        });
+        assertEquals(2, imported.getMovements().size());
+        assertEquals(controller.getAccounts().get(0).getBalanceInCents(),
+                imported.getAccounts().get(0).getBalanceInCents());
+    }
+}
@@ -0,0 +1,118 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.controller.MoneyController;
+import it.unicam.cs.pa.jbudget.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) Un Ledger salvato nei File di testo venga importato con gli stessi Account, Categorie e Movimenti; </li>
+ * <li> 2) Un Movimento con l'ID di un Account non presente lanci una MovementException; </li>
+ * <li> 3) 2 Movimenti con lo stesso ID lancino una LedgerException; </li>
+ * </ul>
+ */
+class FileTxtImporterTest {
+    Controller controller;
+    Path directory;
+
+    @BeforeEach
+    void initialize() throws Exception {
+        controller = new MoneyController();
+        controller.addAccount(AccountType.ASSETS, "wallet test", "conto", 10);
+        controller.addAccount(AccountType.LIABILITIES, "card test", "", 0);
+        controller.addCategory("spesa", "alimentari");
+        controller.addCategory("svago", "");
+        for (int i = 0; i < 10; i++)
+            controller.addMovement(i % 2 == 0 ? MovementType.DEBITS : MovementType.CREDITS, i + 0.5,
+                    new Date(i * 86400000L), "movimento " + i, controller.getAccounts().get(i % 2));
+        controller.getMovements().get(3).addCategory(controller.getCategory().get(0));
+        controller.getMovements().get(3).addCategory(controller.getCategory().get(1));
+        controller.getTransactions().get(0).addCategory(controller.getCategory().get(1));
+        directory = Files.createTempDirectory("jbudget");
+        controller.saveData(directory.toString());
+    }
+
+    @Test
+    void roundTrip() throws Exception {
+        Controller imported = new MoneyController();
+        Importer importer = new FileTxtImporter(imported, directory.toString());
+        importer.getAccounts();
+        importer.getCategories();
+        importer.getMovements();
+        importer.getTransaction();
+
+        assertEquals(controller.getAccounts().size(), imported.getAccounts().size());
+        for (int i = 0; i < controller.getAccounts().size(); i++) {
+            Account account = controller.getAccounts().get(i);
+            Account copy = imported.getAccounts().get(i);
+            assertEquals(account.getID(), copy.getID());
+            assertEquals(account.getName(), copy.getName());
+            assertEquals(account.getBalanceInCents(), copy.getBalanceInCents());
+        }
+        assertEquals(controller.getCategory().size(), imported.getCategory().size());
+        assertEquals(controller.getTransactions().size(), imported.getTransactions().size());
+        assertEquals(controller.getTransactions().get(0).categories().size(),
+                imported.getTransactions().get(0).categories().size());
+        assertEquals(controller.getMovements().size(), imported.getMovements().size());
+        for (Movement movement : controller.getMovements()) {
+            Movement copy = imported.getMovement(movement.getID());
+            assertEquals(movement.getDescription(), copy.getDescription());
+            assertEquals(movement.amountInCents(), copy.amountInCents());
+            assertEquals(movement.getEpochDay(), copy.getEpochDay());
+            assertEquals(movement.type(), copy.type());
+            assertEquals(movement.getAccount().getID(), copy.getAccount().getID());
+            assertEquals(movement.categories().size(), copy.categories().size());
+        }
+    }
+
+    @Test
+    void unknownAccount() throws Exception {
+        editMovements(lines -> {
+            String[] fields = lines.get(2).split(";", -1);
+            fields[6] = "999";
+            lines.set(2, String.join(";", fields));
+        });
+        Importer importer = readAccounts();
+        Exception e0 = assertThrows(MovementException.class, importer::getMovements);
+        assertEquals(MovementException.E4_NULL_ACCOUNT, e0.getMessage());
+    }
+
+    @Test
+    void duplicateMovement() throws Exception {
+        editMovements(lines -> {
+            String[] fields = lines.get(4).split(";", -1);
+            fields[0] = lines.get(1).split(";", -1)[0];
+            lines.set(4, String.join(";", fields));
+        });
+        Importer importer = readAccounts();
+        Exception e0 = assertThrows(LedgerException.class, importer::getMovements);
+        assertEquals(LedgerException.E3_THERE_IS_ALREADY_A_MOVEMENT_IN_LEDGER, e0.getMessage());
+    }
+
+    private Importer readAccounts() throws Exception {
+        Importer importer = new FileTxtImporter(new MoneyController(), directory.toString());
+        importer.getAccounts();
+        importer.getCategories();
+        return importer;
+    }
+
+    private void editMovements(Consumer<List<String>> edit) throws Exception {
+        Path file = directory.resolve("Movement.txt");
+        List<String> lines = new ArrayList<>(Files.readAllLines(file, Charset.defaultCharset()));
+        edit.accept(lines);
+        Files.write(file, lines, Charset.defaultCharset());
+    }
+}
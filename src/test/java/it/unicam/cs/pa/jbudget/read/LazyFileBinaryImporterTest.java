@@ -0,0 +1,104 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.controller.MoneyController;
+import it.unicam.cs.pa.jbudget.model.*;
+import it.unicam.cs.pa.jbudget.save.FileBinarySaver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) Il saldo dell'Account importato comprenda i Movimenti non ancora creati; </li>
+ * <li> 2) Vengano ritornati solo i Movimenti dell'intervallo richiesto, e poi tutti gli altri; </li>
+ * <li> 3) Le Categorie delle Transazioni vengano collegate quando i Movimenti vengono creati; </li>
+ * <li> 4) I nuovi Movimenti non riutilizzino gli ID dei Movimenti archiviati; </li>
+ * <li> 5) La descrizione e le Categorie saltate durante l'indicizzazione vengano lette quando il Movimento
+ * viene creato, e i Movimenti futuri vengano creati subito; </li>
+ * </ul>
+ */
+class LazyFileBinaryImporterTest {
+    Controller imported;
+
+    @BeforeEach
+    void initialize() throws Exception {
+        Controller controller = new MoneyController();
+        controller.addAccount(AccountType.ASSETS, "wallet test", "", 0, 100);
+        controller.addCategory("spesa", "", 0);
+        Account wallet = controller.getAccounts().get(0);
+        for (int day = 1; day <= 3; day++) {
+            Transaction transaction = new MoneyTransaction(day);
+            controller.addMovement(new MoneyMovement(MovementType.DEBITS, day, day, day, "", transaction, wallet));
+        }
+        controller.getMovement(2).addCategory(controller.getCategory().get(0));
+        ((MoneyMovement) controller.getMovement(2)).setDescription("movimento 2");
+        controller.getTransactions().get(0).addCategory(controller.getCategory().get(0));
+        String file = Files.createTempDirectory("jbudget").resolve("test" + FileBinarySaver.EXTENSION).toString();
+        controller.saveData(file);
+
+        imported = new MoneyController();
+        imported.importArchive(file);
+    }
+
+    @Test
+    void balance() {
+        Account wallet = imported.getAccounts().get(0);
+        assertEquals(94, wallet.getBalance());
+        assertEquals(97, wallet.getBalance(LocalDate.ofEpochDay(2)));
+    }
+
+    @Test
+    void getMovements() {
+        Account wallet = imported.getAccounts().get(0);
+        assertEquals(1, wallet.getMovements(LocalDate.ofEpochDay(2), LocalDate.ofEpochDay(2)).size());
+        assertEquals(2, wallet.getMovements(LocalDate.ofEpochDay(0), LocalDate.ofEpochDay(2)).size());
+        assertEquals(3, wallet.getMovements().size());
+        assertEquals(94, wallet.getBalance());
+    }
+
+    @Test
+    void transactionCategory() {
+        Transaction transaction = imported.getTransactions().get(0);
+        assertEquals(1, transaction.getID());
+        assertEquals("spesa", transaction.categories().get(0).getName());
+    }
+
+    @Test
+    void newMovement() throws Exception {
+        Transaction transaction = imported.addMovement(MovementType.CREDITS, 1, new Date(), "",
+                imported.getAccounts().get(0));
+        assertEquals(4, transaction.getID());
+        assertEquals(4, transaction.movements().get(0).getID());
+        assertEquals(4, imported.getTransactions().size());
+    }
+
+    @Test
+    void skippedFields() throws Exception {
+        Account wallet = imported.getAccounts().get(0);
+        Movement movement = wallet.getMovements(LocalDate.ofEpochDay(2), LocalDate.ofEpochDay(2)).get(0);
+        assertEquals("movimento 2", movement.getDescription());
+        assertEquals("spesa", movement.categories().get(0).getName());
+
+        Controller controller = new MoneyController();
+        controller.addAccount(AccountType.ASSETS, "wallet test", "", 0, 0);
+        Account account = controller.getAccounts().get(0);
+        controller.addMovement(new MoneyMovement(MovementType.CREDITS, 1, 1, 1, "passato", new MoneyTransaction(1), account));
+        controller.addMovement(new MoneyMovement(MovementType.CREDITS, 2, 2, Days.today() + 10, "futuro",
+                new MoneyTransaction(2), account));
+        String file = Files.createTempDirectory("jbudget").resolve("future" + FileBinarySaver.EXTENSION).toString();
+        controller.saveData(file);
+
+        Controller future = new MoneyController();
+        future.importArchive(file);
+        assertEquals("futuro", future.getMovement(2).getDescription());
+        assertEquals(1, future.getAccounts().get(0).getBalance());
+        assertEquals(2, future.getAccounts().get(0).getMovements().size());
+    }
+}
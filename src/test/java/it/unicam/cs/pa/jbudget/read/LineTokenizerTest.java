@@ -0,0 +1,70 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) I campi vuoti, anche in fondo alla riga, vengano contati; </li>
+ * <li> 2) Una riga compresa tra 2 indici di un testo venga divisa senza leggere il resto del testo; </li>
+ * <li> 3) I campi vengano convertiti in interi, centesimi, giorni e liste di interi; </li>
+ * <li> 4) Un intero fuori dai limiti o un campo non presente lancino un'eccezione; </li>
+ * </ul>
+ */
+class LineTokenizerTest {
+    LineTokenizer tokenizer = new LineTokenizer(';');
+
+    @Test
+    void emptyFields() {
+        tokenizer.reset("1;;x");
+        assertEquals(3, tokenizer.size());
+        assertTrue(tokenizer.isEmpty(1));
+        assertEquals("", tokenizer.string(1));
+        assertEquals("x", tokenizer.string(2));
+
+        tokenizer.reset("a;b;");
+        assertEquals(3, tokenizer.size());
+        assertTrue(tokenizer.isEmpty(2));
+
+        tokenizer.reset("");
+        assertEquals(1, tokenizer.size());
+        assertTrue(tokenizer.isEmpty(0));
+    }
+
+    @Test
+    void range() {
+        String text = "0;1\n2;3;4\n5";
+        tokenizer.reset(text, 4, 9);
+        assertEquals(3, tokenizer.size());
+        assertEquals(2, tokenizer.integer(0));
+        assertEquals("4", tokenizer.string(2));
+    }
+
+    @Test
+    void conversions() {
+        tokenizer.reset("-42;12.34;2021-03-01;1,,2,3,");
+        assertEquals(-42, tokenizer.integer(0));
+        assertEquals(1234, tokenizer.cents(1));
+        assertEquals(LocalDate.of(2021, 3, 1).toEpochDay(), tokenizer.epochDay(2));
+        assertArrayEquals(new int[]{1, 2, 3}, tokenizer.integers(3, ','));
+
+        tokenizer.reset("1;");
+        assertArrayEquals(new int[0], tokenizer.integers(1, ','));
+    }
+
+    @Test
+    void errors() {
+        tokenizer.reset("2147483647;2147483648;-2147483649;abc;");
+        assertEquals(Integer.MAX_VALUE, tokenizer.integer(0));
+        assertThrows(NumberFormatException.class, () -> tokenizer.integer(1));
+        assertThrows(NumberFormatException.class, () -> tokenizer.integer(2));
+        assertThrows(NumberFormatException.class, () -> tokenizer.integer(3));
+        assertThrows(NumberFormatException.class, () -> tokenizer.integer(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> tokenizer.string(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> tokenizer.integer(-1));
+    }
+}
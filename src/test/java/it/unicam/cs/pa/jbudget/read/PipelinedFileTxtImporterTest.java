@@ -0,0 +1,105 @@
+package it.unicam.cs.pa.jbudget.read;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.controller.MoneyController;
+import it.unicam.cs.pa.jbudget.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) Un File diviso in molti blocchi venga importato come con {@link FileTxtImporter}; </li>
+ * <li> 2) L'avanzamento notificato cresca ad ogni blocco e arrivi al totale; </li>
+ * <li> 3) Un errore di lettura in un blocco interrompa l'import e chiuda i thread; </li>
+ * </ul>
+ */
+class PipelinedFileTxtImporterTest {
+    static final int CHUNK_SIZE = 256;
+    Path directory;
+
+    @BeforeEach
+    void initialize() throws Exception {
+        Controller controller = new MoneyController();
+        controller.addAccount(AccountType.ASSETS, "wallet test", "", 10);
+        controller.addAccount(AccountType.LIABILITIES, "card test", "", 0);
+        controller.addCategory("spesa", "");
+        Category category = controller.getCategory().get(0);
+        for (int i = 0; i < 200; i++) {
+            Account account = controller.getAccounts().get(i % 2);
+            controller.addMovement(i % 3 == 0 ? MovementType.DEBITS : MovementType.CREDITS, i + 0.25,
+                    new Date(i * 86400000L), "movimento " + i, account);
+        }
+        controller.getMovements().get(7).addCategory(category);
+        directory = Files.createTempDirectory("jbudget");
+        controller.saveData(directory.toString());
+        assertTrue(Files.size(directory.resolve("Movement.txt")) > 10 * CHUNK_SIZE);
+    }
+
+    @Test
+    void chunks() throws Exception {
+        Controller expected = new MoneyController();
+        importData(new FileTxtImporter(expected, directory.toString()));
+
+        List<long[]> progress = new ArrayList<>();
+        Controller pipelined = new MoneyController();
+        importData(new PipelinedFileTxtImporter(pipelined, directory.toString(),
+                (done, total) -> progress.add(new long[]{done, total}), Executors.newFixedThreadPool(4), CHUNK_SIZE));
+
+        assertEquals(expected.getAccounts().size(), pipelined.getAccounts().size());
+        assertEquals(expected.getTransactions().size(), pipelined.getTransactions().size());
+        List<Movement> movements = pipelined.getMovements();
+        assertEquals(expected.getMovements().size(), movements.size());
+        for (Movement movement : expected.getMovements()) {
+            Movement imported = pipelined.getMovement(movement.getID());
+            assertEquals(movement.getDescription(), imported.getDescription());
+            assertEquals(movement.amountInCents(), imported.amountInCents());
+            assertEquals(movement.getEpochDay(), imported.getEpochDay());
+            assertEquals(movement.type(), imported.type());
+            assertEquals(movement.getAccount().getID(), imported.getAccount().getID());
+            assertEquals(movement.categories().size(), imported.categories().size());
+        }
+
+        assertTrue(progress.size() > 10);
+        long[] last = progress.get(progress.size() - 1);
+        assertEquals(last[1], last[0]);
+        for (int i = 1; i < progress.size(); i++)
+            assertTrue(progress.get(i)[0] > progress.get(i - 1)[0]);
+    }
+
+    @Test
+    void parseError() throws Exception {
+        Path file = directory.resolve("Movement.txt");
+        List<String> lines = new ArrayList<>(Files.readAllLines(file, Charset.defaultCharset()));
+        String[] fields = lines.get(150).split(";", -1);
+        fields[2] = "x";
+        lines.set(150, String.join(";", fields));
+        Files.write(file, lines, Charset.defaultCharset());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Importer importer = new PipelinedFileTxtImporter(new MoneyController(), directory.toString(), null,
+                executor, CHUNK_SIZE);
+        importer.getAccounts();
+        importer.getCategories();
+        assertThrows(RuntimeException.class, importer::getMovements);
+        assertTrue(executor.isShutdown());
+    }
+
+    private static void importData(Importer importer) throws Exception {
+        importer.getAccounts();
+        importer.getCategories();
+        importer.getMovements();
+        importer.getTransaction();
+    }
+}
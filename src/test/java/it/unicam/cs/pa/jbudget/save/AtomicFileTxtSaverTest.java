@@ -0,0 +1,127 @@
+package it.unicam.cs.pa.jbudget.save;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.controller.MoneyController;
+import it.unicam.cs.pa.jbudget.model.AccountType;
+import it.unicam.cs.pa.jbudget.model.MovementType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) I dati salvati vengano importati correttamente e non rimangano File temporanei; </li>
+ * <li> 2) Un salvataggio interrotto prima del manifest venga annullato; </li>
+ * <li> 3) Un salvataggio interrotto dopo il manifest venga completato; </li>
+ * <li> 4) Salvando nella stessa Cartella vengano riscritti solo i File dei dati modificati; </li>
+ * <li> 5) I Movimenti aggiunti vengano salvati in coda a quelli gia' salvati; </li>
+ * <li> 6) Un salvataggio in coda interrotto prima del manifest venga annullato; </li>
+ * </ul>
+ */
+class AtomicFileTxtSaverTest {
+    Controller controller;
+    Path directory;
+
+    @BeforeEach
+    void initialize() throws Exception {
+        controller = new MoneyController();
+        controller.addAccount(AccountType.ASSETS, "wallet test", "", 10);
+        directory = Files.createTempDirectory("jbudget");
+    }
+
+    @Test
+    void saveData() throws Exception {
+        controller.saveData(directory.toString());
+        assertFalse(Files.exists(directory.resolve(AtomicFileTxtSaver.MANIFEST)));
+        assertFalse(Files.exists(directory.resolve("Account.txt" + AtomicFileTxtSaver.TEMP_SUFFIX)));
+
+        Controller imported = new MoneyController();
+        imported.importData(directory.toString());
+        assertEquals(1, imported.getAccounts().size());
+        assertEquals("wallet test", imported.getAccounts().get(0).getName());
+    }
+
+    @Test
+    void rollBack() throws Exception {
+        controller.saveData(directory.toString());
+        controller.addAccount(AccountType.ASSETS, "wallet test 2", "", 0);
+        Saver saver = new AtomicFileTxtSaver(controller, directory.toString());
+        saver.saveAccount();
+
+        Controller imported = new MoneyController();
+        imported.importData(directory.toString());
+        assertEquals(1, imported.getAccounts().size());
+        assertFalse(Files.exists(directory.resolve("Account.txt" + AtomicFileTxtSaver.TEMP_SUFFIX)));
+    }
+
+    @Test
+    void rollForward() throws Exception {
+        controller.saveData(directory.toString());
+        controller.addAccount(AccountType.ASSETS, "wallet test 2", "", 0);
+        Saver saver = new AtomicFileTxtSaver(controller, directory.toString());
+        saver.saveAccount();
+        Files.write(directory.resolve(AtomicFileTxtSaver.MANIFEST), Collections.singletonList("Account.txt"));
+
+        Controller imported = new MoneyController();
+        imported.importData(directory.toString());
+        assertEquals(2, imported.getAccounts().size());
+        assertFalse(Files.exists(directory.resolve(AtomicFileTxtSaver.MANIFEST)));
+    }
+
+    @Test
+    void incrementalSave() throws Exception {
+        controller.saveData(directory.toString());
+        FileTime old = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(directory.resolve("Account.txt"), old);
+        Files.setLastModifiedTime(directory.resolve("Category.txt"), old);
+        controller.addCategory("spesa", "");
+        controller.saveData(directory.toString());
+        assertEquals(old, Files.getLastModifiedTime(directory.resolve("Account.txt")));
+        assertNotEquals(old, Files.getLastModifiedTime(directory.resolve("Category.txt")));
+
+        Controller imported = new MoneyController();
+        imported.importData(directory.toString());
+        assertEquals(1, imported.getCategory().size());
+    }
+
+    @Test
+    void appendMovement() throws Exception {
+        controller.addMovement(MovementType.CREDITS, 5, new Date(), "primo", controller.getAccounts().get(0));
+        controller.saveData(directory.toString());
+        String saved = Files.readString(directory.resolve("Movement.txt"));
+        Files.setLastModifiedTime(directory.resolve("Transaction.txt"), FileTime.fromMillis(0));
+        controller.addMovement(MovementType.DEBITS, 2, new Date(), "secondo", controller.getAccounts().get(0));
+        controller.saveData(directory.toString());
+        assertEquals(FileTime.fromMillis(0), Files.getLastModifiedTime(directory.resolve("Transaction.txt")));
+        assertTrue(Files.readString(directory.resolve("Movement.txt")).startsWith(saved));
+        assertFalse(Files.exists(directory.resolve("Movement.txt" + AtomicFileTxtSaver.UNDO_SUFFIX)));
+
+        Controller imported = new MoneyController();
+        imported.importData(directory.toString());
+        assertEquals(2, imported.getMovements().size());
+        assertEquals(controller.getAccounts().get(0).getBalanceInCents(),
+                imported.getAccounts().get(0).getBalanceInCents());
+    }
+
+    @Test
+    void rollBackAppend() throws Exception {
+        controller.addMovement(MovementType.CREDITS, 5, new Date(), "primo", controller.getAccounts().get(0));
+        controller.saveData(directory.toString());
+        controller.addMovement(MovementType.DEBITS, 2, new Date(), "secondo", controller.getAccounts().get(0));
+        Saver saver = new AtomicFileTxtSaver(controller, directory.toString());
+        saver.appendMovement(controller.getTransactions().get(1).movements());
+
+        Controller imported = new MoneyController();
+        imported.importData(directory.toString());
+        assertEquals(1, imported.getMovements().size());
+        assertFalse(Files.exists(directory.resolve("Movement.txt" + AtomicFileTxtSaver.UNDO_SUFFIX)));
+    }
+}
@@ -0,0 +1,81 @@
+package it.unicam.cs.pa.jbudget.save;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.controller.MoneyController;
+import it.unicam.cs.pa.jbudget.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) I dati salvati nel formato binario vengano importati correttamente e non rimanga il File temporaneo; </li>
+ * <li> 2) Un File che non e' nel formato binario non venga importato; </li>
+ * <li> 3) Un salvataggio fallito o annullato chiuda ed elimini il File temporaneo; </li>
+ * </ul>
+ */
+class FileBinarySaverTest {
+    Controller controller;
+    Path file;
+
+    @BeforeEach
+    void initialize() throws Exception {
+        controller = new MoneyController();
+        controller.addAccount(AccountType.ASSETS, "wallet test", "conto; principale", 1, 10.5);
+        controller.addCategory("spesa", "", 1);
+        Account wallet = controller.getAccounts().get(0);
+        Transaction transaction = new MoneyTransaction(1);
+        transaction.addCategory(controller.getCategory().get(0));
+        Movement movement = new MoneyMovement(MovementType.DEBITS, 1, 2.25, -3, "pane; latte", transaction, wallet);
+        movement.addCategory(controller.getCategory().get(0));
+        controller.addMovement(movement);
+        file = Files.createTempDirectory("jbudget").resolve("test" + FileBinarySaver.EXTENSION);
+    }
+
+    @Test
+    void saveData() throws Exception {
+        controller.saveData(file.toString());
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + AtomicFileTxtSaver.TEMP_SUFFIX)));
+
+        Controller imported = new MoneyController();
+        imported.importData(file.toString());
+        Account wallet = imported.getAccounts().get(0);
+        assertEquals("conto; principale", wallet.getDescription());
+        assertEquals(10.5, wallet.getOpeningBalance());
+        assertEquals(1, imported.getCategory().size());
+        Movement movement = imported.getMovements().get(0);
+        assertEquals("pane; latte", movement.getDescription());
+        assertEquals(-3, movement.getEpochDay());
+        assertEquals(225, movement.amountInCents());
+        assertEquals("spesa", movement.categories().get(0).getName());
+        assertEquals("spesa", imported.getTransactions().get(0).categories().get(0).getName());
+        assertEquals(wallet.getBalance(), controller.getAccounts().get(0).getBalance());
+    }
+
+    @Test
+    void wrongFormat() throws Exception {
+        Files.write(file, "not binary".getBytes());
+        assertThrows(IOException.class, () -> new MoneyController().importData(file.toString()));
+    }
+
+    @Test
+    void abort() throws Exception {
+        Path temporary = file.resolveSibling(file.getFileName() + AtomicFileTxtSaver.TEMP_SUFFIX);
+        Saver saver = new FileBinarySaver(controller, file.toString());
+        saver.saveAccount();
+        assertTrue(Files.exists(temporary));
+        saver.abort();
+        assertFalse(Files.exists(temporary));
+
+        Files.createDirectory(file);
+        Files.write(file.resolve("occupied"), new byte[1]);
+        assertThrows(IOException.class, () -> controller.saveData(file.toString()));
+        assertFalse(Files.exists(temporary));
+    }
+}
@@ -0,0 +1,148 @@
+package it.unicam.cs.pa.jbudget.save;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.controller.MoneyController;
+import it.unicam.cs.pa.jbudget.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) Le colonne dei Movimenti possano essere lette saltando le altre, e abbiano minimo e massimo corretti; </li>
+ * <li> 2) Le Categorie dei Movimenti e delle Transazioni vengano esportate; </li>
+ * <li> 3) I Movimenti vengano divisi in gruppi di al piu' {@link FileColumnarSaver#GROUP_ROWS} righe; </li>
+ * <li> 4) La lunghezza di un gruppo comprenda le sue colonne, cosi' che il gruppo possa essere saltato; </li>
+ * </ul>
+ */
+class FileColumnarSaverTest {
+    Controller controller;
+    Path file;
+    Account wallet;
+    Transaction transaction;
+
+    @BeforeEach
+    void initialize() throws Exception {
+        controller = new MoneyController();
+        controller.addAccount(AccountType.ASSETS, "wallet test", "", 1, 10);
+        controller.addCategory("spesa", "", 4);
+        wallet = controller.getAccounts().get(0);
+        transaction = new MoneyTransaction(1);
+        transaction.addCategory(controller.getCategory().get(0));
+        Movement movement = new MoneyMovement(MovementType.DEBITS, 1, 2.25, -3, "pane", transaction, wallet);
+        movement.addCategory(controller.getCategory().get(0));
+        new MoneyMovement(MovementType.CREDITS, 2, 7, 5, "stipendio", transaction, wallet);
+        controller.addMovement(movement);
+        file = Files.createTempDirectory("jbudget").resolve("test" + FileColumnarSaver.EXTENSION);
+    }
+
+    @Test
+    void scanColumns() throws Exception {
+        controller.exportData(file.toString());
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + AtomicFileTxtSaver.TEMP_SUFFIX)));
+
+        List<long[]> amounts = scan(FileColumnarSaver.MOVEMENT_GROUP, FileColumnarSaver.AMOUNT_COLUMN);
+        assertEquals(1, amounts.size());
+        assertArrayEquals(new long[]{225, 700, 225, 700}, amounts.get(0));
+        List<long[]> days = scan(FileColumnarSaver.MOVEMENT_GROUP, FileColumnarSaver.DAY_COLUMN);
+        assertArrayEquals(new long[]{-3, 5, -3, 5}, days.get(0));
+        List<long[]> accounts = scan(FileColumnarSaver.MOVEMENT_GROUP, FileColumnarSaver.ACCOUNT_COLUMN);
+        assertArrayEquals(new long[]{1, 1, 1, 1}, accounts.get(0));
+    }
+
+    @Test
+    void scanCategories() throws Exception {
+        controller.exportData(file.toString());
+        List<long[]> movements = scan(FileColumnarSaver.MOVEMENT_GROUP, FileColumnarSaver.CATEGORY_COLUMN);
+        assertArrayEquals(new long[]{4, 4, 1, 4, 0}, movements.get(0));
+        List<long[]> transactions = scan(FileColumnarSaver.TRANSACTION_GROUP, FileColumnarSaver.CATEGORY_COLUMN);
+        assertArrayEquals(new long[]{4, 4, 1, 4}, transactions.get(0));
+        List<long[]> ids = scan(FileColumnarSaver.TRANSACTION_GROUP, FileColumnarSaver.ID_COLUMN);
+        assertArrayEquals(new long[]{1, 1, 1}, ids.get(0));
+    }
+
+    @Test
+    void groups() throws Exception {
+        for (int i = 0; i < FileColumnarSaver.GROUP_ROWS; i++)
+            new MoneyMovement(MovementType.CREDITS, i + 3, 1, 0, "", transaction, wallet);
+        controller.exportData(file.toString());
+        List<long[]> ids = scan(FileColumnarSaver.MOVEMENT_GROUP, FileColumnarSaver.ID_COLUMN);
+        assertEquals(2, ids.size());
+        assertEquals(FileColumnarSaver.GROUP_ROWS + 2, ids.get(0).length);
+        assertEquals(4, ids.get(1).length);
+    }
+
+    /**
+     * Legge i valori di una colonna dai gruppi con il tag passato, saltando tutte le altre sezioni
+     * e, senza leggerli, i gruppi con un tag diverso.
+     * Per ogni gruppo ritorna il minimo, il massimo e i valori della colonna.
+     */
+    private List<long[]> scan(byte group, byte column) throws Exception {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertEquals(FileColumnarSaver.MAGIC, buffer.getInt());
+        assertEquals(FileColumnarSaver.VERSION, readVarLong(buffer));
+        List<long[]> values = new ArrayList<>();
+        int rows = 0;
+        int groupEnd = 0;
+        while (buffer.hasRemaining()) {
+            byte tag = buffer.get();
+            long length = buffer.getLong();
+            int end = buffer.position() + (int) length;
+            if (buffer.position() > groupEnd) {
+                groupEnd = end;
+                if (tag == group) {
+                    rows = (int) readVarLong(buffer);
+                    int columns = (int) readVarLong(buffer);
+                    assertEquals(columns, countSections(buffer.slice().limit(end - buffer.position())));
+                    continue;
+                }
+            } else if (tag == column) {
+                List<Long> raw = new ArrayList<>();
+                while (buffer.position() < end)
+                    raw.add(readVarLong(buffer));
+                long[] decoded = new long[raw.size()];
+                for (int i = 0; i < decoded.length; i++) {
+                    long zigZag = raw.get(i);
+                    decoded[i] = tag == FileColumnarSaver.CATEGORY_COLUMN && i >= 2 ? zigZag
+                            : (zigZag >>> 1) ^ -(zigZag & 1);
+                }
+                if (tag != FileColumnarSaver.CATEGORY_COLUMN)
+                    assertEquals(rows + 2, decoded.length);
+                values.add(decoded);
+            }
+            buffer.position(end);
+        }
+        return values;
+    }
+
+    private static int countSections(ByteBuffer buffer) {
+        int sections = 0;
+        while (buffer.hasRemaining()) {
+            buffer.get();
+            int length = (int) buffer.getLong();
+            buffer.position(buffer.position() + length);
+            sections++;
+        }
+        return sections;
+    }
+
+    private long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte read;
+        do {
+            read = buffer.get();
+            value |= (long) (read & 0x7F) << shift;
+            shift += 7;
+        } while ((read & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,115 @@
+package it.unicam.cs.pa.jbudget.save;
+
+import it.unicam.cs.pa.jbudget.controller.Controller;
+import it.unicam.cs.pa.jbudget.controller.MoneyController;
+import it.unicam.cs.pa.jbudget.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) Le modifiche registrate nel Journal vengano riapplicate quando i dati vengono importati; </li>
+ * <li> 2) Raggiunta la soglia i dati vengano salvati e il Journal venga svuotato; </li>
+ * <li> 3) Un record scritto solo in parte venga scartato e tolto dal File; </li>
+ * <li> 4) Le modifiche gia' comprese nei dati salvati non vengano applicate 2 volte; </li>
+ * </ul>
+ */
+class FileJournalTest {
+    Controller controller;
+    Path directory;
+
+    @BeforeEach
+    void initialize() throws Exception {
+        controller = new MoneyController();
+        controller.addAccount(AccountType.ASSETS, "wallet test", "conto principale", 1, 10.5);
+        controller.addCategory("spesa", "", 1);
+        controller.addMovement(MovementType.DEBITS, 2.25, new Date(), "pane", controller.getAccounts().get(0));
+        directory = Files.createTempDirectory("jbudget");
+    }
+
+    private void mutate() throws Exception {
+        Account wallet = controller.getAccounts().get(0);
+        controller.addAccount(AccountType.LIABILITIES, "carta", "credito", 5);
+        controller.addCategory("casa", "affitto");
+        Transaction transaction = controller.addMovement(MovementType.CREDITS, 100, new Date(), "stipendio", wallet);
+        controller.addMovement(MovementType.DEBITS, 30, new Date(), "rata", transaction, controller.getAccounts().get(1));
+        controller.addCategory(transaction, controller.getCategory().get(1));
+        controller.removeMovement(controller.getTransactions().get(0).movements().get(0));
+    }
+
+    @Test
+    void replay() throws Exception {
+        controller.saveData(directory.toString());
+        controller.openJournal(directory.toString());
+        mutate();
+        controller.closeJournal();
+
+        Controller imported = new MoneyController();
+        imported.importData(directory.toString());
+        assertEquals(2, imported.getAccounts().size());
+        assertEquals(2, imported.getCategory().size());
+        assertEquals(1, imported.getTransactions().size());
+        assertEquals(2, imported.getMovements().size());
+        assertEquals("casa", imported.getMovements().get(1).categories().get(0).getName());
+        for (int i = 0; i < 2; i++)
+            assertEquals(controller.getAccounts().get(i).getBalanceInCents(),
+                    imported.getAccounts().get(i).getBalanceInCents());
+    }
+
+    @Test
+    void compaction() throws Exception {
+        String file = directory.resolve("test" + FileBinarySaver.EXTENSION).toString();
+        controller.saveData(file);
+        controller.openJournal(file, 2);
+        controller.addCategory("casa", "affitto");
+        controller.addCategory("auto", "");
+        assertEquals(FileJournal.HEADER_SIZE, Files.size(Path.of(file + FileJournal.EXTENSION)));
+        controller.closeJournal();
+
+        Files.delete(Path.of(file + FileJournal.EXTENSION));
+        Controller imported = new MoneyController();
+        imported.importData(file);
+        assertEquals(3, imported.getCategory().size());
+    }
+
+    @Test
+    void tornRecord() throws Exception {
+        controller.saveData(directory.toString());
+        controller.openJournal(directory.toString());
+        mutate();
+        controller.closeJournal();
+        Path journal = directory.resolve(FileJournal.FILE_NAME);
+        long size = Files.size(journal);
+        Files.write(journal, new byte[]{0, 0, 0, 40, FileJournal.ADD_CATEGORY, 7}, StandardOpenOption.APPEND);
+
+        Controller imported = new MoneyController();
+        imported.importData(directory.toString());
+        assertEquals(2, imported.getCategory().size());
+        assertEquals(size, Files.size(journal));
+    }
+
+    @Test
+    void idempotentReplay() throws Exception {
+        controller.saveData(directory.toString());
+        controller.openJournal(directory.toString());
+        mutate();
+        controller.closeJournal();
+        controller.saveData(directory.toString());
+
+        Controller imported = new MoneyController();
+        imported.importData(directory.toString());
+        assertEquals(2, imported.getAccounts().size());
+        assertEquals(2, imported.getCategory().size());
+        assertEquals(2, imported.getMovements().size());
+        assertEquals(controller.getAccounts().get(0).getBalanceInCents(),
+                imported.getAccounts().get(0).getBalanceInCents());
+    }
+}
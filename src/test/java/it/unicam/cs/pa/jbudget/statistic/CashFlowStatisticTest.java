@@ -0,0 +1,102 @@
+package it.unicam.cs.pa.jbudget.statistic;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import it.unicam.cs.pa.jbudget.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) I Movimenti vengano sommati nel giorno, nella settimana e nel mese a cui appartengono; </li>
+ * <li> 2) I Movimenti fuori dall'intervallo di date vengano ignorati; </li>
+ * <li> 3) Le serie di piu' Account e del Ledger siano la somma delle serie dei singoli Account; </li>
+ * <li> 4) Un intervallo vuoto dia una serie vuota e un Account non valido lanci una StaticException; </li>
+ * </ul>
+ */
+class CashFlowStatisticTest {
+    MoneyLedger ledger;
+    Account wallet;
+    Account card;
+
+    @BeforeEach
+    void initialize() throws Exception {
+        ledger = new MoneyLedger();
+        wallet = ledger.addAccount(AccountType.ASSETS, "wallet test", "", 0);
+        card = ledger.addAccount(AccountType.ASSETS, "card test", "", 0);
+        Transaction transaction = new MoneyTransaction(0);
+        // 2021-03-01 e' un lunedi'
+        new MoneyMovement(MovementType.CREDITS, 0, 100, day(2021, 3, 1), "", transaction, wallet);
+        new MoneyMovement(MovementType.DEBITS, 1, 30, day(2021, 3, 7), "", transaction, wallet);
+        new MoneyMovement(MovementType.DEBITS, 2, 20, day(2021, 3, 8), "", transaction, wallet);
+        new MoneyMovement(MovementType.CREDITS, 3, 50, day(2021, 4, 30), "", transaction, card);
+        new MoneyMovement(MovementType.CREDITS, 4, 999, day(2021, 6, 1), "", transaction, card);
+        ledger.addTransaction(transaction);
+    }
+
+    private static long day(int year, int month, int day) {
+        return LocalDate.of(year, month, day).toEpochDay();
+    }
+
+    @Test
+    void month() throws StaticException {
+        CashFlowSeries series = new MoneyStatistic(wallet)
+                .getCashFlow(Period.MONTH, LocalDate.of(2021, 2, 15), LocalDate.of(2021, 4, 1));
+        assertEquals(3, series.size());
+        assertEquals(LocalDate.of(2021, 2, 1), series.getStart(0));
+        assertEquals(LocalDate.of(2021, 4, 1), series.getStart(2));
+        assertEquals(0, series.getNetInCents(0));
+        assertEquals(10000, series.getCreditsInCents(1));
+        assertEquals(5000, series.getDebitsInCents(1));
+        assertEquals(50, series.getNet(1));
+    }
+
+    @Test
+    void week() throws StaticException {
+        CashFlowSeries series = new CashFlowStatistic(wallet)
+                .getCashFlow(Period.WEEK, LocalDate.of(2021, 3, 3), LocalDate.of(2021, 3, 14));
+        assertEquals(2, series.size());
+        assertEquals(LocalDate.of(2021, 3, 1), series.getStart(0));
+        assertEquals(-3000, series.getNetInCents(0));
+        assertEquals(-2000, series.getNetInCents(1));
+    }
+
+    @Test
+    void day() throws StaticException {
+        CashFlowSeries series = new CashFlowStatistic(wallet)
+                .getCashFlow(Period.DAY, LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 8));
+        assertEquals(8, series.size());
+        assertEquals(10000, series.getCreditsInCents(0));
+        assertEquals(3000, series.getDebitsInCents(6));
+        assertEquals(LocalDate.of(2021, 3, 8), series.getStart(7));
+    }
+
+    @Test
+    void accounts() throws StaticException {
+        LocalDate from = LocalDate.of(2021, 1, 1);
+        LocalDate to = LocalDate.of(2021, 5, 31);
+        CashFlowSeries both = new CashFlowStatistic(List.of(wallet, card)).getCashFlow(Period.MONTH, from, to);
+        CashFlowSeries all = new CashFlowStatistic(ledger).getCashFlow(Period.MONTH, from, to);
+        assertEquals(5, both.size());
+        for (int i = 0; i < both.size(); i++) {
+            assertEquals(both.getNetInCents(i), all.getNetInCents(i));
+            assertEquals(new CashFlowStatistic(wallet).getCashFlow(Period.MONTH, from, to).getNetInCents(i)
+                    + new CashFlowStatistic(card).getCashFlow(Period.MONTH, from, to).getNetInCents(i),
+                    both.getNetInCents(i));
+        }
+        assertEquals(5000, both.getCreditsInCents(3));
+    }
+
+    @Test
+    void invalid() throws StaticException {
+        assertEquals(0, new CashFlowStatistic(wallet)
+                .getCashFlow(Period.MONTH, LocalDate.of(2021, 5, 1), LocalDate.of(2021, 1, 1)).size());
+        Exception e0 = assertThrows(StaticException.class, () -> new CashFlowStatistic((Account) null)
+                .getCashFlow(Period.DAY, LocalDate.of(2021, 1, 1), LocalDate.of(2021, 1, 2)));
+        assertEquals(StaticException.E0_NO_ACCOUNT, e0.getMessage());
+    }
+}
@@ -0,0 +1,103 @@
+package it.unicam.cs.pa.jbudget.statistic;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import it.unicam.cs.pa.jbudget.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) Le statistiche comprendano i Movimenti presenti alla creazione e quelli aggiunti dopo; </li>
+ * <li> 2) Il Minore e il Maggiore vengano ricalcolati quando vengono rimossi o modificati; </li>
+ * <li> 3) Numero e somma dei Movimenti di ogni Categoria seguano l'aggiunta e la rimozione delle Categorie; </li>
+ * <li> 4) Un Account non valido o senza Movimenti lanci le eccezioni di {@link StatisticCreator}; </li>
+ * <li> 5) Dopo close() le statistiche non vengano piu' aggiornate; </li>
+ * </ul>
+ */
+class IncrementalStatisticTest {
+    Account wallet;
+    Transaction transaction;
+    MoneyMovement first;
+
+    @BeforeEach
+    void initialize() throws MovementException {
+        wallet = new SimpleWallet(AccountType.ASSETS, "wallet test", "", 0, 0);
+        transaction = new MoneyTransaction(1);
+        first = new MoneyMovement(MovementType.CREDITS, 1, 10, 0, "", transaction, wallet);
+        new MoneyMovement(MovementType.CREDITS, 2, 100, 0, "", transaction, wallet);
+        new MoneyMovement(MovementType.DEBITS, 3, 20, 0, "", transaction, wallet);
+    }
+
+    @Test
+    void aggregates() throws Exception {
+        IncrementalStatistic statistic = new IncrementalStatistic(wallet);
+        new MoneyMovement(MovementType.CREDITS, 4, 1000, 0, "", transaction, wallet);
+        new MoneyMovement(MovementType.DEBITS, 5, 20, 0, "", transaction, wallet);
+
+        MovementAggregate credits = statistic.getAggregate(MovementType.CREDITS);
+        assertEquals(3, credits.getCount());
+        assertEquals(111000, credits.getSumInCents());
+        assertEquals(1000, statistic.getMaxCredit().amount());
+        assertEquals(1, statistic.getMinCredit().getID());
+        assertEquals(3, statistic.getMaxDebit().getID());
+        assertEquals(3, statistic.getMinDebit().getID());
+        assertEquals(2, statistic.getAggregate(MovementType.DEBITS).getCount());
+    }
+
+    @Test
+    void extremes() throws Exception {
+        IncrementalStatistic statistic = new IncrementalStatistic(wallet);
+        first.setValue(500);
+        assertEquals(1, statistic.getMaxCredit().getID());
+        assertEquals(2, statistic.getMinCredit().getID());
+        assertEquals(60000, statistic.getAggregate(MovementType.CREDITS).getSumInCents());
+
+        wallet.removeMovement(first);
+        assertEquals(2, statistic.getMaxCredit().getID());
+        assertEquals(1, statistic.getAggregate(MovementType.CREDITS).getCount());
+        assertEquals(10000, statistic.getAggregate(MovementType.CREDITS).getSumInCents());
+    }
+
+    @Test
+    void categories() throws Exception {
+        IncrementalStatistic statistic = new IncrementalStatistic(wallet);
+        Category c1 = new MoneyCategory("c1", "", 1);
+        Category c2 = new MoneyCategory("c2", "", 2);
+        transaction.addCategory(c1);
+        first.addCategory(c2);
+
+        Map<Category, Double> map = statistic.getCategoryValue();
+        assertEquals(2, map.size());
+        assertEquals(130, map.get(c1));
+        assertEquals(10, map.get(c2));
+        assertEquals(3, statistic.getCategoryAggregates().get(c1).getCount());
+        assertEquals(2, statistic.getCategoryAggregates().get(c1).getMax().getID());
+
+        first.setValue(30);
+        assertEquals(3000, statistic.getCategoryValueInCents().get(c2));
+        first.removeCategory(c2);
+        assertFalse(statistic.getCategoryValue().containsKey(c2));
+        assertEquals(150, statistic.getCategoryValue().get(c1));
+    }
+
+    @Test
+    void exceptions() {
+        Exception e0 = assertThrows(StaticException.class, () -> new IncrementalStatistic(null).getMaxCredit());
+        assertEquals(StaticException.E0_NO_ACCOUNT, e0.getMessage());
+        Account empty = new SimpleWallet(AccountType.ASSETS, "empty test", "", 1, 0);
+        Exception e1 = assertThrows(StaticException.class, () -> new IncrementalStatistic(empty).getMinDebit());
+        assertEquals(StaticException.E1_NO_MOVEMENT_IN_ACCOUNT, e1.getMessage());
+    }
+
+    @Test
+    void close() throws Exception {
+        IncrementalStatistic statistic = new IncrementalStatistic(wallet);
+        statistic.close();
+        new MoneyMovement(MovementType.CREDITS, 4, 1000, 0, "", transaction, wallet);
+        assertEquals(2, statistic.getAggregate(MovementType.CREDITS).getCount());
+    }
+}
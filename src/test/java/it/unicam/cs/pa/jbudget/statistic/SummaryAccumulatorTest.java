@@ -0,0 +1,81 @@
+package it.unicam.cs.pa.jbudget.statistic;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import it.unicam.cs.pa.jbudget.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Controlla che:
+ * <ul>
+ * <li> 1) Il riepilogo di MoneyStatistic coincida con i risultati dei singoli metodi; </li>
+ * <li> 2) Il riepilogo letto in parallelo scelga, a parita' di valore, il Movimento con ID minore; </li>
+ * <li> 3) Il riepilogo di IncrementalStatistic coincida con quello di MoneyStatistic; </li>
+ * <li> 4) Un Account senza Movimenti abbia un riepilogo vuoto; </li>
+ * </ul>
+ */
+class SummaryAccumulatorTest {
+    Account wallet;
+    Category even;
+
+    @BeforeEach
+    void initialize() throws MovementException {
+        wallet = new SimpleWallet(AccountType.ASSETS, "wallet test", "", 0, 0);
+        even = new MoneyCategory("even", "", 1);
+        Transaction transaction = new MoneyTransaction(0);
+        int size = SummaryAccumulator.PARALLEL_THRESHOLD + 1000;
+        for (int i = 0; i < size; i++) {
+            MovementType type = i % 3 == 0 ? MovementType.DEBITS : MovementType.CREDITS;
+            Movement movement = new MoneyMovement(type, i, 1 + i % 500, i, "", transaction, wallet);
+            if (i % 2 == 0)
+                movement.addCategory(even);
+        }
+    }
+
+    @Test
+    void summarize() throws StaticException {
+        StatisticCreator statistic = new MoneyStatistic(wallet);
+        StatisticSummary summary = statistic.summarize();
+
+        assertEquals(statistic.getMaxCredit().amount(), summary.getMax(MovementType.CREDITS).amount());
+        assertEquals(statistic.getMinDebit().amount(), summary.getMin(MovementType.DEBITS).amount());
+        assertEquals(statistic.getCategoryValueInCents(), summary.getCategoryValueInCents());
+        assertEquals(wallet.getMovements().size(),
+                summary.getCount(MovementType.CREDITS) + summary.getCount(MovementType.DEBITS));
+        long credits = wallet.getMovements().stream().filter(movement -> movement.type() == MovementType.CREDITS)
+                .mapToLong(Movement::amountInCents).sum();
+        assertEquals(credits, summary.getSumInCents(MovementType.CREDITS));
+    }
+
+    @Test
+    void ties() throws StaticException {
+        StatisticSummary summary = new MoneyStatistic(wallet).summarize();
+        assertEquals(500, summary.getMin(MovementType.CREDITS).getID());
+        assertEquals(499, summary.getMax(MovementType.CREDITS).getID());
+        assertEquals(0, summary.getMin(MovementType.DEBITS).getID());
+    }
+
+    @Test
+    void incremental() throws StaticException {
+        StatisticSummary expected = new MoneyStatistic(wallet).summarize();
+        StatisticSummary summary = new IncrementalStatistic(wallet).summarize();
+        for (MovementType type : MovementType.values()) {
+            assertEquals(expected.getCount(type), summary.getCount(type));
+            assertEquals(expected.getSumInCents(type), summary.getSumInCents(type));
+            assertSame(expected.getMin(type), summary.getMin(type));
+            assertSame(expected.getMax(type), summary.getMax(type));
+        }
+        assertEquals(expected.getCategoryValueInCents(), summary.getCategoryValueInCents());
+    }
+
+    @Test
+    void empty() throws StaticException {
+        Account empty = new SimpleWallet(AccountType.ASSETS, "empty test", "", 1, 0);
+        StatisticSummary summary = new MoneyStatistic(empty).summarize();
+        assertEquals(0, summary.getCount(MovementType.CREDITS));
+        assertNull(summary.getMax(MovementType.DEBITS));
+        assertTrue(summary.getCategoryValue().isEmpty());
+        assertThrows(StaticException.class, () -> new MoneyStatistic(null).summarize());
+    }
+}